@@ -2,6 +2,7 @@ plugins {
     id("java")
     id("org.springframework.boot") version "3.3.5"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.clinica.api"
@@ -26,12 +27,34 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.6.0")
+    implementation("org.apache.arrow:arrow-vector:17.0.0")
+    implementation("org.apache.arrow:arrow-compression:17.0.0")
+    runtimeOnly("org.apache.arrow:arrow-memory-unsafe:17.0.0")
+    implementation("org.lz4:lz4-java:1.8.0")
     developmentOnly("org.springframework.boot:spring-boot-devtools")
     runtimeOnly("com.mysql:mysql-connector-j")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("com.h2database:h2")
 }
 
+jmh {
+    jmhVersion.set("1.37")
+}
+
+// Arrow accede a los buffers directos de java.nio
+val arrowJvmArgs = listOf("--add-opens=java.base/java.nio=ALL-UNNAMED")
+
 tasks.withType<Test> {
     useJUnitPlatform()
+    jvmArgs(arrowJvmArgs)
+}
+
+tasks.named<org.springframework.boot.gradle.tasks.run.BootRun>("bootRun") {
+    jvmArgs(arrowJvmArgs)
+}
+
+tasks.named<org.springframework.boot.gradle.tasks.bundling.BootJar>("bootJar") {
+    manifest {
+        attributes("Add-Opens" to "java.base/java.nio")
+    }
 }
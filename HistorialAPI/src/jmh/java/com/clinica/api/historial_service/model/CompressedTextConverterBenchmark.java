@@ -0,0 +1,82 @@
+package com.clinica.api.historial_service.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Costo de hidratar observaciones + diagnóstico de un Historial (lo que agrega el converter a
+ * findHistorialById) con y sin compresión. Al iniciar cada trial se imprime el ahorro de almacenamiento.
+ * <p>
+ * Ejecutar con {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompressedTextConverterBenchmark {
+
+    private static final String FRASE = "Paciente refiere cefalea tensional de %d días, sin fiebre. "
+        + "Se indica paracetamol 500 mg cada 8 horas y control en 2 semanas. ";
+
+    @Param({"200", "1000", "4000"})
+    private int largo;
+
+    private CompressedTextConverter converter;
+    private CompressedTextConverter sinCompresion;
+    private byte[] observacionesComprimidas;
+    private byte[] diagnosticoComprimido;
+    private byte[] observacionesPlanas;
+    private byte[] diagnosticoPlano;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        converter = new CompressedTextConverter();
+        sinCompresion = new CompressedTextConverter(Integer.MAX_VALUE);
+        String observaciones = texto(largo, 1);
+        String diagnostico = texto(largo / 2, 7);
+        observacionesComprimidas = converter.convertToDatabaseColumn(observaciones);
+        diagnosticoComprimido = converter.convertToDatabaseColumn(diagnostico);
+        observacionesPlanas = observaciones.getBytes(StandardCharsets.UTF_8);
+        diagnosticoPlano = diagnostico.getBytes(StandardCharsets.UTF_8);
+        long plano = observacionesPlanas.length + diagnosticoPlano.length;
+        long comprimido = observacionesComprimidas.length + diagnosticoComprimido.length;
+        System.out.printf("%n[largo=%d] almacenamiento: %d -> %d bytes (%.1f%% ahorro)%n",
+            largo, plano, comprimido, 100.0 * (plano - comprimido) / plano);
+    }
+
+    @Benchmark
+    public void leerComprimido(Blackhole bh) {
+        bh.consume(converter.convertToEntityAttribute(observacionesComprimidas));
+        bh.consume(converter.convertToEntityAttribute(diagnosticoComprimido));
+    }
+
+    @Benchmark
+    public void leerSinComprimir(Blackhole bh) {
+        bh.consume(sinCompresion.convertToEntityAttribute(observacionesPlanas));
+        bh.consume(sinCompresion.convertToEntityAttribute(diagnosticoPlano));
+    }
+
+    private static String texto(int largo, int semilla) {
+        StringBuilder sb = new StringBuilder(largo + FRASE.length());
+        int dia = semilla;
+        while (sb.length() < largo) {
+            sb.append(String.format(FRASE, dia++ % 30));
+        }
+        return sb.substring(0, largo);
+    }
+}
@@ -0,0 +1,58 @@
+package com.clinica.api.historial_service.client;
+
+import com.clinica.api.historial_service.dto.CitaResumen;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.ClientHttpRequestFactories;
+import org.springframework.boot.web.client.ClientHttpRequestFactorySettings;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Cliente HTTP de CitasAPI. La URL base se toma de {@code citas.api.base-url}, de modo que en pruebas
+ * o en desarrollo puede apuntar a un stub local.
+ * <p>
+ * La conexión y la lectura usan {@code citas.api.timeout-ms}, el mismo plazo con que la línea de tiempo deja de
+ * esperar: así el hilo que hace la llamada se libera del socket en vez de quedar bloqueado tras el abandono.
+ */
+@Component
+public class CitasClient {
+
+    private final RestClient restClient;
+
+    @Autowired
+    public CitasClient(RestClient.Builder builder,
+                       @Value("${citas.api.base-url:http://localhost:8080}") String baseUrl,
+                       @Value("${citas.api.timeout-ms:2000}") long timeoutMs) {
+        this(builder.baseUrl(baseUrl).requestFactory(requestFactory(timeoutMs)).build());
+    }
+
+    CitasClient(RestClient restClient) {
+        this.restClient = restClient;
+    }
+
+    public List<CitaResumen> findCitasByUsuario(Long idUsuario) {
+        ResponseEntity<CitaResumen[]> response = restClient.get()
+            .uri("/api/v1/citas/usuario/{idUsuario}", idUsuario)
+            .retrieve()
+            .toEntity(CitaResumen[].class);
+        if (response.getStatusCode() == HttpStatus.NO_CONTENT || response.getBody() == null) {
+            return List.of();
+        }
+        return Arrays.asList(response.getBody());
+    }
+
+    private static JdkClientHttpRequestFactory requestFactory(long timeoutMs) {
+        Duration timeout = Duration.ofMillis(timeoutMs);
+        ClientHttpRequestFactorySettings settings = ClientHttpRequestFactorySettings.DEFAULTS
+            .withConnectTimeout(timeout)
+            .withReadTimeout(timeout);
+        return ClientHttpRequestFactories.get(JdkClientHttpRequestFactory.class, settings);
+    }
+}
@@ -0,0 +1,79 @@
+package com.clinica.api.historial_service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Activa el enrutamiento primario/réplica cuando se define {@code historial.datasource.replica.url}.
+ * Sin esa propiedad se usa el DataSource autoconfigurado por Spring Boot.
+ * <p>
+ * Ambos pools toman la configuración de {@code spring.datasource.hikari.*}, como lo haría el DataSource
+ * autoconfigurado; nombre, URL, credenciales y modo de solo lectura se fijan después por pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "historial.datasource.replica.url")
+public class DataSourceConfig {
+
+    private static final String PROPIEDADES_HIKARI = "spring.datasource.hikari";
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties, Environment environment) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        aplicarPropiedadesHikari(dataSource, environment);
+        dataSource.setPoolName("historial-primario");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource replicaDataSource(
+        DataSourceProperties properties,
+        @Value("${historial.datasource.replica.url}") String url,
+        @Value("${historial.datasource.replica.username:${spring.datasource.username:}}") String username,
+        @Value("${historial.datasource.replica.password:${spring.datasource.password:}}") String password,
+        Environment environment
+    ) {
+        HikariDataSource dataSource = new HikariDataSource();
+        aplicarPropiedadesHikari(dataSource, environment);
+        dataSource.setPoolName("historial-replica");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+        @Qualifier("primaryDataSource") DataSource primaryDataSource,
+        @Qualifier("replicaDataSource") DataSource replicaDataSource
+    ) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource();
+        routing.setTargetDataSources(Map.of(
+            ReplicaRoutingDataSource.PRIMARIO, primaryDataSource,
+            ReplicaRoutingDataSource.REPLICA, replicaDataSource
+        ));
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    private static void aplicarPropiedadesHikari(HikariDataSource dataSource, Environment environment) {
+        Binder.get(environment).bind(PROPIEDADES_HIKARI, Bindable.ofInstance(dataSource));
+    }
+}
@@ -0,0 +1,20 @@
+package com.clinica.api.historial_service.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Envía las transacciones de solo lectura a la réplica y todo lo demás al primario.
+ * Debe usarse detrás de un {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * para que la conexión se obtenga cuando la transacción ya está marcada como read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARIO = "primario";
+    public static final String REPLICA = "replica";
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? REPLICA : PRIMARIO;
+    }
+}
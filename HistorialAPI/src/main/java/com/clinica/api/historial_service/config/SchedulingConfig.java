@@ -0,0 +1,10 @@
+package com.clinica.api.historial_service.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    // Habilita los jobs programados (exportación nocturna del historial).
+}
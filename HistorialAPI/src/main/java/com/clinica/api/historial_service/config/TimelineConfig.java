@@ -0,0 +1,19 @@
+package com.clinica.api.historial_service.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TimelineConfig {
+
+    /**
+     * Hilos virtuales para consultar en paralelo el historial local y CitasAPI; ambas tareas pasan
+     * la mayor parte del tiempo bloqueadas en E/S.
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService timelineExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
@@ -1,7 +1,11 @@
 package com.clinica.api.historial_service.controller;
 
+import com.clinica.api.historial_service.dto.DesempenoDoctorResponse;
+import com.clinica.api.historial_service.dto.PeriodoDesempeno;
+import com.clinica.api.historial_service.dto.TimelinePageResponse;
 import com.clinica.api.historial_service.model.Historial;
 import com.clinica.api.historial_service.service.HistorialService;
+import com.clinica.api.historial_service.service.TimelineService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,11 +14,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.persistence.EntityNotFoundException;
+import java.time.LocalDate;
 import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -23,9 +30,11 @@ import org.springframework.web.bind.annotation.RestController;
 public class HistorialController {
 
     private final HistorialService historialService;
+    private final TimelineService timelineService;
 
-    public HistorialController(HistorialService historialService) {
+    public HistorialController(HistorialService historialService, TimelineService timelineService) {
         this.historialService = historialService;
+        this.timelineService = timelineService;
     }
 
     @GetMapping("/usuario/{usuarioId}")
@@ -53,6 +62,36 @@ public class HistorialController {
         return ResponseEntity.ok(historiales);
     }
 
+    @GetMapping("/usuario/{usuarioId}/timeline")
+    @Operation(
+        summary = "Línea de tiempo paginada del paciente (citas + historiales).",
+        description = "Consulta en paralelo CitasAPI y el historial local y devuelve los eventos combinados del más reciente al más antiguo. "
+            + "Si CitasAPI no responde se entregan solo los historiales con citasDisponibles=false. "
+            + "Puede responder 200 con la página, 400 si la paginación es inválida o 500 ante fallos."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Página de la línea de tiempo.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = TimelinePageResponse.class)
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Parámetros de paginación inválidos.")
+    })
+    public ResponseEntity<TimelinePageResponse> getTimelineByUsuarioId(
+        @PathVariable("usuarioId") Long usuarioId,
+        @RequestParam(name = "page", defaultValue = "0") int page,
+        @RequestParam(name = "size", defaultValue = "20") int size
+    ) {
+        try {
+            return ResponseEntity.ok(timelineService.findTimelineByUsuario(usuarioId, page, size));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/doctor/{doctorId}")
     @Operation(
         summary = "Obtiene todos los historiales asociados a un doctor.",
@@ -78,6 +117,42 @@ public class HistorialController {
         return ResponseEntity.ok(historiales);
     }
 
+    @GetMapping("/doctor/{doctorId}/desempeno")
+    @Operation(
+        summary = "Resume el desempeño de un doctor por día, semana o mes.",
+        description = "Agrega en el servidor las consultas, minutos atendidos e ingresos (pago) del doctor en el rango indicado. "
+            + "Si no se envían fechas se usa un rango reciente según el periodo. "
+            + "Puede responder 200 con los periodos, 204 si no hay atenciones, 400 si el rango es inválido o 500 ante fallos."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Métricas agregadas por periodo, ordenadas por fecha.",
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = DesempenoDoctorResponse.class))
+            )
+        ),
+        @ApiResponse(responseCode = "204", description = "El doctor no registra atenciones en el rango."),
+        @ApiResponse(responseCode = "400", description = "Rango de fechas o periodo inválido.")
+    })
+    public ResponseEntity<List<DesempenoDoctorResponse>> getDesempenoDoctor(
+        @PathVariable("doctorId") Long doctorId,
+        @RequestParam(name = "periodo", defaultValue = "DIA") PeriodoDesempeno periodo,
+        @RequestParam(name = "desde", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+        @RequestParam(name = "hasta", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta
+    ) {
+        try {
+            List<DesempenoDoctorResponse> desempeno = historialService.findDesempenoDoctor(doctorId, periodo, desde, hasta);
+            if (desempeno.isEmpty()) {
+                return ResponseEntity.noContent().build();
+            }
+            return ResponseEntity.ok(desempeno);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{id}")
     @Operation(
         summary = "Busca un historial por ID Historial.",
@@ -0,0 +1,65 @@
+package com.clinica.api.historial_service.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Subconjunto de la cita expuesta por CitasAPI que necesita la línea de tiempo.
+ */
+public class CitaResumen {
+
+    private Long id;
+    private LocalDate fechaCita;
+    private LocalTime horaInicio;
+    private LocalTime horaFin;
+    private String estado;
+    private Long idDoctor;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getFechaCita() {
+        return fechaCita;
+    }
+
+    public void setFechaCita(LocalDate fechaCita) {
+        this.fechaCita = fechaCita;
+    }
+
+    public LocalTime getHoraInicio() {
+        return horaInicio;
+    }
+
+    public void setHoraInicio(LocalTime horaInicio) {
+        this.horaInicio = horaInicio;
+    }
+
+    public LocalTime getHoraFin() {
+        return horaFin;
+    }
+
+    public void setHoraFin(LocalTime horaFin) {
+        this.horaFin = horaFin;
+    }
+
+    public String getEstado() {
+        return estado;
+    }
+
+    public void setEstado(String estado) {
+        this.estado = estado;
+    }
+
+    public Long getIdDoctor() {
+        return idDoctor;
+    }
+
+    public void setIdDoctor(Long idDoctor) {
+        this.idDoctor = idDoctor;
+    }
+}
@@ -0,0 +1,76 @@
+package com.clinica.api.historial_service.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Resumen de atenciones de un doctor dentro de un periodo (día, semana o mes).
+ */
+public class DesempenoDoctorResponse {
+
+    private Long idDoctor;
+    private PeriodoDesempeno periodo;
+    private LocalDate inicioPeriodo;
+    private Long consultas;
+    private Long minutos;
+    private Long ingresos;
+
+    public DesempenoDoctorResponse() {
+    }
+
+    public DesempenoDoctorResponse(Long idDoctor, PeriodoDesempeno periodo, LocalDate inicioPeriodo) {
+        this.idDoctor = idDoctor;
+        this.periodo = periodo;
+        this.inicioPeriodo = inicioPeriodo;
+        this.consultas = 0L;
+        this.minutos = 0L;
+        this.ingresos = 0L;
+    }
+
+    public Long getIdDoctor() {
+        return idDoctor;
+    }
+
+    public void setIdDoctor(Long idDoctor) {
+        this.idDoctor = idDoctor;
+    }
+
+    public PeriodoDesempeno getPeriodo() {
+        return periodo;
+    }
+
+    public void setPeriodo(PeriodoDesempeno periodo) {
+        this.periodo = periodo;
+    }
+
+    public LocalDate getInicioPeriodo() {
+        return inicioPeriodo;
+    }
+
+    public void setInicioPeriodo(LocalDate inicioPeriodo) {
+        this.inicioPeriodo = inicioPeriodo;
+    }
+
+    public Long getConsultas() {
+        return consultas;
+    }
+
+    public void setConsultas(Long consultas) {
+        this.consultas = consultas;
+    }
+
+    public Long getMinutos() {
+        return minutos;
+    }
+
+    public void setMinutos(Long minutos) {
+        this.minutos = minutos;
+    }
+
+    public Long getIngresos() {
+        return ingresos;
+    }
+
+    public void setIngresos(Long ingresos) {
+        this.ingresos = ingresos;
+    }
+}
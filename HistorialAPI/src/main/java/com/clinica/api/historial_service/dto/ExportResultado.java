@@ -0,0 +1,9 @@
+package com.clinica.api.historial_service.dto;
+
+import java.nio.file.Path;
+
+/**
+ * Resultado de una ejecución del export columnar. {@code archivo} es null si no había filas nuevas.
+ */
+public record ExportResultado(Path archivo, long filas, Long desdeIdExclusivo, Long hastaIdInclusivo) {
+}
@@ -0,0 +1,10 @@
+package com.clinica.api.historial_service.dto;
+
+/**
+ * Granularidad con la que se agrupan las métricas de desempeño de un doctor.
+ */
+public enum PeriodoDesempeno {
+    DIA,
+    SEMANA,
+    MES
+}
@@ -0,0 +1,68 @@
+package com.clinica.api.historial_service.dto;
+
+import java.util.List;
+
+/**
+ * Página de la línea de tiempo combinada. {@code citasDisponibles} es false cuando CitasAPI
+ * no respondió y la página contiene solo eventos del historial.
+ */
+public class TimelinePageResponse {
+
+    private int page;
+    private int size;
+    private boolean hasMore;
+    private boolean citasDisponibles;
+    private List<TimelineEventoResponse> eventos;
+
+    public TimelinePageResponse() {
+    }
+
+    public TimelinePageResponse(int page, int size, boolean hasMore, boolean citasDisponibles,
+                                List<TimelineEventoResponse> eventos) {
+        this.page = page;
+        this.size = size;
+        this.hasMore = hasMore;
+        this.citasDisponibles = citasDisponibles;
+        this.eventos = eventos;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public boolean isCitasDisponibles() {
+        return citasDisponibles;
+    }
+
+    public void setCitasDisponibles(boolean citasDisponibles) {
+        this.citasDisponibles = citasDisponibles;
+    }
+
+    public List<TimelineEventoResponse> getEventos() {
+        return eventos;
+    }
+
+    public void setEventos(List<TimelineEventoResponse> eventos) {
+        this.eventos = eventos;
+    }
+}
@@ -0,0 +1,76 @@
+package com.clinica.api.historial_service.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+/**
+ * Guarda textos largos comprimidos con LZ4 de forma transparente para la entidad.
+ * <p>
+ * Los valores bajo {@link #DEFAULT_UMBRAL_BYTES} (o que no se reducen al comprimir) se almacenan como UTF-8
+ * sin cabecera, igual que las filas existentes. Los comprimidos comienzan con {@code 0xFF 'L'}, secuencia
+ * que nunca aparece al inicio de un texto UTF-8 válido, seguida del largo original (4 bytes) y del bloque LZ4.
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+
+    public static final int DEFAULT_UMBRAL_BYTES = 256;
+
+    private static final byte MARCA = (byte) 0xFF;
+    private static final byte FORMATO_LZ4 = 'L';
+    private static final int CABECERA = 2 + Integer.BYTES;
+
+    private static final LZ4Factory LZ4 = LZ4Factory.fastestInstance();
+
+    private final int umbralBytes;
+    private final LZ4Compressor compressor = LZ4.fastCompressor();
+    private final LZ4FastDecompressor decompressor = LZ4.fastDecompressor();
+
+    public CompressedTextConverter() {
+        this(DEFAULT_UMBRAL_BYTES);
+    }
+
+    public CompressedTextConverter(int umbralBytes) {
+        this.umbralBytes = umbralBytes;
+    }
+
+    @Override
+    public byte[] convertToDatabaseColumn(String valor) {
+        if (valor == null) {
+            return null;
+        }
+        byte[] utf8 = valor.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length < umbralBytes) {
+            return utf8;
+        }
+        byte[] destino = new byte[CABECERA + compressor.maxCompressedLength(utf8.length)];
+        int comprimido = compressor.compress(utf8, 0, utf8.length, destino, CABECERA);
+        if (CABECERA + comprimido >= utf8.length) {
+            return utf8;
+        }
+        ByteBuffer.wrap(destino, 0, CABECERA)
+            .put(MARCA)
+            .put(FORMATO_LZ4)
+            .putInt(utf8.length);
+        return Arrays.copyOf(destino, CABECERA + comprimido);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] columna) {
+        if (columna == null) {
+            return null;
+        }
+        if (columna.length < CABECERA || columna[0] != MARCA || columna[1] != FORMATO_LZ4) {
+            return new String(columna, StandardCharsets.UTF_8);
+        }
+        int largoOriginal = ByteBuffer.wrap(columna, 2, Integer.BYTES).getInt();
+        byte[] utf8 = new byte[largoOriginal];
+        decompressor.decompress(columna, CABECERA, utf8, 0, largoOriginal);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,58 @@
+package com.clinica.api.historial_service.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Último id_historial exportado por cada job de exportación, usado para las exportaciones incrementales.
+ */
+@Entity
+@Table(name = "Historial_Export_Watermark")
+public class ExportWatermark {
+
+    @Id
+    @Column(name = "nombre", length = 64)
+    private String nombre;
+
+    @Column(name = "ultimo_id", nullable = false)
+    private Long ultimoId;
+
+    @Column(name = "actualizado_en", nullable = false)
+    private LocalDateTime actualizadoEn;
+
+    public ExportWatermark() {
+    }
+
+    public ExportWatermark(String nombre, Long ultimoId, LocalDateTime actualizadoEn) {
+        this.nombre = nombre;
+        this.ultimoId = ultimoId;
+        this.actualizadoEn = actualizadoEn;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public Long getUltimoId() {
+        return ultimoId;
+    }
+
+    public void setUltimoId(Long ultimoId) {
+        this.ultimoId = ultimoId;
+    }
+
+    public LocalDateTime getActualizadoEn() {
+        return actualizadoEn;
+    }
+
+    public void setActualizadoEn(LocalDateTime actualizadoEn) {
+        this.actualizadoEn = actualizadoEn;
+    }
+}
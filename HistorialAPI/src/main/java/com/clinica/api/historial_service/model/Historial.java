@@ -1,18 +1,29 @@
 package com.clinica.api.historial_service.model;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "Historial")
+@Table(
+    name = "Historial",
+    indexes = {
+        @Index(name = "idx_historial_doctor_fecha", columnList = "id_doctor, fecha_historial"),
+        @Index(name = "idx_historial_usuario_fecha", columnList = "id_usuario, fecha_historial")
+    }
+)
 public class Historial {
 
+    /** Tamaño de las columnas VARBINARY de observaciones/diagnóstico (texto comprimido con LZ4). */
+    public static final int TEXTO_CLINICO_MAX_BYTES = 8000;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id_historial")
@@ -57,10 +68,12 @@ public class Historial {
     @Column(name = "disponible", nullable = false)
     private Boolean disponible = Boolean.TRUE;
 
-    @Column(name = "observaciones")
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "observaciones", length = TEXTO_CLINICO_MAX_BYTES)
     private String observaciones;
 
-    @Column(name = "diagnostico")
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "diagnostico", length = TEXTO_CLINICO_MAX_BYTES)
     private String diagnostico;
 
     public Historial() {
@@ -0,0 +1,17 @@
+package com.clinica.api.historial_service.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Proyección de la agregación diaria calculada por {@link HistorialRepository#sumarizarPorDoctorYDia}.
+ */
+public interface DesempenoDiario {
+
+    LocalDate getFecha();
+
+    Long getConsultas();
+
+    Long getMinutos();
+
+    Long getIngresos();
+}
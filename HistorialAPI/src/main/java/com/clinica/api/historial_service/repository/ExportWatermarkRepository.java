@@ -0,0 +1,16 @@
+package com.clinica.api.historial_service.repository;
+
+import com.clinica.api.historial_service.model.ExportWatermark;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface ExportWatermarkRepository extends JpaRepository<ExportWatermark, String> {
+
+    // Lectura en transacción de escritura para ir siempre al primario: una réplica atrasada repetiría filas.
+    @Override
+    @Transactional
+    Optional<ExportWatermark> findById(String nombre);
+}
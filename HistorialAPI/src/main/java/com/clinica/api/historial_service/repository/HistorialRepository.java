@@ -1,8 +1,12 @@
 package com.clinica.api.historial_service.repository;
 
 import com.clinica.api.historial_service.model.Historial;
+import java.time.LocalDate;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -11,4 +15,25 @@ public interface HistorialRepository extends JpaRepository<Historial, Long> {
     List<Historial> findByIdUsuario(Long idUsuario);
 
     List<Historial> findByIdDoctor(Long idDoctor);
+
+    List<Historial> findByIdUsuarioOrderByFechaConsultaDescHoraInicioDesc(Long idUsuario, Pageable pageable);
+
+    List<Historial> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("""
+        select h.fechaConsulta as fecha,
+               count(h) as consultas,
+               coalesce(sum(h.duracionMinutos), 0) as minutos,
+               coalesce(sum(h.pago), 0) as ingresos
+        from Historial h
+        where h.idDoctor = :idDoctor
+          and h.fechaConsulta between :desde and :hasta
+        group by h.fechaConsulta
+        order by h.fechaConsulta
+        """)
+    List<DesempenoDiario> sumarizarPorDoctorYDia(
+        @Param("idDoctor") Long idDoctor,
+        @Param("desde") LocalDate desde,
+        @Param("hasta") LocalDate hasta
+    );
 }
@@ -0,0 +1,248 @@
+package com.clinica.api.historial_service.service;
+
+import com.clinica.api.historial_service.dto.ExportResultado;
+import com.clinica.api.historial_service.model.ExportWatermark;
+import com.clinica.api.historial_service.model.Historial;
+import com.clinica.api.historial_service.repository.ExportWatermarkRepository;
+import com.clinica.api.historial_service.repository.HistorialRepository;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.arrow.compression.CommonsCompressionFactory;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeMilliVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.compression.CompressionUtil;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.ipc.message.IpcOption;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Exporta el historial a archivos Arrow IPC comprimidos con ZSTD para análisis.
+ * Las filas se leen en bloques por clave primaria (keyset), cada bloque se escribe como un record batch
+ * y el watermark (último id exportado) solo avanza cuando el archivo quedó completo en disco.
+ */
+@Service
+public class HistorialExportService {
+
+    static final String WATERMARK = "historial-arrow";
+
+    private static final Logger log = LoggerFactory.getLogger(HistorialExportService.class);
+
+    private static final ArrowType INT64 = new ArrowType.Int(64, true);
+    private static final ArrowType UTF8 = ArrowType.Utf8.INSTANCE;
+
+    static final Schema SCHEMA = new Schema(List.of(
+        Field.notNullable("id_historial", INT64),
+        Field.nullable("fecha_historial", new ArrowType.Date(DateUnit.DAY)),
+        Field.nullable("estado", UTF8),
+        Field.nullable("id_usuario", INT64),
+        Field.nullable("id_doctor", INT64),
+        Field.nullable("pago", INT64),
+        Field.nullable("id_receta", INT64),
+        Field.nullable("id_resena", INT64),
+        Field.nullable("id_resumen", INT64),
+        Field.nullable("id_consulta", INT64),
+        Field.nullable("hora_inicio", new ArrowType.Time(TimeUnit.MILLISECOND, 32)),
+        Field.nullable("hora_fin", new ArrowType.Time(TimeUnit.MILLISECOND, 32)),
+        Field.nullable("duracion_minutos", new ArrowType.Int(32, true)),
+        Field.nullable("disponible", ArrowType.Bool.INSTANCE),
+        Field.nullable("observaciones", UTF8),
+        Field.nullable("diagnostico", UTF8)
+    ));
+
+    private final HistorialRepository historialRepository;
+    private final ExportWatermarkRepository watermarkRepository;
+    private final Path directorio;
+    private final int tamanoBloque;
+    private final AtomicBoolean enEjecucion = new AtomicBoolean(false);
+
+    public HistorialExportService(HistorialRepository historialRepository,
+                                  ExportWatermarkRepository watermarkRepository,
+                                  @Value("${historial.export.dir:exports}") String directorio,
+                                  @Value("${historial.export.chunk-size:5000}") int tamanoBloque) {
+        if (tamanoBloque < 1) {
+            throw new IllegalArgumentException("historial.export.chunk-size debe ser mayor que cero");
+        }
+        this.historialRepository = historialRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.directorio = Paths.get(directorio);
+        this.tamanoBloque = tamanoBloque;
+    }
+
+    @Scheduled(cron = "${historial.export.cron:-}")
+    public void exportacionProgramada() {
+        ExportResultado resultado = exportarIncremental();
+        if (resultado != null) {
+            log.info("Export de historial: {} filas en {}", resultado.filas(), resultado.archivo());
+        }
+    }
+
+    /**
+     * Exporta las filas con id mayor al último watermark. Devuelve null si ya hay una exportación en curso.
+     */
+    public ExportResultado exportarIncremental() {
+        if (!enEjecucion.compareAndSet(false, true)) {
+            log.warn("Se omitió el export de historial: ya hay una ejecución en curso");
+            return null;
+        }
+        try {
+            Long desde = watermarkRepository.findById(WATERMARK)
+                .map(ExportWatermark::getUltimoId)
+                .orElse(0L);
+            return exportarDesde(desde);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No fue posible escribir el export de historial", ex);
+        } finally {
+            enEjecucion.set(false);
+        }
+    }
+
+    private ExportResultado exportarDesde(Long desde) throws IOException {
+        Files.createDirectories(directorio);
+        Path temporal = Files.createTempFile(directorio, "historial_", ".arrow.tmp");
+        long filas = 0;
+        Long ultimoId = desde;
+        try {
+            try (BufferAllocator allocator = new RootAllocator();
+                 VectorSchemaRoot root = VectorSchemaRoot.create(SCHEMA, allocator);
+                 FileChannel canal = FileChannel.open(temporal, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                 ArrowFileWriter writer = new ArrowFileWriter(root, null, canal, Map.of(), IpcOption.DEFAULT,
+                     CommonsCompressionFactory.INSTANCE, CompressionUtil.CodecType.ZSTD)) {
+                writer.start();
+                List<Historial> bloque;
+                do {
+                    bloque = historialRepository.findByIdGreaterThanOrderByIdAsc(ultimoId, PageRequest.of(0, tamanoBloque));
+                    if (bloque.isEmpty()) {
+                        break;
+                    }
+                    escribirBloque(root, bloque);
+                    writer.writeBatch();
+                    filas += bloque.size();
+                    ultimoId = bloque.get(bloque.size() - 1).getId();
+                } while (bloque.size() == tamanoBloque);
+                writer.end();
+            }
+            if (filas == 0) {
+                Files.deleteIfExists(temporal);
+                return new ExportResultado(null, 0, desde, desde);
+            }
+            Path destino = directorio.resolve("historial_" + (desde + 1) + "_" + ultimoId + ".arrow");
+            Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            watermarkRepository.save(new ExportWatermark(WATERMARK, ultimoId, LocalDateTime.now()));
+            return new ExportResultado(destino, filas, desde, ultimoId);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(temporal);
+            throw ex;
+        }
+    }
+
+    private void escribirBloque(VectorSchemaRoot root, List<Historial> bloque) {
+        root.allocateNew();
+        BigIntVector id = (BigIntVector) root.getVector("id_historial");
+        DateDayVector fecha = (DateDayVector) root.getVector("fecha_historial");
+        VarCharVector estado = (VarCharVector) root.getVector("estado");
+        BigIntVector idUsuario = (BigIntVector) root.getVector("id_usuario");
+        BigIntVector idDoctor = (BigIntVector) root.getVector("id_doctor");
+        BigIntVector pago = (BigIntVector) root.getVector("pago");
+        BigIntVector idReceta = (BigIntVector) root.getVector("id_receta");
+        BigIntVector idResena = (BigIntVector) root.getVector("id_resena");
+        BigIntVector idResumen = (BigIntVector) root.getVector("id_resumen");
+        BigIntVector idConsulta = (BigIntVector) root.getVector("id_consulta");
+        TimeMilliVector horaInicio = (TimeMilliVector) root.getVector("hora_inicio");
+        TimeMilliVector horaFin = (TimeMilliVector) root.getVector("hora_fin");
+        IntVector duracion = (IntVector) root.getVector("duracion_minutos");
+        BitVector disponible = (BitVector) root.getVector("disponible");
+        VarCharVector observaciones = (VarCharVector) root.getVector("observaciones");
+        VarCharVector diagnostico = (VarCharVector) root.getVector("diagnostico");
+
+        for (int i = 0; i < bloque.size(); i++) {
+            Historial h = bloque.get(i);
+            id.setSafe(i, h.getId());
+            escribir(fecha, i, h.getFechaConsulta());
+            escribir(estado, i, h.getEstado());
+            escribir(idUsuario, i, h.getIdUsuario());
+            escribir(idDoctor, i, h.getIdDoctor());
+            escribir(pago, i, h.getPago());
+            escribir(idReceta, i, h.getIdReceta());
+            escribir(idResena, i, h.getIdResena());
+            escribir(idResumen, i, h.getIdResumen());
+            escribir(idConsulta, i, h.getIdConsulta());
+            escribir(horaInicio, i, h.getHoraInicio());
+            escribir(horaFin, i, h.getHoraFin());
+            if (h.getDuracionMinutos() != null) {
+                duracion.setSafe(i, h.getDuracionMinutos());
+            } else {
+                duracion.setNull(i);
+            }
+            if (h.getDisponible() != null) {
+                disponible.setSafe(i, h.getDisponible() ? 1 : 0);
+            } else {
+                disponible.setNull(i);
+            }
+            escribir(observaciones, i, h.getObservaciones());
+            escribir(diagnostico, i, h.getDiagnostico());
+        }
+        root.setRowCount(bloque.size());
+    }
+
+    private void escribir(BigIntVector vector, int i, Long valor) {
+        if (valor != null) {
+            vector.setSafe(i, valor);
+        } else {
+            vector.setNull(i);
+        }
+    }
+
+    private void escribir(DateDayVector vector, int i, LocalDate valor) {
+        if (valor != null) {
+            vector.setSafe(i, Math.toIntExact(valor.toEpochDay()));
+        } else {
+            vector.setNull(i);
+        }
+    }
+
+    private void escribir(TimeMilliVector vector, int i, LocalTime valor) {
+        if (valor != null) {
+            vector.setSafe(i, (int) (valor.toNanoOfDay() / 1_000_000L));
+        } else {
+            vector.setNull(i);
+        }
+    }
+
+    private void escribir(VarCharVector vector, int i, String valor) {
+        if (valor != null) {
+            vector.setSafe(i, valor.getBytes(StandardCharsets.UTF_8));
+        } else {
+            vector.setNull(i);
+        }
+    }
+}
@@ -1,14 +1,27 @@
 package com.clinica.api.historial_service.service;
 
+import com.clinica.api.historial_service.dto.DesempenoDoctorResponse;
+import com.clinica.api.historial_service.dto.PeriodoDesempeno;
 import com.clinica.api.historial_service.model.Historial;
+import com.clinica.api.historial_service.repository.DesempenoDiario;
 import com.clinica.api.historial_service.repository.HistorialRepository;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Consultas del historial clínico. Todas son de solo lectura: Hibernate usa flush MANUAL, no guarda
+ * snapshots para dirty checking y, si hay réplica configurada, la conexión se toma de ella.
+ */
 @Service
-@Transactional
+@Transactional(readOnly = true)
 public class HistorialService {
 
     private final HistorialRepository historialRepository;
@@ -30,4 +43,58 @@ public class HistorialService {
         return historialRepository.findById(id)
             .orElseThrow(() -> new EntityNotFoundException("Historial no encontrado"));
     }
+
+    /**
+     * Calcula consultas, minutos e ingresos del doctor agrupados por periodo.
+     * La base de datos agrega por día (GROUP BY) y las semanas/meses se consolidan
+     * sobre esas filas diarias, por lo que el costo depende del rango y no del volumen de historiales.
+     */
+    public List<DesempenoDoctorResponse> findDesempenoDoctor(
+        Long doctorId,
+        PeriodoDesempeno periodo,
+        LocalDate desde,
+        LocalDate hasta
+    ) {
+        PeriodoDesempeno periodoEfectivo = periodo != null ? periodo : PeriodoDesempeno.DIA;
+        LocalDate fin = hasta != null ? hasta : LocalDate.now();
+        LocalDate inicio = desde != null ? desde : rangoPorDefecto(periodoEfectivo, fin);
+        if (inicio.isAfter(fin)) {
+            throw new IllegalArgumentException("La fecha desde no puede ser posterior a la fecha hasta");
+        }
+
+        List<DesempenoDiario> diarios = historialRepository.sumarizarPorDoctorYDia(doctorId, inicio, fin);
+        Map<LocalDate, DesempenoDoctorResponse> agrupados = new LinkedHashMap<>();
+        for (DesempenoDiario diario : diarios) {
+            LocalDate inicioPeriodo = inicioPeriodo(periodoEfectivo, diario.getFecha());
+            DesempenoDoctorResponse acumulado = agrupados.computeIfAbsent(
+                inicioPeriodo,
+                key -> new DesempenoDoctorResponse(doctorId, periodoEfectivo, key)
+            );
+            acumulado.setConsultas(acumulado.getConsultas() + valor(diario.getConsultas()));
+            acumulado.setMinutos(acumulado.getMinutos() + valor(diario.getMinutos()));
+            acumulado.setIngresos(acumulado.getIngresos() + valor(diario.getIngresos()));
+        }
+        return new ArrayList<>(agrupados.values());
+    }
+
+    // El rango por defecto parte en el inicio de un periodo para que el primer bucket no quede truncado.
+    private LocalDate rangoPorDefecto(PeriodoDesempeno periodo, LocalDate fin) {
+        return switch (periodo) {
+            case DIA -> fin.minusDays(30);
+            case SEMANA -> inicioPeriodo(periodo, fin.minusWeeks(11));
+            case MES -> inicioPeriodo(periodo, fin.minusMonths(12));
+        };
+    }
+
+    private LocalDate inicioPeriodo(PeriodoDesempeno periodo, LocalDate fecha) {
+        return switch (periodo) {
+            case DIA -> fecha;
+            case SEMANA -> fecha.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MES -> fecha.withDayOfMonth(1);
+        };
+    }
+
+    private long valor(Long valor) {
+        return valor != null ? valor : 0L;
+    }
 }
@@ -0,0 +1,51 @@
+package com.clinica.api.historial_service.service;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Mezcla k fuentes ya ordenadas según el mismo comparador, entregando los elementos de forma perezosa.
+ * Solo se mantiene en memoria la cabeza de cada fuente, por lo que paginar consume O(offset + size) pasos.
+ */
+final class TimelineMerger {
+
+    private TimelineMerger() {
+    }
+
+    static <T> Iterator<T> merge(List<? extends Iterator<? extends T>> fuentes, Comparator<? super T> orden) {
+        PriorityQueue<Cabeza<T>> cola = new PriorityQueue<>(Math.max(1, fuentes.size()), (a, b) -> {
+            int cmp = orden.compare(a.valor(), b.valor());
+            return cmp != 0 ? cmp : Integer.compare(a.fuente(), b.fuente());
+        });
+        for (int i = 0; i < fuentes.size(); i++) {
+            Iterator<? extends T> fuente = fuentes.get(i);
+            if (fuente.hasNext()) {
+                cola.add(new Cabeza<>(fuente.next(), i, fuente));
+            }
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !cola.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                Cabeza<T> cabeza = cola.poll();
+                if (cabeza == null) {
+                    throw new NoSuchElementException();
+                }
+                if (cabeza.resto().hasNext()) {
+                    cola.add(new Cabeza<>(cabeza.resto().next(), cabeza.fuente(), cabeza.resto()));
+                }
+                return cabeza.valor();
+            }
+        };
+    }
+
+    private record Cabeza<T>(T valor, int fuente, Iterator<? extends T> resto) {
+    }
+}
@@ -0,0 +1,130 @@
+package com.clinica.api.historial_service.service;
+
+import com.clinica.api.historial_service.client.CitasClient;
+import com.clinica.api.historial_service.dto.CitaResumen;
+import com.clinica.api.historial_service.dto.TimelineEventoResponse;
+import com.clinica.api.historial_service.dto.TimelinePageResponse;
+import com.clinica.api.historial_service.model.Historial;
+import com.clinica.api.historial_service.repository.HistorialRepository;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+/**
+ * Construye la línea de tiempo del paciente combinando citas (CitasAPI) e historiales (base local),
+ * ordenada de la fecha más reciente a la más antigua.
+ */
+@Service
+public class TimelineService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final Logger log = LoggerFactory.getLogger(TimelineService.class);
+
+    private static final Comparator<TimelineEventoResponse> MAS_RECIENTE_PRIMERO = Comparator
+        .comparing(TimelineEventoResponse::getFecha, Comparator.nullsLast(Comparator.reverseOrder()))
+        .thenComparing(TimelineEventoResponse::getHoraInicio, Comparator.nullsLast(Comparator.<LocalTime>reverseOrder()));
+
+    private final HistorialRepository historialRepository;
+    private final CitasClient citasClient;
+    private final ExecutorService timelineExecutor;
+    private final long citasTimeoutMs;
+
+    public TimelineService(HistorialRepository historialRepository,
+                           CitasClient citasClient,
+                           @Qualifier("timelineExecutor") ExecutorService timelineExecutor,
+                           @Value("${citas.api.timeout-ms:2000}") long citasTimeoutMs) {
+        this.historialRepository = historialRepository;
+        this.citasClient = citasClient;
+        this.timelineExecutor = timelineExecutor;
+        this.citasTimeoutMs = citasTimeoutMs;
+    }
+
+    public TimelinePageResponse findTimelineByUsuario(Long usuarioId, int page, int size) {
+        long offset = (long) page * size;
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE || offset + size >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Parámetros de paginación inválidos");
+        }
+        // Basta con leer del historial los eventos que caben hasta el final de la página (+1 para hasMore).
+        int limite = (int) (offset + size + 1);
+
+        CompletableFuture<List<Historial>> historialesFuture = CompletableFuture.supplyAsync(
+            () -> historialRepository.findByIdUsuarioOrderByFechaConsultaDescHoraInicioDesc(
+                usuarioId, PageRequest.of(0, limite)),
+            timelineExecutor
+        );
+        CompletableFuture<List<CitaResumen>> citasFuture = CompletableFuture.supplyAsync(
+            () -> citasClient.findCitasByUsuario(usuarioId),
+            timelineExecutor
+        ).orTimeout(citasTimeoutMs, TimeUnit.MILLISECONDS);
+
+        List<Historial> historiales = historialesFuture.join();
+        boolean citasDisponibles = true;
+        List<CitaResumen> citas;
+        try {
+            citas = citasFuture.join();
+        } catch (CompletionException ex) {
+            log.warn("CitasAPI no respondió para el usuario {}: {}", usuarioId, String.valueOf(ex.getCause()));
+            citas = List.of();
+            citasDisponibles = false;
+        }
+
+        List<TimelineEventoResponse> eventosCitas = new ArrayList<>(citas.size());
+        for (CitaResumen cita : citas) {
+            eventosCitas.add(toEvento(cita));
+        }
+        // CitasAPI no garantiza orden, el historial ya viene ordenado desde la consulta.
+        eventosCitas.sort(MAS_RECIENTE_PRIMERO);
+        Iterator<TimelineEventoResponse> eventosHistorial = historiales.stream().map(this::toEvento).iterator();
+
+        Iterator<TimelineEventoResponse> combinados = TimelineMerger.merge(
+            List.of(eventosHistorial, eventosCitas.iterator()),
+            MAS_RECIENTE_PRIMERO
+        );
+        for (long i = 0; i < offset && combinados.hasNext(); i++) {
+            combinados.next();
+        }
+        List<TimelineEventoResponse> eventos = new ArrayList<>(size);
+        while (eventos.size() < size && combinados.hasNext()) {
+            eventos.add(combinados.next());
+        }
+        return new TimelinePageResponse(page, size, combinados.hasNext(), citasDisponibles, eventos);
+    }
+
+    private TimelineEventoResponse toEvento(Historial historial) {
+        TimelineEventoResponse evento = new TimelineEventoResponse();
+        evento.setTipo(TimelineEventoResponse.TIPO_HISTORIAL);
+        evento.setId(historial.getId());
+        evento.setFecha(historial.getFechaConsulta());
+        evento.setHoraInicio(historial.getHoraInicio());
+        evento.setHoraFin(historial.getHoraFin());
+        evento.setEstado(historial.getEstado());
+        evento.setIdDoctor(historial.getIdDoctor());
+        evento.setDiagnostico(historial.getDiagnostico());
+        return evento;
+    }
+
+    private TimelineEventoResponse toEvento(CitaResumen cita) {
+        TimelineEventoResponse evento = new TimelineEventoResponse();
+        evento.setTipo(TimelineEventoResponse.TIPO_CITA);
+        evento.setId(cita.getId());
+        evento.setFecha(cita.getFechaCita());
+        evento.setHoraInicio(cita.getHoraInicio());
+        evento.setHoraFin(cita.getHoraFin());
+        evento.setEstado(cita.getEstado());
+        evento.setIdDoctor(cita.getIdDoctor());
+        return evento;
+    }
+}
@@ -0,0 +1,74 @@
+package com.clinica.api.historial_service.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withNoContent;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import com.clinica.api.historial_service.dto.CitaResumen;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+class CitasClientTest {
+
+    private MockRestServiceServer server;
+    private CitasClient citasClient;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder();
+        server = MockRestServiceServer.bindTo(builder).build();
+        citasClient = new CitasClient(builder.baseUrl("http://citas.local").build());
+    }
+
+    @Test
+    @DisplayName("findCitasByUsuario deserializa la lista entregada por CitasAPI")
+    void findCitasByUsuario_returnsCitas() {
+        server.expect(requestTo("http://citas.local/api/v1/citas/usuario/3"))
+            .andRespond(withSuccess(
+                "[{\"id\":10,\"fechaCita\":\"2024-01-15\",\"horaInicio\":\"11:00:00\",\"estado\":\"Confirmado\",\"idUsuario\":3}]",
+                MediaType.APPLICATION_JSON));
+
+        List<CitaResumen> citas = citasClient.findCitasByUsuario(3L);
+
+        assertThat(citas).hasSize(1);
+        assertThat(citas.get(0).getId()).isEqualTo(10L);
+        assertThat(citas.get(0).getFechaCita()).isEqualTo(LocalDate.of(2024, 1, 15));
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("findCitasByUsuario retorna lista vacía cuando CitasAPI responde 204")
+    void findCitasByUsuario_returnsEmptyOnNoContent() {
+        server.expect(requestTo("http://citas.local/api/v1/citas/usuario/4"))
+            .andRespond(withNoContent());
+
+        assertThat(citasClient.findCitasByUsuario(4L)).isEmpty();
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("findCitasByUsuario corta la lectura al vencer citas.api.timeout-ms")
+    void findCitasByUsuario_timesOutWhenCitasDoesNotRespond() throws Exception {
+        // Acepta la conexión (backlog) pero nunca responde.
+        try (ServerSocket mudo = new ServerSocket(0)) {
+            CitasClient conTimeout = new CitasClient(
+                RestClient.builder(), "http://localhost:" + mudo.getLocalPort(), 200);
+
+            long inicio = System.nanoTime();
+            assertThatThrownBy(() -> conTimeout.findCitasByUsuario(5L))
+                .isInstanceOf(ResourceAccessException.class);
+            assertThat(Duration.ofNanos(System.nanoTime() - inicio)).isLessThan(Duration.ofSeconds(5));
+        }
+    }
+}
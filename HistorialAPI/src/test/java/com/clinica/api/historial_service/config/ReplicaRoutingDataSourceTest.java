@@ -0,0 +1,117 @@
+package com.clinica.api.historial_service.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.clinica.api.historial_service.model.Historial;
+import com.clinica.api.historial_service.service.HistorialService;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:historial_primario;DB_CLOSE_DELAY=-1",
+    "spring.datasource.hikari.maximum-pool-size=3",
+    "spring.datasource.hikari.connection-timeout=4000",
+    "historial.datasource.replica.url=" + ReplicaRoutingDataSourceTest.URL_REPLICA
+})
+class ReplicaRoutingDataSourceTest {
+
+    static final String URL_REPLICA = "jdbc:h2:mem:historial_replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private HistorialService historialService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    @Test
+    @DisplayName("Las transacciones read-only usan la réplica")
+    void readOnlyTransaction_usesReplica() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+
+        String baseDatos = template.execute(status -> baseDatosActual());
+
+        assertThat(baseDatos).isEqualToIgnoringCase("historial_replica");
+    }
+
+    @Test
+    @DisplayName("Las transacciones de escritura y el código sin transacción usan el primario")
+    void readWriteTransaction_usesPrimary() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+
+        String enTransaccion = template.execute(status -> baseDatosActual());
+
+        assertThat(enTransaccion).isEqualToIgnoringCase("historial_primario");
+        assertThat(baseDatosActual()).isEqualToIgnoringCase("historial_primario");
+    }
+
+    @Test
+    @DisplayName("El esquema JPA se crea en el primario")
+    void schema_isCreatedOnPrimary() {
+        Integer tablas = jdbcTemplate.queryForObject(
+            "select count(*) from information_schema.tables where upper(table_name) = 'HISTORIAL'", Integer.class);
+
+        assertThat(tablas).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Los métodos read-only de HistorialService leen de la réplica")
+    void historialService_readsFromReplica() {
+        // La réplica no recibe el esquema de JPA: se copia el DDL del primario y se carga una fila solo ahí.
+        JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(URL_REPLICA, "sa", ""));
+        for (String sentencia : jdbcTemplate.queryForList("script nodata table historial", String.class)) {
+            if (sentencia.startsWith("CREATE") && !sentencia.startsWith("CREATE USER")) {
+                replica.execute(sentencia);
+            }
+        }
+        try {
+            replica.update("insert into historial (fecha_historial, estado, id_usuario, id_doctor, hora_inicio, "
+                + "hora_fin, duracion_minutos, disponible) values (date '2024-01-15', 'FINALIZADA', 77, 3, "
+                + "time '10:00:00', time '10:30:00', 30, true)");
+
+            List<Historial> historiales = historialService.findHistorialesByUsuarioId(77L);
+
+            assertThat(historiales).extracting(Historial::getIdDoctor).containsExactly(3L);
+            assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from historial where id_usuario = 77", Integer.class)).isZero();
+        } finally {
+            replica.execute("drop table historial");
+        }
+    }
+
+    @Test
+    @DisplayName("Ambos pools aplican spring.datasource.hikari.*")
+    void pools_bindHikariProperties() {
+        assertThat(primaryDataSource.getMaximumPoolSize()).isEqualTo(3);
+        assertThat(primaryDataSource.getConnectionTimeout()).isEqualTo(4000L);
+        assertThat(primaryDataSource.getPoolName()).isEqualTo("historial-primario");
+        assertThat(replicaDataSource.getMaximumPoolSize()).isEqualTo(3);
+        assertThat(replicaDataSource.getConnectionTimeout()).isEqualTo(4000L);
+        assertThat(replicaDataSource.getPoolName()).isEqualTo("historial-replica");
+        assertThat(replicaDataSource.isReadOnly()).isTrue();
+    }
+
+    private String baseDatosActual() {
+        return jdbcTemplate.queryForObject("select database()", String.class);
+    }
+}
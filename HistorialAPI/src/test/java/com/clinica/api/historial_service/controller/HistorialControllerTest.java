@@ -1,12 +1,19 @@
 package com.clinica.api.historial_service.controller;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.clinica.api.historial_service.dto.DesempenoDoctorResponse;
+import com.clinica.api.historial_service.dto.PeriodoDesempeno;
+import com.clinica.api.historial_service.dto.TimelineEventoResponse;
+import com.clinica.api.historial_service.dto.TimelinePageResponse;
 import com.clinica.api.historial_service.model.Historial;
 import com.clinica.api.historial_service.service.HistorialService;
+import com.clinica.api.historial_service.service.TimelineService;
 import jakarta.persistence.EntityNotFoundException;
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -28,6 +35,9 @@ class HistorialControllerTest {
     @MockBean
     private HistorialService historialService;
 
+    @MockBean
+    private TimelineService timelineService;
+
     @Test
     @DisplayName("GET /api/v1/historial/usuario/{id} responde 200 con historiales")
     void getHistorialesByUsuario_returnsOk() throws Exception {
@@ -87,6 +97,69 @@ class HistorialControllerTest {
             .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("GET /api/v1/historial/doctor/{id}/desempeno responde 200 con métricas agregadas")
+    void getDesempenoDoctor_returnsOk() throws Exception {
+        DesempenoDoctorResponse semana = new DesempenoDoctorResponse(9L, PeriodoDesempeno.SEMANA, LocalDate.of(2024, 1, 8));
+        semana.setConsultas(3L);
+        semana.setMinutos(90L);
+        semana.setIngresos(60000L);
+        when(historialService.findDesempenoDoctor(
+            9L, PeriodoDesempeno.SEMANA, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)))
+            .thenReturn(List.of(semana));
+
+        mockMvc.perform(get("/api/v1/historial/doctor/{doctorId}/desempeno", 9L)
+                .param("periodo", "SEMANA")
+                .param("desde", "2024-01-01")
+                .param("hasta", "2024-01-31"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].inicioPeriodo").value("2024-01-08"))
+            .andExpect(jsonPath("$[0].consultas").value(3))
+            .andExpect(jsonPath("$[0].ingresos").value(60000));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/historial/doctor/{id}/desempeno responde 400 con rango inválido")
+    void getDesempenoDoctor_returnsBadRequest() throws Exception {
+        when(historialService.findDesempenoDoctor(eq(9L), eq(PeriodoDesempeno.DIA), any(), any()))
+            .thenThrow(new IllegalArgumentException("rango"));
+
+        mockMvc.perform(get("/api/v1/historial/doctor/{doctorId}/desempeno", 9L)
+                .param("desde", "2024-02-01")
+                .param("hasta", "2024-01-01"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/historial/usuario/{id}/timeline responde 200 con la página combinada")
+    void getTimelineByUsuario_returnsOk() throws Exception {
+        TimelineEventoResponse evento = new TimelineEventoResponse();
+        evento.setTipo(TimelineEventoResponse.TIPO_CITA);
+        evento.setId(11L);
+        evento.setFecha(LocalDate.of(2024, 4, 2));
+        when(timelineService.findTimelineByUsuario(3L, 1, 5))
+            .thenReturn(new TimelinePageResponse(1, 5, true, true, List.of(evento)));
+
+        mockMvc.perform(get("/api/v1/historial/usuario/{usuarioId}/timeline", 3L)
+                .param("page", "1")
+                .param("size", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.hasMore").value(true))
+            .andExpect(jsonPath("$.eventos[0].tipo").value("CITA"))
+            .andExpect(jsonPath("$.eventos[0].fecha").value("2024-04-02"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/historial/usuario/{id}/timeline responde 400 con paginación inválida")
+    void getTimelineByUsuario_returnsBadRequest() throws Exception {
+        when(timelineService.findTimelineByUsuario(3L, 0, 500))
+            .thenThrow(new IllegalArgumentException("size"));
+
+        mockMvc.perform(get("/api/v1/historial/usuario/{usuarioId}/timeline", 3L)
+                .param("size", "500"))
+            .andExpect(status().isBadRequest());
+    }
+
     private Historial historial() {
         Historial historial = new Historial();
         historial.setId(1L);
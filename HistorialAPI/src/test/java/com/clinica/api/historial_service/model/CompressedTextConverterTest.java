@@ -0,0 +1,59 @@
+package com.clinica.api.historial_service.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CompressedTextConverterTest {
+
+    private final CompressedTextConverter converter = new CompressedTextConverter();
+
+    @Test
+    @DisplayName("Los textos cortos se guardan como UTF-8 sin cabecera")
+    void shortValues_areStoredRaw() {
+        byte[] columna = converter.convertToDatabaseColumn("Control sin novedades");
+
+        assertThat(columna).isEqualTo("Control sin novedades".getBytes(StandardCharsets.UTF_8));
+        assertThat(converter.convertToEntityAttribute(columna)).isEqualTo("Control sin novedades");
+    }
+
+    @Test
+    @DisplayName("Los textos largos se comprimen y se recuperan sin pérdida")
+    void longValues_areCompressedAndRoundTrip() {
+        String observaciones = "Paciente estable, se mantiene tratamiento. ñandú ".repeat(40);
+
+        byte[] columna = converter.convertToDatabaseColumn(observaciones);
+
+        assertThat(columna.length).isLessThan(observaciones.getBytes(StandardCharsets.UTF_8).length / 4);
+        assertThat(columna[0]).isEqualTo((byte) 0xFF);
+        assertThat(converter.convertToEntityAttribute(columna)).isEqualTo(observaciones);
+    }
+
+    @Test
+    @DisplayName("Los valores que no se reducen al comprimir se guardan sin cabecera")
+    void incompressibleValues_areStoredRaw() {
+        StringBuilder sb = new StringBuilder();
+        Random random = new Random(42);
+        while (sb.length() < 400) {
+            sb.append((char) ('!' + random.nextInt(90)));
+        }
+        String valor = sb.toString();
+
+        byte[] columna = converter.convertToDatabaseColumn(valor);
+
+        assertThat(columna).isEqualTo(valor.getBytes(StandardCharsets.UTF_8));
+        assertThat(converter.convertToEntityAttribute(columna)).isEqualTo(valor);
+    }
+
+    @Test
+    @DisplayName("Las filas existentes en texto plano y los nulos se leen sin cambios")
+    void legacyRowsAndNulls_areReadAsIs() {
+        assertThat(converter.convertToEntityAttribute("Diagnóstico previo".getBytes(StandardCharsets.UTF_8)))
+            .isEqualTo("Diagnóstico previo");
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+    }
+}
@@ -0,0 +1,63 @@
+package com.clinica.api.historial_service.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.clinica.api.historial_service.model.Historial;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+@DataJpaTest
+class HistorialRepositoryTest {
+
+    @Autowired
+    private HistorialRepository historialRepository;
+
+    @Test
+    @DisplayName("sumarizarPorDoctorYDia agrupa por día en la base, con el rango inclusivo y solo el doctor pedido")
+    void sumarizarPorDoctorYDia_groupsByDay() {
+        LocalDate lunes = LocalDate.of(2024, 1, 8);
+        LocalDate martes = LocalDate.of(2024, 1, 9);
+        historialRepository.saveAll(List.of(
+            historial(9L, lunes, 30, 20000L),
+            historial(9L, lunes, 45, null),
+            historial(9L, martes, 60, 40000L),
+            historial(9L, LocalDate.of(2024, 1, 15), 20, 10000L),
+            historial(7L, lunes, 90, 50000L)
+        ));
+
+        List<DesempenoDiario> diarios = historialRepository.sumarizarPorDoctorYDia(9L, lunes, LocalDate.of(2024, 1, 14));
+
+        assertThat(diarios).extracting(DesempenoDiario::getFecha).containsExactly(lunes, martes);
+        assertThat(diarios.get(0).getConsultas()).isEqualTo(2L);
+        assertThat(diarios.get(0).getMinutos()).isEqualTo(75L);
+        assertThat(diarios.get(0).getIngresos()).isEqualTo(20000L);
+        assertThat(diarios.get(1).getConsultas()).isEqualTo(1L);
+        assertThat(diarios.get(1).getMinutos()).isEqualTo(60L);
+        assertThat(diarios.get(1).getIngresos()).isEqualTo(40000L);
+    }
+
+    @Test
+    @DisplayName("sumarizarPorDoctorYDia no entrega filas para días sin consultas")
+    void sumarizarPorDoctorYDia_returnsEmptyWithoutData() {
+        assertThat(historialRepository.sumarizarPorDoctorYDia(
+            123L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31))).isEmpty();
+    }
+
+    private Historial historial(Long idDoctor, LocalDate fecha, int minutos, Long pago) {
+        Historial historial = new Historial();
+        historial.setIdDoctor(idDoctor);
+        historial.setIdUsuario(1L);
+        historial.setFechaConsulta(fecha);
+        historial.setEstado("FINALIZADA");
+        historial.setHoraInicio(LocalTime.of(10, 0));
+        historial.setHoraFin(LocalTime.of(10, 0).plusMinutes(minutos));
+        historial.setDuracionMinutos(minutos);
+        historial.setPago(pago);
+        return historial;
+    }
+}
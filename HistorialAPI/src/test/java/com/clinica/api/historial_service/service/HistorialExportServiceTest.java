@@ -0,0 +1,120 @@
+package com.clinica.api.historial_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.clinica.api.historial_service.dto.ExportResultado;
+import com.clinica.api.historial_service.model.ExportWatermark;
+import com.clinica.api.historial_service.model.Historial;
+import com.clinica.api.historial_service.repository.ExportWatermarkRepository;
+import com.clinica.api.historial_service.repository.HistorialRepository;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import org.apache.arrow.compression.CommonsCompressionFactory;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+@ExtendWith(MockitoExtension.class)
+class HistorialExportServiceTest {
+
+    @Mock
+    private HistorialRepository historialRepository;
+
+    @Mock
+    private ExportWatermarkRepository watermarkRepository;
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    @DisplayName("exportarIncremental escribe un record batch por bloque y avanza el watermark")
+    void exportarIncremental_writesChunksAndAdvancesWatermark() throws IOException {
+        HistorialExportService service = new HistorialExportService(
+            historialRepository, watermarkRepository, directorio.toString(), 2);
+        when(watermarkRepository.findById(HistorialExportService.WATERMARK))
+            .thenReturn(Optional.of(new ExportWatermark(HistorialExportService.WATERMARK, 10L, LocalDateTime.now())));
+        when(historialRepository.findByIdGreaterThanOrderByIdAsc(10L, PageRequest.of(0, 2)))
+            .thenReturn(List.of(historial(11L, "Control"), historial(12L, null)));
+        when(historialRepository.findByIdGreaterThanOrderByIdAsc(12L, PageRequest.of(0, 2)))
+            .thenReturn(List.of(historial(15L, "Alta")));
+
+        ExportResultado resultado = service.exportarIncremental();
+
+        assertThat(resultado.filas()).isEqualTo(3);
+        assertThat(resultado.hastaIdInclusivo()).isEqualTo(15L);
+        assertThat(resultado.archivo().getFileName().toString()).isEqualTo("historial_11_15.arrow");
+        verify(watermarkRepository).save(argThat(w -> w.getUltimoId() == 15L));
+
+        try (BufferAllocator allocator = new RootAllocator();
+             FileChannel canal = FileChannel.open(resultado.archivo());
+             ArrowFileReader reader = new ArrowFileReader(canal, allocator, CommonsCompressionFactory.INSTANCE)) {
+            assertThat(reader.getRecordBlocks()).hasSize(2);
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            reader.loadNextBatch();
+            BigIntVector ids = (BigIntVector) root.getVector("id_historial");
+            VarCharVector diagnosticos = (VarCharVector) root.getVector("diagnostico");
+            assertThat(root.getRowCount()).isEqualTo(2);
+            assertThat(ids.get(0)).isEqualTo(11L);
+            assertThat(new String(diagnosticos.get(0))).isEqualTo("Control");
+            assertThat(diagnosticos.isNull(1)).isTrue();
+            reader.loadNextBatch();
+            assertThat(ids.get(0)).isEqualTo(15L);
+        }
+        try (var archivos = Files.list(directorio)) {
+            assertThat(archivos).containsExactly(resultado.archivo());
+        }
+    }
+
+    @Test
+    @DisplayName("exportarIncremental no genera archivo ni mueve el watermark sin filas nuevas")
+    void exportarIncremental_withoutNewRows_keepsWatermark() throws IOException {
+        HistorialExportService service = new HistorialExportService(
+            historialRepository, watermarkRepository, directorio.toString(), 100);
+        when(watermarkRepository.findById(HistorialExportService.WATERMARK)).thenReturn(Optional.empty());
+        when(historialRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 100))).thenReturn(List.of());
+
+        ExportResultado resultado = service.exportarIncremental();
+
+        assertThat(resultado.filas()).isZero();
+        assertThat(resultado.archivo()).isNull();
+        verify(watermarkRepository, never()).save(any());
+        try (var archivos = Files.list(directorio)) {
+            assertThat(archivos).isEmpty();
+        }
+    }
+
+    private Historial historial(Long id, String diagnostico) {
+        Historial historial = new Historial();
+        historial.setId(id);
+        historial.setIdDoctor(9L);
+        historial.setEstado("COMPLETADA");
+        historial.setFechaConsulta(LocalDate.of(2024, 1, 10));
+        historial.setHoraInicio(LocalTime.of(9, 0));
+        historial.setHoraFin(LocalTime.of(9, 30));
+        historial.setDuracionMinutos(30);
+        historial.setDiagnostico(diagnostico);
+        return historial;
+    }
+}
@@ -2,10 +2,15 @@ package com.clinica.api.historial_service.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.clinica.api.historial_service.dto.DesempenoDoctorResponse;
+import com.clinica.api.historial_service.dto.PeriodoDesempeno;
 import com.clinica.api.historial_service.model.Historial;
+import com.clinica.api.historial_service.repository.DesempenoDiario;
 import com.clinica.api.historial_service.repository.HistorialRepository;
 import jakarta.persistence.EntityNotFoundException;
 import java.time.LocalDate;
@@ -82,4 +87,97 @@ class HistorialServiceTest {
         assertThat(result).containsExactly(historial);
         verify(historialRepository).findByIdDoctor(9L);
     }
+
+    @Test
+    @DisplayName("findDesempenoDoctor consolida las filas diarias en semanas")
+    void findDesempenoDoctor_groupsByWeek() {
+        LocalDate desde = LocalDate.of(2024, 1, 1);
+        LocalDate hasta = LocalDate.of(2024, 1, 31);
+        when(historialRepository.sumarizarPorDoctorYDia(9L, desde, hasta)).thenReturn(List.of(
+            diario(LocalDate.of(2024, 1, 8), 2L, 60L, 40000L),
+            diario(LocalDate.of(2024, 1, 10), 1L, 30L, 20000L),
+            diario(LocalDate.of(2024, 1, 16), 3L, 90L, null)
+        ));
+
+        List<DesempenoDoctorResponse> result =
+            historialService.findDesempenoDoctor(9L, PeriodoDesempeno.SEMANA, desde, hasta);
+
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0).getInicioPeriodo()).isEqualTo(LocalDate.of(2024, 1, 8));
+        assertThat(result.get(0).getConsultas()).isEqualTo(3L);
+        assertThat(result.get(0).getMinutos()).isEqualTo(90L);
+        assertThat(result.get(0).getIngresos()).isEqualTo(60000L);
+        assertThat(result.get(1).getInicioPeriodo()).isEqualTo(LocalDate.of(2024, 1, 15));
+        assertThat(result.get(1).getConsultas()).isEqualTo(3L);
+        assertThat(result.get(1).getIngresos()).isZero();
+    }
+
+    @Test
+    @DisplayName("findDesempenoDoctor sin desde usa 12 semanas completas que parten un lunes")
+    void findDesempenoDoctor_defaultWeeklyRangeStartsOnMonday() {
+        LocalDate miercoles = LocalDate.of(2024, 3, 27);
+        LocalDate lunes = LocalDate.of(2024, 1, 8);
+        when(historialRepository.sumarizarPorDoctorYDia(9L, lunes, miercoles)).thenReturn(List.of(
+            diario(lunes, 1L, 30L, 20000L)
+        ));
+
+        List<DesempenoDoctorResponse> result =
+            historialService.findDesempenoDoctor(9L, PeriodoDesempeno.SEMANA, null, miercoles);
+
+        assertThat(result).extracting(DesempenoDoctorResponse::getInicioPeriodo).containsExactly(lunes);
+        verify(historialRepository).sumarizarPorDoctorYDia(9L, lunes, miercoles);
+    }
+
+    @Test
+    @DisplayName("findDesempenoDoctor agrupa por mes usando el primer día como inicio")
+    void findDesempenoDoctor_groupsByMonth() {
+        LocalDate desde = LocalDate.of(2024, 1, 1);
+        LocalDate hasta = LocalDate.of(2024, 2, 29);
+        when(historialRepository.sumarizarPorDoctorYDia(9L, desde, hasta)).thenReturn(List.of(
+            diario(LocalDate.of(2024, 1, 8), 2L, 60L, 40000L),
+            diario(LocalDate.of(2024, 1, 31), 1L, 30L, 20000L),
+            diario(LocalDate.of(2024, 2, 1), 1L, 45L, 25000L)
+        ));
+
+        List<DesempenoDoctorResponse> result =
+            historialService.findDesempenoDoctor(9L, PeriodoDesempeno.MES, desde, hasta);
+
+        assertThat(result).extracting(DesempenoDoctorResponse::getInicioPeriodo)
+            .containsExactly(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1));
+        assertThat(result.get(0).getMinutos()).isEqualTo(90L);
+        assertThat(result.get(1).getIngresos()).isEqualTo(25000L);
+    }
+
+    @Test
+    @DisplayName("findDesempenoDoctor rechaza rangos invertidos sin consultar el repositorio")
+    void findDesempenoDoctor_rejectsInvertedRange() {
+        assertThatThrownBy(() -> historialService.findDesempenoDoctor(
+            9L, PeriodoDesempeno.DIA, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1)))
+            .isInstanceOf(IllegalArgumentException.class);
+        verify(historialRepository, never()).sumarizarPorDoctorYDia(any(), any(), any());
+    }
+
+    private DesempenoDiario diario(LocalDate fecha, Long consultas, Long minutos, Long ingresos) {
+        return new DesempenoDiario() {
+            @Override
+            public LocalDate getFecha() {
+                return fecha;
+            }
+
+            @Override
+            public Long getConsultas() {
+                return consultas;
+            }
+
+            @Override
+            public Long getMinutos() {
+                return minutos;
+            }
+
+            @Override
+            public Long getIngresos() {
+                return ingresos;
+            }
+        };
+    }
 }
@@ -0,0 +1,139 @@
+package com.clinica.api.historial_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.clinica.api.historial_service.client.CitasClient;
+import com.clinica.api.historial_service.dto.CitaResumen;
+import com.clinica.api.historial_service.dto.TimelineEventoResponse;
+import com.clinica.api.historial_service.dto.TimelinePageResponse;
+import com.clinica.api.historial_service.model.Historial;
+import com.clinica.api.historial_service.repository.HistorialRepository;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.web.client.ResourceAccessException;
+
+@ExtendWith(MockitoExtension.class)
+class TimelineServiceTest {
+
+    @Mock
+    private HistorialRepository historialRepository;
+
+    @Mock
+    private CitasClient citasClient;
+
+    private ExecutorService executor;
+    private TimelineService timelineService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        timelineService = new TimelineService(historialRepository, citasClient, executor, 2000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    @DisplayName("findTimelineByUsuario mezcla citas e historiales del más reciente al más antiguo")
+    void findTimelineByUsuario_mergesByDateDescending() {
+        when(historialRepository.findByIdUsuarioOrderByFechaConsultaDescHoraInicioDesc(eq(3L), eq(PageRequest.of(0, 11))))
+            .thenReturn(List.of(
+                historial(1L, LocalDate.of(2024, 3, 1), LocalTime.of(10, 0)),
+                historial(2L, LocalDate.of(2024, 1, 15), LocalTime.of(9, 0))
+            ));
+        when(citasClient.findCitasByUsuario(3L)).thenReturn(List.of(
+            cita(10L, LocalDate.of(2024, 1, 15), LocalTime.of(11, 0)),
+            cita(11L, LocalDate.of(2024, 4, 2), LocalTime.of(8, 0))
+        ));
+
+        TimelinePageResponse result = timelineService.findTimelineByUsuario(3L, 0, 10);
+
+        assertThat(result.getEventos())
+            .extracting(TimelineEventoResponse::getTipo, TimelineEventoResponse::getId)
+            .containsExactly(
+                Tuple.tuple("CITA", 11L),
+                Tuple.tuple("HISTORIAL", 1L),
+                Tuple.tuple("CITA", 10L),
+                Tuple.tuple("HISTORIAL", 2L)
+            );
+        assertThat(result.isHasMore()).isFalse();
+        assertThat(result.isCitasDisponibles()).isTrue();
+    }
+
+    @Test
+    @DisplayName("findTimelineByUsuario pagina sobre la mezcla e indica si hay más eventos")
+    void findTimelineByUsuario_paginates() {
+        when(historialRepository.findByIdUsuarioOrderByFechaConsultaDescHoraInicioDesc(eq(3L), eq(PageRequest.of(0, 5))))
+            .thenReturn(List.of(
+                historial(1L, LocalDate.of(2024, 3, 1), LocalTime.of(10, 0)),
+                historial(2L, LocalDate.of(2024, 2, 1), LocalTime.of(10, 0))
+            ));
+        when(citasClient.findCitasByUsuario(3L)).thenReturn(List.of(
+            cita(10L, LocalDate.of(2024, 2, 15), LocalTime.of(11, 0)),
+            cita(11L, LocalDate.of(2024, 1, 2), LocalTime.of(8, 0))
+        ));
+
+        TimelinePageResponse result = timelineService.findTimelineByUsuario(3L, 1, 2);
+
+        assertThat(result.getEventos()).extracting(TimelineEventoResponse::getId).containsExactly(2L, 11L);
+        assertThat(result.isHasMore()).isFalse();
+    }
+
+    @Test
+    @DisplayName("findTimelineByUsuario devuelve solo historiales cuando CitasAPI falla")
+    void findTimelineByUsuario_degradesWhenCitasFails() {
+        when(historialRepository.findByIdUsuarioOrderByFechaConsultaDescHoraInicioDesc(eq(3L), eq(PageRequest.of(0, 11))))
+            .thenReturn(List.of(historial(1L, LocalDate.of(2024, 3, 1), LocalTime.of(10, 0))));
+        when(citasClient.findCitasByUsuario(3L)).thenThrow(new ResourceAccessException("sin conexión"));
+
+        TimelinePageResponse result = timelineService.findTimelineByUsuario(3L, 0, 10);
+
+        assertThat(result.getEventos()).extracting(TimelineEventoResponse::getId).containsExactly(1L);
+        assertThat(result.isCitasDisponibles()).isFalse();
+        verify(citasClient).findCitasByUsuario(3L);
+    }
+
+    @Test
+    @DisplayName("findTimelineByUsuario rechaza tamaños de página fuera de rango")
+    void findTimelineByUsuario_rejectsInvalidPaging() {
+        assertThatThrownBy(() -> timelineService.findTimelineByUsuario(3L, 0, TimelineService.MAX_PAGE_SIZE + 1))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> timelineService.findTimelineByUsuario(3L, -1, 10))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Historial historial(Long id, LocalDate fecha, LocalTime hora) {
+        Historial historial = new Historial();
+        historial.setId(id);
+        historial.setIdUsuario(3L);
+        historial.setFechaConsulta(fecha);
+        historial.setHoraInicio(hora);
+        return historial;
+    }
+
+    private CitaResumen cita(Long id, LocalDate fecha, LocalTime hora) {
+        CitaResumen cita = new CitaResumen();
+        cita.setId(id);
+        cita.setFechaCita(fecha);
+        cita.setHoraInicio(hora);
+        return cita;
+    }
+}
@@ -0,0 +1,103 @@
+package com.clinica.api.seguros_service.dto;
+
+import com.clinica.api.seguros_service.model.BeneficiarioContrato;
+import com.clinica.api.seguros_service.model.ContratoSeguro;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Serialización de un listado de 500 contratos (2 beneficiarios cada uno), como el que devuelve
+ * {@code GET /contratos/seguro/{idSeguro}} para un plan corporativo: entidades con referencias
+ * administradas (antes) frente a DTOs planos, con y sin Blackbird (después).
+ * <p>
+ * Ejecutar con {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContratoSeguroSerializacionBenchmark {
+
+    private static final int CONTRATOS = 500;
+
+    private List<ContratoSeguro> contratos;
+    private ObjectMapper reflexion;
+    private ObjectMapper blackbird;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        contratos = new ArrayList<>(CONTRATOS);
+        for (int i = 0; i < CONTRATOS; i++) {
+            contratos.add(contrato(i));
+        }
+        reflexion = mapper().build();
+        blackbird = mapper().addModule(new BlackbirdModule()).build();
+    }
+
+    @Benchmark
+    public byte[] entidades() throws Exception {
+        return reflexion.writeValueAsBytes(contratos);
+    }
+
+    @Benchmark
+    public byte[] dtos() throws Exception {
+        return reflexion.writeValueAsBytes(ContratoSeguroResponse.desde(contratos));
+    }
+
+    @Benchmark
+    public byte[] dtosBlackbird() throws Exception {
+        return blackbird.writeValueAsBytes(ContratoSeguroResponse.desde(contratos));
+    }
+
+    // Misma configuración de fechas que el ObjectMapper de Spring Boot.
+    private static JsonMapper.Builder mapper() {
+        return JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static ContratoSeguro contrato(int i) {
+        ContratoSeguro contrato = new ContratoSeguro();
+        contrato.setId((long) i + 1);
+        contrato.setIdSeguro(7L);
+        contrato.setIdUsuario(10_000L + i);
+        contrato.setCorreoContacto("empleado" + i + "@empresa.cl");
+        contrato.setTelefonoContacto("+5691234" + String.format("%04d", i));
+        contrato.setMetodoPago(ContratoSeguro.MetodoPago.Transferencia);
+        contrato.setFechaContratacion(LocalDate.of(2024, 1, 1).plusDays(i % 365));
+        contrato.setFechaVencimiento(contrato.getFechaContratacion().plusMonths(ContratoSeguro.VIGENCIA_MESES).minusDays(1));
+        contrato.setFechaPagadoHasta(contrato.getFechaContratacion().plusMonths(3));
+        contrato.setEstado(ContratoSeguro.EstadoContrato.ACTIVO);
+        contrato.setVersion(0L);
+        for (int b = 0; b < 2; b++) {
+            BeneficiarioContrato beneficiario = new BeneficiarioContrato();
+            beneficiario.setId((long) i * 2 + b + 1);
+            beneficiario.setRut((10_000_000 + i * 2 + b) + "-" + b);
+            beneficiario.setNombre("Beneficiario " + i + "-" + b);
+            beneficiario.setFechaNacimiento(LocalDate.of(1980 + b * 20, 1 + i % 12, 1 + i % 28));
+            beneficiario.setContrato(contrato);
+            contrato.getBeneficiarios().add(beneficiario);
+        }
+        return contrato;
+    }
+}
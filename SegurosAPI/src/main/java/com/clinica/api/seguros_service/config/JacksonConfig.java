@@ -0,0 +1,17 @@
+package com.clinica.api.seguros_service.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    // Spring Boot registra cada Module en el ObjectMapper: Blackbird reemplaza la reflexión de getters/setters
+    // por accesos generados con LambdaMetafactory (Afterburner no funciona sin --add-opens en Java 21).
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
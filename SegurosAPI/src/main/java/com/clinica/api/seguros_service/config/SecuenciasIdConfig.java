@@ -0,0 +1,67 @@
+package com.clinica.api.seguros_service.config;
+
+import com.clinica.api.seguros_service.model.ContratoSeguro;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Alinea las tablas de secuencia de Hibernate con los ids que ya existían cuando las entidades usaban IDENTITY.
+ * <p>
+ * En MySQL los generadores SEQUENCE se emulan con una tabla {@code <Entidad>_seq(next_val)} que
+ * {@code ddl-auto=update} crea partiendo en 1; sin este ajuste los primeros ids chocarían con filas existentes.
+ * El UPDATE solo avanza el valor (nunca retrocede), por lo que es seguro con varias instancias.
+ * En bases con secuencias nativas (H2, PostgreSQL) no hay datos previos con IDENTITY y no se toca nada.
+ */
+@Configuration
+@DependsOn("entityManagerFactory")
+public class SecuenciasIdConfig implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SecuenciasIdConfig.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+
+    public SecuenciasIdConfig(JdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        alinear("ContratoSeguro_seq", "ContratoSeguro", "id_contrato");
+        alinear("BeneficiarioContrato_seq", "BeneficiarioContrato", "id_beneficiario");
+    }
+
+    private void alinear(String tablaSecuencia, String tabla, String columnaId) throws SQLException {
+        if (!existeTabla(tablaSecuencia)) {
+            return;
+        }
+        Long maximo = jdbcTemplate.queryForObject(
+            "select coalesce(max(" + columnaId + "), 0) from " + tabla, Long.class);
+        // Con el optimizador pooled el bloque asignado termina en next_val: se deja un bloque completo de margen.
+        long minimo = (maximo != null ? maximo : 0L) + ContratoSeguro.ID_ALLOCATION_SIZE + 1;
+        int filas = jdbcTemplate.update(
+            "update " + tablaSecuencia + " set next_val = ? where next_val < ?", minimo, minimo);
+        if (filas > 0) {
+            log.info("Secuencia {} alineada a {} (max {} = {})", tablaSecuencia, minimo, columnaId, maximo);
+        }
+    }
+
+    private boolean existeTabla(String nombre) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet tablas = metaData.getTables(connection.getCatalog(), null, nombre, new String[] {"TABLE"})) {
+                return tablas.next();
+            }
+        }
+    }
+}
@@ -1,6 +1,12 @@
 package com.clinica.api.seguros_service.controller;
 
+import com.clinica.api.seguros_service.dto.ContratoLoteResponse;
+import com.clinica.api.seguros_service.dto.ContratoSeguroResponse;
+import com.clinica.api.seguros_service.dto.ElegibilidadResponse;
+import com.clinica.api.seguros_service.dto.PagoContratoRequest;
 import com.clinica.api.seguros_service.model.ContratoSeguro;
+import com.clinica.api.seguros_service.service.CoberturaActivaIndex;
+import com.clinica.api.seguros_service.service.ContratoLoteService;
 import com.clinica.api.seguros_service.service.SeguroService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -11,13 +17,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.persistence.EntityNotFoundException;
 import java.util.List;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -26,9 +35,42 @@ import org.springframework.web.bind.annotation.RestController;
 public class ContratoSeguroController {
 
     private final SeguroService seguroService;
+    private final ContratoLoteService contratoLoteService;
+    private final CoberturaActivaIndex coberturaActivaIndex;
 
-    public ContratoSeguroController(SeguroService seguroService) {
+    public ContratoSeguroController(
+        SeguroService seguroService,
+        ContratoLoteService contratoLoteService,
+        CoberturaActivaIndex coberturaActivaIndex
+    ) {
         this.seguroService = seguroService;
+        this.contratoLoteService = contratoLoteService;
+        this.coberturaActivaIndex = coberturaActivaIndex;
+    }
+
+    @GetMapping("/elegibilidad")
+    @Operation(
+        summary = "Indica si un usuario tiene cobertura vigente en un plan.",
+        description = "Pensado para el check-in de citas: responde si el usuario tiene un contrato ACTIVO del plan indicado "
+            + "que cubra hoy (ya contratado, sin vencer y con el pago dentro del periodo de gracia), consultando un índice en memoria sin cargar contratos ni beneficiarios. "
+            + "Responde 200 con el resultado (elegible true o false) o 500 si ocurre un error."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Resultado de elegibilidad.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ElegibilidadResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<ElegibilidadResponse> consultarElegibilidad(
+        @RequestParam("idUsuario") Long idUsuario,
+        @RequestParam("idSeguro") Long idSeguro
+    ) {
+        boolean elegible = coberturaActivaIndex.estaCubierto(idUsuario, idSeguro);
+        return ResponseEntity.ok(new ElegibilidadResponse(idUsuario, idSeguro, elegible));
     }
 
     @GetMapping("/usuario/{idUsuario}")
@@ -43,17 +85,17 @@ public class ContratoSeguroController {
             description = "Contratos encontrados para el usuario.",
             content = @Content(
                 mediaType = "application/json",
-                array = @ArraySchema(schema = @Schema(implementation = ContratoSeguro.class))
+                array = @ArraySchema(schema = @Schema(implementation = ContratoSeguroResponse.class))
             )
         ),
         @ApiResponse(responseCode = "204", description = "El usuario no tiene contratos asociados.")
     })
-    public ResponseEntity<List<ContratoSeguro>> listarContratosPorUsuario(@PathVariable("idUsuario") Long idUsuario) {
+    public ResponseEntity<List<ContratoSeguroResponse>> listarContratosPorUsuario(@PathVariable("idUsuario") Long idUsuario) {
         List<ContratoSeguro> contratos = seguroService.findContratosByUsuario(idUsuario);
         if (contratos.isEmpty()) {
             return ResponseEntity.noContent().build();
         }
-        return ResponseEntity.ok(contratos);
+        return ResponseEntity.ok(ContratoSeguroResponse.desde(contratos));
     }
 
     @GetMapping("/seguro/{idSeguro}")
@@ -68,17 +110,48 @@ public class ContratoSeguroController {
             description = "Contratos encontrados para el plan.",
             content = @Content(
                 mediaType = "application/json",
-                array = @ArraySchema(schema = @Schema(implementation = ContratoSeguro.class))
+                array = @ArraySchema(schema = @Schema(implementation = ContratoSeguroResponse.class))
             )
         ),
         @ApiResponse(responseCode = "204", description = "El seguro no tiene contratos registrados.")
     })
-    public ResponseEntity<List<ContratoSeguro>> listarContratosPorSeguro(@PathVariable("idSeguro") Long idSeguro) {
+    public ResponseEntity<List<ContratoSeguroResponse>> listarContratosPorSeguro(@PathVariable("idSeguro") Long idSeguro) {
         List<ContratoSeguro> contratos = seguroService.findContratosBySeguro(idSeguro);
         if (contratos.isEmpty()) {
             return ResponseEntity.noContent().build();
         }
-        return ResponseEntity.ok(contratos);
+        return ResponseEntity.ok(ContratoSeguroResponse.desde(contratos));
+    }
+
+    @GetMapping("/beneficiario/{rut}")
+    @Operation(
+        summary = "Obtiene los contratos que cubren a un beneficiario.",
+        description = "Busca por RUT del beneficiario en cualquier formato (con o sin puntos y guion). "
+            + "Puede responder 200 con los contratos, 204 si el RUT no figura como beneficiario, "
+            + "400 si el RUT no es válido o 500 si ocurre un error."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Contratos que incluyen al beneficiario.",
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = ContratoSeguroResponse.class))
+            )
+        ),
+        @ApiResponse(responseCode = "204", description = "El RUT no figura en ningún contrato."),
+        @ApiResponse(responseCode = "400", description = "RUT con formato o dígito verificador inválido.")
+    })
+    public ResponseEntity<List<ContratoSeguroResponse>> listarContratosPorBeneficiario(@PathVariable("rut") String rut) {
+        try {
+            List<ContratoSeguro> contratos = seguroService.findContratosByRutBeneficiario(rut);
+            if (contratos.isEmpty()) {
+                return ResponseEntity.noContent().build();
+            }
+            return ResponseEntity.ok(ContratoSeguroResponse.desde(contratos));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/{id_contrato}")
@@ -93,14 +166,15 @@ public class ContratoSeguroController {
             description = "Contrato encontrado y retornado.",
             content = @Content(
                 mediaType = "application/json",
-                schema = @Schema(implementation = ContratoSeguro.class)
+                schema = @Schema(implementation = ContratoSeguroResponse.class)
             )
         ),
         @ApiResponse(responseCode = "404", description = "No existe un contrato con el ID indicado.")
     })
-    public ResponseEntity<ContratoSeguro> obtenerContrato(@PathVariable("id_contrato") Long id) {
+    public ResponseEntity<ContratoSeguroResponse> obtenerContrato(@PathVariable("id_contrato") Long id) {
         try {
-            return ResponseEntity.ok(seguroService.findContratoById(id));
+            ContratoSeguro contrato = seguroService.findContratoById(id);
+            return ResponseEntity.ok().eTag(VersionETag.de(contrato.getVersion())).body(ContratoSeguroResponse.desde(contrato));
         } catch (EntityNotFoundException ex) {
             return ResponseEntity.notFound().build();
         }
@@ -118,19 +192,93 @@ public class ContratoSeguroController {
             description = "Contrato creado correctamente.",
             content = @Content(
                 mediaType = "application/json",
-                schema = @Schema(implementation = ContratoSeguro.class)
+                schema = @Schema(implementation = ContratoSeguroResponse.class)
             )
-        )
+        ),
+        @ApiResponse(responseCode = "400", description = "Algún beneficiario tiene un RUT inválido.")
+    })
+    public ResponseEntity<ContratoSeguroResponse> crearContrato(@RequestBody ContratoSeguro contrato) {
+        try {
+            ContratoSeguro creado = seguroService.createContrato(contrato);
+            return ResponseEntity.status(HttpStatus.CREATED).body(ContratoSeguroResponse.desde(creado));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/lote")
+    @Operation(
+        summary = "Crea contratos de forma masiva.",
+        description = "Pensado para inscripciones corporativas: valida cada contrato por separado y persiste los válidos en batches. "
+            + "Devuelve 200 con el resultado por posición (CREADO con su ID o RECHAZADO con los errores), "
+            + "400 si la lista está vacía o supera el máximo permitido y 500 ante fallos."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Resultado de la contratación masiva.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ContratoLoteResponse.class)
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Lista vacía o demasiado grande.")
+    })
+    public ResponseEntity<ContratoLoteResponse> crearContratosEnLote(@RequestBody List<ContratoSeguro> contratos) {
+        try {
+            return ResponseEntity.ok(contratoLoteService.crearContratos(contratos));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/{id}/pagos")
+    @Operation(
+        summary = "Registra el pago de primas de un contrato.",
+        description = "Adelanta la fecha hasta la que están pagadas las primas (nunca la retrocede). "
+            + "Si el contrato estaba SUSPENDIDO por impago y el pago lo deja al día, vuelve a ACTIVO. "
+            + "Puede devolver 200 con el contrato actualizado, 400 si falta pagadoHasta, 404 si no existe, "
+            + "409 si el contrato está cancelado o vencido o 500 si ocurre un error."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Pago registrado.",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ContratoSeguroResponse.class)
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Falta la fecha pagadoHasta."),
+        @ApiResponse(responseCode = "404", description = "Contrato no encontrado."),
+        @ApiResponse(responseCode = "409", description = "El contrato está cancelado o vencido.")
     })
-    public ResponseEntity<ContratoSeguro> crearContrato(@RequestBody ContratoSeguro contrato) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(seguroService.createContrato(contrato));
+    public ResponseEntity<ContratoSeguroResponse> registrarPago(
+        @PathVariable("id") Long id,
+        @RequestBody PagoContratoRequest pago
+    ) {
+        try {
+            ContratoSeguro pagado = seguroService.registrarPago(id, pago.getPagadoHasta());
+            return ResponseEntity.ok().eTag(VersionETag.de(pagado.getVersion())).body(ContratoSeguroResponse.desde(pagado));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        } catch (EntityNotFoundException ex) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
     }
 
     @PostMapping("/{id}/cancelar")
     @Operation(
         summary = "Cancela un contrato de seguro.",
-        description = "Marca el contrato como CANCELADO y fija la fecha de término. "
-            + "Puede devolver 200 con el contrato cancelado, 404 si no existe o 500 si ocurre un error."
+        description = "Marca el contrato como CANCELADO y fija la fecha de término. También cancela contratos SUSPENDIDO; "
+            + "un contrato VENCIDO responde 409. "
+            + "Acepta If-Match con el ETag del contrato o una lista de ETags: si ninguno es el vigente responde 412 con el "
+            + "contrato vigente. Los ETags débiles (W/) nunca coinciden. "
+            + "Sin If-Match, una cancelación concurrente se resuelve devolviendo 200 con el contrato ya cancelado. "
+            + "Puede devolver 200 con el contrato cancelado, 400 si If-Match es inválido, 404 si no existe, "
+            + "409/412 ante modificaciones concurrentes o 500 si ocurre un error."
     )
     @ApiResponses({
         @ApiResponse(
@@ -138,16 +286,43 @@ public class ContratoSeguroController {
             description = "Contrato cancelado correctamente.",
             content = @Content(
                 mediaType = "application/json",
-                schema = @Schema(implementation = ContratoSeguro.class)
+                schema = @Schema(implementation = ContratoSeguroResponse.class)
             )
         ),
-        @ApiResponse(responseCode = "404", description = "Contrato no encontrado para cancelar.")
+        @ApiResponse(responseCode = "404", description = "Contrato no encontrado para cancelar."),
+        @ApiResponse(responseCode = "409", description = "El contrato está VENCIDO u otra operación lo modificó; el cuerpo trae la versión vigente."),
+        @ApiResponse(responseCode = "412", description = "El ETag de If-Match ya no es el vigente; el cuerpo trae la versión vigente.")
     })
-    public ResponseEntity<ContratoSeguro> cancelarContrato(@PathVariable("id") Long id) {
+    public ResponseEntity<ContratoSeguroResponse> cancelarContrato(
+        @PathVariable("id") Long id,
+        @RequestHeader(value = "If-Match", required = false) String ifMatch
+    ) {
+        Long versionEsperada;
+        try {
+            versionEsperada = VersionETag.desdeIfMatch(ifMatch, () -> seguroService.findContratoById(id).getVersion());
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        } catch (EntityNotFoundException ex) {
+            return ResponseEntity.notFound().build();
+        }
         try {
-            return ResponseEntity.ok(seguroService.cancelarContrato(id));
+            ContratoSeguro cancelado = seguroService.cancelarContrato(id, versionEsperada);
+            return ResponseEntity.ok().eTag(VersionETag.de(cancelado.getVersion())).body(ContratoSeguroResponse.desde(cancelado));
         } catch (EntityNotFoundException ex) {
             return ResponseEntity.notFound().build();
+        } catch (IllegalStateException ex) {
+            ContratoSeguro vigente = seguroService.findContratoById(id);
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .eTag(VersionETag.de(vigente.getVersion()))
+                .body(ContratoSeguroResponse.desde(vigente));
+        } catch (OptimisticLockingFailureException ex) {
+            ContratoSeguro vigente = seguroService.findContratoById(id);
+            if (versionEsperada == null && vigente.getEstado() == ContratoSeguro.EstadoContrato.CANCELADO) {
+                return ResponseEntity.ok().eTag(VersionETag.de(vigente.getVersion())).body(ContratoSeguroResponse.desde(vigente));
+            }
+            return ResponseEntity.status(versionEsperada != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT)
+                .eTag(VersionETag.de(vigente.getVersion()))
+                .body(ContratoSeguroResponse.desde(vigente));
         }
     }
 }
@@ -0,0 +1,67 @@
+package com.clinica.api.seguros_service.controller;
+
+import com.clinica.api.seguros_service.dto.ReporteMensualSeguroResponse;
+import com.clinica.api.seguros_service.service.ResumenMensualService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.YearMonth;
+import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/seguros/reportes")
+@Tag(name = "Reportes de Seguros", description = "Indicadores financieros agregados por plan y mes.")
+public class ReporteSeguroController {
+
+    private final ResumenMensualService resumenMensualService;
+
+    public ReporteSeguroController(ResumenMensualService resumenMensualService) {
+        this.resumenMensualService = resumenMensualService;
+    }
+
+    @GetMapping("/mensual")
+    @Operation(
+        summary = "Reporte mensual de contratos e ingresos por plan.",
+        description = "Devuelve, para cada plan y mes entre desde y hasta (formato yyyy-MM), los contratos activos al cierre, "
+            + "las altas, las cancelaciones y el ingreso recurrente (valor del plan por contratos activos). "
+            + "Por defecto cubre los últimos 12 meses. Puede responder 200 con el reporte, 204 si no hay planes, "
+            + "400 si el rango es inválido o supera 120 meses, o 500 ante un error."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Reporte generado.",
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = ReporteMensualSeguroResponse.class))
+            )
+        ),
+        @ApiResponse(responseCode = "204", description = "No hay planes para reportar."),
+        @ApiResponse(responseCode = "400", description = "Rango de meses inválido.")
+    })
+    public ResponseEntity<List<ReporteMensualSeguroResponse>> reporteMensual(
+        @RequestParam(name = "desde", required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth desde,
+        @RequestParam(name = "hasta", required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth hasta,
+        @RequestParam(name = "idSeguro", required = false) Long idSeguro
+    ) {
+        try {
+            List<ReporteMensualSeguroResponse> reporte = resumenMensualService.findReporteMensual(desde, hasta, idSeguro);
+            if (reporte.isEmpty()) {
+                return ResponseEntity.noContent().build();
+            }
+            return ResponseEntity.ok(reporte);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
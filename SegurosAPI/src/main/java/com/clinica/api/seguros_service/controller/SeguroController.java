@@ -1,6 +1,7 @@
 package com.clinica.api.seguros_service.controller;
 
 import com.clinica.api.seguros_service.model.Seguro;
+import com.clinica.api.seguros_service.service.SeguroCatalogoCache;
 import com.clinica.api.seguros_service.service.SeguroService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -10,8 +11,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.persistence.EntityNotFoundException;
-import java.util.List;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,8 +22,10 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/v1/seguros")
@@ -37,7 +42,8 @@ public class SeguroController {
     @Operation(
         summary = "Lista todos los seguros disponibles.",
         description = "Devuelve el catálogo vigente de seguros con su información esencial. "
-            + "Puede responder 200 con la lista, 204 cuando no hay seguros o 500 si ocurre un fallo inesperado."
+            + "La respuesta incluye un ETag; si el cliente envía If-None-Match con el mismo valor responde 304 sin cuerpo. "
+            + "Puede responder 200 con la lista, 204 cuando no hay seguros, 304 si no hubo cambios o 500 si ocurre un fallo inesperado."
     )
     @ApiResponses({
         @ApiResponse(
@@ -48,14 +54,22 @@ public class SeguroController {
                 array = @ArraySchema(schema = @Schema(implementation = Seguro.class))
             )
         ),
-        @ApiResponse(responseCode = "204", description = "No hay seguros configurados en el sistema.")
+        @ApiResponse(responseCode = "204", description = "No hay seguros configurados en el sistema."),
+        @ApiResponse(responseCode = "304", description = "El catálogo no cambió respecto del ETag enviado.")
     })
-    public ResponseEntity<List<Seguro>> listarSeguros() {
-        List<Seguro> seguros = seguroService.findAllSeguros();
-        if (seguros.isEmpty()) {
+    public ResponseEntity<byte[]> listarSeguros(WebRequest request) {
+        SeguroCatalogoCache.Snapshot catalogo = seguroService.findCatalogo();
+        if (catalogo.vacio()) {
             return ResponseEntity.noContent().build();
         }
-        return ResponseEntity.ok(seguros);
+        if (request.checkNotModified(catalogo.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(catalogo.etag()).build();
+        }
+        return ResponseEntity.ok()
+            .eTag(catalogo.etag())
+            .cacheControl(CacheControl.noCache())
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(catalogo.json());
     }
 
     @GetMapping("/{id}")
@@ -76,7 +90,8 @@ public class SeguroController {
     })
     public ResponseEntity<Seguro> obtenerSeguro(@PathVariable("id") Long id) {
         try {
-            return ResponseEntity.ok(seguroService.findSeguroById(id));
+            Seguro seguro = seguroService.findSeguroById(id);
+            return ResponseEntity.ok().eTag(VersionETag.de(seguro.getVersion())).body(seguro);
         } catch (EntityNotFoundException ex) {
             return ResponseEntity.notFound().build();
         }
@@ -106,7 +121,11 @@ public class SeguroController {
     @Operation(
         summary = "Actualiza la información del seguro.",
         description = "Reemplaza los atributos fundamentales del plan (nombre, descripción y valor) para mantenerlo al día. "
-            + "Puede responder 200 si se actualiza, 404 si el ID no existe, 400/409 por inconsistencias y 500 ante errores."
+            + "Acepta If-Match con el ETag obtenido en el GET, una lista de ETags o el campo version del cuerpo; los ETags "
+            + "débiles (W/) nunca coinciden. Si el seguro cambió entretanto "
+            + "responde 412 (o 409 sin If-Match) con la versión vigente y su ETag, para reintentar sin otra consulta. "
+            + "Puede responder 200 si se actualiza, 400 si If-Match es inválido, 404 si el ID no existe, 409/412 ante "
+            + "modificaciones concurrentes y 500 ante errores."
     )
     @ApiResponses({
         @ApiResponse(
@@ -117,14 +136,41 @@ public class SeguroController {
                 schema = @Schema(implementation = Seguro.class)
             )
         ),
-        @ApiResponse(responseCode = "404", description = "No se encontró el seguro a actualizar.")
+        @ApiResponse(responseCode = "404", description = "No se encontró el seguro a actualizar."),
+        @ApiResponse(responseCode = "409", description = "Otra operación modificó el seguro; el cuerpo trae la versión vigente."),
+        @ApiResponse(responseCode = "412", description = "El ETag de If-Match ya no es el vigente; el cuerpo trae la versión vigente.")
     })
     public ResponseEntity<Seguro> actualizarSeguro(
         @PathVariable("id") Long id,
+        @RequestHeader(value = "If-Match", required = false) String ifMatch,
         @RequestBody Seguro seguro
     ) {
+        Long versionEsperada;
+        try {
+            versionEsperada = ifMatch != null
+                ? VersionETag.desdeIfMatch(ifMatch, () -> seguroService.findSeguroById(id).getVersion())
+                : seguro.getVersion();
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        } catch (EntityNotFoundException ex) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            Seguro actualizado = seguroService.updateSeguro(id, seguro, versionEsperada);
+            return ResponseEntity.ok().eTag(VersionETag.de(actualizado.getVersion())).body(actualizado);
+        } catch (EntityNotFoundException ex) {
+            return ResponseEntity.notFound().build();
+        } catch (OptimisticLockingFailureException ex) {
+            return conflicto(id, ifMatch != null);
+        }
+    }
+
+    private ResponseEntity<Seguro> conflicto(Long id, boolean conIfMatch) {
         try {
-            return ResponseEntity.ok(seguroService.updateSeguro(id, seguro));
+            Seguro vigente = seguroService.findSeguroById(id);
+            return ResponseEntity.status(conIfMatch ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT)
+                .eTag(VersionETag.de(vigente.getVersion()))
+                .body(vigente);
         } catch (EntityNotFoundException ex) {
             return ResponseEntity.notFound().build();
         }
@@ -0,0 +1,72 @@
+package com.clinica.api.seguros_service.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Conversión entre la columna {@code @Version} de las entidades y los encabezados ETag / If-Match.
+ */
+final class VersionETag {
+
+    /** Versión que ninguna entidad tiene: la operación condicionada a ella falla y se responde 412. */
+    static final long NINGUNA = -1L;
+
+    // Un elemento de la lista de If-Match: ETag opcionalmente débil, seguido de coma o fin del encabezado.
+    private static final Pattern ELEMENTO = Pattern.compile("\\s*(W/)?(\"[^\"]*\"|[^,\\s]+)\\s*(?:,|$)");
+
+    private VersionETag() {
+    }
+
+    static String de(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Devuelve la versión pedida en If-Match, o null si el encabezado no viene o es {@code *}. Acepta listas
+     * separadas por coma: con más de un ETag consulta {@code versionVigente} y la devuelve si está en la lista.
+     * If-Match usa comparación fuerte (RFC 9110 §13.1.1), así que los ETags débiles ({@code W/"3"}) nunca
+     * coinciden; si no queda ninguno que pueda coincidir devuelve {@link #NINGUNA}. Lanza
+     * {@link IllegalArgumentException} si algún ETag fuerte no es una versión.
+     */
+    static Long desdeIfMatch(String ifMatch, LongSupplier versionVigente) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        List<Long> versiones = new ArrayList<>();
+        Matcher elemento = ELEMENTO.matcher(ifMatch);
+        int posicion = 0;
+        while (posicion < ifMatch.length()) {
+            elemento.region(posicion, ifMatch.length());
+            if (!elemento.lookingAt()) {
+                throw new IllegalArgumentException("If-Match inválido: " + ifMatch);
+            }
+            posicion = elemento.end();
+            if (elemento.group(1) == null) {
+                versiones.add(version(elemento.group(2), ifMatch));
+            }
+        }
+        if (versiones.isEmpty()) {
+            return NINGUNA;
+        }
+        if (versiones.size() == 1) {
+            return versiones.get(0);
+        }
+        long vigente = versionVigente.getAsLong();
+        return versiones.contains(vigente) ? vigente : NINGUNA;
+    }
+
+    private static Long version(String etag, String ifMatch) {
+        String valor = etag;
+        if (valor.length() >= 2 && valor.startsWith("\"") && valor.endsWith("\"")) {
+            valor = valor.substring(1, valor.length() - 1);
+        }
+        try {
+            return Long.parseLong(valor);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("If-Match inválido: " + ifMatch, ex);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.clinica.api.seguros_service.dto;
+
+import com.clinica.api.seguros_service.model.BeneficiarioContrato;
+import java.time.LocalDate;
+
+/**
+ * Beneficiario tal como se expone en {@link ContratoSeguroResponse}: sin referencia al contrato.
+ */
+public class BeneficiarioContratoResponse {
+
+    private Long id;
+    private String rut;
+    private String nombre;
+    private LocalDate fechaNacimiento;
+
+    public BeneficiarioContratoResponse() {
+    }
+
+    public BeneficiarioContratoResponse(Long id, String rut, String nombre, LocalDate fechaNacimiento) {
+        this.id = id;
+        this.rut = rut;
+        this.nombre = nombre;
+        this.fechaNacimiento = fechaNacimiento;
+    }
+
+    public static BeneficiarioContratoResponse desde(BeneficiarioContrato beneficiario) {
+        return new BeneficiarioContratoResponse(
+            beneficiario.getId(),
+            beneficiario.getRut(),
+            beneficiario.getNombre(),
+            beneficiario.getFechaNacimiento()
+        );
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getRut() {
+        return rut;
+    }
+
+    public void setRut(String rut) {
+        this.rut = rut;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public LocalDate getFechaNacimiento() {
+        return fechaNacimiento;
+    }
+
+    public void setFechaNacimiento(LocalDate fechaNacimiento) {
+        this.fechaNacimiento = fechaNacimiento;
+    }
+}
@@ -0,0 +1,6 @@
+package com.clinica.api.seguros_service.dto;
+
+import java.time.LocalDate;
+
+public record CicloVidaResultado(LocalDate fechaCorte, int renovados, int vencidos, int suspendidos) {
+}
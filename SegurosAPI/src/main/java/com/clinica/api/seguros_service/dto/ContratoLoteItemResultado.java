@@ -0,0 +1,62 @@
+package com.clinica.api.seguros_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+/**
+ * Resultado de un contrato dentro de una contratación masiva; {@code indice} es su posición en la solicitud.
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class ContratoLoteItemResultado {
+
+    public enum Estado {
+        CREADO, RECHAZADO
+    }
+
+    private int indice;
+    private Estado estado;
+    private Long idContrato;
+    private List<String> errores;
+
+    public ContratoLoteItemResultado() {
+    }
+
+    public ContratoLoteItemResultado(int indice, Estado estado, Long idContrato, List<String> errores) {
+        this.indice = indice;
+        this.estado = estado;
+        this.idContrato = idContrato;
+        this.errores = errores;
+    }
+
+    public int getIndice() {
+        return indice;
+    }
+
+    public void setIndice(int indice) {
+        this.indice = indice;
+    }
+
+    public Estado getEstado() {
+        return estado;
+    }
+
+    public void setEstado(Estado estado) {
+        this.estado = estado;
+    }
+
+    public Long getIdContrato() {
+        return idContrato;
+    }
+
+    public void setIdContrato(Long idContrato) {
+        this.idContrato = idContrato;
+    }
+
+    public List<String> getErrores() {
+        return errores;
+    }
+
+    public void setErrores(List<String> errores) {
+        this.errores = errores;
+    }
+}
@@ -0,0 +1,43 @@
+package com.clinica.api.seguros_service.dto;
+
+import java.util.List;
+
+public class ContratoLoteResponse {
+
+    private int creados;
+    private int rechazados;
+    private List<ContratoLoteItemResultado> resultados;
+
+    public ContratoLoteResponse() {
+    }
+
+    public ContratoLoteResponse(int creados, int rechazados, List<ContratoLoteItemResultado> resultados) {
+        this.creados = creados;
+        this.rechazados = rechazados;
+        this.resultados = resultados;
+    }
+
+    public int getCreados() {
+        return creados;
+    }
+
+    public void setCreados(int creados) {
+        this.creados = creados;
+    }
+
+    public int getRechazados() {
+        return rechazados;
+    }
+
+    public void setRechazados(int rechazados) {
+        this.rechazados = rechazados;
+    }
+
+    public List<ContratoLoteItemResultado> getResultados() {
+        return resultados;
+    }
+
+    public void setResultados(List<ContratoLoteItemResultado> resultados) {
+        this.resultados = resultados;
+    }
+}
@@ -0,0 +1,188 @@
+package com.clinica.api.seguros_service.dto;
+
+import com.clinica.api.seguros_service.model.BeneficiarioContrato;
+import com.clinica.api.seguros_service.model.ContratoSeguro;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Respuesta de los endpoints de contratos. Se arma campo a campo desde la entidad, sin referencias
+ * circulares ni proxies de Hibernate, así que serializarla nunca dispara cargas perezosas.
+ */
+public class ContratoSeguroResponse {
+
+    private Long id;
+    private Long idSeguro;
+    private Long idUsuario;
+    private String correoContacto;
+    private String telefonoContacto;
+    private ContratoSeguro.MetodoPago metodoPago;
+    private LocalDate fechaContratacion;
+    private LocalDate fechaCancelacion;
+    private LocalDate fechaBaja;
+    private LocalDate fechaVencimiento;
+    private Boolean renovacionAutomatica;
+    private LocalDate fechaPagadoHasta;
+    private ContratoSeguro.EstadoContrato estado;
+    private Long version;
+    private List<BeneficiarioContratoResponse> beneficiarios;
+
+    public ContratoSeguroResponse() {
+    }
+
+    public static ContratoSeguroResponse desde(ContratoSeguro contrato) {
+        ContratoSeguroResponse response = new ContratoSeguroResponse();
+        response.id = contrato.getId();
+        response.idSeguro = contrato.getIdSeguro();
+        response.idUsuario = contrato.getIdUsuario();
+        response.correoContacto = contrato.getCorreoContacto();
+        response.telefonoContacto = contrato.getTelefonoContacto();
+        response.metodoPago = contrato.getMetodoPago();
+        response.fechaContratacion = contrato.getFechaContratacion();
+        response.fechaCancelacion = contrato.getFechaCancelacion();
+        response.fechaBaja = contrato.getFechaBaja();
+        response.fechaVencimiento = contrato.getFechaVencimiento();
+        response.renovacionAutomatica = contrato.getRenovacionAutomatica();
+        response.fechaPagadoHasta = contrato.getFechaPagadoHasta();
+        response.estado = contrato.getEstado();
+        response.version = contrato.getVersion();
+        List<BeneficiarioContrato> beneficiarios = contrato.getBeneficiarios();
+        List<BeneficiarioContratoResponse> mapeados = new ArrayList<>(beneficiarios == null ? 0 : beneficiarios.size());
+        if (beneficiarios != null) {
+            for (BeneficiarioContrato beneficiario : beneficiarios) {
+                mapeados.add(BeneficiarioContratoResponse.desde(beneficiario));
+            }
+        }
+        response.beneficiarios = mapeados;
+        return response;
+    }
+
+    public static List<ContratoSeguroResponse> desde(List<ContratoSeguro> contratos) {
+        List<ContratoSeguroResponse> responses = new ArrayList<>(contratos.size());
+        for (ContratoSeguro contrato : contratos) {
+            responses.add(desde(contrato));
+        }
+        return responses;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getIdSeguro() {
+        return idSeguro;
+    }
+
+    public void setIdSeguro(Long idSeguro) {
+        this.idSeguro = idSeguro;
+    }
+
+    public Long getIdUsuario() {
+        return idUsuario;
+    }
+
+    public void setIdUsuario(Long idUsuario) {
+        this.idUsuario = idUsuario;
+    }
+
+    public String getCorreoContacto() {
+        return correoContacto;
+    }
+
+    public void setCorreoContacto(String correoContacto) {
+        this.correoContacto = correoContacto;
+    }
+
+    public String getTelefonoContacto() {
+        return telefonoContacto;
+    }
+
+    public void setTelefonoContacto(String telefonoContacto) {
+        this.telefonoContacto = telefonoContacto;
+    }
+
+    public ContratoSeguro.MetodoPago getMetodoPago() {
+        return metodoPago;
+    }
+
+    public void setMetodoPago(ContratoSeguro.MetodoPago metodoPago) {
+        this.metodoPago = metodoPago;
+    }
+
+    public LocalDate getFechaContratacion() {
+        return fechaContratacion;
+    }
+
+    public void setFechaContratacion(LocalDate fechaContratacion) {
+        this.fechaContratacion = fechaContratacion;
+    }
+
+    public LocalDate getFechaBaja() {
+        return fechaBaja;
+    }
+
+    public void setFechaBaja(LocalDate fechaBaja) {
+        this.fechaBaja = fechaBaja;
+    }
+
+    public LocalDate getFechaCancelacion() {
+        return fechaCancelacion;
+    }
+
+    public void setFechaCancelacion(LocalDate fechaCancelacion) {
+        this.fechaCancelacion = fechaCancelacion;
+    }
+
+    public LocalDate getFechaVencimiento() {
+        return fechaVencimiento;
+    }
+
+    public void setFechaVencimiento(LocalDate fechaVencimiento) {
+        this.fechaVencimiento = fechaVencimiento;
+    }
+
+    public Boolean getRenovacionAutomatica() {
+        return renovacionAutomatica;
+    }
+
+    public void setRenovacionAutomatica(Boolean renovacionAutomatica) {
+        this.renovacionAutomatica = renovacionAutomatica;
+    }
+
+    public LocalDate getFechaPagadoHasta() {
+        return fechaPagadoHasta;
+    }
+
+    public void setFechaPagadoHasta(LocalDate fechaPagadoHasta) {
+        this.fechaPagadoHasta = fechaPagadoHasta;
+    }
+
+    public ContratoSeguro.EstadoContrato getEstado() {
+        return estado;
+    }
+
+    public void setEstado(ContratoSeguro.EstadoContrato estado) {
+        this.estado = estado;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public List<BeneficiarioContratoResponse> getBeneficiarios() {
+        return beneficiarios;
+    }
+
+    public void setBeneficiarios(List<BeneficiarioContratoResponse> beneficiarios) {
+        this.beneficiarios = beneficiarios;
+    }
+}
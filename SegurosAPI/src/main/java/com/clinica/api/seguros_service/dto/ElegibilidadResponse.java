@@ -0,0 +1,41 @@
+package com.clinica.api.seguros_service.dto;
+
+public class ElegibilidadResponse {
+
+    private Long idUsuario;
+    private Long idSeguro;
+    private boolean elegible;
+
+    public ElegibilidadResponse() {
+    }
+
+    public ElegibilidadResponse(Long idUsuario, Long idSeguro, boolean elegible) {
+        this.idUsuario = idUsuario;
+        this.idSeguro = idSeguro;
+        this.elegible = elegible;
+    }
+
+    public Long getIdUsuario() {
+        return idUsuario;
+    }
+
+    public void setIdUsuario(Long idUsuario) {
+        this.idUsuario = idUsuario;
+    }
+
+    public Long getIdSeguro() {
+        return idSeguro;
+    }
+
+    public void setIdSeguro(Long idSeguro) {
+        this.idSeguro = idSeguro;
+    }
+
+    public boolean isElegible() {
+        return elegible;
+    }
+
+    public void setElegible(boolean elegible) {
+        this.elegible = elegible;
+    }
+}
@@ -0,0 +1,23 @@
+package com.clinica.api.seguros_service.dto;
+
+import java.time.LocalDate;
+
+public class PagoContratoRequest {
+
+    private LocalDate pagadoHasta;
+
+    public PagoContratoRequest() {
+    }
+
+    public PagoContratoRequest(LocalDate pagadoHasta) {
+        this.pagadoHasta = pagadoHasta;
+    }
+
+    public LocalDate getPagadoHasta() {
+        return pagadoHasta;
+    }
+
+    public void setPagadoHasta(LocalDate pagadoHasta) {
+        this.pagadoHasta = pagadoHasta;
+    }
+}
@@ -0,0 +1,95 @@
+package com.clinica.api.seguros_service.dto;
+
+import java.time.YearMonth;
+
+/**
+ * Fila del reporte mensual por plan. {@code contratosActivos} se mide al cierre del mes y
+ * {@code ingresoRecurrente} es el valor del plan por los contratos activos.
+ */
+public class ReporteMensualSeguroResponse {
+
+    private Long idSeguro;
+    private String nombreSeguro;
+    private YearMonth periodo;
+    private long contratosActivos;
+    private long contratosNuevos;
+    private long cancelaciones;
+    private long ingresoRecurrente;
+
+    public ReporteMensualSeguroResponse() {
+    }
+
+    public ReporteMensualSeguroResponse(
+        Long idSeguro,
+        String nombreSeguro,
+        YearMonth periodo,
+        long contratosActivos,
+        long contratosNuevos,
+        long cancelaciones,
+        long ingresoRecurrente
+    ) {
+        this.idSeguro = idSeguro;
+        this.nombreSeguro = nombreSeguro;
+        this.periodo = periodo;
+        this.contratosActivos = contratosActivos;
+        this.contratosNuevos = contratosNuevos;
+        this.cancelaciones = cancelaciones;
+        this.ingresoRecurrente = ingresoRecurrente;
+    }
+
+    public Long getIdSeguro() {
+        return idSeguro;
+    }
+
+    public void setIdSeguro(Long idSeguro) {
+        this.idSeguro = idSeguro;
+    }
+
+    public String getNombreSeguro() {
+        return nombreSeguro;
+    }
+
+    public void setNombreSeguro(String nombreSeguro) {
+        this.nombreSeguro = nombreSeguro;
+    }
+
+    public YearMonth getPeriodo() {
+        return periodo;
+    }
+
+    public void setPeriodo(YearMonth periodo) {
+        this.periodo = periodo;
+    }
+
+    public long getContratosActivos() {
+        return contratosActivos;
+    }
+
+    public void setContratosActivos(long contratosActivos) {
+        this.contratosActivos = contratosActivos;
+    }
+
+    public long getContratosNuevos() {
+        return contratosNuevos;
+    }
+
+    public void setContratosNuevos(long contratosNuevos) {
+        this.contratosNuevos = contratosNuevos;
+    }
+
+    public long getCancelaciones() {
+        return cancelaciones;
+    }
+
+    public void setCancelaciones(long cancelaciones) {
+        this.cancelaciones = cancelaciones;
+    }
+
+    public long getIngresoRecurrente() {
+        return ingresoRecurrente;
+    }
+
+    public void setIngresoRecurrente(long ingresoRecurrente) {
+        this.ingresoRecurrente = ingresoRecurrente;
+    }
+}
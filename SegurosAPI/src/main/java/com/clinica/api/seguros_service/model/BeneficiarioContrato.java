@@ -1,22 +1,32 @@
 package com.clinica.api.seguros_service.model;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "BeneficiarioContrato")
+@Table(
+    name = "BeneficiarioContrato",
+    // Búsqueda de contratos por beneficiario: el índice cubre el RUT y el contrato al que pertenece.
+    indexes = @Index(name = "idx_beneficiario_rut", columnList = "rut_normalizado, id_contrato")
+)
 public class BeneficiarioContrato {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "beneficiario_seq")
+    @SequenceGenerator(name = "beneficiario_seq", sequenceName = "BeneficiarioContrato_seq", allocationSize = ContratoSeguro.ID_ALLOCATION_SIZE)
     @Column(name = "id_beneficiario")
     private Long id;
 
@@ -28,12 +38,23 @@ public class BeneficiarioContrato {
     @Column(name = "rut", nullable = false, length = 20)
     private String rut;
 
+    // Forma canónica del RUT (ver Rut); null solo en filas antiguas con un RUT inválido.
+    @Column(name = "rut_normalizado", length = 12)
+    @JsonIgnore
+    private String rutNormalizado;
+
     @Column(name = "nombre", nullable = false, length = 200)
     private String nombre;
 
     @Column(name = "fecha_nacimiento", nullable = false)
     private LocalDate fechaNacimiento;
 
+    @PrePersist
+    @PreUpdate
+    void normalizarRut() {
+        rutNormalizado = Rut.normalizarSiValido(rut);
+    }
+
     public Long getId() {
         return id;
     }
@@ -58,6 +79,14 @@ public class BeneficiarioContrato {
         this.rut = rut;
     }
 
+    public String getRutNormalizado() {
+        return rutNormalizado;
+    }
+
+    public void setRutNormalizado(String rutNormalizado) {
+        this.rutNormalizado = rutNormalizado;
+    }
+
     public String getNombre() {
         return nombre;
     }
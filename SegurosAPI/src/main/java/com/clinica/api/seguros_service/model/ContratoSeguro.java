@@ -9,27 +9,49 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import org.hibernate.annotations.BatchSize;
 
 @Entity
-@Table(name = "ContratoSeguro")
+@Table(
+    name = "ContratoSeguro",
+    indexes = {
+        // Búsquedas del proceso de ciclo de vida: contratos activos por fecha de término o de pago.
+        @Index(name = "idx_contrato_estado_vencimiento", columnList = "estado, fecha_vencimiento, id_contrato"),
+        @Index(name = "idx_contrato_estado_pagado", columnList = "estado, fecha_pagado_hasta, id_contrato"),
+        @Index(name = "idx_contrato_usuario_seguro", columnList = "id_usuario, id_seguro, estado")
+    }
+)
 public class ContratoSeguro {
 
+    /**
+     * Ids asignados en bloques (optimizador pooled) para que Hibernate pueda agrupar los INSERT en batches JDBC;
+     * con IDENTITY cada fila requiere su propio round trip.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /** Duración de cada periodo de vigencia, al contratar y en cada renovación automática. */
+    public static final int VIGENCIA_MESES = 12;
+
     public enum MetodoPago {
         Débito, Crédito, Transferencia
     }
 
     public enum EstadoContrato {
-        ACTIVO, CANCELADO
+        ACTIVO, CANCELADO, VENCIDO, SUSPENDIDO
     }
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contrato_seq")
+    @SequenceGenerator(name = "contrato_seq", sequenceName = "ContratoSeguro_seq", allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "id_contrato")
     private Long id;
 
@@ -52,17 +74,49 @@ public class ContratoSeguro {
     @Column(name = "fecha_contratacion", nullable = false)
     private LocalDate fechaContratacion;
 
+    // Solo para contratos CANCELADO: el día en que se pidió la cancelación.
     @Column(name = "fecha_cancelacion")
     private LocalDate fechaCancelacion;
 
+    // Día en que el contrato dejó de contar como activo (cancelación, vencimiento o suspensión); el rollup
+    // mensual cuenta las bajas por esta fecha. Se limpia si un contrato suspendido se reactiva.
+    @Column(name = "fecha_baja")
+    private LocalDate fechaBaja;
+
+    // Último día de la vigencia actual; null en contratos antiguos, que no vencen.
+    @Column(name = "fecha_vencimiento")
+    private LocalDate fechaVencimiento;
+
+    @Column(name = "renovacion_automatica")
+    private Boolean renovacionAutomatica = Boolean.TRUE;
+
+    // Fecha hasta la que están pagadas las primas; null cuando el pago no se controla.
+    @Column(name = "fecha_pagado_hasta")
+    private LocalDate fechaPagadoHasta;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "estado", nullable = false, length = 20)
     private EstadoContrato estado = EstadoContrato.ACTIVO;
 
+    // Control optimista: una cancelación concurrente con otra escritura del contrato falla en vez de pisarla.
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "contrato", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     @JsonManagedReference
     private List<BeneficiarioContrato> beneficiarios = new ArrayList<>();
 
+    /**
+     * Último día del periodo número {@code periodos} contado desde la fecha de contratación. Se calcula siempre
+     * desde el origen para que un contrato del 29 de febrero vuelva a vencer el 28 de febrero o el 29 según el año,
+     * en vez de arrastrar el 28 tras la primera renovación.
+     */
+    public LocalDate finDePeriodo(long periodos) {
+        return fechaContratacion.plusMonths(VIGENCIA_MESES * periodos).minusDays(1);
+    }
+
     @PrePersist
     void ensureDefaults() {
         if (fechaContratacion == null) {
@@ -71,6 +125,12 @@ public class ContratoSeguro {
         if (estado == null) {
             estado = EstadoContrato.ACTIVO;
         }
+        if (fechaVencimiento == null) {
+            fechaVencimiento = finDePeriodo(1);
+        }
+        if (renovacionAutomatica == null) {
+            renovacionAutomatica = Boolean.TRUE;
+        }
         if (beneficiarios != null) {
             beneficiarios.forEach(b -> b.setContrato(this));
         }
@@ -140,6 +200,38 @@ public class ContratoSeguro {
         this.fechaCancelacion = fechaCancelacion;
     }
 
+    public LocalDate getFechaBaja() {
+        return fechaBaja;
+    }
+
+    public void setFechaBaja(LocalDate fechaBaja) {
+        this.fechaBaja = fechaBaja;
+    }
+
+    public LocalDate getFechaVencimiento() {
+        return fechaVencimiento;
+    }
+
+    public void setFechaVencimiento(LocalDate fechaVencimiento) {
+        this.fechaVencimiento = fechaVencimiento;
+    }
+
+    public Boolean getRenovacionAutomatica() {
+        return renovacionAutomatica;
+    }
+
+    public void setRenovacionAutomatica(Boolean renovacionAutomatica) {
+        this.renovacionAutomatica = renovacionAutomatica;
+    }
+
+    public LocalDate getFechaPagadoHasta() {
+        return fechaPagadoHasta;
+    }
+
+    public void setFechaPagadoHasta(LocalDate fechaPagadoHasta) {
+        this.fechaPagadoHasta = fechaPagadoHasta;
+    }
+
     public EstadoContrato getEstado() {
         return estado;
     }
@@ -148,6 +240,14 @@ public class ContratoSeguro {
         this.estado = estado;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public List<BeneficiarioContrato> getBeneficiarios() {
         return beneficiarios;
     }
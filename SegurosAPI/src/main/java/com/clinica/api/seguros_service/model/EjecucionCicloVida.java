@@ -0,0 +1,135 @@
+package com.clinica.api.seguros_service.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint de una fase del proceso de ciclo de vida para una fecha de corte. El cursor
+ * ({@code cursorFecha}, {@code cursorId}) se guarda en la misma transacción que cada lote, de modo que un
+ * proceso interrumpido continúa desde el último lote confirmado.
+ */
+@Entity
+@Table(
+    name = "EjecucionCicloVida",
+    uniqueConstraints = @UniqueConstraint(name = "uk_ejecucion_corte_fase", columnNames = {"fecha_corte", "fase"})
+)
+public class EjecucionCicloVida {
+
+    public enum Fase {
+        /** Contratos con primas impagas más allá del periodo de gracia pasan a SUSPENDIDO. */
+        PAGO,
+        /** Contratos con la vigencia terminada se renuevan o pasan a VENCIDO. */
+        VENCIMIENTO
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_ejecucion")
+    private Long id;
+
+    @Column(name = "fecha_corte", nullable = false)
+    private LocalDate fechaCorte;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "fase", nullable = false, length = 20)
+    private Fase fase;
+
+    @Column(name = "cursor_fecha", nullable = false)
+    private LocalDate cursorFecha;
+
+    @Column(name = "cursor_id", nullable = false)
+    private Long cursorId;
+
+    @Column(name = "procesados", nullable = false)
+    private Long procesados = 0L;
+
+    @Column(name = "iniciada", nullable = false)
+    private LocalDateTime iniciada;
+
+    @Column(name = "finalizada")
+    private LocalDateTime finalizada;
+
+    public EjecucionCicloVida() {
+    }
+
+    public EjecucionCicloVida(LocalDate fechaCorte, Fase fase, LocalDate cursorFecha, Long cursorId) {
+        this.fechaCorte = fechaCorte;
+        this.fase = fase;
+        this.cursorFecha = cursorFecha;
+        this.cursorId = cursorId;
+        this.iniciada = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getFechaCorte() {
+        return fechaCorte;
+    }
+
+    public void setFechaCorte(LocalDate fechaCorte) {
+        this.fechaCorte = fechaCorte;
+    }
+
+    public Fase getFase() {
+        return fase;
+    }
+
+    public void setFase(Fase fase) {
+        this.fase = fase;
+    }
+
+    public LocalDate getCursorFecha() {
+        return cursorFecha;
+    }
+
+    public void setCursorFecha(LocalDate cursorFecha) {
+        this.cursorFecha = cursorFecha;
+    }
+
+    public Long getCursorId() {
+        return cursorId;
+    }
+
+    public void setCursorId(Long cursorId) {
+        this.cursorId = cursorId;
+    }
+
+    public Long getProcesados() {
+        return procesados;
+    }
+
+    public void setProcesados(Long procesados) {
+        this.procesados = procesados;
+    }
+
+    public LocalDateTime getIniciada() {
+        return iniciada;
+    }
+
+    public void setIniciada(LocalDateTime iniciada) {
+        this.iniciada = iniciada;
+    }
+
+    public LocalDateTime getFinalizada() {
+        return finalizada;
+    }
+
+    public void setFinalizada(LocalDateTime finalizada) {
+        this.finalizada = finalizada;
+    }
+}
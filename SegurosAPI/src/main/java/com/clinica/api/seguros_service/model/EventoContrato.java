@@ -0,0 +1,112 @@
+package com.clinica.api.seguros_service.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Fila del outbox transaccional: se inserta en la misma transacción que el cambio del contrato y el relay la
+ * publica después. {@code publicado} queda en null mientras el evento esté pendiente.
+ */
+@Entity
+@Table(
+    name = "EventoContratoOutbox",
+    indexes = @Index(name = "idx_outbox_publicado", columnList = "publicado, id_evento")
+)
+public class EventoContrato {
+
+    public enum Tipo {
+        CONTRATO_CREADO, CONTRATO_CANCELADO, CONTRATO_RENOVADO, CONTRATO_VENCIDO, CONTRATO_SUSPENDIDO,
+        CONTRATO_REACTIVADO
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "evento_contrato_seq")
+    @SequenceGenerator(name = "evento_contrato_seq", sequenceName = "EventoContratoOutbox_seq", allocationSize = ContratoSeguro.ID_ALLOCATION_SIZE)
+    @Column(name = "id_evento")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo", nullable = false, length = 30)
+    private Tipo tipo;
+
+    @Column(name = "id_contrato", nullable = false)
+    private Long idContrato;
+
+    @Lob
+    @Column(name = "payload", nullable = false)
+    private String payload;
+
+    @Column(name = "creado", nullable = false)
+    private LocalDateTime creado;
+
+    @Column(name = "publicado")
+    private LocalDateTime publicado;
+
+    public EventoContrato() {
+    }
+
+    public EventoContrato(Tipo tipo, Long idContrato, String payload) {
+        this.tipo = tipo;
+        this.idContrato = idContrato;
+        this.payload = payload;
+        this.creado = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(Tipo tipo) {
+        this.tipo = tipo;
+    }
+
+    public Long getIdContrato() {
+        return idContrato;
+    }
+
+    public void setIdContrato(Long idContrato) {
+        this.idContrato = idContrato;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public LocalDateTime getCreado() {
+        return creado;
+    }
+
+    public void setCreado(LocalDateTime creado) {
+        this.creado = creado;
+    }
+
+    public LocalDateTime getPublicado() {
+        return publicado;
+    }
+
+    public void setPublicado(LocalDateTime publicado) {
+        this.publicado = publicado;
+    }
+}
@@ -0,0 +1,88 @@
+package com.clinica.api.seguros_service.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Rollup mensual por plan: contratos contratados y cancelados en el periodo (yyyyMM).
+ * Se mantiene de forma incremental desde las escrituras de contratos.
+ */
+@Entity
+@Table(
+    name = "ResumenMensualContrato",
+    uniqueConstraints = @UniqueConstraint(name = "uk_resumen_seguro_periodo", columnNames = {"id_seguro", "periodo"})
+)
+public class ResumenMensualContrato {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_resumen")
+    private Long id;
+
+    @Column(name = "id_seguro", nullable = false)
+    private Long idSeguro;
+
+    @Column(name = "periodo", nullable = false)
+    private Integer periodo;
+
+    @Column(name = "contratados", nullable = false)
+    private Long contratados = 0L;
+
+    @Column(name = "cancelados", nullable = false)
+    private Long cancelados = 0L;
+
+    public ResumenMensualContrato() {
+    }
+
+    public ResumenMensualContrato(Long idSeguro, Integer periodo, Long contratados, Long cancelados) {
+        this.idSeguro = idSeguro;
+        this.periodo = periodo;
+        this.contratados = contratados;
+        this.cancelados = cancelados;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getIdSeguro() {
+        return idSeguro;
+    }
+
+    public void setIdSeguro(Long idSeguro) {
+        this.idSeguro = idSeguro;
+    }
+
+    public Integer getPeriodo() {
+        return periodo;
+    }
+
+    public void setPeriodo(Integer periodo) {
+        this.periodo = periodo;
+    }
+
+    public Long getContratados() {
+        return contratados;
+    }
+
+    public void setContratados(Long contratados) {
+        this.contratados = contratados;
+    }
+
+    public Long getCancelados() {
+        return cancelados;
+    }
+
+    public void setCancelados(Long cancelados) {
+        this.cancelados = cancelados;
+    }
+}
@@ -0,0 +1,88 @@
+package com.clinica.api.seguros_service.model;
+
+/**
+ * Normalización y validación de RUT chilenos.
+ * <p>
+ * La forma canónica es el cuerpo sin puntos ni ceros a la izquierda, guion y dígito verificador en mayúscula
+ * ({@code 12345678-5}, {@code 7654321-K}), de modo que "12.345.678-5", "12345678-5" y "123456785" se guardan
+ * y se buscan igual.
+ */
+public final class Rut {
+
+    private static final int LARGO_MAXIMO_CUERPO = 9;
+
+    private Rut() {
+    }
+
+    /** Devuelve el RUT en forma canónica o lanza {@link IllegalArgumentException} si es inválido. */
+    public static String normalizar(String rut) {
+        String normalizado = normalizarSiValido(rut);
+        if (normalizado == null) {
+            throw new IllegalArgumentException("RUT inválido: " + rut);
+        }
+        return normalizado;
+    }
+
+    /** Como {@link #normalizar(String)}, pero devuelve null si el RUT es inválido. */
+    public static String normalizarSiValido(String rut) {
+        if (rut == null) {
+            return null;
+        }
+        StringBuilder limpio = new StringBuilder(rut.length());
+        for (int i = 0; i < rut.length(); i++) {
+            char c = rut.charAt(i);
+            if (c == '.' || c == '-' || Character.isWhitespace(c)) {
+                continue;
+            }
+            limpio.append(Character.toUpperCase(c));
+        }
+        if (limpio.length() < 2) {
+            return null;
+        }
+        char verificador = limpio.charAt(limpio.length() - 1);
+        String cuerpo = limpio.substring(0, limpio.length() - 1);
+        int inicio = 0;
+        while (inicio < cuerpo.length() - 1 && cuerpo.charAt(inicio) == '0') {
+            inicio++;
+        }
+        cuerpo = cuerpo.substring(inicio);
+        if (cuerpo.length() > LARGO_MAXIMO_CUERPO || !soloDigitos(cuerpo) || cuerpo.equals("0")) {
+            return null;
+        }
+        if (digitoVerificador(cuerpo) != verificador) {
+            return null;
+        }
+        return cuerpo + "-" + verificador;
+    }
+
+    /** Módulo 11 sobre los dígitos del cuerpo, con factores 2..7 desde la derecha. */
+    static char digitoVerificador(String cuerpo) {
+        int suma = 0;
+        int factor = 2;
+        for (int i = cuerpo.length() - 1; i >= 0; i--) {
+            suma += (cuerpo.charAt(i) - '0') * factor;
+            factor = factor == 7 ? 2 : factor + 1;
+        }
+        int resto = 11 - (suma % 11);
+        if (resto == 11) {
+            return '0';
+        }
+        if (resto == 10) {
+            return 'K';
+        }
+        return (char) ('0' + resto);
+    }
+
+    private static boolean soloDigitos(String valor) {
+        if (valor.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
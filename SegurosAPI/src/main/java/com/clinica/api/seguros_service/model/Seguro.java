@@ -6,6 +6,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
 @Table(name = "Seguros")
@@ -25,6 +26,11 @@ public class Seguro {
     @Column(nullable = false)
     private Integer valor;
 
+    // Control optimista: cada UPDATE exige la versión leída y la incrementa. Se expone como ETag.
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     public Long getId() {
         return id;
     }
@@ -56,4 +62,12 @@ public class Seguro {
     public void setValor(Integer valor) {
         this.valor = valor;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
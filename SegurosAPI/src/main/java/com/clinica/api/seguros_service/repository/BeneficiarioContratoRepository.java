@@ -9,4 +9,6 @@ import org.springframework.stereotype.Repository;
 public interface BeneficiarioContratoRepository extends JpaRepository<BeneficiarioContrato, Long> {
 
     List<BeneficiarioContrato> findByContrato_Id(Long contratoId);
+
+    List<BeneficiarioContrato> findTop500ByRutNormalizadoIsNullAndIdGreaterThanOrderByIdAsc(Long id);
 }
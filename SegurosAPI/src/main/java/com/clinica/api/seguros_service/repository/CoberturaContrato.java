@@ -0,0 +1,21 @@
+package com.clinica.api.seguros_service.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Plan, usuario y fechas que delimitan la cobertura de un contrato; alimenta el índice de coberturas activas.
+ */
+public interface CoberturaContrato {
+
+    Long getIdSeguro();
+
+    Long getIdUsuario();
+
+    LocalDate getFechaContratacion();
+
+    LocalDate getFechaVencimiento();
+
+    LocalDate getFechaPagadoHasta();
+
+    Boolean getRenovacionAutomatica();
+}
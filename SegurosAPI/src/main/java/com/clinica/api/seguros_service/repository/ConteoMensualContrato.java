@@ -0,0 +1,15 @@
+package com.clinica.api.seguros_service.repository;
+
+/**
+ * Proyección de los GROUP BY por plan y mes usados para reconstruir el rollup mensual.
+ */
+public interface ConteoMensualContrato {
+
+    Long getIdSeguro();
+
+    Integer getAnio();
+
+    Integer getMes();
+
+    Long getTotal();
+}
@@ -1,14 +1,112 @@
 package com.clinica.api.seguros_service.repository;
 
 import com.clinica.api.seguros_service.model.ContratoSeguro;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ContratoSeguroRepository extends JpaRepository<ContratoSeguro, Long> {
 
+    // Los listados se serializan con sus beneficiarios: se traen en el mismo SELECT (sin N+1).
+    @EntityGraph(attributePaths = "beneficiarios")
     List<ContratoSeguro> findByIdUsuario(Long idUsuario);
 
+    @EntityGraph(attributePaths = "beneficiarios")
     List<ContratoSeguro> findByIdSeguro(Long idSeguro);
+
+    // Con open-in-view deshabilitado el contrato se mapea a DTO fuera de la sesión: sus beneficiarios ya deben venir cargados.
+    @Override
+    @EntityGraph(attributePaths = "beneficiarios")
+    Optional<ContratoSeguro> findById(Long id);
+
+    @Query("""
+        select c.idSeguro as idSeguro, c.idUsuario as idUsuario, c.fechaContratacion as fechaContratacion,
+               c.fechaVencimiento as fechaVencimiento, c.fechaPagadoHasta as fechaPagadoHasta,
+               c.renovacionAutomatica as renovacionAutomatica
+        from ContratoSeguro c
+        where c.idUsuario = :idUsuario and c.idSeguro = :idSeguro and c.estado = :estado
+        """)
+    List<CoberturaContrato> findCoberturas(
+        @Param("idUsuario") Long idUsuario,
+        @Param("idSeguro") Long idSeguro,
+        @Param("estado") ContratoSeguro.EstadoContrato estado
+    );
+
+    // Lectura en streaming (solo las columnas de la cobertura) para reconstruir el índice sin cargar entidades.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+        select c.idSeguro as idSeguro, c.idUsuario as idUsuario, c.fechaContratacion as fechaContratacion,
+               c.fechaVencimiento as fechaVencimiento, c.fechaPagadoHasta as fechaPagadoHasta,
+               c.renovacionAutomatica as renovacionAutomatica
+        from ContratoSeguro c where c.estado = :estado
+        """)
+    Stream<CoberturaContrato> streamCoberturas(@Param("estado") ContratoSeguro.EstadoContrato estado);
+
+    // Un solo SELECT: filtra por idx_beneficiario_rut y trae los beneficiarios de cada contrato.
+    @EntityGraph(attributePaths = "beneficiarios")
+    @Query("select c from ContratoSeguro c join c.beneficiarios b where b.rutNormalizado = :rut order by c.id")
+    List<ContratoSeguro> findByRutBeneficiario(@Param("rut") String rutNormalizado);
+
+    @Query("""
+        select c.idSeguro as idSeguro,
+               extract(year from c.fechaContratacion) as anio,
+               extract(month from c.fechaContratacion) as mes,
+               count(c) as total
+        from ContratoSeguro c
+        group by c.idSeguro, extract(year from c.fechaContratacion), extract(month from c.fechaContratacion)
+        """)
+    List<ConteoMensualContrato> contarContratacionesPorSeguroYMes();
+
+    // Los contratos cancelados antes de existir fecha_baja solo tienen fecha_cancelacion.
+    @Query("""
+        select c.idSeguro as idSeguro,
+               extract(year from coalesce(c.fechaBaja, c.fechaCancelacion)) as anio,
+               extract(month from coalesce(c.fechaBaja, c.fechaCancelacion)) as mes,
+               count(c) as total
+        from ContratoSeguro c
+        where coalesce(c.fechaBaja, c.fechaCancelacion) is not null
+        group by c.idSeguro, extract(year from coalesce(c.fechaBaja, c.fechaCancelacion)),
+                 extract(month from coalesce(c.fechaBaja, c.fechaCancelacion))
+        """)
+    List<ConteoMensualContrato> contarCancelacionesPorSeguroYMes();
+
+    // Keyset sobre (fecha, id): recorre idx_contrato_estado_vencimiento en orden sin OFFSET.
+    @Query("""
+        select c from ContratoSeguro c
+        where c.estado = :estado and c.fechaVencimiento < :corte
+          and (c.fechaVencimiento > :cursorFecha or (c.fechaVencimiento = :cursorFecha and c.id > :cursorId))
+        order by c.fechaVencimiento, c.id
+        """)
+    List<ContratoSeguro> findVencimientosPendientes(
+        @Param("estado") ContratoSeguro.EstadoContrato estado,
+        @Param("corte") LocalDate corte,
+        @Param("cursorFecha") LocalDate cursorFecha,
+        @Param("cursorId") Long cursorId,
+        Pageable pageable
+    );
+
+    @Query("""
+        select c from ContratoSeguro c
+        where c.estado = :estado and c.fechaPagadoHasta < :limite
+          and (c.fechaPagadoHasta > :cursorFecha or (c.fechaPagadoHasta = :cursorFecha and c.id > :cursorId))
+        order by c.fechaPagadoHasta, c.id
+        """)
+    List<ContratoSeguro> findPagosVencidos(
+        @Param("estado") ContratoSeguro.EstadoContrato estado,
+        @Param("limite") LocalDate limite,
+        @Param("cursorFecha") LocalDate cursorFecha,
+        @Param("cursorId") Long cursorId,
+        Pageable pageable
+    );
 }
@@ -0,0 +1,30 @@
+package com.clinica.api.seguros_service.repository;
+
+import com.clinica.api.seguros_service.model.EjecucionCicloVida;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EjecucionCicloVidaRepository extends JpaRepository<EjecucionCicloVida, Long> {
+
+    Optional<EjecucionCicloVida> findByFechaCorteAndFase(LocalDate fechaCorte, EjecucionCicloVida.Fase fase);
+
+    @Query("""
+        select distinct e.fechaCorte from EjecucionCicloVida e
+        where e.finalizada is null and e.fechaCorte < :fechaCorte
+        order by e.fechaCorte
+        """)
+    List<LocalDate> findFechasCortePendientesAntesDe(@Param("fechaCorte") LocalDate fechaCorte);
+
+    // Serializa los lotes de una misma ejecución si dos instancias corren el job a la vez.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from EjecucionCicloVida e where e.id = :id")
+    Optional<EjecucionCicloVida> findByIdParaActualizar(@Param("id") Long id);
+}
@@ -0,0 +1,29 @@
+package com.clinica.api.seguros_service.repository;
+
+import com.clinica.api.seguros_service.model.EventoContrato;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EventoContratoRepository extends JpaRepository<EventoContrato, Long> {
+
+    // FOR UPDATE SKIP LOCKED (lock timeout -2): varias instancias del relay toman lotes distintos sin esperarse.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from EventoContrato e where e.publicado is null order by e.id")
+    List<EventoContrato> findPendientes(Pageable pageable);
+
+    @Modifying
+    @Query("delete from EventoContrato e where e.publicado < :limite")
+    int eliminarPublicadosAntesDe(@Param("limite") LocalDateTime limite);
+}
@@ -0,0 +1,31 @@
+package com.clinica.api.seguros_service.repository;
+
+import com.clinica.api.seguros_service.model.ResumenMensualContrato;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ResumenMensualContratoRepository extends JpaRepository<ResumenMensualContrato, Long> {
+
+    boolean existsByIdSeguroAndPeriodo(Long idSeguro, Integer periodo);
+
+    List<ResumenMensualContrato> findByPeriodoLessThanEqualOrderByIdSeguroAscPeriodoAsc(Integer periodo);
+
+    @Modifying
+    @Query("""
+        update ResumenMensualContrato r
+        set r.contratados = r.contratados + :contratados,
+            r.cancelados = r.cancelados + :cancelados
+        where r.idSeguro = :idSeguro and r.periodo = :periodo
+        """)
+    int incrementar(
+        @Param("idSeguro") Long idSeguro,
+        @Param("periodo") Integer periodo,
+        @Param("contratados") long contratados,
+        @Param("cancelados") long cancelados
+    );
+}
@@ -0,0 +1,55 @@
+package com.clinica.api.seguros_service.service;
+
+import com.clinica.api.seguros_service.model.EventoContrato;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** Agrega cada lote como líneas JSON al final de un archivo local y lo sincroniza a disco antes de confirmar. */
+@Component
+@ConditionalOnProperty(name = "seguros.outbox.sink", havingValue = "archivo", matchIfMissing = true)
+public class ArchivoEventoContratoSink implements EventoContratoSink {
+
+    private final Path archivo;
+    private final ObjectMapper objectMapper;
+
+    public ArchivoEventoContratoSink(
+        @Value("${seguros.outbox.archivo:outbox/eventos-contrato.jsonl}") String archivo,
+        ObjectMapper objectMapper
+    ) {
+        this.archivo = Path.of(archivo);
+        this.objectMapper = objectMapper;
+    }
+
+    record Linea(Long id, EventoContrato.Tipo tipo, LocalDateTime creado, @JsonRawValue String contrato) {
+    }
+
+    @Override
+    public void publicar(List<EventoContrato> eventos) throws IOException {
+        StringBuilder lineas = new StringBuilder();
+        for (EventoContrato evento : eventos) {
+            lineas.append(objectMapper.writeValueAsString(
+                new Linea(evento.getId(), evento.getTipo(), evento.getCreado(), evento.getPayload())
+            )).append('\n');
+        }
+        Path directorio = archivo.toAbsolutePath().getParent();
+        if (directorio != null) {
+            Files.createDirectories(directorio);
+        }
+        try (FileChannel canal = FileChannel.open(archivo,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            canal.write(StandardCharsets.UTF_8.encode(lineas.toString()));
+            canal.force(false);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.clinica.api.seguros_service.service;
+
+import com.clinica.api.seguros_service.model.ContratoSeguro;
+import com.clinica.api.seguros_service.model.EjecucionCicloVida;
+import com.clinica.api.seguros_service.model.EventoContrato;
+import com.clinica.api.seguros_service.repository.ContratoSeguroRepository;
+import com.clinica.api.seguros_service.repository.EjecucionCicloVidaRepository;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * Procesa un lote del ciclo de vida en su propia transacción: las transiciones de los contratos, el rollup
+ * mensual y el avance del cursor se confirman juntos, y los bloqueos duran solo lo que tarda el lote.
+ */
+@Component
+public class CicloVidaContratoLotes {
+
+    private final ContratoSeguroRepository contratoSeguroRepository;
+    private final EjecucionCicloVidaRepository ejecucionRepository;
+    private final ResumenMensualService resumenMensualService;
+    private final EventoContratoOutbox eventoOutbox;
+
+    public CicloVidaContratoLotes(
+        ContratoSeguroRepository contratoSeguroRepository,
+        EjecucionCicloVidaRepository ejecucionRepository,
+        ResumenMensualService resumenMensualService,
+        EventoContratoOutbox eventoOutbox
+    ) {
+        this.contratoSeguroRepository = contratoSeguroRepository;
+        this.ejecucionRepository = ejecucionRepository;
+        this.resumenMensualService = resumenMensualService;
+        this.eventoOutbox = eventoOutbox;
+    }
+
+    public record ResultadoLote(int renovados, int vencidos, int suspendidos, boolean completo) {
+    }
+
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public ResultadoLote procesarLote(Long idEjecucion, int tamanoLote, int diasGraciaPago) {
+        EjecucionCicloVida ejecucion = ejecucionRepository.findByIdParaActualizar(idEjecucion)
+            .orElseThrow(() -> new EntityNotFoundException("Ejecución no encontrada"));
+        if (ejecucion.getFinalizada() != null) {
+            return new ResultadoLote(0, 0, 0, true);
+        }
+        LocalDate corte = ejecucion.getFechaCorte();
+        PageRequest lote = PageRequest.of(0, tamanoLote);
+        Map<Long, Map<YearMonth, Long>> bajas = new HashMap<>();
+        int renovados = 0;
+        int vencidos = 0;
+        int suspendidos = 0;
+
+        List<ContratoSeguro> contratos;
+        if (ejecucion.getFase() == EjecucionCicloVida.Fase.PAGO) {
+            contratos = contratoSeguroRepository.findPagosVencidos(
+                ContratoSeguro.EstadoContrato.ACTIVO, corte.minusDays(diasGraciaPago),
+                ejecucion.getCursorFecha(), ejecucion.getCursorId(), lote);
+            for (ContratoSeguro contrato : contratos) {
+                ejecucion.setCursorFecha(contrato.getFechaPagadoHasta());
+                ejecucion.setCursorId(contrato.getId());
+                darDeBaja(contrato, ContratoSeguro.EstadoContrato.SUSPENDIDO, corte, bajas);
+                eventoOutbox.registrar(EventoContrato.Tipo.CONTRATO_SUSPENDIDO, contrato);
+                suspendidos++;
+            }
+        } else {
+            contratos = contratoSeguroRepository.findVencimientosPendientes(
+                ContratoSeguro.EstadoContrato.ACTIVO, corte,
+                ejecucion.getCursorFecha(), ejecucion.getCursorId(), lote);
+            for (ContratoSeguro contrato : contratos) {
+                LocalDate vencimiento = contrato.getFechaVencimiento();
+                ejecucion.setCursorFecha(vencimiento);
+                ejecucion.setCursorId(contrato.getId());
+                if (Boolean.FALSE.equals(contrato.getRenovacionAutomatica())) {
+                    darDeBaja(contrato, ContratoSeguro.EstadoContrato.VENCIDO, vencimiento.plusDays(1), bajas);
+                    eventoOutbox.registrar(EventoContrato.Tipo.CONTRATO_VENCIDO, contrato);
+                    vencidos++;
+                } else {
+                    // Si el proceso estuvo detenido varios periodos se renueva hasta cubrir la fecha de corte.
+                    long periodos = 1;
+                    LocalDate renovado = contrato.finDePeriodo(periodos);
+                    while (!renovado.isAfter(vencimiento) || renovado.isBefore(corte)) {
+                        renovado = contrato.finDePeriodo(++periodos);
+                    }
+                    contrato.setFechaVencimiento(renovado);
+                    eventoOutbox.registrar(EventoContrato.Tipo.CONTRATO_RENOVADO, contrato);
+                    renovados++;
+                }
+            }
+        }
+
+        bajas.forEach((idSeguro, porMes) -> porMes.forEach((mes, cantidad) ->
+            resumenMensualService.registrarBajas(idSeguro, mes.atDay(1), cantidad)
+        ));
+        boolean completo = contratos.size() < tamanoLote;
+        ejecucion.setProcesados(ejecucion.getProcesados() + contratos.size());
+        if (completo) {
+            ejecucion.setFinalizada(LocalDateTime.now());
+        }
+        return new ResultadoLote(renovados, vencidos, suspendidos, completo);
+    }
+
+    private void darDeBaja(
+        ContratoSeguro contrato,
+        ContratoSeguro.EstadoContrato estado,
+        LocalDate fechaBaja,
+        Map<Long, Map<YearMonth, Long>> bajas
+    ) {
+        contrato.setEstado(estado);
+        contrato.setFechaBaja(fechaBaja);
+        bajas.computeIfAbsent(contrato.getIdSeguro(), k -> new HashMap<>())
+            .merge(YearMonth.from(fechaBaja), 1L, Long::sum);
+    }
+}
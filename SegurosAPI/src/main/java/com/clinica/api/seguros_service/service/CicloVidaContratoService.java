@@ -0,0 +1,103 @@
+package com.clinica.api.seguros_service.service;
+
+import com.clinica.api.seguros_service.dto.CicloVidaResultado;
+import com.clinica.api.seguros_service.model.EjecucionCicloVida;
+import com.clinica.api.seguros_service.repository.EjecucionCicloVidaRepository;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Proceso diario del ciclo de vida de los contratos activos: suspende los que tienen primas impagas más allá
+ * del periodo de gracia y luego renueva o da por vencidos los que terminaron su vigencia.
+ * <p>
+ * Cada fase recorre los contratos pendientes con un cursor sobre (fecha, id) en lotes de
+ * {@code seguros.ciclo-vida.chunk-size}, cada uno en su propia transacción ({@link CicloVidaContratoLotes}).
+ * El cursor queda en {@link EjecucionCicloVida}; si el proceso se interrumpe, la siguiente ejecución para la
+ * misma fecha de corte retoma desde el último lote confirmado. La ejecución programada termina primero las de
+ * días anteriores que quedaron a medias. Este servicio no es transaccional a propósito.
+ */
+@Service
+public class CicloVidaContratoService {
+
+    private static final Logger log = LoggerFactory.getLogger(CicloVidaContratoService.class);
+
+    static final LocalDate CURSOR_INICIAL = LocalDate.of(1900, 1, 1);
+
+    private final EjecucionCicloVidaRepository ejecucionRepository;
+    private final CicloVidaContratoLotes lotes;
+    private final int tamanoLote;
+    private final int diasGraciaPago;
+
+    public CicloVidaContratoService(
+        EjecucionCicloVidaRepository ejecucionRepository,
+        CicloVidaContratoLotes lotes,
+        @Value("${seguros.ciclo-vida.chunk-size:500}") int tamanoLote,
+        @Value("${seguros.ciclo-vida.dias-gracia-pago:30}") int diasGraciaPago
+    ) {
+        if (tamanoLote <= 0) {
+            throw new IllegalArgumentException("seguros.ciclo-vida.chunk-size debe ser mayor a cero");
+        }
+        this.ejecucionRepository = ejecucionRepository;
+        this.lotes = lotes;
+        this.tamanoLote = tamanoLote;
+        this.diasGraciaPago = diasGraciaPago;
+    }
+
+    @Scheduled(cron = "${seguros.ciclo-vida.cron:0 30 2 * * *}")
+    public void procesarProgramado() {
+        LocalDate hoy = LocalDate.now();
+        for (LocalDate pendiente : ejecucionRepository.findFechasCortePendientesAntesDe(hoy)) {
+            registrar(procesar(pendiente));
+        }
+        registrar(procesar(hoy));
+    }
+
+    private static void registrar(CicloVidaResultado resultado) {
+        log.info("Ciclo de vida de contratos al {}: {} renovados, {} vencidos, {} suspendidos",
+            resultado.fechaCorte(), resultado.renovados(), resultado.vencidos(), resultado.suspendidos());
+    }
+
+    public CicloVidaResultado procesar(LocalDate fechaCorte) {
+        int renovados = 0;
+        int vencidos = 0;
+        int suspendidos = 0;
+        // Se abren todas las fases antes de procesar: si el proceso cae entre una y otra, la que falta queda
+        // pendiente y la ejecución programada del día siguiente la encuentra.
+        List<EjecucionCicloVida> ejecuciones = new ArrayList<>();
+        for (EjecucionCicloVida.Fase fase : EjecucionCicloVida.Fase.values()) {
+            ejecuciones.add(obtenerEjecucion(fechaCorte, fase));
+        }
+        // Primero los impagos, para no renovar contratos que corresponde suspender.
+        for (EjecucionCicloVida ejecucion : ejecuciones) {
+            if (ejecucion.getFinalizada() != null) {
+                continue;
+            }
+            CicloVidaContratoLotes.ResultadoLote lote;
+            do {
+                lote = lotes.procesarLote(ejecucion.getId(), tamanoLote, diasGraciaPago);
+                renovados += lote.renovados();
+                vencidos += lote.vencidos();
+                suspendidos += lote.suspendidos();
+            } while (!lote.completo());
+        }
+        return new CicloVidaResultado(fechaCorte, renovados, vencidos, suspendidos);
+    }
+
+    private EjecucionCicloVida obtenerEjecucion(LocalDate fechaCorte, EjecucionCicloVida.Fase fase) {
+        return ejecucionRepository.findByFechaCorteAndFase(fechaCorte, fase).orElseGet(() -> {
+            try {
+                return ejecucionRepository.saveAndFlush(new EjecucionCicloVida(fechaCorte, fase, CURSOR_INICIAL, 0L));
+            } catch (DataIntegrityViolationException e) {
+                // Otra instancia abrió la misma ejecución; se continúa sobre la suya.
+                return ejecucionRepository.findByFechaCorteAndFase(fechaCorte, fase).orElseThrow(() -> e);
+            }
+        });
+    }
+}
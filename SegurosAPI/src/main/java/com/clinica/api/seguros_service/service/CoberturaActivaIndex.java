@@ -0,0 +1,247 @@
+package com.clinica.api.seguros_service.service;
+
+import com.clinica.api.seguros_service.model.ContratoSeguro;
+import com.clinica.api.seguros_service.repository.CoberturaContrato;
+import com.clinica.api.seguros_service.repository.ContratoSeguroRepository;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Índice en memoria de coberturas vigentes: por cada plan, un {@link Roaring64Bitmap} con los idUsuario que
+ * tienen al menos un contrato ACTIVO. Responde la elegibilidad del check-in sin tocar la base.
+ * <p>
+ * El estado ACTIVO solo cambia con el ciclo de vida nocturno, así que además se guarda la vigencia de cada
+ * contrato (desde la contratación hasta el vencimiento, salvo renovación automática, y hasta el pago más los días
+ * de gracia). Los pares cuya cobertura ya empezó y no tiene fecha de término quedan solo en el bitmap; el resto
+ * se confirma contra su vigencia en cada consulta, sin dejar de ser O(1).
+ * <p>
+ * Se construye al arrancar leyendo en streaming los pares plan/usuario de los contratos activos; mientras
+ * tanto las consultas van a la base. Después se mantiene con cada {@link ContratoCambiadoEvent} confirmado.
+ * Los cambios que llegan durante una reconstrucción se vuelven a aplicar sobre el índice nuevo.
+ */
+@Component
+public class CoberturaActivaIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CoberturaActivaIndex.class);
+
+    /** Días en que un contrato cubre; {@code hasta} nulo es sin término. */
+    private record Vigencia(LocalDate desde, LocalDate hasta) {
+
+        boolean cubre(LocalDate dia) {
+            return !dia.isBefore(desde) && (hasta == null || !dia.isAfter(hasta));
+        }
+
+        boolean permanenteDesde(LocalDate dia) {
+            return hasta == null && !desde.isAfter(dia);
+        }
+    }
+
+    /** {@code vigencias} nulo con {@code cubierto}: al menos un contrato ya cubre sin término. */
+    private record Cambio(Long idSeguro, Long idUsuario, boolean cubierto, List<Vigencia> vigencias) {
+    }
+
+    private final ContratoSeguroRepository contratoSeguroRepository;
+    private final TransactionTemplate lectura;
+    private final int diasGraciaPago;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Protegidos por lock.
+    private Map<Long, Roaring64Bitmap> usuariosPorSeguro = new HashMap<>();
+    // Por plan y usuario, las vigencias de los pares del bitmap que aún no cubren o tienen fecha de término.
+    private Map<Long, Map<Long, List<Vigencia>>> vigenciasPorSeguro = new HashMap<>();
+    private List<Cambio> cambiosDuranteReconstruccion;
+    private volatile boolean listo;
+
+    public CoberturaActivaIndex(
+        ContratoSeguroRepository contratoSeguroRepository,
+        PlatformTransactionManager transactionManager,
+        @Value("${seguros.ciclo-vida.dias-gracia-pago:30}") int diasGraciaPago
+    ) {
+        this.contratoSeguroRepository = contratoSeguroRepository;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        this.diasGraciaPago = diasGraciaPago;
+    }
+
+    public boolean estaCubierto(Long idUsuario, Long idSeguro) {
+        LocalDate hoy = LocalDate.now();
+        if (!listo) {
+            return leerCoberturas(idUsuario, idSeguro).stream().anyMatch(vigencia -> vigencia.cubre(hoy));
+        }
+        lock.readLock().lock();
+        try {
+            Roaring64Bitmap usuarios = usuariosPorSeguro.get(idSeguro);
+            if (usuarios == null || !usuarios.contains(idUsuario)) {
+                return false;
+            }
+            Map<Long, List<Vigencia>> vigencias = vigenciasPorSeguro.get(idSeguro);
+            List<Vigencia> delUsuario = vigencias != null ? vigencias.get(idUsuario) : null;
+            return delUsuario == null || delUsuario.stream().anyMatch(vigencia -> vigencia.cubre(hoy));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void alCambiarContrato(ContratoCambiadoEvent evento) {
+        // Un usuario puede tener más de un contrato del mismo plan: se releen todos los activos del par.
+        LocalDate hoy = LocalDate.now();
+        List<Vigencia> vigencias = new ArrayList<>();
+        for (Vigencia vigencia : leerCoberturas(evento.idUsuario(), evento.idSeguro())) {
+            if (vigencia.permanenteDesde(hoy)) {
+                vigencias = null;
+                break;
+            }
+            vigencias.add(vigencia);
+        }
+        Cambio cambio = vigencias == null
+            ? new Cambio(evento.idSeguro(), evento.idUsuario(), true, null)
+            : new Cambio(evento.idSeguro(), evento.idUsuario(), !vigencias.isEmpty(), List.copyOf(vigencias));
+        lock.writeLock().lock();
+        try {
+            aplicar(usuariosPorSeguro, vigenciasPorSeguro, cambio);
+            if (cambiosDuranteReconstruccion != null) {
+                cambiosDuranteReconstruccion.add(cambio);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        lock.writeLock().lock();
+        try {
+            cambiosDuranteReconstruccion = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Map<Long, Roaring64Bitmap> nuevo = new HashMap<>();
+        Map<Long, Map<Long, List<Vigencia>>> nuevasVigencias = new HashMap<>();
+        LocalDate hoy = LocalDate.now();
+        long[] leidos = new long[1];
+        try {
+            lectura.executeWithoutResult(status -> {
+                try (Stream<CoberturaContrato> coberturas =
+                         contratoSeguroRepository.streamCoberturas(ContratoSeguro.EstadoContrato.ACTIVO)) {
+                    coberturas.forEach(c -> {
+                        agregar(nuevo, nuevasVigencias, c.getIdSeguro(), c.getIdUsuario(), vigencia(c), hoy);
+                        leidos[0]++;
+                    });
+                }
+            });
+            nuevo.values().forEach(Roaring64Bitmap::runOptimize);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                cambiosDuranteReconstruccion = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            cambiosDuranteReconstruccion.forEach(cambio -> aplicar(nuevo, nuevasVigencias, cambio));
+            cambiosDuranteReconstruccion = null;
+            usuariosPorSeguro = nuevo;
+            vigenciasPorSeguro = nuevasVigencias;
+            listo = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Índice de coberturas activas construido: {} contratos en {} planes", leidos[0], nuevo.size());
+    }
+
+    private List<Vigencia> leerCoberturas(Long idUsuario, Long idSeguro) {
+        return contratoSeguroRepository.findCoberturas(idUsuario, idSeguro, ContratoSeguro.EstadoContrato.ACTIVO)
+            .stream()
+            .map(this::vigencia)
+            .toList();
+    }
+
+    // Misma regla que el ciclo de vida: vence tras fechaVencimiento (si no se renueva) y se suspende
+    // cuando fechaPagadoHasta queda más de diasGraciaPago atrás.
+    private Vigencia vigencia(CoberturaContrato cobertura) {
+        LocalDate hasta = Boolean.FALSE.equals(cobertura.getRenovacionAutomatica())
+            ? cobertura.getFechaVencimiento()
+            : null;
+        if (cobertura.getFechaPagadoHasta() != null) {
+            LocalDate limitePago = cobertura.getFechaPagadoHasta().plusDays(diasGraciaPago);
+            if (hasta == null || limitePago.isBefore(hasta)) {
+                hasta = limitePago;
+            }
+        }
+        return new Vigencia(cobertura.getFechaContratacion(), hasta);
+    }
+
+    // Un par que ya está en el bitmap sin vigencias cubre sin término y no necesita más datos.
+    private static void agregar(
+        Map<Long, Roaring64Bitmap> usuariosPorSeguro,
+        Map<Long, Map<Long, List<Vigencia>>> vigenciasPorSeguro,
+        Long idSeguro,
+        Long idUsuario,
+        Vigencia vigencia,
+        LocalDate hoy
+    ) {
+        Roaring64Bitmap usuarios = usuariosPorSeguro.computeIfAbsent(idSeguro, k -> new Roaring64Bitmap());
+        Map<Long, List<Vigencia>> vigencias = vigenciasPorSeguro.get(idSeguro);
+        List<Vigencia> delUsuario = vigencias != null ? vigencias.get(idUsuario) : null;
+        boolean presente = usuarios.contains(idUsuario);
+        if (presente && delUsuario == null) {
+            return;
+        }
+        usuarios.addLong(idUsuario);
+        if (vigencia.permanenteDesde(hoy)) {
+            if (delUsuario != null) {
+                vigencias.remove(idUsuario);
+            }
+        } else if (delUsuario != null) {
+            delUsuario.add(vigencia);
+        } else {
+            List<Vigencia> nuevas = new ArrayList<>(1);
+            nuevas.add(vigencia);
+            vigenciasPorSeguro.computeIfAbsent(idSeguro, k -> new HashMap<>()).put(idUsuario, nuevas);
+        }
+    }
+
+    private static void aplicar(
+        Map<Long, Roaring64Bitmap> usuariosPorSeguro,
+        Map<Long, Map<Long, List<Vigencia>>> vigenciasPorSeguro,
+        Cambio cambio
+    ) {
+        if (cambio.cubierto()) {
+            usuariosPorSeguro.computeIfAbsent(cambio.idSeguro(), k -> new Roaring64Bitmap()).addLong(cambio.idUsuario());
+        } else {
+            Roaring64Bitmap usuarios = usuariosPorSeguro.get(cambio.idSeguro());
+            if (usuarios != null) {
+                usuarios.removeLong(cambio.idUsuario());
+            }
+        }
+        if (cambio.vigencias() != null && !cambio.vigencias().isEmpty()) {
+            vigenciasPorSeguro.computeIfAbsent(cambio.idSeguro(), k -> new HashMap<>())
+                .put(cambio.idUsuario(), cambio.vigencias());
+        } else {
+            Map<Long, List<Vigencia>> vigencias = vigenciasPorSeguro.get(cambio.idSeguro());
+            if (vigencias != null) {
+                vigencias.remove(cambio.idUsuario());
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.clinica.api.seguros_service.service;
+
+import com.clinica.api.seguros_service.model.ContratoSeguro;
+import com.clinica.api.seguros_service.model.EventoContrato;
+
+/**
+ * Evento interno que acompaña a cada fila del outbox; lo escuchan los índices en memoria tras el commit.
+ */
+public record ContratoCambiadoEvent(
+    EventoContrato.Tipo tipo,
+    Long idContrato,
+    Long idSeguro,
+    Long idUsuario,
+    ContratoSeguro.EstadoContrato estado
+) {
+}
@@ -0,0 +1,153 @@
+package com.clinica.api.seguros_service.service;
+
+import com.clinica.api.seguros_service.dto.ContratoLoteItemResultado;
+import com.clinica.api.seguros_service.dto.ContratoLoteResponse;
+import com.clinica.api.seguros_service.model.BeneficiarioContrato;
+import com.clinica.api.seguros_service.model.ContratoSeguro;
+import com.clinica.api.seguros_service.model.EventoContrato;
+import com.clinica.api.seguros_service.model.Rut;
+import com.clinica.api.seguros_service.model.Seguro;
+import com.clinica.api.seguros_service.repository.SeguroRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.stereotype.Service;
+
+/**
+ * Contratación masiva (p. ej. empresas que inscriben a sus trabajadores).
+ * <p>
+ * Cada contrato se valida por separado y los inválidos se informan sin afectar al resto. Los válidos se
+ * persisten en una sola transacción: los ids salen de la secuencia pooled, lo que permite que Hibernate agrupe
+ * los INSERT de contratos y beneficiarios en batches JDBC. El contexto de persistencia se vacía cada
+ * {@link ContratoSeguro#ID_ALLOCATION_SIZE} contratos para mantener acotada la memoria.
+ */
+@Service
+@Transactional
+public class ContratoLoteService {
+
+    public static final int MAX_CONTRATOS_POR_LOTE = 5000;
+
+    private final SeguroRepository seguroRepository;
+    private final EntityManager entityManager;
+    private final ResumenMensualService resumenMensualService;
+    private final EventoContratoOutbox eventoOutbox;
+
+    public ContratoLoteService(
+        SeguroRepository seguroRepository,
+        EntityManager entityManager,
+        ResumenMensualService resumenMensualService,
+        EventoContratoOutbox eventoOutbox
+    ) {
+        this.seguroRepository = seguroRepository;
+        this.entityManager = entityManager;
+        this.resumenMensualService = resumenMensualService;
+        this.eventoOutbox = eventoOutbox;
+    }
+
+    public ContratoLoteResponse crearContratos(List<ContratoSeguro> contratos) {
+        if (contratos == null || contratos.isEmpty()) {
+            throw new IllegalArgumentException("La solicitud debe incluir al menos un contrato");
+        }
+        if (contratos.size() > MAX_CONTRATOS_POR_LOTE) {
+            throw new IllegalArgumentException("Máximo " + MAX_CONTRATOS_POR_LOTE + " contratos por solicitud");
+        }
+
+        Set<Long> idsSeguro = contratos.stream()
+            .filter(Objects::nonNull)
+            .map(ContratoSeguro::getIdSeguro)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Set<Long> segurosExistentes = seguroRepository.findAllById(idsSeguro).stream()
+            .map(Seguro::getId)
+            .collect(Collectors.toSet());
+
+        List<ContratoLoteItemResultado> resultados = new ArrayList<>(contratos.size());
+        // Altas por plan y mes: el rollup se actualiza una vez por grupo y no por contrato.
+        Map<Long, Map<YearMonth, Long>> altasPorSeguro = new HashMap<>();
+        int creados = 0;
+        int pendientes = 0;
+        for (int i = 0; i < contratos.size(); i++) {
+            ContratoSeguro contrato = contratos.get(i);
+            List<String> errores = validar(contrato, segurosExistentes);
+            if (!errores.isEmpty()) {
+                resultados.add(new ContratoLoteItemResultado(i, ContratoLoteItemResultado.Estado.RECHAZADO, null, errores));
+                continue;
+            }
+            SeguroService.prepararContratoNuevo(contrato);
+            entityManager.persist(contrato);
+            eventoOutbox.registrar(EventoContrato.Tipo.CONTRATO_CREADO, contrato);
+            altasPorSeguro.computeIfAbsent(contrato.getIdSeguro(), k -> new HashMap<>())
+                .merge(YearMonth.from(contrato.getFechaContratacion()), 1L, Long::sum);
+            resultados.add(new ContratoLoteItemResultado(i, ContratoLoteItemResultado.Estado.CREADO, contrato.getId(), null));
+            creados++;
+            if (++pendientes == ContratoSeguro.ID_ALLOCATION_SIZE) {
+                entityManager.flush();
+                entityManager.clear();
+                pendientes = 0;
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        altasPorSeguro.forEach((idSeguro, porMes) -> porMes.forEach((mes, cantidad) ->
+            resumenMensualService.registrarContrataciones(idSeguro, mes.atDay(1), cantidad)
+        ));
+        return new ContratoLoteResponse(creados, contratos.size() - creados, resultados);
+    }
+
+    private List<String> validar(ContratoSeguro contrato, Set<Long> segurosExistentes) {
+        List<String> errores = new ArrayList<>();
+        if (contrato == null) {
+            errores.add("El contrato no puede ser nulo");
+            return errores;
+        }
+        if (contrato.getIdSeguro() == null) {
+            errores.add("idSeguro es requerido");
+        } else if (!segurosExistentes.contains(contrato.getIdSeguro())) {
+            errores.add("El seguro " + contrato.getIdSeguro() + " no existe");
+        }
+        if (contrato.getIdUsuario() == null) {
+            errores.add("idUsuario es requerido");
+        }
+        validarTexto(errores, "correoContacto", contrato.getCorreoContacto(), 100);
+        validarTexto(errores, "telefonoContacto", contrato.getTelefonoContacto(), 20);
+        if (contrato.getMetodoPago() == null) {
+            errores.add("metodoPago es requerido");
+        }
+        List<BeneficiarioContrato> beneficiarios = contrato.getBeneficiarios();
+        if (beneficiarios != null) {
+            for (int j = 0; j < beneficiarios.size(); j++) {
+                BeneficiarioContrato beneficiario = beneficiarios.get(j);
+                String prefijo = "beneficiarios[" + j + "].";
+                if (beneficiario == null) {
+                    errores.add(prefijo.substring(0, prefijo.length() - 1) + " no puede ser nulo");
+                    continue;
+                }
+                validarTexto(errores, prefijo + "rut", beneficiario.getRut(), 20);
+                if (beneficiario.getRut() != null && !beneficiario.getRut().isBlank()
+                    && Rut.normalizarSiValido(beneficiario.getRut()) == null) {
+                    errores.add(prefijo + "rut no es válido");
+                }
+                validarTexto(errores, prefijo + "nombre", beneficiario.getNombre(), 200);
+                if (beneficiario.getFechaNacimiento() == null) {
+                    errores.add(prefijo + "fechaNacimiento es requerido");
+                }
+            }
+        }
+        return errores;
+    }
+
+    private void validarTexto(List<String> errores, String campo, String valor, int largoMaximo) {
+        if (valor == null || valor.isBlank()) {
+            errores.add(campo + " es requerido");
+        } else if (valor.length() > largoMaximo) {
+            errores.add(campo + " supera " + largoMaximo + " caracteres");
+        }
+    }
+}
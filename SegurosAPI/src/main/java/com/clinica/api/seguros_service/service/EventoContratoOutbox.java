@@ -0,0 +1,69 @@
+package com.clinica.api.seguros_service.service;
+
+import com.clinica.api.seguros_service.model.ContratoSeguro;
+import com.clinica.api.seguros_service.model.EventoContrato;
+import com.clinica.api.seguros_service.repository.EventoContratoRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import java.time.LocalDate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registra eventos de contratos en el outbox. Exige una transacción activa: el evento se confirma o se
+ * descarta junto con el cambio del contrato que lo origina. También publica un {@link ContratoCambiadoEvent}
+ * para los consumidores dentro del proceso.
+ */
+@Component
+public class EventoContratoOutbox {
+
+    private final EventoContratoRepository eventoRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public EventoContratoOutbox(
+        EventoContratoRepository eventoRepository,
+        ObjectMapper objectMapper,
+        ApplicationEventPublisher eventPublisher
+    ) {
+        this.eventoRepository = eventoRepository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /** Datos del contrato que viajan en el evento (sin beneficiarios ni datos de contacto). */
+    record ContratoPayload(
+        Long idContrato,
+        Long idSeguro,
+        Long idUsuario,
+        ContratoSeguro.EstadoContrato estado,
+        LocalDate fechaContratacion,
+        LocalDate fechaVencimiento,
+        LocalDate fechaCancelacion,
+        LocalDate fechaBaja
+    ) {
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void registrar(EventoContrato.Tipo tipo, ContratoSeguro contrato) {
+        ContratoPayload payload = new ContratoPayload(
+            contrato.getId(),
+            contrato.getIdSeguro(),
+            contrato.getIdUsuario(),
+            contrato.getEstado(),
+            contrato.getFechaContratacion(),
+            contrato.getFechaVencimiento(),
+            contrato.getFechaCancelacion(),
+            contrato.getFechaBaja()
+        );
+        try {
+            eventoRepository.save(new EventoContrato(tipo, contrato.getId(), objectMapper.writeValueAsString(payload)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el evento del contrato " + contrato.getId(), e);
+        }
+        eventPublisher.publishEvent(new ContratoCambiadoEvent(
+            tipo, contrato.getId(), contrato.getIdSeguro(), contrato.getIdUsuario(), contrato.getEstado()
+        ));
+    }
+}
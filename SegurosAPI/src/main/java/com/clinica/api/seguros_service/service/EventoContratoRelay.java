@@ -0,0 +1,87 @@
+package com.clinica.api.seguros_service.service;
+
+import com.clinica.api.seguros_service.model.EventoContrato;
+import com.clinica.api.seguros_service.repository.EventoContratoRepository;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Publica los eventos pendientes del outbox en lotes de {@code seguros.outbox.batch-size}. Cada lote se
+ * bloquea, se entrega al {@link EventoContratoSink} y se marca como publicado en una sola transacción; si el
+ * sink falla, la transacción se revierte y el lote queda pendiente para la siguiente pasada.
+ */
+@Component
+public class EventoContratoRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(EventoContratoRelay.class);
+
+    private final EventoContratoRepository eventoRepository;
+    private final EventoContratoSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanoLote;
+    private final int diasRetencion;
+
+    public EventoContratoRelay(
+        EventoContratoRepository eventoRepository,
+        EventoContratoSink sink,
+        TransactionTemplate transactionTemplate,
+        @Value("${seguros.outbox.batch-size:200}") int tamanoLote,
+        @Value("${seguros.outbox.retencion-dias:7}") int diasRetencion
+    ) {
+        this.eventoRepository = eventoRepository;
+        this.sink = sink;
+        this.transactionTemplate = transactionTemplate;
+        this.tamanoLote = tamanoLote;
+        this.diasRetencion = diasRetencion;
+    }
+
+    @Scheduled(
+        fixedDelayString = "${seguros.outbox.intervalo-ms:1000}",
+        initialDelayString = "${seguros.outbox.intervalo-ms:1000}"
+    )
+    public void publicarProgramado() {
+        try {
+            publicarPendientes();
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron publicar los eventos de contratos; se reintentará", e);
+        }
+    }
+
+    /** Publica hasta vaciar el outbox y devuelve la cantidad de eventos entregados. */
+    public int publicarPendientes() {
+        int publicados = 0;
+        Integer lote;
+        do {
+            lote = transactionTemplate.execute(status -> publicarLote());
+            publicados += lote;
+        } while (lote == tamanoLote);
+        transactionTemplate.executeWithoutResult(status ->
+            eventoRepository.eliminarPublicadosAntesDe(LocalDateTime.now().minusDays(diasRetencion))
+        );
+        return publicados;
+    }
+
+    private int publicarLote() {
+        List<EventoContrato> pendientes = eventoRepository.findPendientes(PageRequest.of(0, tamanoLote));
+        if (pendientes.isEmpty()) {
+            return 0;
+        }
+        try {
+            sink.publicar(pendientes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falló la publicación de eventos de contratos", e);
+        }
+        LocalDateTime ahora = LocalDateTime.now();
+        pendientes.forEach(evento -> evento.setPublicado(ahora));
+        return pendientes.size();
+    }
+}
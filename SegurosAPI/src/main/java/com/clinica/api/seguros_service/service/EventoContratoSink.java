@@ -0,0 +1,15 @@
+package com.clinica.api.seguros_service.service;
+
+import com.clinica.api.seguros_service.model.EventoContrato;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destino al que el relay entrega los eventos del outbox. Se elige con {@code seguros.outbox.sink}.
+ * La entrega es al menos una vez: si falla la confirmación posterior, el lote se vuelve a publicar y los
+ * consumidores deben descartar duplicados por {@link EventoContrato#getId()}.
+ */
+public interface EventoContratoSink {
+
+    void publicar(List<EventoContrato> eventos) throws IOException;
+}
@@ -0,0 +1,28 @@
+package com.clinica.api.seguros_service.service;
+
+import com.clinica.api.seguros_service.model.EventoContrato;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** Cola en memoria para pruebas y entornos locales ({@code seguros.outbox.sink=memoria}). */
+@Component
+@ConditionalOnProperty(name = "seguros.outbox.sink", havingValue = "memoria")
+public class MemoriaEventoContratoSink implements EventoContratoSink {
+
+    private final BlockingQueue<EventoContrato> cola = new LinkedBlockingQueue<>();
+
+    @Override
+    public void publicar(List<EventoContrato> eventos) {
+        cola.addAll(eventos);
+    }
+
+    public List<EventoContrato> drenar() {
+        List<EventoContrato> eventos = new ArrayList<>();
+        cola.drainTo(eventos);
+        return eventos;
+    }
+}
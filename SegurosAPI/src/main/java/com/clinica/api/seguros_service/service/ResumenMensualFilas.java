@@ -0,0 +1,28 @@
+package com.clinica.api.seguros_service.service;
+
+import com.clinica.api.seguros_service.model.ResumenMensualContrato;
+import com.clinica.api.seguros_service.repository.ResumenMensualContratoRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Component;
+
+/**
+ * Alta de filas del rollup en su propia transacción: si dos contratos concurrentes abren el mismo
+ * plan/mes, el perdedor recibe la violación de unicidad aquí y no en la transacción del contrato. Debe llamarse
+ * antes de que la transacción externa actualice la fila, para no esperar un bloqueo que ella misma retiene.
+ */
+@Component
+public class ResumenMensualFilas {
+
+    private final ResumenMensualContratoRepository resumenRepository;
+
+    public ResumenMensualFilas(ResumenMensualContratoRepository resumenRepository) {
+        this.resumenRepository = resumenRepository;
+    }
+
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void crearSiNoExiste(Long idSeguro, int periodo) {
+        if (!resumenRepository.existsByIdSeguroAndPeriodo(idSeguro, periodo)) {
+            resumenRepository.saveAndFlush(new ResumenMensualContrato(idSeguro, periodo, 0L, 0L));
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.clinica.api.seguros_service.service;
+
+import com.clinica.api.seguros_service.dto.ReporteMensualSeguroResponse;
+import com.clinica.api.seguros_service.model.ResumenMensualContrato;
+import com.clinica.api.seguros_service.model.Seguro;
+import com.clinica.api.seguros_service.repository.ConteoMensualContrato;
+import com.clinica.api.seguros_service.repository.ContratoSeguroRepository;
+import com.clinica.api.seguros_service.repository.ResumenMensualContratoRepository;
+import com.clinica.api.seguros_service.repository.SeguroRepository;
+import jakarta.transaction.Transactional;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Reportes financieros mensuales por plan (contratos activos, altas, cancelaciones e ingreso recurrente).
+ * <p>
+ * Los reportes se leen del rollup {@link ResumenMensualContrato}, que tiene una fila por plan y mes con las altas
+ * y cancelaciones del periodo; los activos al cierre de cada mes son la suma acumulada de ambas. Así el costo del
+ * reporte depende de planes × meses y no de la cantidad de contratos. El rollup se actualiza en la misma
+ * transacción que cada alta o cancelación, y se reconstruye con GROUP BY sobre los contratos cuando está vacío.
+ */
+@Service
+@Transactional
+public class ResumenMensualService {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumenMensualService.class);
+
+    public static final int MAX_MESES_REPORTE = 120;
+
+    private final ResumenMensualContratoRepository resumenRepository;
+    private final ResumenMensualFilas filas;
+    private final ContratoSeguroRepository contratoSeguroRepository;
+    private final SeguroRepository seguroRepository;
+
+    public ResumenMensualService(
+        ResumenMensualContratoRepository resumenRepository,
+        ResumenMensualFilas filas,
+        ContratoSeguroRepository contratoSeguroRepository,
+        SeguroRepository seguroRepository
+    ) {
+        this.resumenRepository = resumenRepository;
+        this.filas = filas;
+        this.contratoSeguroRepository = contratoSeguroRepository;
+        this.seguroRepository = seguroRepository;
+    }
+
+    public void registrarContrataciones(Long idSeguro, LocalDate fecha, long cantidad) {
+        registrar(idSeguro, periodo(YearMonth.from(fecha)), cantidad, 0);
+    }
+
+    public void registrarCancelacion(Long idSeguro, LocalDate fecha) {
+        registrarBajas(idSeguro, fecha, 1);
+    }
+
+    /** Cancelaciones, vencimientos y suspensiones: todos dejan de contar como contratos activos. */
+    public void registrarBajas(Long idSeguro, LocalDate fecha, long cantidad) {
+        registrar(idSeguro, periodo(YearMonth.from(fecha)), 0, cantidad);
+    }
+
+    /** Un contrato suspendido que vuelve a ACTIVO deja de contar como baja en el mes en que se suspendió. */
+    public void revertirBaja(Long idSeguro, LocalDate fechaBaja) {
+        registrar(idSeguro, periodo(YearMonth.from(fechaBaja)), 0, -1);
+    }
+
+    private void registrar(Long idSeguro, int periodo, long contratados, long cancelados) {
+        // La fila se crea antes de que esta transacción escriba en el índice único: en MySQL un UPDATE que no
+        // encuentra filas deja un gap lock, y el INSERT de la transacción anidada esperaría hasta el timeout.
+        // La consulta de existencia es una lectura sin bloqueo.
+        if (!resumenRepository.existsByIdSeguroAndPeriodo(idSeguro, periodo)) {
+            try {
+                filas.crearSiNoExiste(idSeguro, periodo);
+            } catch (DataIntegrityViolationException e) {
+                // Otra transacción creó la fila en paralelo; basta con incrementarla.
+            }
+        }
+        resumenRepository.incrementar(idSeguro, periodo, contratados, cancelados);
+    }
+
+    public List<ReporteMensualSeguroResponse> findReporteMensual(YearMonth desde, YearMonth hasta, Long idSeguro) {
+        YearMonth fin = hasta != null ? hasta : YearMonth.now();
+        YearMonth inicio = desde != null ? desde : fin.minusMonths(11);
+        if (inicio.isAfter(fin)) {
+            throw new IllegalArgumentException("El parámetro desde no puede ser posterior a hasta");
+        }
+        if (inicio.plusMonths(MAX_MESES_REPORTE).isBefore(fin.plusMonths(1))) {
+            throw new IllegalArgumentException("El rango no puede superar " + MAX_MESES_REPORTE + " meses");
+        }
+
+        Map<Long, Seguro> seguros = new TreeMap<>();
+        for (Seguro seguro : idSeguro != null ? seguroRepository.findAllById(List.of(idSeguro)) : seguroRepository.findAll()) {
+            seguros.put(seguro.getId(), seguro);
+        }
+        Map<Long, List<ResumenMensualContrato>> filasPorSeguro = new HashMap<>();
+        for (ResumenMensualContrato fila : resumenRepository.findByPeriodoLessThanEqualOrderByIdSeguroAscPeriodoAsc(periodo(fin))) {
+            if (seguros.containsKey(fila.getIdSeguro())) {
+                filasPorSeguro.computeIfAbsent(fila.getIdSeguro(), k -> new ArrayList<>()).add(fila);
+            }
+        }
+
+        List<ReporteMensualSeguroResponse> reporte = new ArrayList<>();
+        for (Seguro seguro : seguros.values()) {
+            List<ResumenMensualContrato> historial = filasPorSeguro.getOrDefault(seguro.getId(), List.of());
+            long activos = 0;
+            int indice = 0;
+            for (YearMonth mes = inicio; !mes.isAfter(fin); mes = mes.plusMonths(1)) {
+                int periodoMes = periodo(mes);
+                long nuevos = 0;
+                long cancelaciones = 0;
+                // Los meses previos al rango solo aportan al acumulado de activos.
+                while (indice < historial.size() && historial.get(indice).getPeriodo() <= periodoMes) {
+                    ResumenMensualContrato fila = historial.get(indice++);
+                    activos += fila.getContratados() - fila.getCancelados();
+                    if (fila.getPeriodo() == periodoMes) {
+                        nuevos = fila.getContratados();
+                        cancelaciones = fila.getCancelados();
+                    }
+                }
+                long valor = seguro.getValor() != null ? seguro.getValor() : 0L;
+                reporte.add(new ReporteMensualSeguroResponse(
+                    seguro.getId(), seguro.getNombreSeguro(), mes, activos, nuevos, cancelaciones, activos * valor
+                ));
+            }
+        }
+        return reporte;
+    }
+
+    /** Recalcula el rollup completo desde los contratos con dos GROUP BY por plan y mes. */
+    public int reconstruir() {
+        Map<Long, Map<Integer, long[]>> conteos = new HashMap<>();
+        for (ConteoMensualContrato conteo : contratoSeguroRepository.contarContratacionesPorSeguroYMes()) {
+            acumular(conteos, conteo)[0] += conteo.getTotal();
+        }
+        for (ConteoMensualContrato conteo : contratoSeguroRepository.contarCancelacionesPorSeguroYMes()) {
+            acumular(conteos, conteo)[1] += conteo.getTotal();
+        }
+        resumenRepository.deleteAllInBatch();
+        List<ResumenMensualContrato> filasNuevas = new ArrayList<>();
+        conteos.forEach((idSeguro, porPeriodo) -> porPeriodo.forEach((periodo, totales) ->
+            filasNuevas.add(new ResumenMensualContrato(idSeguro, periodo, totales[0], totales[1]))
+        ));
+        resumenRepository.saveAll(filasNuevas);
+        return filasNuevas.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializarSiVacio() {
+        if (resumenRepository.count() == 0 && contratoSeguroRepository.count() > 0) {
+            int filasCreadas = reconstruir();
+            log.info("Rollup mensual de contratos reconstruido: {} filas", filasCreadas);
+        }
+    }
+
+    private static long[] acumular(Map<Long, Map<Integer, long[]>> conteos, ConteoMensualContrato conteo) {
+        int periodo = conteo.getAnio() * 100 + conteo.getMes();
+        return conteos.computeIfAbsent(conteo.getIdSeguro(), k -> new HashMap<>())
+            .computeIfAbsent(periodo, k -> new long[2]);
+    }
+
+    static int periodo(YearMonth mes) {
+        return mes.getYear() * 100 + mes.getMonthValue();
+    }
+}
@@ -0,0 +1,70 @@
+package com.clinica.api.seguros_service.service;
+
+import com.clinica.api.seguros_service.model.BeneficiarioContrato;
+import com.clinica.api.seguros_service.model.Rut;
+import com.clinica.api.seguros_service.repository.BeneficiarioContratoRepository;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Completa {@code rut_normalizado} en los beneficiarios creados antes de que existiera la columna.
+ * Recorre por id en lotes de 500, cada uno en su propia transacción; los RUT inválidos quedan en null
+ * (no aparecen en la búsqueda por RUT) y se informan en el log.
+ */
+@Component
+public class RutBeneficiarioMigracion {
+
+    private static final Logger log = LoggerFactory.getLogger(RutBeneficiarioMigracion.class);
+
+    private final BeneficiarioContratoRepository beneficiarioRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public RutBeneficiarioMigracion(
+        BeneficiarioContratoRepository beneficiarioRepository,
+        TransactionTemplate transactionTemplate
+    ) {
+        this.beneficiarioRepository = beneficiarioRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    private record Lote(int leidos, int normalizados, long ultimoId) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void normalizarPendientes() {
+        long ultimoId = 0L;
+        int normalizados = 0;
+        int invalidos = 0;
+        Lote lote;
+        do {
+            long desde = ultimoId;
+            lote = transactionTemplate.execute(status -> normalizarLote(desde));
+            normalizados += lote.normalizados();
+            invalidos += lote.leidos() - lote.normalizados();
+            ultimoId = lote.ultimoId();
+        } while (lote.leidos() > 0);
+        if (normalizados > 0 || invalidos > 0) {
+            log.info("RUT de beneficiarios normalizados: {}; con RUT inválido: {}", normalizados, invalidos);
+        }
+    }
+
+    private Lote normalizarLote(long desde) {
+        List<BeneficiarioContrato> pendientes =
+            beneficiarioRepository.findTop500ByRutNormalizadoIsNullAndIdGreaterThanOrderByIdAsc(desde);
+        int normalizados = 0;
+        long ultimoId = desde;
+        for (BeneficiarioContrato beneficiario : pendientes) {
+            beneficiario.setRutNormalizado(Rut.normalizarSiValido(beneficiario.getRut()));
+            if (beneficiario.getRutNormalizado() != null) {
+                normalizados++;
+            }
+            ultimoId = beneficiario.getId();
+        }
+        return new Lote(pendientes.size(), normalizados, ultimoId);
+    }
+}
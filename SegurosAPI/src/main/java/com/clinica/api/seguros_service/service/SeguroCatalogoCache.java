@@ -0,0 +1,93 @@
+package com.clinica.api.seguros_service.service;
+
+import com.clinica.api.seguros_service.model.Seguro;
+import com.clinica.api.seguros_service.repository.SeguroRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Snapshot inmutable del catálogo de seguros ya serializado a JSON, con su ETag.
+ * <p>
+ * Las lecturas solo devuelven el snapshot vigente; las escrituras de {@link SeguroService} llaman a
+ * {@link #invalidar()} y el snapshot se reconstruye después del commit. Cada reconstrucción toma un número de
+ * secuencia justo antes de leer la base y solo se publica si es mayor que el del snapshot vigente: una lectura
+ * más antigua que termina tarde no pisa a una más nueva.
+ */
+@Component
+public class SeguroCatalogoCache {
+
+    public record Snapshot(byte[] json, String etag, int cantidad, long secuencia) {
+
+        public boolean vacio() {
+            return cantidad == 0;
+        }
+    }
+
+    private final SeguroRepository seguroRepository;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong lecturas = new AtomicLong();
+    private final AtomicReference<Snapshot> actual = new AtomicReference<>();
+
+    public SeguroCatalogoCache(SeguroRepository seguroRepository, ObjectMapper objectMapper) {
+        this.seguroRepository = seguroRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public Snapshot obtener() {
+        Snapshot snapshot = actual.get();
+        return snapshot != null ? snapshot : reconstruir();
+    }
+
+    /**
+     * Marca el catálogo como modificado. Dentro de una transacción la reconstrucción espera al commit
+     * (un rollback deja el snapshot anterior, que sigue siendo correcto).
+     */
+    public void invalidar() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reconstruir();
+                }
+            });
+        } else {
+            reconstruir();
+        }
+    }
+
+    Snapshot reconstruir() {
+        long secuencia = lecturas.incrementAndGet();
+        List<Seguro> seguros = seguroRepository.findAll();
+        byte[] json = serializar(seguros);
+        Snapshot nuevo = new Snapshot(json, calcularEtag(json), seguros.size(), secuencia);
+        return actual.accumulateAndGet(nuevo, (previo, candidato) ->
+            previo == null || candidato.secuencia() > previo.secuencia() ? candidato : previo);
+    }
+
+    private byte[] serializar(List<Seguro> seguros) {
+        try {
+            return objectMapper.writeValueAsBytes(seguros);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("No fue posible serializar el catálogo de seguros", ex);
+        }
+    }
+
+    private static String calcularEtag(byte[] json) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
+            String valor = Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22);
+            return "\"" + valor + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
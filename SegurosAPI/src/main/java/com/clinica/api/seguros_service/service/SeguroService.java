@@ -1,14 +1,17 @@
 package com.clinica.api.seguros_service.service;
 
 import com.clinica.api.seguros_service.model.ContratoSeguro;
+import com.clinica.api.seguros_service.model.EventoContrato;
 import com.clinica.api.seguros_service.model.Seguro;
 import com.clinica.api.seguros_service.model.BeneficiarioContrato;
+import com.clinica.api.seguros_service.model.Rut;
 import com.clinica.api.seguros_service.repository.ContratoSeguroRepository;
 import com.clinica.api.seguros_service.repository.SeguroRepository;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import java.time.LocalDate;
 import java.util.List;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -17,19 +20,33 @@ public class SeguroService {
 
     private final SeguroRepository seguroRepository;
     private final ContratoSeguroRepository contratoSeguroRepository;
+    private final SeguroCatalogoCache catalogoCache;
+    private final ResumenMensualService resumenMensualService;
+    private final EventoContratoOutbox eventoOutbox;
 
     public SeguroService(
         SeguroRepository seguroRepository,
-        ContratoSeguroRepository contratoSeguroRepository
+        ContratoSeguroRepository contratoSeguroRepository,
+        SeguroCatalogoCache catalogoCache,
+        ResumenMensualService resumenMensualService,
+        EventoContratoOutbox eventoOutbox
     ) {
         this.seguroRepository = seguroRepository;
         this.contratoSeguroRepository = contratoSeguroRepository;
+        this.catalogoCache = catalogoCache;
+        this.resumenMensualService = resumenMensualService;
+        this.eventoOutbox = eventoOutbox;
     }
 
     public List<Seguro> findAllSeguros() {
         return seguroRepository.findAll();
     }
 
+    /** Catálogo ya serializado; no consulta la base mientras no haya cambios en los seguros. */
+    public SeguroCatalogoCache.Snapshot findCatalogo() {
+        return catalogoCache.obtener();
+    }
+
     public Seguro findSeguroById(Long id) {
         return seguroRepository.findById(id)
             .orElseThrow(() -> new EntityNotFoundException("Seguro no encontrado"));
@@ -37,24 +54,48 @@ public class SeguroService {
 
     public Seguro createSeguro(Seguro seguro) {
         seguro.setId(null);
-        return seguroRepository.save(seguro);
+        seguro.setVersion(null);
+        Seguro creado = seguroRepository.save(seguro);
+        catalogoCache.invalidar();
+        return creado;
     }
 
     public Seguro updateSeguro(Long id, Seguro cambios) {
+        return updateSeguro(id, cambios, cambios.getVersion());
+    }
+
+    /**
+     * Actualiza el seguro si su versión sigue siendo {@code versionEsperada} (null omite la comprobación).
+     * Una escritura concurrente también se detecta al hacer flush, porque el UPDATE filtra por la versión leída.
+     */
+    public Seguro updateSeguro(Long id, Seguro cambios, Long versionEsperada) {
         Seguro existente = findSeguroById(id);
+        verificarVersion(existente.getVersion(), versionEsperada, "El seguro " + id);
         existente.setNombreSeguro(cambios.getNombreSeguro());
         existente.setDescripcion(cambios.getDescripcion());
         existente.setValor(cambios.getValor());
-        return seguroRepository.save(existente);
+        Seguro actualizado = seguroRepository.saveAndFlush(existente);
+        catalogoCache.invalidar();
+        return actualizado;
     }
 
     public void deleteSeguro(Long id) {
         Seguro seguro = findSeguroById(id);
         seguroRepository.delete(seguro);
+        catalogoCache.invalidar();
     }
 
     public ContratoSeguro createContrato(ContratoSeguro contrato) {
+        prepararContratoNuevo(contrato);
+        ContratoSeguro creado = contratoSeguroRepository.save(contrato);
+        resumenMensualService.registrarContrataciones(creado.getIdSeguro(), creado.getFechaContratacion(), 1);
+        eventoOutbox.registrar(EventoContrato.Tipo.CONTRATO_CREADO, creado);
+        return creado;
+    }
+
+    static void prepararContratoNuevo(ContratoSeguro contrato) {
         contrato.setId(null);
+        contrato.setVersion(null);
         if (contrato.getFechaContratacion() == null) {
             contrato.setFechaContratacion(LocalDate.now());
         }
@@ -63,11 +104,11 @@ public class SeguroService {
         }
         if (contrato.getBeneficiarios() != null) {
             for (BeneficiarioContrato beneficiario : contrato.getBeneficiarios()) {
+                beneficiario.setRutNormalizado(Rut.normalizar(beneficiario.getRut()));
                 beneficiario.setId(null);
                 beneficiario.setContrato(contrato);
             }
         }
-        return contratoSeguroRepository.save(contrato);
     }
 
     public List<ContratoSeguro> findContratosByUsuario(Long idUsuario) {
@@ -78,18 +119,85 @@ public class SeguroService {
         return contratoSeguroRepository.findByIdSeguro(idSeguro);
     }
 
+    public List<ContratoSeguro> findContratosByRutBeneficiario(String rut) {
+        return contratoSeguroRepository.findByRutBeneficiario(Rut.normalizar(rut));
+    }
+
     public ContratoSeguro findContratoById(Long id) {
         return contratoSeguroRepository.findById(id)
             .orElseThrow(() -> new EntityNotFoundException("Contrato no encontrado"));
     }
 
     public ContratoSeguro cancelarContrato(Long id) {
+        return cancelarContrato(id, null);
+    }
+
+    /**
+     * Cancela el contrato si su versión sigue siendo {@code versionEsperada} (null omite la comprobación).
+     * Si otra transacción lo modifica entre la lectura y el UPDATE, el flush falla y nada se registra dos veces.
+     * Un contrato SUSPENDIDO puede cancelarse; como ya contaba como baja, el rollup no cambia. Un contrato
+     * VENCIDO ya terminó y lanza {@link IllegalStateException}.
+     */
+    public ContratoSeguro cancelarContrato(Long id, Long versionEsperada) {
         ContratoSeguro contrato = findContratoById(id);
-        if (contrato.getFechaCancelacion() != null) {
+        verificarVersion(contrato.getVersion(), versionEsperada, "El contrato " + id);
+        ContratoSeguro.EstadoContrato estado = contrato.getEstado();
+        if (estado == ContratoSeguro.EstadoContrato.CANCELADO) {
             return contrato;
         }
+        if (estado == ContratoSeguro.EstadoContrato.VENCIDO) {
+            throw new IllegalStateException("El contrato " + id + " está VENCIDO y no puede cancelarse");
+        }
+        LocalDate hoy = LocalDate.now();
         contrato.setEstado(ContratoSeguro.EstadoContrato.CANCELADO);
-        contrato.setFechaCancelacion(LocalDate.now());
-        return contratoSeguroRepository.save(contrato);
+        contrato.setFechaCancelacion(hoy);
+        boolean activo = estado == ContratoSeguro.EstadoContrato.ACTIVO;
+        if (activo) {
+            contrato.setFechaBaja(hoy);
+        }
+        ContratoSeguro cancelado = contratoSeguroRepository.saveAndFlush(contrato);
+        if (activo) {
+            resumenMensualService.registrarCancelacion(cancelado.getIdSeguro(), cancelado.getFechaBaja());
+        }
+        eventoOutbox.registrar(EventoContrato.Tipo.CONTRATO_CANCELADO, cancelado);
+        return cancelado;
+    }
+
+    /**
+     * Registra un pago del contrato: adelanta {@code fechaPagadoHasta} (nunca la retrocede) y, si el contrato
+     * estaba SUSPENDIDO por impago y el pago lo deja al día, lo vuelve a ACTIVO.
+     */
+    public ContratoSeguro registrarPago(Long id, LocalDate pagadoHasta) {
+        if (pagadoHasta == null) {
+            throw new IllegalArgumentException("La fecha pagada hasta es obligatoria");
+        }
+        ContratoSeguro contrato = findContratoById(id);
+        ContratoSeguro.EstadoContrato estado = contrato.getEstado();
+        if (estado != ContratoSeguro.EstadoContrato.ACTIVO && estado != ContratoSeguro.EstadoContrato.SUSPENDIDO) {
+            throw new IllegalStateException("El contrato " + id + " está " + estado + " y no admite pagos");
+        }
+        if (contrato.getFechaPagadoHasta() == null || pagadoHasta.isAfter(contrato.getFechaPagadoHasta())) {
+            contrato.setFechaPagadoHasta(pagadoHasta);
+        }
+        LocalDate fechaSuspension = contrato.getFechaBaja();
+        boolean reactivar = estado == ContratoSeguro.EstadoContrato.SUSPENDIDO
+            && !contrato.getFechaPagadoHasta().isBefore(LocalDate.now());
+        if (reactivar) {
+            contrato.setEstado(ContratoSeguro.EstadoContrato.ACTIVO);
+            contrato.setFechaBaja(null);
+        }
+        ContratoSeguro pagado = contratoSeguroRepository.saveAndFlush(contrato);
+        if (reactivar) {
+            resumenMensualService.revertirBaja(pagado.getIdSeguro(), fechaSuspension);
+            eventoOutbox.registrar(EventoContrato.Tipo.CONTRATO_REACTIVADO, pagado);
+        }
+        return pagado;
+    }
+
+    private static void verificarVersion(Long actual, Long esperada, String recurso) {
+        if (esperada != null && !esperada.equals(actual)) {
+            throw new OptimisticLockingFailureException(
+                recurso + " está en la versión " + actual + " y se esperaba la " + esperada);
+        }
     }
 }
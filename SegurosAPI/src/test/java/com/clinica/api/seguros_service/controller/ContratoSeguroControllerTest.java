@@ -1,14 +1,20 @@
 package com.clinica.api.seguros_service.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.clinica.api.seguros_service.dto.ContratoLoteItemResultado;
+import com.clinica.api.seguros_service.dto.ContratoLoteResponse;
 import com.clinica.api.seguros_service.model.BeneficiarioContrato;
 import com.clinica.api.seguros_service.model.ContratoSeguro;
+import com.clinica.api.seguros_service.service.CoberturaActivaIndex;
+import com.clinica.api.seguros_service.service.ContratoLoteService;
 import com.clinica.api.seguros_service.service.SeguroService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityNotFoundException;
@@ -20,6 +26,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -35,6 +42,12 @@ class ContratoSeguroControllerTest {
     @MockBean
     private SeguroService seguroService;
 
+    @MockBean
+    private ContratoLoteService contratoLoteService;
+
+    @MockBean
+    private CoberturaActivaIndex coberturaActivaIndex;
+
     @Test
     @DisplayName("GET /api/v1/seguros/contratos/usuario/{id} responde 200 con contratos")
     void listarContratosPorUsuario_returnsOk() throws Exception {
@@ -107,7 +120,7 @@ class ContratoSeguroControllerTest {
     @Test
     @DisplayName("POST /api/v1/seguros/contratos/{id}/cancelar responde 404 cuando no existe")
     void cancelarContrato_returnsNotFound() throws Exception {
-        when(seguroService.cancelarContrato(8L)).thenThrow(new EntityNotFoundException("no existe"));
+        when(seguroService.cancelarContrato(8L, null)).thenThrow(new EntityNotFoundException("no existe"));
 
         mockMvc.perform(post("/api/v1/seguros/contratos/{id}/cancelar", 8L))
             .andExpect(status().isNotFound());
@@ -118,13 +131,144 @@ class ContratoSeguroControllerTest {
     void cancelarContrato_returnsOk() throws Exception {
         ContratoSeguro contrato = contrato();
         contrato.setEstado(ContratoSeguro.EstadoContrato.CANCELADO);
-        when(seguroService.cancelarContrato(1L)).thenReturn(contrato);
+        when(seguroService.cancelarContrato(1L, null)).thenReturn(contrato);
+
+        mockMvc.perform(post("/api/v1/seguros/contratos/{id}/cancelar", 1L))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.estado").value("CANCELADO"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/seguros/contratos/{id}/cancelar sin If-Match responde 200 si otra operación ya lo canceló")
+    void cancelarContrato_returnsCurrentWhenCancelledConcurrently() throws Exception {
+        ContratoSeguro vigente = contrato();
+        vigente.setEstado(ContratoSeguro.EstadoContrato.CANCELADO);
+        vigente.setFechaCancelacion(LocalDate.of(2024, 9, 1));
+        vigente.setVersion(3L);
+        when(seguroService.cancelarContrato(1L, null)).thenThrow(new OptimisticLockingFailureException("concurrente"));
+        when(seguroService.findContratoById(1L)).thenReturn(vigente);
 
         mockMvc.perform(post("/api/v1/seguros/contratos/{id}/cancelar", 1L))
             .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"3\""))
             .andExpect(jsonPath("$.estado").value("CANCELADO"));
     }
 
+    @Test
+    @DisplayName("POST /api/v1/seguros/contratos/{id}/cancelar responde 409 cuando el contrato está vencido")
+    void cancelarContrato_returnsConflictWhenExpired() throws Exception {
+        ContratoSeguro vencido = contrato();
+        vencido.setEstado(ContratoSeguro.EstadoContrato.VENCIDO);
+        vencido.setVersion(4L);
+        when(seguroService.cancelarContrato(1L, null)).thenThrow(new IllegalStateException("vencido"));
+        when(seguroService.findContratoById(1L)).thenReturn(vencido);
+
+        mockMvc.perform(post("/api/v1/seguros/contratos/{id}/cancelar", 1L))
+            .andExpect(status().isConflict())
+            .andExpect(header().string("ETag", "\"4\""))
+            .andExpect(jsonPath("$.estado").value("VENCIDO"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/seguros/contratos/{id}/cancelar con If-Match desactualizado responde 412")
+    void cancelarContrato_returnsPreconditionFailed() throws Exception {
+        ContratoSeguro vigente = contrato();
+        vigente.setVersion(5L);
+        when(seguroService.cancelarContrato(1L, 2L)).thenThrow(new OptimisticLockingFailureException("versión 5"));
+        when(seguroService.findContratoById(1L)).thenReturn(vigente);
+
+        mockMvc.perform(post("/api/v1/seguros/contratos/{id}/cancelar", 1L).header("If-Match", "\"2\""))
+            .andExpect(status().isPreconditionFailed())
+            .andExpect(header().string("ETag", "\"5\""));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/seguros/contratos/{id}/cancelar con un ETag débil responde 412 aunque la versión coincida")
+    void cancelarContrato_weakETagNeverMatches() throws Exception {
+        ContratoSeguro vigente = contrato();
+        vigente.setVersion(5L);
+        when(seguroService.cancelarContrato(1L, VersionETag.NINGUNA)).thenThrow(new OptimisticLockingFailureException("débil"));
+        when(seguroService.findContratoById(1L)).thenReturn(vigente);
+
+        mockMvc.perform(post("/api/v1/seguros/contratos/{id}/cancelar", 1L).header("If-Match", "W/\"5\""))
+            .andExpect(status().isPreconditionFailed())
+            .andExpect(header().string("ETag", "\"5\""));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/seguros/contratos/{id}/cancelar acepta una lista de ETags que incluye la versión vigente")
+    void cancelarContrato_acceptsETagList() throws Exception {
+        ContratoSeguro vigente = contrato();
+        vigente.setVersion(5L);
+        ContratoSeguro cancelado = contrato();
+        cancelado.setVersion(6L);
+        cancelado.setEstado(ContratoSeguro.EstadoContrato.CANCELADO);
+        when(seguroService.findContratoById(1L)).thenReturn(vigente);
+        when(seguroService.cancelarContrato(1L, 5L)).thenReturn(cancelado);
+
+        mockMvc.perform(post("/api/v1/seguros/contratos/{id}/cancelar", 1L).header("If-Match", "\"4\", W/\"7\", \"5\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"6\""));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/seguros/contratos/lote responde 200 con el resultado por contrato")
+    void crearContratosEnLote_returnsOk() throws Exception {
+        when(contratoLoteService.crearContratos(anyList())).thenReturn(new ContratoLoteResponse(1, 1, List.of(
+            new ContratoLoteItemResultado(0, ContratoLoteItemResultado.Estado.CREADO, 51L, null),
+            new ContratoLoteItemResultado(1, ContratoLoteItemResultado.Estado.RECHAZADO, null, List.of("idUsuario es requerido"))
+        )));
+
+        mockMvc.perform(post("/api/v1/seguros/contratos/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(contrato(), new ContratoSeguro()))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.creados").value(1))
+            .andExpect(jsonPath("$.resultados[0].idContrato").value(51L))
+            .andExpect(jsonPath("$.resultados[1].errores[0]").value("idUsuario es requerido"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/seguros/contratos/lote responde 400 cuando la lista es inválida")
+    void crearContratosEnLote_returnsBadRequest() throws Exception {
+        when(contratoLoteService.crearContratos(anyList())).thenThrow(new IllegalArgumentException("vacío"));
+
+        mockMvc.perform(post("/api/v1/seguros/contratos/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/seguros/contratos/beneficiario/{rut} responde 200 con los contratos")
+    void listarContratosPorBeneficiario_returnsOk() throws Exception {
+        when(seguroService.findContratosByRutBeneficiario("11.111.111-1")).thenReturn(List.of(contrato()));
+
+        mockMvc.perform(get("/api/v1/seguros/contratos/beneficiario/{rut}", "11.111.111-1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].beneficiarios[0].rut").value("11.111.111-1"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/seguros/contratos/beneficiario/{rut} responde 400 con un RUT inválido")
+    void listarContratosPorBeneficiario_returnsBadRequest() throws Exception {
+        when(seguroService.findContratosByRutBeneficiario("11111111-2"))
+            .thenThrow(new IllegalArgumentException("RUT inválido"));
+
+        mockMvc.perform(get("/api/v1/seguros/contratos/beneficiario/{rut}", "11111111-2"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/seguros/contratos/elegibilidad responde 200 con el resultado del índice")
+    void consultarElegibilidad_returnsOk() throws Exception {
+        when(coberturaActivaIndex.estaCubierto(10L, 5L)).thenReturn(true);
+
+        mockMvc.perform(get("/api/v1/seguros/contratos/elegibilidad").param("idUsuario", "10").param("idSeguro", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.elegible").value(true));
+    }
+
     private ContratoSeguro contrato() {
         ContratoSeguro contrato = new ContratoSeguro();
         contrato.setId(1L);
@@ -135,6 +279,7 @@ class ContratoSeguroControllerTest {
         contrato.setMetodoPago(ContratoSeguro.MetodoPago.Débito);
         contrato.setFechaContratacion(LocalDate.of(2024, 1, 1));
         contrato.setEstado(ContratoSeguro.EstadoContrato.ACTIVO);
+        contrato.setVersion(2L);
 
         BeneficiarioContrato beneficiario = new BeneficiarioContrato();
         beneficiario.setId(1L);
@@ -0,0 +1,65 @@
+package com.clinica.api.seguros_service.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.clinica.api.seguros_service.dto.ReporteMensualSeguroResponse;
+import com.clinica.api.seguros_service.service.ResumenMensualService;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(ReporteSeguroController.class)
+class ReporteSeguroControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ResumenMensualService resumenMensualService;
+
+    @Test
+    @DisplayName("GET /api/v1/seguros/reportes/mensual responde 200 con el reporte")
+    void reporteMensual_returnsOk() throws Exception {
+        when(resumenMensualService.findReporteMensual(YearMonth.of(2024, 1), YearMonth.of(2024, 2), 3L)).thenReturn(List.of(
+            new ReporteMensualSeguroResponse(3L, "Plan Oro", YearMonth.of(2024, 1), 4, 4, 0, 80000)
+        ));
+
+        mockMvc.perform(get("/api/v1/seguros/reportes/mensual")
+                .param("desde", "2024-01")
+                .param("hasta", "2024-02")
+                .param("idSeguro", "3"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].periodo").value("2024-01"))
+            .andExpect(jsonPath("$[0].ingresoRecurrente").value(80000));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/seguros/reportes/mensual responde 204 cuando no hay planes")
+    void reporteMensual_returnsNoContent() throws Exception {
+        when(resumenMensualService.findReporteMensual(isNull(), isNull(), isNull())).thenReturn(Collections.emptyList());
+
+        mockMvc.perform(get("/api/v1/seguros/reportes/mensual"))
+            .andExpect(status().isNoContent());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/seguros/reportes/mensual responde 400 ante un rango inválido")
+    void reporteMensual_returnsBadRequest() throws Exception {
+        when(resumenMensualService.findReporteMensual(any(), any(), isNull()))
+            .thenThrow(new IllegalArgumentException("rango"));
+
+        mockMvc.perform(get("/api/v1/seguros/reportes/mensual").param("desde", "2024-05").param("hasta", "2024-01"))
+            .andExpect(status().isBadRequest());
+    }
+}
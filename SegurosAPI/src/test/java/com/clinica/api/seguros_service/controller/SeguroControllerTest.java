@@ -1,26 +1,30 @@
 package com.clinica.api.seguros_service.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.clinica.api.seguros_service.model.Seguro;
+import com.clinica.api.seguros_service.service.SeguroCatalogoCache;
 import com.clinica.api.seguros_service.service.SeguroService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityNotFoundException;
-import java.util.Collections;
 import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -37,19 +41,31 @@ class SeguroControllerTest {
     private SeguroService seguroService;
 
     @Test
-    @DisplayName("GET /api/v1/seguros responde 200 con resultados")
+    @DisplayName("GET /api/v1/seguros responde 200 con resultados y ETag")
     void listarSeguros_returnsOk() throws Exception {
-        when(seguroService.findAllSeguros()).thenReturn(List.of(seguro()));
+        when(seguroService.findCatalogo()).thenReturn(catalogo(List.of(seguro())));
 
         mockMvc.perform(get("/api/v1/seguros"))
             .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(header().string("ETag", "\"v1\""))
             .andExpect(jsonPath("$[0].nombreSeguro").value("Dental"));
     }
 
+    @Test
+    @DisplayName("GET /api/v1/seguros responde 304 cuando el ETag coincide")
+    void listarSeguros_returnsNotModified() throws Exception {
+        when(seguroService.findCatalogo()).thenReturn(catalogo(List.of(seguro())));
+
+        mockMvc.perform(get("/api/v1/seguros").header("If-None-Match", "\"v1\""))
+            .andExpect(status().isNotModified())
+            .andExpect(content().bytes(new byte[0]));
+    }
+
     @Test
     @DisplayName("GET /api/v1/seguros responde 204 cuando no hay datos")
     void listarSeguros_returnsNoContent() throws Exception {
-        when(seguroService.findAllSeguros()).thenReturn(Collections.emptyList());
+        when(seguroService.findCatalogo()).thenReturn(catalogo(List.of()));
 
         mockMvc.perform(get("/api/v1/seguros"))
             .andExpect(status().isNoContent());
@@ -91,19 +107,48 @@ class SeguroControllerTest {
     void actualizarSeguro_returnsOk() throws Exception {
         Seguro actualizado = seguro();
         actualizado.setNombreSeguro("Actualizado");
-        when(seguroService.updateSeguro(any(Long.class), any(Seguro.class))).thenReturn(actualizado);
+        when(seguroService.updateSeguro(any(Long.class), any(Seguro.class), any())).thenReturn(actualizado);
 
         mockMvc.perform(put("/api/v1/seguros/{id}", 1L)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(seguro())))
             .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"3\""))
             .andExpect(jsonPath("$.nombreSeguro").value("Actualizado"));
     }
 
+    @Test
+    @DisplayName("PUT /api/v1/seguros/{id} con If-Match desactualizado responde 412 con la versión vigente")
+    void actualizarSeguro_returnsPreconditionFailed() throws Exception {
+        Seguro vigente = seguro();
+        vigente.setVersion(4L);
+        when(seguroService.updateSeguro(eq(1L), any(Seguro.class), eq(3L)))
+            .thenThrow(new OptimisticLockingFailureException("versión 4"));
+        when(seguroService.findSeguroById(1L)).thenReturn(vigente);
+
+        mockMvc.perform(put("/api/v1/seguros/{id}", 1L)
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(seguro())))
+            .andExpect(status().isPreconditionFailed())
+            .andExpect(header().string("ETag", "\"4\""))
+            .andExpect(jsonPath("$.version").value(4));
+    }
+
+    @Test
+    @DisplayName("PUT /api/v1/seguros/{id} responde 400 con un If-Match inválido")
+    void actualizarSeguro_returnsBadRequestForInvalidIfMatch() throws Exception {
+        mockMvc.perform(put("/api/v1/seguros/{id}", 1L)
+                .header("If-Match", "\"abc\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(seguro())))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("PUT /api/v1/seguros/{id} responde 404 cuando no existe")
     void actualizarSeguro_returnsNotFound() throws Exception {
-        when(seguroService.updateSeguro(any(Long.class), any(Seguro.class)))
+        when(seguroService.updateSeguro(any(Long.class), any(Seguro.class), any()))
             .thenThrow(new EntityNotFoundException("No existe"));
 
         mockMvc.perform(put("/api/v1/seguros/{id}", 1L)
@@ -128,12 +173,17 @@ class SeguroControllerTest {
             .andExpect(status().isNotFound());
     }
 
+    private SeguroCatalogoCache.Snapshot catalogo(List<Seguro> seguros) throws Exception {
+        return new SeguroCatalogoCache.Snapshot(objectMapper.writeValueAsBytes(seguros), "\"v1\"", seguros.size(), 1L);
+    }
+
     private Seguro seguro() {
         Seguro seguro = new Seguro();
         seguro.setId(1L);
         seguro.setNombreSeguro("Dental");
         seguro.setDescripcion("Cobertura dental");
         seguro.setValor(25000);
+        seguro.setVersion(3L);
         return seguro;
     }
 }
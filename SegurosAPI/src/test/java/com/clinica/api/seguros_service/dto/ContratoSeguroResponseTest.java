@@ -0,0 +1,68 @@
+package com.clinica.api.seguros_service.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.clinica.api.seguros_service.config.JacksonConfig;
+import com.clinica.api.seguros_service.model.BeneficiarioContrato;
+import com.clinica.api.seguros_service.model.ContratoSeguro;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.context.annotation.Import;
+
+@JsonTest
+@Import(JacksonConfig.class)
+class ContratoSeguroResponseTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("El ObjectMapper de la aplicación registra Blackbird")
+    void objectMapper_registersBlackbird() {
+        assertThat(objectMapper.getRegisteredModuleIds()).anyMatch(id -> id.toString().contains("Blackbird"));
+    }
+
+    @Test
+    @DisplayName("desde copia los campos del contrato y serializa los beneficiarios sin referencia al contrato")
+    void desde_serializesFlatContract() throws Exception {
+        ContratoSeguro contrato = new ContratoSeguro();
+        contrato.setId(4L);
+        contrato.setIdSeguro(7L);
+        contrato.setIdUsuario(10L);
+        contrato.setCorreoContacto("cliente@clinica.cl");
+        contrato.setTelefonoContacto("+56911111111");
+        contrato.setMetodoPago(ContratoSeguro.MetodoPago.Crédito);
+        contrato.setFechaContratacion(LocalDate.of(2024, 3, 1));
+        contrato.setFechaVencimiento(LocalDate.of(2025, 2, 28));
+        contrato.setEstado(ContratoSeguro.EstadoContrato.ACTIVO);
+        contrato.setVersion(2L);
+        BeneficiarioContrato beneficiario = new BeneficiarioContrato();
+        beneficiario.setId(9L);
+        beneficiario.setRut("11.111.111-1");
+        beneficiario.setRutNormalizado("11111111-1");
+        beneficiario.setNombre("Ana");
+        beneficiario.setFechaNacimiento(LocalDate.of(1990, 5, 20));
+        beneficiario.setContrato(contrato);
+        contrato.getBeneficiarios().add(beneficiario);
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsBytes(ContratoSeguroResponse.desde(List.of(contrato))));
+
+        JsonNode primero = json.get(0);
+        assertThat(primero.get("id").asLong()).isEqualTo(4L);
+        assertThat(primero.get("metodoPago").asText()).isEqualTo("Crédito");
+        assertThat(primero.get("fechaVencimiento").asText()).isEqualTo("2025-02-28");
+        assertThat(primero.get("renovacionAutomatica").asBoolean()).isTrue();
+        assertThat(primero.get("version").asLong()).isEqualTo(2L);
+        JsonNode ben = primero.get("beneficiarios").get(0);
+        assertThat(ben.get("rut").asText()).isEqualTo("11.111.111-1");
+        assertThat(ben.get("fechaNacimiento").asText()).isEqualTo("1990-05-20");
+        assertThat(ben.has("contrato")).isFalse();
+        assertThat(ben.has("rutNormalizado")).isFalse();
+    }
+}
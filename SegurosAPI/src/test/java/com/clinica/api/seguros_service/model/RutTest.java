@@ -0,0 +1,30 @@
+package com.clinica.api.seguros_service.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RutTest {
+
+    @Test
+    @DisplayName("normalizar acepta distintos formatos y devuelve la forma canónica")
+    void normalizar_returnsCanonicalForm() {
+        assertThat(Rut.normalizar("12.345.678-5")).isEqualTo("12345678-5");
+        assertThat(Rut.normalizar("123456785")).isEqualTo("12345678-5");
+        assertThat(Rut.normalizar(" 012345678-5 ")).isEqualTo("12345678-5");
+        assertThat(Rut.normalizar("10.000.013-k")).isEqualTo("10000013-K");
+        assertThat(Rut.normalizar("5.126.663-3")).isEqualTo("5126663-3");
+    }
+
+    @Test
+    @DisplayName("normalizar rechaza dígito verificador incorrecto o caracteres inválidos")
+    void normalizar_rejectsInvalidRut() {
+        assertThatThrownBy(() -> Rut.normalizar("12.345.678-9")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Rut.normalizar("12A45678-5")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Rut.normalizar("-")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(Rut.normalizarSiValido(null)).isNull();
+        assertThat(Rut.normalizarSiValido("0-0")).isNull();
+    }
+}
@@ -0,0 +1,136 @@
+package com.clinica.api.seguros_service.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.clinica.api.seguros_service.model.BeneficiarioContrato;
+import com.clinica.api.seguros_service.model.ContratoSeguro;
+import com.clinica.api.seguros_service.service.SeguroService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class ContratoSeguroRepositoryTest {
+
+    @Autowired
+    private SeguroService seguroService;
+
+    @Autowired
+    private ContratoSeguroRepository contratoSeguroRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("findContratosByUsuario carga contratos y beneficiarios con una sola sentencia")
+    void findContratosByUsuario_usesConstantStatements() {
+        persistContratos(700L, 50L, 3);
+        persistContratos(701L, 50L, 25);
+
+        long pocos = statementsFor(() -> seguroService.findContratosByUsuario(700L), 3);
+        long muchos = statementsFor(() -> seguroService.findContratosByUsuario(701L), 25);
+
+        assertThat(pocos).isEqualTo(1);
+        assertThat(muchos).isEqualTo(pocos);
+    }
+
+    @Test
+    @DisplayName("findContratosBySeguro carga contratos y beneficiarios con una sola sentencia")
+    void findContratosBySeguro_usesConstantStatements() {
+        persistContratos(702L, 51L, 4);
+        persistContratos(703L, 52L, 30);
+
+        long pocos = statementsFor(() -> seguroService.findContratosBySeguro(51L), 4);
+        long muchos = statementsFor(() -> seguroService.findContratosBySeguro(52L), 30);
+
+        assertThat(pocos).isEqualTo(1);
+        assertThat(muchos).isEqualTo(pocos);
+    }
+
+    @Test
+    @DisplayName("findContratosByRutBeneficiario encuentra los contratos por RUT normalizado con una sola sentencia")
+    void findContratosByRutBeneficiario_usesSingleJoin() {
+        persistContratos(704L, 53L, 10);
+        for (int i = 0; i < 2; i++) {
+            ContratoSeguro contrato = nuevoContrato(705L, 54L, i);
+            contrato.getBeneficiarios().add(beneficiario(contrato, "Marta " + i));
+            BeneficiarioContrato buscado = beneficiario(contrato, "Pedro " + i);
+            buscado.setRut(i == 0 ? "7.654.321-6" : "7654321-6");
+            contrato.getBeneficiarios().add(buscado);
+            contratoSeguroRepository.save(contrato);
+        }
+
+        long sentencias = statementsFor(() -> seguroService.findContratosByRutBeneficiario("076543216"), 2);
+
+        assertThat(sentencias).isEqualTo(1);
+        assertThatThrownBy(() -> seguroService.findContratosByRutBeneficiario("7.654.321-7"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private long statementsFor(Supplier<List<ContratoSeguro>> consulta, int esperados) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<ContratoSeguro> contratos = consulta.get();
+        // Recorre el grafo como lo haría Jackson al serializar.
+        int beneficiarios = contratos.stream().mapToInt(c -> c.getBeneficiarios().size()).sum();
+
+        assertThat(contratos).hasSize(esperados);
+        assertThat(contratos).allMatch(c -> Hibernate.isInitialized(c.getBeneficiarios()));
+        assertThat(beneficiarios).isEqualTo(esperados * 2);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void persistContratos(Long idUsuario, Long idSeguro, int cantidad) {
+        for (int i = 0; i < cantidad; i++) {
+            ContratoSeguro contrato = nuevoContrato(idUsuario, idSeguro, i);
+            contrato.getBeneficiarios().add(beneficiario(contrato, "Ana " + i));
+            contrato.getBeneficiarios().add(beneficiario(contrato, "Luis " + i));
+            contratoSeguroRepository.save(contrato);
+        }
+    }
+
+    private ContratoSeguro nuevoContrato(Long idUsuario, Long idSeguro, int i) {
+        ContratoSeguro contrato = new ContratoSeguro();
+        contrato.setIdSeguro(idSeguro);
+        contrato.setIdUsuario(idUsuario);
+        contrato.setCorreoContacto("contacto" + i + "@demo.cl");
+        contrato.setTelefonoContacto("+5691111111" + (i % 10));
+        contrato.setMetodoPago(ContratoSeguro.MetodoPago.Transferencia);
+        contrato.setFechaContratacion(LocalDate.of(2024, 1, 1));
+        return contrato;
+    }
+
+    private BeneficiarioContrato beneficiario(ContratoSeguro contrato, String nombre) {
+        BeneficiarioContrato beneficiario = new BeneficiarioContrato();
+        beneficiario.setContrato(contrato);
+        beneficiario.setRut("11.111.111-1");
+        beneficiario.setNombre(nombre);
+        beneficiario.setFechaNacimiento(LocalDate.of(2000, 1, 1));
+        return beneficiario;
+    }
+}
@@ -0,0 +1,44 @@
+package com.clinica.api.seguros_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.clinica.api.seguros_service.model.EventoContrato;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ArchivoEventoContratoSinkTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    @DisplayName("publicar agrega una línea JSON por evento con el payload del contrato embebido")
+    void publicar_appendsJsonLines(@TempDir Path directorio) throws Exception {
+        Path archivo = directorio.resolve("outbox/eventos.jsonl");
+        ArchivoEventoContratoSink sink = new ArchivoEventoContratoSink(archivo.toString(), objectMapper);
+
+        sink.publicar(List.of(evento(1L, EventoContrato.Tipo.CONTRATO_CREADO)));
+        sink.publicar(List.of(evento(2L, EventoContrato.Tipo.CONTRATO_CANCELADO)));
+
+        List<String> lineas = Files.readAllLines(archivo);
+        assertThat(lineas).hasSize(2);
+        JsonNode segunda = objectMapper.readTree(lineas.get(1));
+        assertThat(segunda.get("id").asLong()).isEqualTo(2L);
+        assertThat(segunda.get("tipo").asText()).isEqualTo("CONTRATO_CANCELADO");
+        assertThat(segunda.get("contrato").get("idContrato").asLong()).isEqualTo(40L);
+    }
+
+    private EventoContrato evento(Long id, EventoContrato.Tipo tipo) {
+        EventoContrato evento = new EventoContrato(tipo, 40L, "{\"idContrato\":40,\"estado\":\"ACTIVO\"}");
+        evento.setId(id);
+        return evento;
+    }
+}
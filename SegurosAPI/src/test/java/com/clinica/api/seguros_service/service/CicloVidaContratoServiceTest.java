@@ -0,0 +1,212 @@
+package com.clinica.api.seguros_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doCallRealMethod;
+
+import com.clinica.api.seguros_service.dto.CicloVidaResultado;
+import com.clinica.api.seguros_service.model.ContratoSeguro;
+import com.clinica.api.seguros_service.model.EjecucionCicloVida;
+import com.clinica.api.seguros_service.model.EventoContrato;
+import com.clinica.api.seguros_service.repository.ContratoSeguroRepository;
+import com.clinica.api.seguros_service.repository.EjecucionCicloVidaRepository;
+import com.clinica.api.seguros_service.repository.EventoContratoRepository;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+// Sin @Transactional: cada lote confirma su propia transacción y debe ver los contratos ya guardados.
+@SpringBootTest(properties = {"seguros.ciclo-vida.chunk-size=2", "seguros.ciclo-vida.cron=-"})
+class CicloVidaContratoServiceTest {
+
+    @Autowired
+    private CicloVidaContratoService cicloVidaContratoService;
+
+    @SpyBean
+    private CicloVidaContratoLotes lotes;
+
+    @Autowired
+    private SeguroService seguroService;
+
+    @Autowired
+    private ContratoSeguroRepository contratoSeguroRepository;
+
+    @Autowired
+    private EjecucionCicloVidaRepository ejecucionRepository;
+
+    @Autowired
+    private EventoContratoRepository eventoRepository;
+
+    private final List<Long> creados = new ArrayList<>();
+
+    @AfterEach
+    void limpiar() {
+        contratoSeguroRepository.deleteAllById(creados);
+        ejecucionRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("procesar renueva los contratos con renovación automática y vence el resto")
+    void procesar_renewsAndExpires() {
+        ContratoSeguro renovable = guardar(LocalDate.of(2023, 1, 10), true, null);
+        ContratoSeguro sinRenovacion = guardar(LocalDate.of(2023, 2, 1), false, null);
+        ContratoSeguro atrasado = guardar(LocalDate.of(2021, 3, 1), true, null);
+        ContratoSeguro vigente = guardar(LocalDate.of(2024, 3, 1), false, null);
+
+        CicloVidaResultado resultado = cicloVidaContratoService.procesar(LocalDate.of(2024, 6, 1));
+
+        assertThat(resultado.renovados()).isEqualTo(2);
+        assertThat(resultado.vencidos()).isEqualTo(1);
+        assertThat(recargar(renovable).getFechaVencimiento()).isEqualTo(LocalDate.of(2025, 1, 9));
+        assertThat(recargar(atrasado).getFechaVencimiento()).isEqualTo(LocalDate.of(2025, 2, 28));
+        ContratoSeguro vencido = recargar(sinRenovacion);
+        assertThat(vencido.getEstado()).isEqualTo(ContratoSeguro.EstadoContrato.VENCIDO);
+        assertThat(vencido.getFechaBaja()).isEqualTo(LocalDate.of(2024, 2, 1));
+        assertThat(vencido.getFechaCancelacion()).isNull();
+        assertThat(recargar(vigente).getEstado()).isEqualTo(ContratoSeguro.EstadoContrato.ACTIVO);
+    }
+
+    @Test
+    @DisplayName("procesar calcula cada renovación desde la fecha de contratación y no arrastra el 28 de febrero")
+    void procesar_renewsAcrossLeapYears() {
+        ContratoSeguro bisiesto = guardar(LocalDate.of(2023, 3, 1), true, null);
+        assertThat(bisiesto.getFechaVencimiento()).isEqualTo(LocalDate.of(2024, 2, 29));
+
+        cicloVidaContratoService.procesar(LocalDate.of(2024, 3, 1));
+        assertThat(recargar(bisiesto).getFechaVencimiento()).isEqualTo(LocalDate.of(2025, 2, 28));
+
+        cicloVidaContratoService.procesar(LocalDate.of(2027, 3, 15));
+        assertThat(recargar(bisiesto).getFechaVencimiento()).isEqualTo(LocalDate.of(2028, 2, 29));
+    }
+
+    @Test
+    @DisplayName("procesar suspende los contratos impagos después del periodo de gracia sin renovarlos")
+    void procesar_suspendsUnpaidContracts() {
+        ContratoSeguro impago = guardar(LocalDate.of(2023, 1, 10), true, LocalDate.of(2024, 4, 1));
+        ContratoSeguro enGracia = guardar(LocalDate.of(2024, 1, 10), true, LocalDate.of(2024, 5, 15));
+
+        CicloVidaResultado resultado = cicloVidaContratoService.procesar(LocalDate.of(2024, 6, 1));
+
+        assertThat(resultado.suspendidos()).isEqualTo(1);
+        assertThat(resultado.renovados()).isZero();
+        ContratoSeguro suspendido = recargar(impago);
+        assertThat(suspendido.getEstado()).isEqualTo(ContratoSeguro.EstadoContrato.SUSPENDIDO);
+        assertThat(suspendido.getFechaVencimiento()).isEqualTo(LocalDate.of(2024, 1, 9));
+        assertThat(recargar(enGracia).getEstado()).isEqualTo(ContratoSeguro.EstadoContrato.ACTIVO);
+    }
+
+    @Test
+    @DisplayName("registrarPago vuelve a ACTIVO un contrato suspendido cuando el pago lo deja al día")
+    void registrarPago_reactivatesSuspendedContract() {
+        ContratoSeguro impago = guardar(LocalDate.now().minusMonths(3), true, LocalDate.now().minusDays(60));
+        cicloVidaContratoService.procesar(LocalDate.now());
+        assertThat(recargar(impago).getEstado()).isEqualTo(ContratoSeguro.EstadoContrato.SUSPENDIDO);
+
+        seguroService.registrarPago(impago.getId(), LocalDate.now().minusDays(1));
+        assertThat(recargar(impago).getEstado()).isEqualTo(ContratoSeguro.EstadoContrato.SUSPENDIDO);
+
+        ContratoSeguro pagado = seguroService.registrarPago(impago.getId(), LocalDate.now().plusMonths(1));
+
+        assertThat(pagado.getEstado()).isEqualTo(ContratoSeguro.EstadoContrato.ACTIVO);
+        assertThat(pagado.getFechaBaja()).isNull();
+        assertThat(recargar(impago).getFechaPagadoHasta()).isEqualTo(LocalDate.now().plusMonths(1));
+    }
+
+    @Test
+    @DisplayName("cancelarContrato cancela un contrato suspendido por impago")
+    void cancelarContrato_cancelsSuspendedContract() {
+        ContratoSeguro impago = guardar(LocalDate.now().minusMonths(3), true, LocalDate.now().minusDays(60));
+        cicloVidaContratoService.procesar(LocalDate.now());
+
+        ContratoSeguro cancelado = seguroService.cancelarContrato(impago.getId());
+
+        assertThat(cancelado.getEstado()).isEqualTo(ContratoSeguro.EstadoContrato.CANCELADO);
+        ContratoSeguro recargado = recargar(impago);
+        assertThat(recargado.getEstado()).isEqualTo(ContratoSeguro.EstadoContrato.CANCELADO);
+        assertThat(recargado.getFechaCancelacion()).isEqualTo(LocalDate.now());
+        assertThat(recargado.getFechaBaja()).isEqualTo(LocalDate.now());
+        assertThat(eventoRepository.findAll())
+            .filteredOn(evento -> impago.getId().equals(evento.getIdContrato()))
+            .extracting(EventoContrato::getTipo)
+            .contains(EventoContrato.Tipo.CONTRATO_SUSPENDIDO, EventoContrato.Tipo.CONTRATO_CANCELADO);
+    }
+
+    @Test
+    @DisplayName("procesar retoma desde el último lote confirmado tras una interrupción")
+    void procesar_resumesFromCheckpoint() {
+        for (int i = 0; i < 5; i++) {
+            guardar(LocalDate.of(2022, 1, 1 + i), true, null);
+        }
+        // Fase PAGO sin pendientes, primer lote de VENCIMIENTO confirmado y luego una falla.
+        doCallRealMethod().doCallRealMethod().doThrow(new IllegalStateException("caída simulada")).doCallRealMethod()
+            .when(lotes).procesarLote(anyLong(), anyInt(), anyInt());
+        LocalDate corte = LocalDate.of(2023, 6, 1);
+
+        assertThatThrownBy(() -> cicloVidaContratoService.procesar(corte)).isInstanceOf(IllegalStateException.class);
+        EjecucionCicloVida interrumpida = ejecucionRepository
+            .findByFechaCorteAndFase(corte, EjecucionCicloVida.Fase.VENCIMIENTO).orElseThrow();
+        assertThat(interrumpida.getProcesados()).isEqualTo(2);
+        assertThat(interrumpida.getFinalizada()).isNull();
+
+        CicloVidaResultado resultado = cicloVidaContratoService.procesar(corte);
+
+        assertThat(resultado.renovados()).isEqualTo(3);
+        EjecucionCicloVida finalizada = ejecucionRepository
+            .findByFechaCorteAndFase(corte, EjecucionCicloVida.Fase.VENCIMIENTO).orElseThrow();
+        assertThat(finalizada.getProcesados()).isEqualTo(5);
+        assertThat(finalizada.getFinalizada()).isNotNull();
+        // Cada contrato se renovó una sola vez.
+        assertThat(contratoSeguroRepository.findAllById(creados))
+            .extracting(ContratoSeguro::getFechaVencimiento)
+            .allMatch(v -> !v.isBefore(corte) && v.isBefore(corte.plusMonths(ContratoSeguro.VIGENCIA_MESES)));
+    }
+
+    @Test
+    @DisplayName("procesarProgramado termina primero una ejecución de un día anterior que quedó a medias")
+    void procesarProgramado_resumesUnfinishedRunFromEarlierDay() {
+        for (int i = 0; i < 3; i++) {
+            guardar(LocalDate.of(2022, 1, 1 + i), true, null);
+        }
+        doCallRealMethod().doCallRealMethod().doThrow(new IllegalStateException("caída simulada")).doCallRealMethod()
+            .when(lotes).procesarLote(anyLong(), anyInt(), anyInt());
+        LocalDate ayer = LocalDate.now().minusDays(1);
+        assertThatThrownBy(() -> cicloVidaContratoService.procesar(ayer)).isInstanceOf(IllegalStateException.class);
+
+        cicloVidaContratoService.procesarProgramado();
+
+        for (EjecucionCicloVida.Fase fase : EjecucionCicloVida.Fase.values()) {
+            assertThat(ejecucionRepository.findByFechaCorteAndFase(ayer, fase).orElseThrow().getFinalizada()).isNotNull();
+            assertThat(ejecucionRepository.findByFechaCorteAndFase(LocalDate.now(), fase).orElseThrow().getFinalizada())
+                .isNotNull();
+        }
+        assertThat(ejecucionRepository.findByFechaCorteAndFase(ayer, EjecucionCicloVida.Fase.VENCIMIENTO)
+            .orElseThrow().getProcesados()).isEqualTo(3);
+    }
+
+    private ContratoSeguro guardar(LocalDate fechaContratacion, boolean renovacionAutomatica, LocalDate pagadoHasta) {
+        ContratoSeguro contrato = new ContratoSeguro();
+        contrato.setIdSeguro(1L);
+        contrato.setIdUsuario(800L);
+        contrato.setCorreoContacto("ciclo@clinica.cl");
+        contrato.setTelefonoContacto("+56944444444");
+        contrato.setMetodoPago(ContratoSeguro.MetodoPago.Débito);
+        contrato.setFechaContratacion(fechaContratacion);
+        contrato.setRenovacionAutomatica(renovacionAutomatica);
+        contrato.setFechaPagadoHasta(pagadoHasta);
+        ContratoSeguro guardado = contratoSeguroRepository.save(contrato);
+        creados.add(guardado.getId());
+        return guardado;
+    }
+
+    private ContratoSeguro recargar(ContratoSeguro contrato) {
+        return contratoSeguroRepository.findById(contrato.getId()).orElseThrow();
+    }
+}
@@ -0,0 +1,149 @@
+package com.clinica.api.seguros_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.clinica.api.seguros_service.model.ContratoSeguro;
+import com.clinica.api.seguros_service.repository.ContratoSeguroRepository;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Sin @Transactional: el índice se actualiza recién cuando la transacción del contrato confirma.
+@SpringBootTest
+class CoberturaActivaIndexTest {
+
+    @Autowired
+    private CoberturaActivaIndex index;
+
+    @Autowired
+    private SeguroService seguroService;
+
+    @Autowired
+    private ContratoSeguroRepository contratoSeguroRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Long> creados = new ArrayList<>();
+
+    @AfterEach
+    void limpiar() {
+        contratoSeguroRepository.deleteAllById(creados);
+    }
+
+    @Test
+    @DisplayName("estaCubierto refleja altas y cancelaciones confirmadas")
+    void estaCubierto_followsCommittedChanges() {
+        ContratoSeguro contrato = crear(1001L, 7L);
+
+        assertThat(index.estaCubierto(1001L, 7L)).isTrue();
+        assertThat(index.estaCubierto(1001L, 8L)).isFalse();
+
+        seguroService.cancelarContrato(contrato.getId());
+
+        assertThat(index.estaCubierto(1001L, 7L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("estaCubierto mantiene la cobertura si el usuario tiene otro contrato activo del plan")
+    void estaCubierto_keepsCoverageWithAnotherActiveContract() {
+        ContratoSeguro primero = crear(1002L, 7L);
+        crear(1002L, 7L);
+
+        seguroService.cancelarContrato(primero.getId());
+
+        assertThat(index.estaCubierto(1002L, 7L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("estaCubierto ignora contratos de transacciones revertidas")
+    void estaCubierto_ignoresRolledBackContracts() {
+        transactionTemplate.executeWithoutResult(status -> {
+            crear(1003L, 7L);
+            status.setRollbackOnly();
+        });
+
+        assertThat(index.estaCubierto(1003L, 7L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("reconstruir carga desde la base las mismas coberturas que el mantenimiento incremental")
+    void reconstruir_matchesDatabase() {
+        crear(1004L, 9L);
+        ContratoSeguro cancelado = crear(1005L, 9L);
+        seguroService.cancelarContrato(cancelado.getId());
+
+        index.reconstruir();
+
+        assertThat(index.estaCubierto(1004L, 9L)).isTrue();
+        assertThat(index.estaCubierto(1005L, 9L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("estaCubierto descarta contratos ACTIVO vencidos, impagos o que aún no empiezan")
+    void estaCubierto_checksCoverageDates() {
+        LocalDate hoy = LocalDate.now();
+        crear(1006L, 11L, hoy.minusMonths(13), false, null);
+        crear(1007L, 11L, hoy.plusDays(10), true, null);
+        crear(1008L, 11L, hoy.minusMonths(2), true, hoy.minusDays(31));
+        crear(1009L, 11L, hoy.minusMonths(2), true, hoy.minusDays(30));
+        crear(1010L, 11L, hoy.minusMonths(11), false, hoy.plusMonths(1));
+
+        assertCoberturas();
+        index.reconstruir();
+        assertCoberturas();
+    }
+
+    @Test
+    @DisplayName("estaCubierto usa cualquier contrato vigente del usuario en el plan")
+    void estaCubierto_combinesContractsOfSamePlan() {
+        LocalDate hoy = LocalDate.now();
+        crear(1011L, 11L, hoy.minusMonths(13), false, null);
+        crear(1011L, 11L, hoy.plusDays(5), false, null);
+        assertThat(index.estaCubierto(1011L, 11L)).isFalse();
+
+        crear(1011L, 11L, hoy.minusMonths(1), false, null);
+        assertThat(index.estaCubierto(1011L, 11L)).isTrue();
+        index.reconstruir();
+        assertThat(index.estaCubierto(1011L, 11L)).isTrue();
+    }
+
+    private void assertCoberturas() {
+        assertThat(index.estaCubierto(1006L, 11L)).as("vencido sin renovación").isFalse();
+        assertThat(index.estaCubierto(1007L, 11L)).as("contratación futura").isFalse();
+        assertThat(index.estaCubierto(1008L, 11L)).as("impago fuera de gracia").isFalse();
+        assertThat(index.estaCubierto(1009L, 11L)).as("impago en gracia").isTrue();
+        assertThat(index.estaCubierto(1010L, 11L)).as("al día y vigente").isTrue();
+    }
+
+    private ContratoSeguro crear(Long idUsuario, Long idSeguro) {
+        return crear(idUsuario, idSeguro, LocalDate.of(2024, 8, 1), true, null);
+    }
+
+    private ContratoSeguro crear(
+        Long idUsuario,
+        Long idSeguro,
+        LocalDate fechaContratacion,
+        boolean renovacionAutomatica,
+        LocalDate pagadoHasta
+    ) {
+        ContratoSeguro contrato = new ContratoSeguro();
+        contrato.setRenovacionAutomatica(renovacionAutomatica);
+        contrato.setFechaPagadoHasta(pagadoHasta);
+        contrato.setIdSeguro(idSeguro);
+        contrato.setIdUsuario(idUsuario);
+        contrato.setCorreoContacto("checkin@clinica.cl");
+        contrato.setTelefonoContacto("+56966666666");
+        contrato.setMetodoPago(ContratoSeguro.MetodoPago.Débito);
+        contrato.setFechaContratacion(fechaContratacion);
+        ContratoSeguro creado = seguroService.createContrato(contrato);
+        creados.add(creado.getId());
+        return creado;
+    }
+}
@@ -0,0 +1,121 @@
+package com.clinica.api.seguros_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.clinica.api.seguros_service.dto.ContratoLoteItemResultado;
+import com.clinica.api.seguros_service.dto.ContratoLoteResponse;
+import com.clinica.api.seguros_service.model.BeneficiarioContrato;
+import com.clinica.api.seguros_service.model.ContratoSeguro;
+import com.clinica.api.seguros_service.model.Seguro;
+import com.clinica.api.seguros_service.repository.ContratoSeguroRepository;
+import com.clinica.api.seguros_service.repository.SeguroRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class ContratoLoteServiceTest {
+
+    @Autowired
+    private ContratoLoteService contratoLoteService;
+
+    @Autowired
+    private SeguroRepository seguroRepository;
+
+    @Autowired
+    private ContratoSeguroRepository contratoSeguroRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("crearContratos inserta 1000 contratos con sus beneficiarios usando batches JDBC")
+    void crearContratos_insertsInBatches() {
+        Seguro seguro = seguroRepository.save(seguro());
+        List<ContratoSeguro> solicitudes = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            solicitudes.add(contrato(seguro.getId(), 9000L + i));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ContratoLoteResponse response = contratoLoteService.crearContratos(solicitudes);
+
+        assertThat(response.getCreados()).isEqualTo(1000);
+        assertThat(response.getRechazados()).isZero();
+        assertThat(response.getResultados()).allMatch(r -> r.getIdContrato() != null);
+        assertThat(statistics.getEntityStatistics(ContratoSeguro.class.getName()).getInsertCount()).isEqualTo(1000);
+        assertThat(statistics.getEntityStatistics(BeneficiarioContrato.class.getName()).getInsertCount()).isEqualTo(2000);
+        // 1000 contratos + 2000 beneficiarios: sin batch serían más de 3000 sentencias.
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(200);
+        assertThat(contratoSeguroRepository.findByIdSeguro(seguro.getId())).hasSize(1000);
+    }
+
+    @Test
+    @DisplayName("crearContratos rechaza solo los contratos inválidos e informa su posición")
+    void crearContratos_reportsPerItemErrors() {
+        Seguro seguro = seguroRepository.save(seguro());
+        ContratoSeguro sinUsuario = contrato(seguro.getId(), null);
+        ContratoSeguro seguroInexistente = contrato(-1L, 9500L);
+        ContratoSeguro beneficiarioIncompleto = contrato(seguro.getId(), 9501L);
+        beneficiarioIncompleto.getBeneficiarios().get(1).setRut(null);
+
+        ContratoLoteResponse response = contratoLoteService.crearContratos(List.of(
+            contrato(seguro.getId(), 9502L), sinUsuario, seguroInexistente, beneficiarioIncompleto));
+
+        assertThat(response.getCreados()).isEqualTo(1);
+        assertThat(response.getRechazados()).isEqualTo(3);
+        assertThat(response.getResultados()).extracting(ContratoLoteItemResultado::getEstado).containsExactly(
+            ContratoLoteItemResultado.Estado.CREADO,
+            ContratoLoteItemResultado.Estado.RECHAZADO,
+            ContratoLoteItemResultado.Estado.RECHAZADO,
+            ContratoLoteItemResultado.Estado.RECHAZADO);
+        assertThat(response.getResultados().get(1).getErrores()).containsExactly("idUsuario es requerido");
+        assertThat(response.getResultados().get(2).getErrores()).containsExactly("El seguro -1 no existe");
+        assertThat(response.getResultados().get(3).getErrores()).containsExactly("beneficiarios[1].rut es requerido");
+    }
+
+    @Test
+    @DisplayName("crearContratos rechaza solicitudes vacías")
+    void crearContratos_rejectsEmptyRequest() {
+        assertThatThrownBy(() -> contratoLoteService.crearContratos(List.of()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Seguro seguro() {
+        Seguro seguro = new Seguro();
+        seguro.setNombreSeguro("Plan corporativo");
+        seguro.setValor(20000);
+        return seguro;
+    }
+
+    private ContratoSeguro contrato(Long idSeguro, Long idUsuario) {
+        ContratoSeguro contrato = new ContratoSeguro();
+        contrato.setIdSeguro(idSeguro);
+        contrato.setIdUsuario(idUsuario);
+        contrato.setCorreoContacto("rrhh@empresa.cl");
+        contrato.setTelefonoContacto("+56922222222");
+        contrato.setMetodoPago(ContratoSeguro.MetodoPago.Transferencia);
+        contrato.getBeneficiarios().add(beneficiario("Ana"));
+        contrato.getBeneficiarios().add(beneficiario("Luis"));
+        return contrato;
+    }
+
+    private BeneficiarioContrato beneficiario(String nombre) {
+        BeneficiarioContrato beneficiario = new BeneficiarioContrato();
+        beneficiario.setRut("11.111.111-1");
+        beneficiario.setNombre(nombre);
+        beneficiario.setFechaNacimiento(LocalDate.of(1990, 5, 10));
+        return beneficiario;
+    }
+}
@@ -0,0 +1,96 @@
+package com.clinica.api.seguros_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+
+import com.clinica.api.seguros_service.model.ContratoSeguro;
+import com.clinica.api.seguros_service.model.EventoContrato;
+import com.clinica.api.seguros_service.repository.ContratoSeguroRepository;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+// Sin @Transactional: el relay solo ve eventos ya confirmados.
+@SpringBootTest
+class EventoContratoRelayTest {
+
+    @Autowired
+    private SeguroService seguroService;
+
+    @Autowired
+    private EventoContratoRelay relay;
+
+    @SpyBean
+    private MemoriaEventoContratoSink sink;
+
+    @Autowired
+    private ContratoSeguroRepository contratoSeguroRepository;
+
+    private final List<Long> creados = new ArrayList<>();
+
+    @BeforeEach
+    void vaciarPendientes() {
+        relay.publicarPendientes();
+        sink.drenar();
+    }
+
+    @AfterEach
+    void limpiar() {
+        contratoSeguroRepository.deleteAllById(creados);
+    }
+
+    @Test
+    @DisplayName("publicarPendientes entrega en orden los eventos de creación y cancelación una sola vez")
+    void publicarPendientes_publishesCommittedEvents() {
+        ContratoSeguro contrato = crear();
+        seguroService.cancelarContrato(contrato.getId());
+
+        int publicados = relay.publicarPendientes();
+
+        List<EventoContrato> eventos = sink.drenar();
+        assertThat(publicados).isEqualTo(2);
+        assertThat(eventos).extracting(EventoContrato::getTipo)
+            .containsExactly(EventoContrato.Tipo.CONTRATO_CREADO, EventoContrato.Tipo.CONTRATO_CANCELADO);
+        assertThat(eventos).allMatch(e -> e.getIdContrato().equals(contrato.getId()));
+        assertThat(eventos.get(1).getPayload()).contains("\"estado\":\"CANCELADO\"");
+        assertThat(relay.publicarPendientes()).isZero();
+    }
+
+    @Test
+    @DisplayName("publicarPendientes deja el lote pendiente si el sink falla y lo reintenta después")
+    void publicarPendientes_retriesAfterSinkFailure() throws IOException {
+        ContratoSeguro contrato = crear();
+        doThrow(new IOException("disco lleno")).doCallRealMethod().when(sink).publicar(anyList());
+
+        assertThatThrownBy(() -> relay.publicarPendientes()).isInstanceOf(UncheckedIOException.class);
+        int publicados = relay.publicarPendientes();
+
+        assertThat(publicados).isEqualTo(1);
+        assertThat(sink.drenar()).singleElement()
+            .extracting(EventoContrato::getIdContrato).isEqualTo(contrato.getId());
+    }
+
+    private ContratoSeguro crear() {
+        ContratoSeguro contrato = new ContratoSeguro();
+        contrato.setIdSeguro(1L);
+        contrato.setIdUsuario(900L);
+        contrato.setCorreoContacto("eventos@clinica.cl");
+        contrato.setTelefonoContacto("+56955555555");
+        contrato.setMetodoPago(ContratoSeguro.MetodoPago.Crédito);
+        contrato.setFechaContratacion(LocalDate.of(2024, 7, 1));
+        ContratoSeguro creado = seguroService.createContrato(contrato);
+        creados.add(creado.getId());
+        return creado;
+    }
+}
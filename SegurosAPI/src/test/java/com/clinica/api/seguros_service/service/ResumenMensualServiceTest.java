@@ -0,0 +1,150 @@
+package com.clinica.api.seguros_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.clinica.api.seguros_service.dto.ReporteMensualSeguroResponse;
+import com.clinica.api.seguros_service.model.ContratoSeguro;
+import com.clinica.api.seguros_service.model.Seguro;
+import com.clinica.api.seguros_service.repository.ContratoSeguroRepository;
+import com.clinica.api.seguros_service.repository.ResumenMensualContratoRepository;
+import com.clinica.api.seguros_service.repository.SeguroRepository;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Transactional
+class ResumenMensualServiceTest {
+
+    @Autowired
+    private ResumenMensualService resumenMensualService;
+
+    @Autowired
+    private SeguroService seguroService;
+
+    @Autowired
+    private ContratoLoteService contratoLoteService;
+
+    @Autowired
+    private SeguroRepository seguroRepository;
+
+    @Test
+    @DisplayName("findReporteMensual acumula activos y calcula el ingreso recurrente por mes")
+    void findReporteMensual_accumulatesActiveContracts() {
+        Seguro seguro = seguroRepository.save(seguro(15000));
+        seguroService.createContrato(contrato(seguro.getId(), LocalDate.of(2024, 1, 10)));
+        seguroService.createContrato(contrato(seguro.getId(), LocalDate.of(2024, 1, 25)));
+        contratoLoteService.crearContratos(List.of(
+            contrato(seguro.getId(), LocalDate.of(2024, 2, 3)),
+            contrato(seguro.getId(), LocalDate.of(2024, 2, 4)),
+            contrato(seguro.getId(), LocalDate.of(2024, 3, 1))
+        ));
+
+        List<ReporteMensualSeguroResponse> reporte =
+            resumenMensualService.findReporteMensual(YearMonth.of(2024, 2), YearMonth.of(2024, 4), seguro.getId());
+
+        assertThat(reporte).extracting(ReporteMensualSeguroResponse::getPeriodo)
+            .containsExactly(YearMonth.of(2024, 2), YearMonth.of(2024, 3), YearMonth.of(2024, 4));
+        assertThat(reporte).extracting(ReporteMensualSeguroResponse::getContratosActivos).containsExactly(4L, 5L, 5L);
+        assertThat(reporte).extracting(ReporteMensualSeguroResponse::getContratosNuevos).containsExactly(2L, 1L, 0L);
+        assertThat(reporte).extracting(ReporteMensualSeguroResponse::getIngresoRecurrente)
+            .containsExactly(60000L, 75000L, 75000L);
+    }
+
+    @Test
+    @DisplayName("findReporteMensual descuenta las cancelaciones del mes en que ocurren")
+    void findReporteMensual_countsCancellations() {
+        Seguro seguro = seguroRepository.save(seguro(10000));
+        ContratoSeguro primero = seguroService.createContrato(contrato(seguro.getId(), LocalDate.of(2024, 5, 1)));
+        seguroService.createContrato(contrato(seguro.getId(), LocalDate.of(2024, 5, 2)));
+        seguroService.cancelarContrato(primero.getId());
+        YearMonth actual = YearMonth.now();
+
+        ReporteMensualSeguroResponse mesActual =
+            resumenMensualService.findReporteMensual(actual, actual, seguro.getId()).get(0);
+
+        assertThat(mesActual.getCancelaciones()).isEqualTo(1);
+        assertThat(mesActual.getContratosActivos()).isEqualTo(1);
+        assertThat(mesActual.getIngresoRecurrente()).isEqualTo(10000);
+    }
+
+    @Test
+    @DisplayName("reconstruir recalcula el rollup con los mismos totales que el registro incremental")
+    void reconstruir_matchesIncrementalRollup() {
+        Seguro seguro = seguroRepository.save(seguro(20000));
+        ContratoSeguro contrato = seguroService.createContrato(contrato(seguro.getId(), LocalDate.of(2023, 11, 15)));
+        seguroService.createContrato(contrato(seguro.getId(), LocalDate.of(2023, 12, 1)));
+        seguroService.cancelarContrato(contrato.getId());
+        YearMonth desde = YearMonth.of(2023, 10);
+        YearMonth hasta = YearMonth.now();
+        List<ReporteMensualSeguroResponse> incremental = resumenMensualService.findReporteMensual(desde, hasta, seguro.getId());
+
+        resumenMensualService.reconstruir();
+        List<ReporteMensualSeguroResponse> reconstruido = resumenMensualService.findReporteMensual(desde, hasta, seguro.getId());
+
+        assertThat(reconstruido).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(incremental);
+        assertThat(reconstruido.get(1).getContratosActivos()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("registrar crea la fila faltante en su transacción antes de actualizarla en la del contrato")
+    void registrar_createsMissingRowBeforeUpdating() {
+        ResumenMensualContratoRepository resumenRepository = mock(ResumenMensualContratoRepository.class);
+        ResumenMensualFilas filas = mock(ResumenMensualFilas.class);
+        ResumenMensualService service = new ResumenMensualService(
+            resumenRepository, filas, mock(ContratoSeguroRepository.class), mock(SeguroRepository.class));
+        when(resumenRepository.existsByIdSeguroAndPeriodo(5L, 202403)).thenReturn(false);
+        when(resumenRepository.existsByIdSeguroAndPeriodo(5L, 202404)).thenReturn(true);
+
+        service.registrarContrataciones(5L, LocalDate.of(2024, 3, 10), 2);
+        service.registrarCancelacion(5L, LocalDate.of(2024, 4, 1));
+
+        InOrder orden = inOrder(resumenRepository, filas);
+        orden.verify(resumenRepository).existsByIdSeguroAndPeriodo(5L, 202403);
+        orden.verify(filas).crearSiNoExiste(5L, 202403);
+        orden.verify(resumenRepository).incrementar(5L, 202403, 2L, 0L);
+        orden.verify(resumenRepository).existsByIdSeguroAndPeriodo(5L, 202404);
+        orden.verify(resumenRepository).incrementar(5L, 202404, 0L, 1L);
+        orden.verifyNoMoreInteractions();
+        verify(filas, never()).crearSiNoExiste(5L, 202404);
+    }
+
+    @Test
+    @DisplayName("findReporteMensual rechaza rangos invertidos o mayores al máximo")
+    void findReporteMensual_rejectsInvalidRanges() {
+        assertThatThrownBy(() -> resumenMensualService.findReporteMensual(YearMonth.of(2024, 5), YearMonth.of(2024, 1), null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> resumenMensualService.findReporteMensual(YearMonth.of(2010, 1), YearMonth.of(2024, 1), null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Seguro seguro(int valor) {
+        Seguro seguro = new Seguro();
+        seguro.setNombreSeguro("Plan reporte " + valor);
+        seguro.setValor(valor);
+        return seguro;
+    }
+
+    private ContratoSeguro contrato(Long idSeguro, LocalDate fechaContratacion) {
+        ContratoSeguro contrato = new ContratoSeguro();
+        contrato.setIdSeguro(idSeguro);
+        contrato.setIdUsuario(700L);
+        contrato.setCorreoContacto("finanzas@clinica.cl");
+        contrato.setTelefonoContacto("+56933333333");
+        contrato.setMetodoPago(ContratoSeguro.MetodoPago.Transferencia);
+        contrato.setFechaContratacion(fechaContratacion);
+        return contrato;
+    }
+}
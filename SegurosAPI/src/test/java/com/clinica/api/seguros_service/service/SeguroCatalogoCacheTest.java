@@ -0,0 +1,114 @@
+package com.clinica.api.seguros_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.clinica.api.seguros_service.model.Seguro;
+import com.clinica.api.seguros_service.repository.SeguroRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SeguroCatalogoCacheTest {
+
+    @Mock
+    private SeguroRepository seguroRepository;
+
+    private SeguroCatalogoCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SeguroCatalogoCache(seguroRepository, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("obtener serializa el catálogo una sola vez mientras no haya cambios")
+    void obtener_buildsSnapshotOnce() {
+        when(seguroRepository.findAll()).thenReturn(List.of(seguro(1L, "Dental", 25000)));
+
+        SeguroCatalogoCache.Snapshot primero = cache.obtener();
+        SeguroCatalogoCache.Snapshot segundo = cache.obtener();
+
+        assertThat(segundo).isSameAs(primero);
+        assertThat(new String(primero.json(), StandardCharsets.UTF_8)).contains("\"nombreSeguro\":\"Dental\"");
+        assertThat(primero.etag()).startsWith("\"").endsWith("\"");
+        verify(seguroRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("invalidar fuera de transacción reconstruye el snapshot con un nuevo ETag")
+    void invalidar_rebuildsSnapshot() {
+        when(seguroRepository.findAll())
+            .thenReturn(List.of(seguro(1L, "Dental", 25000)))
+            .thenReturn(List.of(seguro(1L, "Dental", 30000)));
+        SeguroCatalogoCache.Snapshot antes = cache.obtener();
+
+        cache.invalidar();
+        SeguroCatalogoCache.Snapshot despues = cache.obtener();
+
+        assertThat(despues.etag()).isNotEqualTo(antes.etag());
+        assertThat(despues.secuencia()).isGreaterThan(antes.secuencia());
+        assertThat(new String(despues.json(), StandardCharsets.UTF_8)).contains("30000");
+    }
+
+    @Test
+    @DisplayName("una reconstrucción que leyó antes y termina después no reemplaza al snapshot más nuevo")
+    void reconstruir_staleReadFinishingLastIsDiscarded() throws Exception {
+        CountDownLatch enLectura = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        AtomicInteger llamadas = new AtomicInteger();
+        when(seguroRepository.findAll()).thenAnswer(invocation -> {
+            if (llamadas.getAndIncrement() == 0) {
+                enLectura.countDown();
+                liberar.await(10, TimeUnit.SECONDS);
+                return List.of(seguro(1L, "Dental", 25000));
+            }
+            return List.of(seguro(1L, "Dental", 30000));
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<SeguroCatalogoCache.Snapshot> lenta = executor.submit(cache::reconstruir);
+            assertThat(enLectura.await(10, TimeUnit.SECONDS)).isTrue();
+
+            SeguroCatalogoCache.Snapshot nueva = cache.reconstruir();
+            liberar.countDown();
+            lenta.get(10, TimeUnit.SECONDS);
+
+            assertThat(cache.obtener()).isSameAs(nueva);
+            assertThat(new String(cache.obtener().json(), StandardCharsets.UTF_8)).contains("30000");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("el catálogo vacío se marca como vacío")
+    void obtener_marksEmptyCatalog() {
+        when(seguroRepository.findAll()).thenReturn(List.of());
+
+        assertThat(cache.obtener().vacio()).isTrue();
+    }
+
+    private Seguro seguro(Long id, String nombre, int valor) {
+        Seguro seguro = new Seguro();
+        seguro.setId(id);
+        seguro.setNombreSeguro(nombre);
+        seguro.setValor(valor);
+        return seguro;
+    }
+}
@@ -9,6 +9,7 @@ import static org.mockito.Mockito.when;
 
 import com.clinica.api.seguros_service.model.BeneficiarioContrato;
 import com.clinica.api.seguros_service.model.ContratoSeguro;
+import com.clinica.api.seguros_service.model.EventoContrato;
 import com.clinica.api.seguros_service.model.Seguro;
 import com.clinica.api.seguros_service.repository.ContratoSeguroRepository;
 import com.clinica.api.seguros_service.repository.SeguroRepository;
@@ -23,6 +24,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 @ExtendWith(MockitoExtension.class)
 class SeguroServiceTest {
@@ -33,6 +35,15 @@ class SeguroServiceTest {
     @Mock
     private ContratoSeguroRepository contratoSeguroRepository;
 
+    @Mock
+    private SeguroCatalogoCache catalogoCache;
+
+    @Mock
+    private ResumenMensualService resumenMensualService;
+
+    @Mock
+    private EventoContratoOutbox eventoOutbox;
+
     @InjectMocks
     private SeguroService seguroService;
 
@@ -69,6 +80,7 @@ class SeguroServiceTest {
         ArgumentCaptor<Seguro> captor = ArgumentCaptor.forClass(Seguro.class);
         verify(seguroRepository).save(captor.capture());
         assertThat(captor.getValue().getId()).isNull();
+        verify(catalogoCache).invalidar();
     }
 
     @Test
@@ -76,7 +88,7 @@ class SeguroServiceTest {
     void updateSeguro_updatesExistingFields() {
         Seguro existente = seguro();
         when(seguroRepository.findById(5L)).thenReturn(Optional.of(existente));
-        when(seguroRepository.save(any(Seguro.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(seguroRepository.saveAndFlush(any(Seguro.class))).thenAnswer(inv -> inv.getArgument(0));
 
         Seguro cambios = new Seguro();
         cambios.setNombreSeguro("Actualizado");
@@ -87,7 +99,21 @@ class SeguroServiceTest {
 
         assertThat(actualizado.getNombreSeguro()).isEqualTo("Actualizado");
         assertThat(actualizado.getValor()).isEqualTo(75000);
-        verify(seguroRepository).save(existente);
+        verify(seguroRepository).saveAndFlush(existente);
+        verify(catalogoCache).invalidar();
+    }
+
+    @Test
+    @DisplayName("updateSeguro rechaza la actualización si la versión esperada no es la vigente")
+    void updateSeguro_rejectsStaleVersion() {
+        Seguro existente = seguro();
+        existente.setVersion(4L);
+        when(seguroRepository.findById(5L)).thenReturn(Optional.of(existente));
+
+        assertThatThrownBy(() -> seguroService.updateSeguro(5L, seguro(), 3L))
+            .isInstanceOf(OptimisticLockingFailureException.class);
+        verify(seguroRepository, never()).saveAndFlush(any(Seguro.class));
+        verify(catalogoCache, never()).invalidar();
     }
 
     @Test
@@ -99,6 +125,7 @@ class SeguroServiceTest {
         seguroService.deleteSeguro(2L);
 
         verify(seguroRepository).delete(existente);
+        verify(catalogoCache).invalidar();
     }
 
     @Test
@@ -116,6 +143,8 @@ class SeguroServiceTest {
         assertThat(creado.getFechaContratacion()).isNotNull();
         assertThat(creado.getEstado()).isEqualTo(ContratoSeguro.EstadoContrato.ACTIVO);
         verify(contratoSeguroRepository).save(contrato);
+        verify(resumenMensualService).registrarContrataciones(contrato.getIdSeguro(), creado.getFechaContratacion(), 1);
+        verify(eventoOutbox).registrar(EventoContrato.Tipo.CONTRATO_CREADO, creado);
     }
 
     @Test
@@ -154,25 +183,86 @@ class SeguroServiceTest {
     void cancelarContrato_updatesState() {
         ContratoSeguro contrato = contrato();
         when(contratoSeguroRepository.findById(1L)).thenReturn(Optional.of(contrato));
-        when(contratoSeguroRepository.save(any(ContratoSeguro.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(contratoSeguroRepository.saveAndFlush(any(ContratoSeguro.class))).thenAnswer(inv -> inv.getArgument(0));
 
         ContratoSeguro cancelado = seguroService.cancelarContrato(1L);
 
         assertThat(cancelado.getEstado()).isEqualTo(ContratoSeguro.EstadoContrato.CANCELADO);
         assertThat(cancelado.getFechaCancelacion()).isNotNull();
-        verify(contratoSeguroRepository).save(contrato);
+        assertThat(cancelado.getFechaBaja()).isEqualTo(cancelado.getFechaCancelacion());
+        verify(contratoSeguroRepository).saveAndFlush(contrato);
+        verify(resumenMensualService).registrarCancelacion(contrato.getIdSeguro(), cancelado.getFechaBaja());
+        verify(eventoOutbox).registrar(EventoContrato.Tipo.CONTRATO_CANCELADO, cancelado);
+    }
+
+    @Test
+    @DisplayName("registrarPago rechaza contratos cancelados sin modificarlos")
+    void registrarPago_rejectsCancelledContract() {
+        ContratoSeguro contrato = contrato();
+        contrato.setEstado(ContratoSeguro.EstadoContrato.CANCELADO);
+        when(contratoSeguroRepository.findById(1L)).thenReturn(Optional.of(contrato));
+
+        assertThatThrownBy(() -> seguroService.registrarPago(1L, LocalDate.now()))
+            .isInstanceOf(IllegalStateException.class);
+        verify(contratoSeguroRepository, never()).saveAndFlush(any(ContratoSeguro.class));
+        verify(resumenMensualService, never()).revertirBaja(any(), any());
+    }
+
+    @Test
+    @DisplayName("cancelarContrato cancela un contrato suspendido sin contar otra baja en el rollup")
+    void cancelarContrato_cancelsSuspendedContract() {
+        ContratoSeguro contrato = contrato();
+        contrato.setEstado(ContratoSeguro.EstadoContrato.SUSPENDIDO);
+        contrato.setFechaBaja(LocalDate.of(2024, 3, 1));
+        when(contratoSeguroRepository.findById(1L)).thenReturn(Optional.of(contrato));
+        when(contratoSeguroRepository.saveAndFlush(any(ContratoSeguro.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        ContratoSeguro cancelado = seguroService.cancelarContrato(1L);
+
+        assertThat(cancelado.getEstado()).isEqualTo(ContratoSeguro.EstadoContrato.CANCELADO);
+        assertThat(cancelado.getFechaCancelacion()).isEqualTo(LocalDate.now());
+        assertThat(cancelado.getFechaBaja()).isEqualTo(LocalDate.of(2024, 3, 1));
+        verify(resumenMensualService, never()).registrarCancelacion(any(), any());
+        verify(eventoOutbox).registrar(EventoContrato.Tipo.CONTRATO_CANCELADO, cancelado);
+    }
+
+    @Test
+    @DisplayName("cancelarContrato rechaza contratos vencidos")
+    void cancelarContrato_rejectsExpiredContract() {
+        ContratoSeguro contrato = contrato();
+        contrato.setEstado(ContratoSeguro.EstadoContrato.VENCIDO);
+        contrato.setFechaBaja(LocalDate.of(2024, 12, 31));
+        when(contratoSeguroRepository.findById(1L)).thenReturn(Optional.of(contrato));
+
+        assertThatThrownBy(() -> seguroService.cancelarContrato(1L)).isInstanceOf(IllegalStateException.class);
+        verify(contratoSeguroRepository, never()).saveAndFlush(any(ContratoSeguro.class));
+        verify(eventoOutbox, never()).registrar(any(), any());
     }
 
     @Test
     @DisplayName("cancelarContrato retorna el contrato sin cambios si ya estaba cancelado")
     void cancelarContrato_returnsExistingWhenAlreadyCancelled() {
         ContratoSeguro contrato = contrato();
+        contrato.setEstado(ContratoSeguro.EstadoContrato.CANCELADO);
         contrato.setFechaCancelacion(LocalDate.now());
         when(contratoSeguroRepository.findById(4L)).thenReturn(Optional.of(contrato));
 
         ContratoSeguro resultado = seguroService.cancelarContrato(4L);
 
         assertThat(resultado).isSameAs(contrato);
+        verify(contratoSeguroRepository, never()).saveAndFlush(any(ContratoSeguro.class));
+        verify(resumenMensualService, never()).registrarCancelacion(any(), any());
+        verify(eventoOutbox, never()).registrar(any(), any());
+    }
+
+    @Test
+    @DisplayName("createContrato rechaza beneficiarios con RUT inválido")
+    void createContrato_rejectsInvalidRut() {
+        ContratoSeguro contrato = contrato();
+        contrato.getBeneficiarios().get(0).setRut("11.111.111-2");
+
+        assertThatThrownBy(() -> seguroService.createContrato(contrato))
+            .isInstanceOf(IllegalArgumentException.class);
         verify(contratoSeguroRepository, never()).save(any(ContratoSeguro.class));
     }
 
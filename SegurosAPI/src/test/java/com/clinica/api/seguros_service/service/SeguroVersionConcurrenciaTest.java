@@ -0,0 +1,93 @@
+package com.clinica.api.seguros_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.clinica.api.seguros_service.model.Seguro;
+import com.clinica.api.seguros_service.repository.SeguroRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+// Sin @Transactional: cada incremento debe confirmar en su propia transacción para competir de verdad.
+@SpringBootTest
+class SeguroVersionConcurrenciaTest {
+
+    private static final int HILOS = 8;
+    private static final int INCREMENTOS_POR_HILO = 25;
+
+    @Autowired
+    private SeguroService seguroService;
+
+    @Autowired
+    private SeguroRepository seguroRepository;
+
+    private final List<Long> creados = new ArrayList<>();
+
+    @AfterEach
+    void limpiar() {
+        seguroRepository.deleteAllById(creados);
+    }
+
+    @Test
+    @DisplayName("updateSeguro con versión esperada no pierde actualizaciones concurrentes")
+    void updateSeguro_doesNotLoseConcurrentUpdates() throws Exception {
+        Seguro inicial = new Seguro();
+        inicial.setNombreSeguro("Contención");
+        inicial.setDescripcion("Plan de prueba");
+        inicial.setValor(1000);
+        Seguro creado = seguroService.createSeguro(inicial);
+        creados.add(creado.getId());
+
+        CountDownLatch partida = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        List<Future<?>> tareas = new ArrayList<>();
+        try {
+            for (int h = 0; h < HILOS; h++) {
+                tareas.add(executor.submit(() -> {
+                    partida.await();
+                    for (int i = 0; i < INCREMENTOS_POR_HILO; i++) {
+                        incrementarConReintento(creado.getId());
+                    }
+                    return null;
+                }));
+            }
+            partida.countDown();
+            for (Future<?> tarea : tareas) {
+                tarea.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Seguro fin = seguroService.findSeguroById(creado.getId());
+        assertThat(fin.getValor()).isEqualTo(1000 + HILOS * INCREMENTOS_POR_HILO);
+        assertThat(fin.getVersion()).isEqualTo(creado.getVersion() + HILOS * INCREMENTOS_POR_HILO);
+    }
+
+    // Lee, modifica y escribe condicionado a la versión leída; ante conflicto vuelve a leer, como haría un cliente con If-Match.
+    private void incrementarConReintento(Long id) {
+        while (true) {
+            Seguro leido = seguroService.findSeguroById(id);
+            Seguro cambios = new Seguro();
+            cambios.setNombreSeguro(leido.getNombreSeguro());
+            cambios.setDescripcion(leido.getDescripcion());
+            cambios.setValor(leido.getValor() + 1);
+            try {
+                seguroService.updateSeguro(id, cambios, leido.getVersion());
+                return;
+            } catch (OptimisticLockingFailureException e) {
+                // Otro hilo escribió primero; se reintenta sobre la versión nueva.
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ plugins {
     id("java")
     id("org.springframework.boot") version "3.3.5"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.clinica.api"
@@ -32,6 +33,10 @@ dependencies {
     testImplementation("com.h2database:h2")
 }
 
+jmh {
+    jmhVersion.set("1.37")
+}
+
 tasks.withType<Test> {
     useJUnitPlatform()
 }
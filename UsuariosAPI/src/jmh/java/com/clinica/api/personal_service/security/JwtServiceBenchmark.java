@@ -0,0 +1,98 @@
+package com.clinica.api.personal_service.security;
+
+import com.clinica.api.personal_service.model.Rol;
+import com.clinica.api.personal_service.model.Usuario;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Costo por request de verificar el JWT del header Authorization, rotando entre {@code usuarios} tokens activos:
+ * parser nuevo en cada llamada (antes), parser compartido y parser compartido con caché de tokens verificados.
+ * <p>
+ * Ejecutar con {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "C6t8E1o9K5jQy2WvRx8GzF0pHk9sV1nM";
+
+    @Param({"100", "5000"})
+    private int usuarios;
+
+    private JwtService jwtService;
+    private SecretKey secretKey;
+    private String[] tokens;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtService = new JwtService(SECRET, 3_600_000L, 10_000);
+        secretKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        tokens = new String[usuarios];
+        for (int i = 0; i < usuarios; i++) {
+            tokens[i] = jwtService.generateToken(CustomUserDetails.fromUsuario(usuario(i)));
+        }
+    }
+
+    @Benchmark
+    public CustomUserDetails parserPorLlamada() {
+        return CustomUserDetails.fromClaims(Jwts.parserBuilder()
+            .setSigningKey(secretKey)
+            .build()
+            .parseClaimsJws(token())
+            .getBody());
+    }
+
+    @Benchmark
+    public CustomUserDetails parserCompartido() {
+        return CustomUserDetails.fromClaims(jwtService.extractAllClaims(token()));
+    }
+
+    @Benchmark
+    public CustomUserDetails cacheVerificados() {
+        return jwtService.parsePrincipal(token());
+    }
+
+    private String token() {
+        int i = siguiente + 1;
+        if (i == tokens.length) {
+            i = 0;
+        }
+        siguiente = i;
+        return tokens[i];
+    }
+
+    private static Usuario usuario(int i) {
+        Rol rol = new Rol();
+        rol.setNombre("Paciente");
+        Usuario usuario = new Usuario();
+        usuario.setId((long) i + 1);
+        usuario.setCorreo("paciente" + i + "@clinica.cl");
+        usuario.setNombre("Paciente");
+        usuario.setApellido("Prueba");
+        usuario.setFechaNacimiento(LocalDate.of(1990, 1, 1));
+        usuario.setRol(rol);
+        return usuario;
+    }
+}
@@ -0,0 +1,82 @@
+package com.clinica.api.personal_service.security;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Costo de verificar una contraseña en el login según el costo bcrypt ({@code strength}), frente al SHA-256 legado,
+ * y logins por segundo con 8 clientes concurrentes pasando por el pool acotado de hashing.
+ * <p>
+ * Ejecutar con {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    private static final String CLAVE = "clave-de-prueba";
+
+    @Param({"8", "10", "12"})
+    private int strength;
+
+    private PasswordEncoder encoder;
+    private PasswordHashingExecutor executor;
+    private String hashBcrypt;
+    private String hashLegado;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(
+            "bcrypt",
+            Map.of("bcrypt", new BCryptPasswordEncoder(strength))
+        );
+        delegating.setDefaultPasswordEncoderForMatches(new Sha256PasswordEncoder());
+        encoder = delegating;
+        executor = new PasswordHashingExecutor(0, 64);
+        hashBcrypt = encoder.encode(CLAVE);
+        hashLegado = new Sha256PasswordEncoder().encode(CLAVE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.cerrar();
+    }
+
+    @Benchmark
+    public boolean verificarBcrypt() {
+        return encoder.matches(CLAVE, hashBcrypt);
+    }
+
+    @Benchmark
+    public boolean verificarSha256Legado() {
+        return encoder.matches(CLAVE, hashLegado);
+    }
+
+    @Benchmark
+    @Threads(8)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public boolean loginsConcurrentesEnPool() {
+        return executor.ejecutar(() -> encoder.matches(CLAVE, hashBcrypt));
+    }
+}
@@ -0,0 +1,89 @@
+package com.clinica.api.personal_service.service;
+
+import com.clinica.api.personal_service.dto.DoctorDirectorioItem;
+import com.clinica.api.personal_service.dto.DoctorDirectorioPage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Costo de una búsqueda del directorio de doctores sobre el índice en memoria ya construido (typeahead con una
+ * y dos letras, dos palabras y filtro de especialidad) y de reconstruir el índice tras una invalidación.
+ * <p>
+ * Ejecutar con {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DirectorioDoctoresBenchmark {
+
+    private static final String[] NOMBRES = {
+        "Ana", "Andrés", "Beatriz", "Carlos", "Camila", "Diego", "Fernanda", "Gonzalo", "Ignacia", "Javier",
+        "José", "María", "Matías", "Paula", "Rodrigo", "Sofía", "Tomás", "Valentina"
+    };
+    private static final String[] APELLIDOS = {
+        "Álvarez", "Contreras", "Díaz", "Fuentes", "Gómez", "González", "Hernández", "Muñoz", "Pérez", "Reyes",
+        "Rojas", "Sepúlveda", "Silva", "Soto", "Torres", "Valenzuela"
+    };
+
+    @Param({"1000", "10000"})
+    private int doctores;
+
+    private List<DoctorDirectorioItem> items;
+    private DirectorioDoctores.Indice indice;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        items = new ArrayList<>(doctores);
+        for (int i = 0; i < doctores; i++) {
+            String nombre = NOMBRES[random.nextInt(NOMBRES.length)];
+            String apellido = APELLIDOS[random.nextInt(APELLIDOS.length)] + " "
+                + APELLIDOS[random.nextInt(APELLIDOS.length)];
+            items.add(new DoctorDirectorioItem((long) i, nombre, apellido, (long) random.nextInt(20),
+                "Especialidad", 40000, "hash"));
+        }
+        indice = DirectorioDoctores.Indice.construir(items);
+    }
+
+    @Benchmark
+    public DoctorDirectorioPage unaLetra() {
+        return indice.buscar("g", null, 0, 20);
+    }
+
+    @Benchmark
+    public DoctorDirectorioPage dosLetras() {
+        return indice.buscar("go", null, 0, 20);
+    }
+
+    @Benchmark
+    public DoctorDirectorioPage dosPalabras() {
+        return indice.buscar("ma gon", null, 0, 20);
+    }
+
+    @Benchmark
+    public DoctorDirectorioPage conEspecialidad() {
+        return indice.buscar("so", 7L, 0, 20);
+    }
+
+    @Benchmark
+    public DirectorioDoctores.Indice reconstruir() {
+        return DirectorioDoctores.Indice.construir(items);
+    }
+}
@@ -0,0 +1,54 @@
+package com.clinica.api.personal_service.cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Foto inmutable de datos de la base que se arma con {@code cargar} la primera vez que se pide, después de
+ * {@link #invalidar} y cuando cumple su TTL, para que las demás instancias vean los cambios.
+ * <p>
+ * Las reconstrucciones se serializan; las lecturas de una foto vigente no toman bloqueos. Una foto cargada
+ * mientras se invalidaba se entrega a quien la pidió pero no se publica (ver {@link Invalidaciones}).
+ */
+public final class Instantanea<T> {
+
+    private record Vigente<T>(T valor, long construidaEn) {
+    }
+
+    private final Supplier<T> cargar;
+    private final long ttlNanos;
+    private final Invalidaciones invalidaciones = new Invalidaciones();
+    private volatile Vigente<T> vigente;
+
+    public Instantanea(Supplier<T> cargar, long ttlMs) {
+        this.cargar = cargar;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+    }
+
+    public T obtener() {
+        Vigente<T> actual = vigente;
+        if (actual != null && !vencida(actual)) {
+            return actual.valor();
+        }
+        synchronized (this) {
+            actual = vigente;
+            if (actual != null && !vencida(actual)) {
+                return actual.valor();
+            }
+            long generacion = invalidaciones.generacion();
+            T nuevo = cargar.get();
+            if (invalidaciones.sinCambiosDesde(generacion)) {
+                vigente = new Vigente<>(nuevo, System.nanoTime());
+            }
+            return nuevo;
+        }
+    }
+
+    public void invalidar() {
+        invalidaciones.invalidar(() -> vigente = null);
+    }
+
+    private boolean vencida(Vigente<T> actual) {
+        return System.nanoTime() - actual.construidaEn() >= ttlNanos;
+    }
+}
@@ -0,0 +1,39 @@
+package com.clinica.api.personal_service.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Contador de invalidaciones de una caché leída de la base. Quien lee toma {@link #generacion()} antes de
+ * consultar y guarda el resultado solo si {@link #sinCambiosDesde} sigue siendo cierto.
+ * <p>
+ * {@link #invalidar} descarta de inmediato y, dentro de una transacción, otra vez tras el commit: una lectura
+ * concurrente que todavía vio los datos anteriores no queda publicada.
+ */
+public final class Invalidaciones {
+
+    private final AtomicLong contador = new AtomicLong();
+
+    public long generacion() {
+        return contador.get();
+    }
+
+    public boolean sinCambiosDesde(long generacion) {
+        return generacion == contador.get();
+    }
+
+    public void invalidar(Runnable descartar) {
+        contador.incrementAndGet();
+        descartar.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    contador.incrementAndGet();
+                    descartar.run();
+                }
+            });
+        }
+    }
+}
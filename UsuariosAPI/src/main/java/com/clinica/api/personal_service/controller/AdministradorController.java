@@ -5,12 +5,13 @@ import com.clinica.api.personal_service.dto.AdministradorDto;
 import com.clinica.api.personal_service.dto.AdministradorUpdateRequestDto;
 import com.clinica.api.personal_service.service.AdminPasswordService;
 import com.clinica.api.personal_service.service.AdministradorService;
+import com.clinica.api.personal_service.storage.TamanoFoto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -79,7 +80,7 @@ public class AdministradorController {
     @PostMapping("/{id}/foto-perfil")
     @Operation(
         summary = "Sube o actualiza la foto del administrador.",
-        description = "Guarda la imagen enviada como multipart en la columna foto_perfil de Administradores. "
+        description = "Guarda la imagen enviada como multipart en el almacén de fotos y la asocia al administrador. "
             + "Puede devolver 204, 400 si el archivo no es válido, 404 si el admin no existe y 500 ante errores."
     )
     public ResponseEntity<Void> actualizarFotoPerfilAdmin(
@@ -99,15 +100,23 @@ public class AdministradorController {
     @GetMapping("/{id}/foto-perfil")
     @Operation(
         summary = "Descarga la foto del administrador.",
-        description = "Retorna la imagen almacenada para mostrar el perfil administrativo. "
-            + "Puede responder 200 con image/jpeg, 404 si no hay foto o registro y 500 si ocurre un fallo."
+        description = "Transmite la imagen almacenada (admite Range) para mostrar el perfil administrativo. "
+            + "Puede responder 200 con image/jpeg, 404 si no hay foto o registro y 500 si ocurre un fallo. "
+            + "size=thumb|medium|original elige la variante; con v=<hash de la foto> la respuesta se cachea un año, sin v se revalida con ETag (304). 400 si size no es válido."
     )
-    public ResponseEntity<byte[]> obtenerFotoPerfilAdmin(@PathVariable("id") Long id) {
+    public ResponseEntity<Resource> obtenerFotoPerfilAdmin(
+        @PathVariable("id") Long id,
+        @RequestParam(name = "size", defaultValue = "original") String size,
+        @RequestParam(name = "v", required = false) String version
+    ) {
+        TamanoFoto tamano;
+        try {
+            tamano = TamanoFoto.desde(size);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        }
         try {
-            byte[] foto = administradorService.obtenerFotoPerfilAdmin(id);
-            return ResponseEntity.ok()
-                .contentType(MediaType.IMAGE_JPEG)
-                .body(foto);
+            return FotoPerfilRespuestas.ok(administradorService.obtenerFotoPerfilAdmin(id, tamano), version);
         } catch (EntityNotFoundException ex) {
             return ResponseEntity.notFound().build();
         }
@@ -117,7 +126,7 @@ public class AdministradorController {
     @Operation(
         summary = "Actualiza la contraseña del administrador autenticado.",
         description = "Valida la contraseña actual y la reemplaza por una nueva que cumpla las reglas. "
-            + "Puede devolver 204 al actualizar, 401 si la contraseña actual es incorrecta, 400 si la nueva no cumple requisitos, 404 si el admin no existe o 500 si hay un fallo."
+            + "Puede devolver 204 al actualizar, 401 si la contraseña actual es incorrecta, 400 si la nueva no cumple requisitos, 404 si el admin no existe, 429 si el hashing de contraseñas está saturado o 500 si hay un fallo."
     )
     public ResponseEntity<Void> cambiarContrasena(
         @PathVariable("id") Long id,
@@ -2,10 +2,12 @@ package com.clinica.api.personal_service.controller;
 
 import com.clinica.api.personal_service.dto.LoginRequest;
 import com.clinica.api.personal_service.dto.LoginResponse;
+import com.clinica.api.personal_service.exception.PasswordHashingBusyException;
 import com.clinica.api.personal_service.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import java.util.Objects;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.AuthenticationException;
@@ -29,7 +31,7 @@ public class AuthController {
     @Operation(
         summary = "Valida las credenciales del usuario y retorna su rol.",
         description = "Verifica correo y contraseña contra la base de datos y entrega información del usuario y su rol para construir la sesión. "
-            + "Responde 401 cuando las credenciales no son válidas."
+            + "Responde 401 cuando las credenciales no son válidas y 429 (con Retry-After) cuando hay demasiados logins en curso."
     )
     public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest request) {
         LoginRequest safeRequest = Objects.requireNonNull(request, "Credenciales requeridas");
@@ -38,6 +40,10 @@ public class AuthController {
             return ResponseEntity.ok(resp);
         } catch (AuthenticationException ex) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        } catch (PasswordHashingBusyException ex) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
         }
     }
 }
@@ -1,10 +1,13 @@
 package com.clinica.api.personal_service.controller;
 
 import com.clinica.api.personal_service.dto.DoctorCreateRequest;
+import com.clinica.api.personal_service.dto.DoctorDirectorioPage;
 import com.clinica.api.personal_service.dto.DoctorResponse;
 import com.clinica.api.personal_service.dto.DoctorUpdateRequest;
 import com.clinica.api.personal_service.model.Doctor;
+import com.clinica.api.personal_service.service.DirectorioDoctores;
 import com.clinica.api.personal_service.service.PersonalService;
+import com.clinica.api.personal_service.storage.TamanoFoto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.persistence.EntityNotFoundException;
@@ -12,8 +15,8 @@ import jakarta.validation.Valid;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -33,9 +36,11 @@ import org.springframework.web.server.ResponseStatusException;
 public class DoctorController {
 
     private final PersonalService personalService;
+    private final DirectorioDoctores directorioDoctores;
 
-    public DoctorController(PersonalService personalService) {
+    public DoctorController(PersonalService personalService, DirectorioDoctores directorioDoctores) {
         this.personalService = personalService;
+        this.directorioDoctores = directorioDoctores;
     }
 
     @GetMapping
@@ -55,6 +60,27 @@ public class DoctorController {
         return ResponseEntity.ok(response);
     }
 
+    // Se atiende desde el índice en memoria, sin transacción ni consulta a la base mientras esté vigente.
+    @GetMapping("/directorio")
+    @Operation(
+        summary = "Busca doctores activos por nombre o apellido.",
+        description = "Directorio paginado para listas y typeahead: q filtra por prefijo de cada palabra del nombre o apellido "
+            + "(sin distinguir tildes ni mayúsculas) e idEspecialidad por especialidad. "
+            + "Responde 200 con la página y el total de coincidencias, o 400 si page < 0 o size no está entre 1 y 100."
+    )
+    public ResponseEntity<DoctorDirectorioPage> buscarDirectorio(
+        @RequestParam(name = "q", required = false) String q,
+        @RequestParam(name = "idEspecialidad", required = false) Long idEspecialidad,
+        @RequestParam(name = "page", defaultValue = "0") int page,
+        @RequestParam(name = "size", defaultValue = "20") int size
+    ) {
+        try {
+            return ResponseEntity.ok(directorioDoctores.buscar(q, idEspecialidad, page, size));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{id}")
     @Operation(
         summary = "Obtiene la información del doctor por su ID.",
@@ -73,7 +99,7 @@ public class DoctorController {
     @PostMapping("/{id}/foto-perfil")
     @Operation(
         summary = "Sube o reemplaza la foto del doctor.",
-        description = "Recibe la imagen como multipart y la almacena en la columna foto_perfil de Doctores. "
+        description = "Recibe la imagen como multipart y la guarda en el almacén de fotos asociada al doctor. "
             + "Puede responder 204 al guardar, 400 si el archivo es inválido, 404 si el doctor no existe y 500 ante fallos."
     )
     public ResponseEntity<Void> actualizarFotoPerfilDoctor(
@@ -93,15 +119,23 @@ public class DoctorController {
     @GetMapping("/{id}/foto-perfil")
     @Operation(
         summary = "Descarga la foto del doctor.",
-        description = "Retorna los bytes almacenados para que el frontend pueda renderizar el perfil. "
-            + "Puede devolver 200 con image/jpeg, 404 si no hay foto o doctor y 500 ante un error."
+        description = "Transmite la imagen almacenada (admite Range) para que el frontend pueda renderizar el perfil. "
+            + "Puede devolver 200 con image/jpeg, 404 si no hay foto o doctor y 500 ante un error. "
+            + "size=thumb|medium|original elige la variante; con v=<hash de la foto> la respuesta se cachea un año, sin v se revalida con ETag (304). 400 si size no es válido."
     )
-    public ResponseEntity<byte[]> obtenerFotoPerfilDoctor(@PathVariable("id") Long id) {
+    public ResponseEntity<Resource> obtenerFotoPerfilDoctor(
+        @PathVariable("id") Long id,
+        @RequestParam(name = "size", defaultValue = "original") String size,
+        @RequestParam(name = "v", required = false) String version
+    ) {
+        TamanoFoto tamano;
+        try {
+            tamano = TamanoFoto.desde(size);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        }
         try {
-            byte[] foto = personalService.obtenerFotoPerfilDoctor(id);
-            return ResponseEntity.ok()
-                .contentType(MediaType.IMAGE_JPEG)
-                .body(foto);
+            return FotoPerfilRespuestas.ok(personalService.obtenerFotoPerfilDoctor(id, tamano), version);
         } catch (EntityNotFoundException ex) {
             return ResponseEntity.notFound().build();
         }
@@ -112,7 +146,7 @@ public class DoctorController {
     @Operation(
         summary = "Crea un nuevo doctor.",
         description = "Registra un profesional con su información contractual y de usuario. "
-            + "Puede responder 201 al crear, 400 si el payload es inválido o el correo está duplicado, 404 si faltan especialidad/rol, 409 por conflictos o 500 si algo falla."
+            + "Puede responder 201 al crear, 400 si el payload es inválido o el correo está duplicado, 404 si faltan especialidad/rol, 409 por conflictos, 429 si el hashing de contraseñas está saturado o 500 si algo falla."
     )
     public ResponseEntity<DoctorResponse> createDoctor(@RequestBody @Valid DoctorCreateRequest request) {
         try {
@@ -172,6 +206,7 @@ public class DoctorController {
         response.setBono(safeDoctor.getBono());
         response.setActivo(safeDoctor.getActivo());
         response.setFechaNacimiento(safeDoctor.getFechaNacimiento());
+        response.setFotoPerfilVersion(personalService.versionFotoPerfil(safeDoctor));
         if (safeDoctor.getEspecialidad() != null) {
             response.setIdEspecialidad(safeDoctor.getEspecialidad().getId());
         }
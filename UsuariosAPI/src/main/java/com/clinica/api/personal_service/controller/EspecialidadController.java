@@ -2,7 +2,6 @@ package com.clinica.api.personal_service.controller;
 
 import com.clinica.api.personal_service.dto.EspecialidadResponse;
 import com.clinica.api.personal_service.model.Especialidad;
-import com.clinica.api.personal_service.model.Doctor;
 import com.clinica.api.personal_service.service.EspecialidadService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -165,8 +164,8 @@ public class EspecialidadController {
         EspecialidadResponse response = new EspecialidadResponse();
         response.setId(especialidad.getId());
         response.setNombre(especialidad.getNombre());
-        List<Doctor> doctores = especialidadService.findDoctoresPorEspecialidad(especialidad.getId());
-        response.setDoctorId(doctores.isEmpty() ? null : doctores.get(0).getId());
+        List<Long> doctores = especialidadService.findDoctorIdsPorEspecialidad(especialidad.getId());
+        response.setDoctorId(doctores.isEmpty() ? null : doctores.get(0));
         return response;
     }
 
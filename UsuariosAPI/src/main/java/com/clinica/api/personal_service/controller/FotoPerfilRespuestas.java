@@ -0,0 +1,30 @@
+package com.clinica.api.personal_service.controller;
+
+import com.clinica.api.personal_service.storage.FotoPerfil;
+import java.util.concurrent.TimeUnit;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+// Arma la respuesta de GET .../foto-perfil igual para usuarios, doctores y administradores.
+final class FotoPerfilRespuestas {
+
+    private static final CacheControl INMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable();
+
+    private FotoPerfilRespuestas() {
+    }
+
+    /**
+     * Con {@code ?v=<hash>} igual a la foto vigente la URL ya identifica el contenido y se cachea un año; sin versión
+     * (o con una vieja) el cliente revalida con el ETag y recibe 304 si no cambió.
+     */
+    static ResponseEntity<Resource> ok(FotoPerfil foto, String version) {
+        CacheControl cache = foto.definitiva() && foto.hash().equals(version) ? INMUTABLE : CacheControl.noCache();
+        return ResponseEntity.ok()
+            .contentType(MediaType.IMAGE_JPEG)
+            .eTag(foto.etag())
+            .cacheControl(cache)
+            .body(foto.contenido());
+    }
+}
@@ -3,13 +3,14 @@ package com.clinica.api.personal_service.controller;
 import com.clinica.api.personal_service.dto.UsuarioResponse;
 import com.clinica.api.personal_service.model.Usuario;
 import com.clinica.api.personal_service.service.UsuarioService;
+import com.clinica.api.personal_service.storage.TamanoFoto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.persistence.EntityNotFoundException;
 import java.util.List;
 import java.util.Objects;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -65,7 +66,7 @@ public class UsuarioController {
     @PostMapping("/{id}/foto-perfil")
     @Operation(
         summary = "Sube o actualiza la foto de perfil del usuario.",
-        description = "Guarda la imagen enviada como multipart y reemplaza la foto existente en la tabla Usuarios. "
+        description = "Guarda la imagen enviada como multipart en el almacén de fotos y reemplaza la referencia del usuario. "
             + "Puede responder 204 al guardar, 400 si el archivo no es válido, 404 si el usuario no existe y 500 ante errores."
     )
     public ResponseEntity<Void> actualizarFotoPerfilUsuario(
@@ -85,15 +86,23 @@ public class UsuarioController {
     @GetMapping("/{id}/foto-perfil")
     @Operation(
         summary = "Descarga la foto de perfil del usuario.",
-        description = "Retorna los bytes almacenados en la columna foto_perfil para que la app pueda mostrarlos. "
-            + "Puede entregar 200 con image/jpeg, 404 si no hay foto o usuario y 500 si ocurre un fallo."
+        description = "Transmite la imagen desde el almacén de fotos (admite Range) para que la app pueda mostrarla. "
+            + "Puede entregar 200 con image/jpeg, 404 si no hay foto o usuario y 500 si ocurre un fallo. "
+            + "size=thumb|medium|original elige la variante; con v=<hash de la foto> la respuesta se cachea un año, sin v se revalida con ETag (304). 400 si size no es válido."
     )
-    public ResponseEntity<byte[]> obtenerFotoPerfilUsuario(@PathVariable("id") Long id) {
+    public ResponseEntity<Resource> obtenerFotoPerfilUsuario(
+        @PathVariable("id") Long id,
+        @RequestParam(name = "size", defaultValue = "original") String size,
+        @RequestParam(name = "v", required = false) String version
+    ) {
+        TamanoFoto tamano;
+        try {
+            tamano = TamanoFoto.desde(size);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        }
         try {
-            byte[] foto = usuarioService.obtenerFotoPerfilUsuario(id);
-            return ResponseEntity.ok()
-                .contentType(MediaType.IMAGE_JPEG)
-                .body(foto);
+            return FotoPerfilRespuestas.ok(usuarioService.obtenerFotoPerfilUsuario(id, tamano), version);
         } catch (EntityNotFoundException ex) {
             return ResponseEntity.notFound().build();
         }
@@ -103,7 +112,7 @@ public class UsuarioController {
     @Operation(
         summary = "Crea un nuevo usuario.",
         description = "Registra una nueva cuenta respetando las reglas de exclusión de administradores. "
-            + "Puede devolver 201 al crearla, 400 si el payload es inválido, 409 por conflicto de datos o 500 si falla algo."
+            + "Puede devolver 201 al crearla, 400 si el payload es inválido, 409 por conflicto de datos, 429 si el hashing de contraseñas está saturado o 500 si falla algo."
     )
     public ResponseEntity<UsuarioResponse> createUsuario(@RequestBody Usuario usuario) {
         Usuario safeUsuario = requireUsuarioPayload(usuario);
@@ -115,7 +124,7 @@ public class UsuarioController {
     @Operation(
         summary = "Actualiza un usuario existente.",
         description = "Permite modificar datos personales y credenciales cuando el usuario no es administrador. "
-            + "Puede responder 200 si actualiza, 400 si el payload es inválido, 404 si no se encuentra o es admin, 409 por conflictos o 500 ante fallos."
+            + "Puede responder 200 si actualiza, 400 si el payload es inválido, 404 si no se encuentra o es admin, 409 por conflictos, 429 si el hashing de contraseñas está saturado o 500 ante fallos."
     )
     public ResponseEntity<UsuarioResponse> updateUsuario(
         @PathVariable("id") Long id,
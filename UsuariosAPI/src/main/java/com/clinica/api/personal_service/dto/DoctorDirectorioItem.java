@@ -0,0 +1,85 @@
+package com.clinica.api.personal_service.dto;
+
+/**
+ * Doctor tal como aparece en el directorio paginado: solo lo que muestra la lista y el typeahead.
+ */
+public class DoctorDirectorioItem {
+
+    private Long idDoctor;
+    private String nombre;
+    private String apellido;
+    private Long idEspecialidad;
+    private String especialidad;
+    private Integer tarifaConsulta;
+    private String fotoPerfilVersion;
+
+    public DoctorDirectorioItem() {
+    }
+
+    public DoctorDirectorioItem(Long idDoctor, String nombre, String apellido, Long idEspecialidad,
+                                String especialidad, Integer tarifaConsulta, String fotoPerfilVersion) {
+        this.idDoctor = idDoctor;
+        this.nombre = nombre;
+        this.apellido = apellido;
+        this.idEspecialidad = idEspecialidad;
+        this.especialidad = especialidad;
+        this.tarifaConsulta = tarifaConsulta;
+        this.fotoPerfilVersion = fotoPerfilVersion;
+    }
+
+    public Long getIdDoctor() {
+        return idDoctor;
+    }
+
+    public void setIdDoctor(Long idDoctor) {
+        this.idDoctor = idDoctor;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public String getApellido() {
+        return apellido;
+    }
+
+    public void setApellido(String apellido) {
+        this.apellido = apellido;
+    }
+
+    public Long getIdEspecialidad() {
+        return idEspecialidad;
+    }
+
+    public void setIdEspecialidad(Long idEspecialidad) {
+        this.idEspecialidad = idEspecialidad;
+    }
+
+    public String getEspecialidad() {
+        return especialidad;
+    }
+
+    public void setEspecialidad(String especialidad) {
+        this.especialidad = especialidad;
+    }
+
+    public Integer getTarifaConsulta() {
+        return tarifaConsulta;
+    }
+
+    public void setTarifaConsulta(Integer tarifaConsulta) {
+        this.tarifaConsulta = tarifaConsulta;
+    }
+
+    public String getFotoPerfilVersion() {
+        return fotoPerfilVersion;
+    }
+
+    public void setFotoPerfilVersion(String fotoPerfilVersion) {
+        this.fotoPerfilVersion = fotoPerfilVersion;
+    }
+}
@@ -0,0 +1,56 @@
+package com.clinica.api.personal_service.dto;
+
+import java.util.List;
+
+/**
+ * Página del directorio de doctores. {@code total} es la cantidad de doctores que calzan con la búsqueda.
+ */
+public class DoctorDirectorioPage {
+
+    private int page;
+    private int size;
+    private int total;
+    private List<DoctorDirectorioItem> doctores;
+
+    public DoctorDirectorioPage() {
+    }
+
+    public DoctorDirectorioPage(int page, int size, int total, List<DoctorDirectorioItem> doctores) {
+        this.page = page;
+        this.size = size;
+        this.total = total;
+        this.doctores = doctores;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public List<DoctorDirectorioItem> getDoctores() {
+        return doctores;
+    }
+
+    public void setDoctores(List<DoctorDirectorioItem> doctores) {
+        this.doctores = doctores;
+    }
+}
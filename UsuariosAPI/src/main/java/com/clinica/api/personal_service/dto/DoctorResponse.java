@@ -18,6 +18,8 @@ public class DoctorResponse {
     private Long bono;
     private Boolean activo;
     private LocalDate fechaNacimiento;
+    // Hash de la foto vigente: se envía como ?v= en foto-perfil para cachearla sin revalidar.
+    private String fotoPerfilVersion;
 
     public Long getIdDoctor() {
         return idDoctor;
@@ -106,4 +108,12 @@ public class DoctorResponse {
     public void setFechaNacimiento(LocalDate fechaNacimiento) {
         this.fechaNacimiento = fechaNacimiento;
     }
+
+    public String getFotoPerfilVersion() {
+        return fotoPerfilVersion;
+    }
+
+    public void setFotoPerfilVersion(String fotoPerfilVersion) {
+        this.fotoPerfilVersion = fotoPerfilVersion;
+    }
 }
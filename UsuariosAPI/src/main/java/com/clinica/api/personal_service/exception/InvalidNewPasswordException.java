@@ -1,6 +1,9 @@
 package com.clinica.api.personal_service.exception;
 
 public class InvalidNewPasswordException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
     public InvalidNewPasswordException(String message) {
         super(message);
     }
@@ -0,0 +1,11 @@
+package com.clinica.api.personal_service.exception;
+
+/** Se lanza cuando el pool de hashing de contraseñas está saturado; los endpoints responden 429. */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingBusyException() {
+        super("PASSWORD_HASHING_BUSY");
+    }
+}
@@ -3,6 +3,7 @@ package com.clinica.api.personal_service.exception;
 import jakarta.persistence.EntityNotFoundException;
 import java.util.stream.Collectors;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -57,6 +58,13 @@ public class PersonalServiceExceptionHandler {
             .body(new ApiErrorResponse("DATA_INTEGRITY_VIOLATION", message));
     }
 
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ApiErrorResponse> handlePasswordHashingBusy(PasswordHashingBusyException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(new ApiErrorResponse(ex.getMessage(), "Demasiadas operaciones con contraseñas en curso, reintenta en un momento"));
+    }
+
     private String extractMessage(ResponseStatusException ex) {
         if (ex.getReason() != null && !ex.getReason().isBlank()) {
             return ex.getReason();
@@ -1,6 +1,9 @@
 package com.clinica.api.personal_service.exception;
 
 public class WrongCurrentPasswordException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
     public WrongCurrentPasswordException() {
         super("WRONG_CURRENT_PASSWORD");
     }
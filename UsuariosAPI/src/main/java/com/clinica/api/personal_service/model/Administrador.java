@@ -7,11 +7,9 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
-import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
-import java.sql.Blob;
 import java.time.LocalDate;
 
 @Entity
@@ -41,9 +39,9 @@ public class Administrador {
     @Column(nullable = false, length = 255)
     private String contrasena;
 
-    @Lob
-    @Column(name = "foto_perfil")
-    private Blob fotoPerfil;
+    // SHA-256 del archivo en FotoPerfilStorage; la imagen ya no vive en la fila.
+    @Column(name = "foto_perfil_hash", length = 64)
+    private String fotoPerfilHash;
 
     @Column(nullable = false)
     private Long sueldo;
@@ -55,6 +53,10 @@ public class Administrador {
     @JoinColumn(name = "id_rol", nullable = false)
     private Rol rol;
 
+    // Se incrementa al cambiar correo, contraseña, rol o estado: los JWT con una versión anterior dejan de valer.
+    @Column(name = "token_version")
+    private Long tokenVersion;
+
     @PrePersist
     void ensureDefaults() {
         if (activo == null) {
@@ -118,12 +120,12 @@ public class Administrador {
         this.contrasena = contrasena;
     }
 
-    public Blob getFotoPerfil() {
-        return fotoPerfil;
+    public String getFotoPerfilHash() {
+        return fotoPerfilHash;
     }
 
-    public void setFotoPerfil(Blob fotoPerfil) {
-        this.fotoPerfil = fotoPerfil;
+    public void setFotoPerfilHash(String fotoPerfilHash) {
+        this.fotoPerfilHash = fotoPerfilHash;
     }
 
     public Long getSueldo() {
@@ -149,4 +151,12 @@ public class Administrador {
     public void setRol(Rol rol) {
         this.rol = rol;
     }
+
+    public Long getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(Long tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
 }
@@ -7,11 +7,9 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
-import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
-import java.sql.Blob;
 import java.time.LocalDate;
 
 /**
@@ -45,9 +43,9 @@ public class Doctor {
     @Column(nullable = false, length = 255)
     private String contrasena;
 
-    @Lob
-    @Column(name = "foto_perfil")
-    private Blob fotoPerfil;
+    // SHA-256 del archivo en FotoPerfilStorage; la imagen ya no vive en la fila.
+    @Column(name = "foto_perfil_hash", length = 64)
+    private String fotoPerfilHash;
 
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "id_rol", nullable = false)
@@ -69,6 +67,10 @@ public class Doctor {
     @Column(nullable = false)
     private Boolean activo = true;
 
+    // Se incrementa al cambiar correo, contraseña, rol o estado: los JWT con una versión anterior dejan de valer.
+    @Column(name = "token_version")
+    private Long tokenVersion;
+
     public Doctor() {
     }
 
@@ -135,12 +137,12 @@ public class Doctor {
         this.contrasena = contrasena;
     }
 
-    public Blob getFotoPerfil() {
-        return fotoPerfil;
+    public String getFotoPerfilHash() {
+        return fotoPerfilHash;
     }
 
-    public void setFotoPerfil(Blob fotoPerfil) {
-        this.fotoPerfil = fotoPerfil;
+    public void setFotoPerfilHash(String fotoPerfilHash) {
+        this.fotoPerfilHash = fotoPerfilHash;
     }
 
     public Rol getRol() {
@@ -190,4 +192,12 @@ public class Doctor {
     public void setActivo(Boolean activo) {
         this.activo = activo;
     }
+
+    public Long getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(Long tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
 }
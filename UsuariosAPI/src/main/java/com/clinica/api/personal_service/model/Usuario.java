@@ -2,7 +2,6 @@ package com.clinica.api.personal_service.model;
 
 import jakarta.persistence.*;
 
-import java.sql.Blob;
 import java.time.LocalDate;
 
 @Entity
@@ -32,14 +31,18 @@ public class Usuario {
     @Column(nullable = false, length = 255)
     private String contrasena;
 
-    @Lob
-    @Column(name = "foto_perfil")
-    private Blob fotoPerfil;
+    // SHA-256 del archivo en FotoPerfilStorage; la imagen ya no vive en la fila.
+    @Column(name = "foto_perfil_hash", length = 64)
+    private String fotoPerfilHash;
 
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "id_rol", nullable = false)
     private Rol rol;
 
+    // Se incrementa al cambiar correo, contraseña, rol o estado: los JWT con una versión anterior dejan de valer.
+    @Column(name = "token_version")
+    private Long tokenVersion;
+
     public Usuario() {
     }
 
@@ -99,12 +102,12 @@ public class Usuario {
         this.contrasena = contrasena;
     }
 
-    public Blob getFotoPerfil() {
-        return fotoPerfil;
+    public String getFotoPerfilHash() {
+        return fotoPerfilHash;
     }
 
-    public void setFotoPerfil(Blob fotoPerfil) {
-        this.fotoPerfil = fotoPerfil;
+    public void setFotoPerfilHash(String fotoPerfilHash) {
+        this.fotoPerfilHash = fotoPerfilHash;
     }
 
     public Rol getRol() {
@@ -114,4 +117,12 @@ public class Usuario {
     public void setRol(Rol rol) {
         this.rol = rol;
     }
+
+    public Long getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(Long tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
 }
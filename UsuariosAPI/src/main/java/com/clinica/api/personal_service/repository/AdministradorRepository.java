@@ -3,10 +3,21 @@ package com.clinica.api.personal_service.repository;
 import com.clinica.api.personal_service.model.Administrador;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface AdministradorRepository extends JpaRepository<Administrador, Long> {
     Optional<Administrador> findByCorreoAndActivoTrue(String correo);
     Optional<Administrador> findByIdAndActivoTrue(Long id);
+
+    // Versión de token vigente; vacío si el administrador no existe o está inactivo.
+    @Query("select coalesce(a.tokenVersion, 0L) from Administrador a where a.id = :id and a.activo = true")
+    Optional<Long> findTokenVersionByIdAndActivoTrue(@Param("id") Long id);
+
+    @Modifying
+    @Query("update Administrador a set a.contrasena = :hash where a.id = :id")
+    int actualizarContrasena(@Param("id") Long id, @Param("hash") String hash);
 }
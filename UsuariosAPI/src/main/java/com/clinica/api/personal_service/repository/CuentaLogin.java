@@ -0,0 +1,24 @@
+package com.clinica.api.personal_service.repository;
+
+/**
+ * Datos de una cuenta para autenticar, provenga de Usuarios, Doctores o Administradores.
+ * {@code tipo} es el nombre de {@link com.clinica.api.personal_service.security.TipoCuenta}.
+ */
+public interface CuentaLogin {
+
+    String getTipo();
+
+    Long getId();
+
+    String getCorreo();
+
+    String getContrasena();
+
+    String getNombre();
+
+    String getApellido();
+
+    String getRol();
+
+    Long getTokenVersion();
+}
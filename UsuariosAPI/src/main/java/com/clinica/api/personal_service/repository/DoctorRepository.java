@@ -4,18 +4,38 @@ import com.clinica.api.personal_service.model.Doctor;
 import com.clinica.api.personal_service.model.Especialidad;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface DoctorRepository extends JpaRepository<Doctor, Long> {
 
+    // Listado en un solo select con rol y especialidad; la foto es solo foto_perfil_hash, nunca bytes.
+    @EntityGraph(attributePaths = {"rol", "especialidad"})
     List<Doctor> findByActivoTrue();
+
     Optional<Doctor> findByIdAndActivoTrue(Long id);
     Optional<Doctor> findByCorreoAndActivoTrue(String correo);
     Optional<Doctor> findByCorreo(String correo);
 
+    // Versión de token vigente; vacío si el doctor no existe o está inactivo.
+    @Query("select coalesce(d.tokenVersion, 0L) from Doctor d where d.id = :id and d.activo = true")
+    Optional<Long> findTokenVersionByIdAndActivoTrue(@Param("id") Long id);
+
+    @Modifying
+    @Query("update Doctor d set d.contrasena = :hash where d.id = :id")
+    int actualizarContrasena(@Param("id") Long id, @Param("hash") String hash);
+
     List<Doctor> findByEspecialidad(Especialidad especialidad);
 
     List<Doctor> findByEspecialidadAndActivoTrue(Especialidad especialidad);
+
+    // Solo dos columnas por doctor activo, en orden de id, para el catálogo de especialidades en memoria.
+    @Query("select d.id as idDoctor, e.id as idEspecialidad from Doctor d left join d.especialidad e "
+        + "where d.activo = true order by d.id")
+    List<EspecialidadDoctor> findEspecialidadesDeDoctoresActivos();
 }
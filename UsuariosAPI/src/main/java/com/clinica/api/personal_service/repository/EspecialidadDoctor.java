@@ -0,0 +1,12 @@
+package com.clinica.api.personal_service.repository;
+
+/**
+ * Par doctor activo/especialidad, usado para armar el catálogo de especialidades en memoria.
+ * {@code idEspecialidad} es null si el doctor no tiene especialidad asignada.
+ */
+public interface EspecialidadDoctor {
+
+    Long getIdDoctor();
+
+    Long getIdEspecialidad();
+}
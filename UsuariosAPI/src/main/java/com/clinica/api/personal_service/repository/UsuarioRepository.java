@@ -1,11 +1,53 @@
 package com.clinica.api.personal_service.repository;
 
 import com.clinica.api.personal_service.model.Usuario;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     Optional<Usuario> findByCorreo(String correo);
+
+    // El listado trae el rol en el mismo select; la foto es solo foto_perfil_hash, nunca bytes.
+    @Override
+    @EntityGraph(attributePaths = "rol")
+    List<Usuario> findAll();
+
+    // Versión de token vigente (null en filas anteriores a la columna equivale a 0).
+    @Query("select coalesce(u.tokenVersion, 0L) from Usuario u where u.id = :id")
+    Optional<Long> findTokenVersionById(@Param("id") Long id);
+
+    /**
+     * Cuenta de login en un solo round trip: cada rama usa el índice único de correo de su tabla. Si el correo
+     * existe en más de una tabla gana el mismo orden que antes (usuario, doctor activo, administrador activo).
+     */
+    @Query(value = """
+        select c.tipo as tipo, c.id as id, c.correo as correo, c.contrasena as contrasena,
+               c.nombre as nombre, c.apellido as apellido, r.nombre as rol, c.token_version as tokenVersion
+        from (
+            select 0 as prioridad, 'USUARIO' as tipo, u.id_usuario as id, u.correo, u.contrasena,
+                   u.nombre, u.apellido, u.id_rol, u.token_version
+            from usuarios u where u.correo = :correo
+            union all
+            select 1, 'DOCTOR', d.id_doctor, d.correo, d.contrasena, d.nombre, d.apellido, d.id_rol, d.token_version
+            from doctores d where d.correo = :correo and d.activo = true
+            union all
+            select 2, 'ADMINISTRADOR', a.id_admin, a.correo, a.contrasena, a.nombre, a.apellido, a.id_rol, a.token_version
+            from administradores a where a.correo = :correo and a.activo = true
+        ) c
+        left join rol r on r.id_rol = c.id_rol
+        order by c.prioridad
+        limit 1
+        """, nativeQuery = true)
+    Optional<CuentaLogin> findCuentaLoginByCorreo(@Param("correo") String correo);
+
+    @Modifying
+    @Query("update Usuario u set u.contrasena = :hash where u.id = :id")
+    int actualizarContrasena(@Param("id") Long id, @Param("hash") String hash);
 }
@@ -3,6 +3,8 @@ package com.clinica.api.personal_service.security;
 import com.clinica.api.personal_service.model.Administrador;
 import com.clinica.api.personal_service.model.Doctor;
 import com.clinica.api.personal_service.model.Usuario;
+import com.clinica.api.personal_service.repository.CuentaLogin;
+import io.jsonwebtoken.Claims;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Collections;
@@ -13,6 +15,8 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 public final class CustomUserDetails implements UserDetails {
 
+    private static final long serialVersionUID = 1L;
+
     private final Long id;
     private final String email;
     private final String password;
@@ -22,7 +26,10 @@ public final class CustomUserDetails implements UserDetails {
     private final String telefono;
     private final String roleName;
     private final Long doctorId;
-    private final Collection<? extends GrantedAuthority> authorities;
+    private final TipoCuenta tipoCuenta;
+    private final long tokenVersion;
+    // Cada cuenta tiene un único rol; se guarda la autoridad (serializable) y no la colección.
+    private final SimpleGrantedAuthority authority;
 
     private CustomUserDetails(
         Long id,
@@ -34,7 +41,9 @@ public final class CustomUserDetails implements UserDetails {
         String telefono,
         String roleName,
         Long doctorId,
-        Collection<? extends GrantedAuthority> authorities
+        TipoCuenta tipoCuenta,
+        long tokenVersion,
+        SimpleGrantedAuthority authority
     ) {
         this.id = id;
         this.email = email;
@@ -45,7 +54,9 @@ public final class CustomUserDetails implements UserDetails {
         this.telefono = telefono;
         this.roleName = roleName;
         this.doctorId = doctorId;
-        this.authorities = authorities;
+        this.tipoCuenta = tipoCuenta;
+        this.tokenVersion = tokenVersion;
+        this.authority = authority;
     }
 
     public static CustomUserDetails fromUsuario(Usuario usuario) {
@@ -61,7 +72,9 @@ public final class CustomUserDetails implements UserDetails {
             usuario.getTelefono(),
             rol,
             null,
-            buildAuthorities(rol)
+            TipoCuenta.USUARIO,
+            versionOrZero(usuario.getTokenVersion()),
+            buildAuthority(rol)
         );
     }
 
@@ -78,7 +91,9 @@ public final class CustomUserDetails implements UserDetails {
             doctor.getTelefono(),
             rol,
             doctor.getId(),
-            buildAuthorities(rol)
+            TipoCuenta.DOCTOR,
+            versionOrZero(doctor.getTokenVersion()),
+            buildAuthority(rol)
         );
     }
 
@@ -95,13 +110,85 @@ public final class CustomUserDetails implements UserDetails {
             administrador.getTelefono(),
             rol,
             null,
-            buildAuthorities(rol)
+            TipoCuenta.ADMINISTRADOR,
+            versionOrZero(administrador.getTokenVersion()),
+            buildAuthority(rol)
+        );
+    }
+
+    /**
+     * Principal para el login, armado desde la consulta unificada de cuentas. No carga fecha de nacimiento ni
+     * teléfono, que la respuesta de login no usa.
+     */
+    public static CustomUserDetails fromCuentaLogin(CuentaLogin cuenta) {
+        Objects.requireNonNull(cuenta, "CuentaLogin must not be null");
+        TipoCuenta tipo = TipoCuenta.valueOf(cuenta.getTipo());
+        String rol = cuenta.getRol() != null ? cuenta.getRol() : rolPorDefecto(tipo);
+        return new CustomUserDetails(
+            cuenta.getId(),
+            cuenta.getCorreo(),
+            cuenta.getContrasena(),
+            cuenta.getNombre(),
+            cuenta.getApellido(),
+            null,
+            null,
+            rol,
+            tipo == TipoCuenta.DOCTOR ? cuenta.getId() : null,
+            tipo,
+            versionOrZero(cuenta.getTokenVersion()),
+            buildAuthority(rol)
+        );
+    }
+
+    /**
+     * Principal armado solo con los claims de un JWT ya verificado, sin consultar la base. No incluye contraseña
+     * ni datos personales; los tokens emitidos antes de {@code accountType} deducen el tipo desde el rol.
+     */
+    public static CustomUserDetails fromClaims(Claims claims) {
+        Objects.requireNonNull(claims, "Claims must not be null");
+        String rol = claims.get("role", String.class);
+        Long userId = claims.get("userId", Long.class);
+        Long doctorId = claims.get("doctorId", Long.class);
+        String tipo = claims.get("accountType", String.class);
+        Long tokenVersion = claims.get("tokenVersion", Long.class);
+        return new CustomUserDetails(
+            userId,
+            claims.getSubject(),
+            null,
+            null,
+            null,
+            null,
+            null,
+            rol,
+            doctorId,
+            tipo != null ? TipoCuenta.valueOf(tipo) : inferirTipo(rol, doctorId),
+            versionOrZero(tokenVersion),
+            buildAuthority(rol)
         );
     }
 
-    private static Collection<? extends GrantedAuthority> buildAuthorities(String role) {
+    private static String rolPorDefecto(TipoCuenta tipo) {
+        return switch (tipo) {
+            case USUARIO -> "paciente";
+            case DOCTOR -> "doctor";
+            case ADMINISTRADOR -> "administrador";
+        };
+    }
+
+    private static TipoCuenta inferirTipo(String rol, Long doctorId) {
+        if (doctorId != null) {
+            return TipoCuenta.DOCTOR;
+        }
+        return "administrador".equalsIgnoreCase(rol) ? TipoCuenta.ADMINISTRADOR : TipoCuenta.USUARIO;
+    }
+
+    private static long versionOrZero(Long tokenVersion) {
+        return tokenVersion != null ? tokenVersion : 0L;
+    }
+
+    private static SimpleGrantedAuthority buildAuthority(String role) {
         String normalized = role != null ? role.toUpperCase().replace(" ", "_") : "PACIENTE";
-        return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + normalized));
+        return new SimpleGrantedAuthority("ROLE_" + normalized);
     }
 
     public Long getUserId() {
@@ -124,6 +211,22 @@ public final class CustomUserDetails implements UserDetails {
         return doctorId;
     }
 
+    /** Copia con otro hash de contraseña (tras el rehash del login). */
+    public CustomUserDetails withPassword(String nuevoHash) {
+        return new CustomUserDetails(
+            id, email, nuevoHash, nombre, apellido, fechaNacimiento, telefono,
+            roleName, doctorId, tipoCuenta, tokenVersion, authority
+        );
+    }
+
+    public TipoCuenta getTipoCuenta() {
+        return tipoCuenta;
+    }
+
+    public long getTokenVersion() {
+        return tokenVersion;
+    }
+
     public String getNombre() {
         return nombre;
     }
@@ -134,7 +237,7 @@ public final class CustomUserDetails implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return authorities;
+        return Collections.singletonList(authority);
     }
 
     @Override
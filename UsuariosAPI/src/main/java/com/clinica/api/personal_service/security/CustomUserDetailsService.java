@@ -3,13 +3,15 @@ package com.clinica.api.personal_service.security;
 import com.clinica.api.personal_service.repository.AdministradorRepository;
 import com.clinica.api.personal_service.repository.DoctorRepository;
 import com.clinica.api.personal_service.repository.UsuarioRepository;
+import jakarta.transaction.Transactional;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UsuarioRepository usuarioRepository;
     private final DoctorRepository doctorRepository;
@@ -27,10 +29,25 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return usuarioRepository.findByCorreo(username)
-            .map(CustomUserDetails::fromUsuario)
-            .or(() -> doctorRepository.findByCorreoAndActivoTrue(username).map(CustomUserDetails::fromDoctor))
-            .or(() -> administradorRepository.findByCorreoAndActivoTrue(username).map(CustomUserDetails::fromAdministrador))
+        // Una sola consulta para las tres tablas de cuentas (ver UsuarioRepository.findCuentaLoginByCorreo).
+        return usuarioRepository.findCuentaLoginByCorreo(username)
+            .map(CustomUserDetails::fromCuentaLogin)
             .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado"));
     }
+
+    /**
+     * Guarda el hash recalculado por DaoAuthenticationProvider tras un login exitoso con un hash a mejorar.
+     * La contraseña es la misma, así que la versión de token no cambia.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        CustomUserDetails cuenta = (CustomUserDetails) user;
+        switch (cuenta.getTipoCuenta()) {
+            case USUARIO -> usuarioRepository.actualizarContrasena(cuenta.getUserId(), newPassword);
+            case DOCTOR -> doctorRepository.actualizarContrasena(cuenta.getUserId(), newPassword);
+            case ADMINISTRADOR -> administradorRepository.actualizarContrasena(cuenta.getUserId(), newPassword);
+        }
+        return cuenta.withPassword(newPassword);
+    }
 }
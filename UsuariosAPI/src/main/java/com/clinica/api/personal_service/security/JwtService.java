@@ -1,10 +1,14 @@
 package com.clinica.api.personal_service.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import javax.crypto.SecretKey;
 import org.springframework.beans.factory.annotation.Value;
@@ -14,15 +18,34 @@ import org.springframework.stereotype.Service;
 @Service
 public class JwtService {
 
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 no disponible", ex);
+        }
+    });
+
+    // Huella SHA-256 del token: la caché no retiene los tokens (credenciales) en memoria.
+    private record Huella(long a, long b, long c, long d) {
+    }
+
     private final SecretKey secretKey;
     private final long expirationMs;
+    // JwtParser es inmutable y thread-safe: se construye una vez en vez de en cada request.
+    private final JwtParser parser;
+    // Tokens ya verificados; cada entrada vive hasta la expiración de su token.
+    private final LruCache<Huella, CustomUserDetails> verificados;
 
     public JwtService(
         @Value("${jwt.secret}") String secret,
-        @Value("${jwt.expiration-ms}") long expirationMs
+        @Value("${jwt.expiration-ms}") long expirationMs,
+        @Value("${jwt.verified-cache.max-entries:10000}") int verifiedCacheMaxEntries
     ) {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.expirationMs = expirationMs;
+        this.parser = Jwts.parserBuilder().setSigningKey(secretKey).build();
+        this.verificados = new LruCache<>(verifiedCacheMaxEntries, expirationMs);
     }
 
     public String generateToken(CustomUserDetails userDetails) {
@@ -33,12 +56,33 @@ public class JwtService {
             .claim("role", userDetails.getRoleName())
             .claim("userId", userDetails.getUserId())
             .claim("doctorId", userDetails.getDoctorId())
+            .claim("accountType", userDetails.getTipoCuenta().name())
+            .claim("tokenVersion", userDetails.getTokenVersion())
             .setIssuedAt(now)
             .setExpiration(expiryDate)
             .signWith(secretKey, SignatureAlgorithm.HS256)
             .compact();
     }
 
+    /**
+     * Verifica firma y expiración en un único parseo y arma el principal desde los claims. Un token ya verificado
+     * se resuelve desde la caché sin HMAC ni parseo JSON; los tokens inválidos nunca se guardan.
+     * Lanza {@link io.jsonwebtoken.JwtException} si el token es inválido o expiró.
+     */
+    public CustomUserDetails parsePrincipal(String token) {
+        Huella huella = huella(token);
+        CustomUserDetails principal = verificados.get(huella);
+        if (principal != null) {
+            return principal;
+        }
+        Claims claims = extractAllClaims(token);
+        principal = CustomUserDetails.fromClaims(claims);
+        if (claims.getExpiration() != null) {
+            verificados.put(huella, principal, claims.getExpiration().getTime() - System.currentTimeMillis());
+        }
+        return principal;
+    }
+
     public boolean isTokenValid(String token, UserDetails userDetails) {
         String username = extractUsername(token);
         return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
@@ -53,11 +97,16 @@ public class JwtService {
     }
 
     public Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-            .setSigningKey(secretKey)
-            .build()
-            .parseClaimsJws(token)
-            .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    private static Huella huella(String token) {
+        if (token == null) {
+            throw new IllegalArgumentException("Token requerido");
+        }
+        MessageDigest digest = SHA256.get();
+        ByteBuffer hash = ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        return new Huella(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
     }
 
     private boolean isTokenExpired(String token) {
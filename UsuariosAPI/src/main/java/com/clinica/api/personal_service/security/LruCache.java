@@ -0,0 +1,63 @@
+package com.clinica.api.personal_service.security;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Mapa acotado en orden de acceso con expiración por entrada: al superar {@code maxEntries} se descarta
+ * la entrada usada hace más tiempo. Las operaciones son O(1) bajo un único monitor (secciones de pocas
+ * decenas de nanosegundos, frente a los microsegundos de lo que se evita recalcular).
+ */
+final class LruCache<K, V> {
+
+    private record Entrada<V>(V valor, long expiraNanos) {
+    }
+
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entrada<V>> entradas;
+
+    LruCache(int maxEntries, long ttlMs) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries debe ser positivo");
+        }
+        this.ttlNanos = ttlMs * 1_000_000L;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entrada<V>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    synchronized V get(K clave) {
+        Entrada<V> entrada = entradas.get(clave);
+        if (entrada == null) {
+            return null;
+        }
+        if (System.nanoTime() - entrada.expiraNanos() >= 0) {
+            entradas.remove(clave);
+            return null;
+        }
+        return entrada.valor();
+    }
+
+    synchronized void put(K clave, V valor) {
+        entradas.put(clave, new Entrada<>(valor, System.nanoTime() + ttlNanos));
+    }
+
+    /** Guarda con una vida propia, acotada por el TTL de la caché; no guarda nada si ya expiró. */
+    synchronized void put(K clave, V valor, long ttlMs) {
+        long vida = Math.min(ttlMs * 1_000_000L, ttlNanos);
+        if (vida > 0) {
+            entradas.put(clave, new Entrada<>(valor, System.nanoTime() + vida));
+        }
+    }
+
+    synchronized void remove(K clave) {
+        entradas.remove(clave);
+    }
+
+    synchronized int size() {
+        return entradas.size();
+    }
+}
@@ -0,0 +1,86 @@
+package com.clinica.api.personal_service.security;
+
+import com.clinica.api.personal_service.exception.PasswordHashingBusyException;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pool acotado para el trabajo de CPU del hash adaptativo: verificar y rehashear en el login, y hashear las
+ * contraseñas nuevas al crear cuentas o cambiarlas. Se usa a través de {@link PooledPasswordEncoder}.
+ * <p>
+ * Con {@code hilos} ocupados y la cola llena, {@link #ejecutar} falla de inmediato con
+ * {@link PasswordHashingBusyException} en vez de encolar más: una ráfaga de hashing no consume todos los hilos
+ * de Tomcat ni la CPU del resto de los endpoints.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+
+    public PasswordHashingExecutor(
+        @Value("${security.password.hashing.threads:0}") int hilos,
+        @Value("${security.password.hashing.queue-capacity:32}") int capacidadCola
+    ) {
+        int tamano = hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors();
+        AtomicInteger secuencia = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            tamano,
+            tamano,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(capacidadCola),
+            tarea -> {
+                Thread hilo = new Thread(tarea, "password-hashing-" + secuencia.incrementAndGet());
+                hilo.setDaemon(true);
+                return hilo;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * Ejecuta la tarea en el pool y espera su resultado; las excepciones de la tarea se relanzan tal cual.
+     */
+    public <T> T ejecutar(Callable<T> tarea) {
+        Future<T> futuro;
+        try {
+            futuro = executor.submit(tarea);
+        } catch (RejectedExecutionException ex) {
+            throw new PasswordHashingBusyException();
+        }
+        try {
+            return futuro.get();
+        } catch (InterruptedException ex) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Hashing de contraseña interrumpido", ex);
+        } catch (ExecutionException ex) {
+            Throwable causa = ex.getCause();
+            if (causa instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (causa instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Error al verificar la contraseña", causa);
+        }
+    }
+
+    int enCola() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,37 @@
+package com.clinica.api.personal_service.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Ejecuta {@code encode} y {@code matches} del encoder real en {@link PasswordHashingExecutor}.
+ * <p>
+ * Es el {@link PasswordEncoder} que ven el login y los servicios que crean o cambian contraseñas, de modo que
+ * todo el trabajo de bcrypt queda acotado por el mismo pool. Solo se envía el cálculo del hash: la búsqueda de
+ * la cuenta y el guardado corren en el hilo de la petición, sin ocupar hilos de hashing esperando a la base.
+ */
+public class PooledPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegado;
+    private final PasswordHashingExecutor executor;
+
+    public PooledPasswordEncoder(PasswordEncoder delegado, PasswordHashingExecutor executor) {
+        this.delegado = delegado;
+        this.executor = executor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executor.ejecutar(() -> delegado.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executor.ejecutar(() -> delegado.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Solo lee el prefijo y el costo del hash guardado; no hace falta pasar por el pool.
+        return delegado.upgradeEncoding(encodedPassword);
+    }
+}
@@ -1,5 +1,7 @@
 package com.clinica.api.personal_service.security;
 
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -8,12 +10,16 @@ import org.springframework.security.authentication.dao.DaoAuthenticationProvider
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
 @Configuration
 public class SecurityConfig {
 
+    private static final String BCRYPT_ID = "bcrypt";
+
     private final CustomUserDetailsService userDetailsService;
 
     public SecurityConfig(CustomUserDetailsService userDetailsService) {
@@ -33,22 +39,40 @@ public class SecurityConfig {
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
-        provider.setPasswordEncoder(passwordEncoder());
+        provider.setPasswordEncoder(passwordEncoder);
         provider.setUserDetailsService(userDetailsService);
+        // Tras un login exitoso con un hash legado o de menor costo, guarda el hash nuevo.
+        provider.setUserDetailsPasswordService(userDetailsService);
         return provider;
     }
 
     @Bean
-    public AuthenticationManager authenticationManager(HttpSecurity http) throws Exception {
+    public AuthenticationManager authenticationManager(
+        HttpSecurity http,
+        AuthenticationProvider authenticationProvider
+    ) throws Exception {
         AuthenticationManagerBuilder builder = http.getSharedObject(AuthenticationManagerBuilder.class);
-        builder.authenticationProvider(authenticationProvider());
+        builder.authenticationProvider(authenticationProvider);
         return builder.build();
     }
 
+    /**
+     * Hashes nuevos con bcrypt ({@code {bcrypt}...}); los SHA-256 sin prefijo se siguen verificando y se
+     * reemplazan en el siguiente login exitoso, igual que los bcrypt de un costo menor al configurado.
+     * El cálculo corre en {@link PasswordHashingExecutor}; saturado lanza PasswordHashingBusyException (429).
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new Sha256PasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+        @Value("${security.password.bcrypt-strength:10}") int bcryptStrength,
+        PasswordHashingExecutor passwordHashingExecutor
+    ) {
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(
+            BCRYPT_ID,
+            Map.of(BCRYPT_ID, new BCryptPasswordEncoder(bcryptStrength))
+        );
+        encoder.setDefaultPasswordEncoderForMatches(new Sha256PasswordEncoder());
+        return new PooledPasswordEncoder(encoder, passwordHashingExecutor);
     }
 }
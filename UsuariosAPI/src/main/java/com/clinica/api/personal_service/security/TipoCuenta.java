@@ -0,0 +1,8 @@
+package com.clinica.api.personal_service.security;
+
+/**
+ * Tabla de la que proviene la cuenta autenticada; viaja en el JWT para validar la versión del token sin buscar por correo.
+ */
+public enum TipoCuenta {
+    USUARIO, DOCTOR, ADMINISTRADOR
+}
@@ -0,0 +1,80 @@
+package com.clinica.api.personal_service.security;
+
+import com.clinica.api.personal_service.cache.Invalidaciones;
+import com.clinica.api.personal_service.repository.AdministradorRepository;
+import com.clinica.api.personal_service.repository.DoctorRepository;
+import com.clinica.api.personal_service.repository.UsuarioRepository;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Versión de token vigente por cuenta, para revocar JWT sin consultar la base en cada request.
+ * <p>
+ * Un token vale mientras su claim {@code tokenVersion} coincida con la versión de la cuenta. Los servicios
+ * incrementan la versión al cambiar correo, contraseña, rol o estado y llaman a {@link #invalidar}; las demás
+ * instancias ven el cambio cuando expira la entrada ({@code jwt.version-cache.ttl-ms}). Una cuenta eliminada o
+ * inactiva se guarda como {@link #REVOCADA}.
+ */
+@Component
+public class TokenVersionCache {
+
+    static final long REVOCADA = -1L;
+
+    private record Clave(TipoCuenta tipo, Long id) {
+    }
+
+    private final UsuarioRepository usuarioRepository;
+    private final DoctorRepository doctorRepository;
+    private final AdministradorRepository administradorRepository;
+    private final LruCache<Clave, Long> versiones;
+    private final Invalidaciones invalidaciones = new Invalidaciones();
+
+    public TokenVersionCache(
+        UsuarioRepository usuarioRepository,
+        DoctorRepository doctorRepository,
+        AdministradorRepository administradorRepository,
+        @Value("${jwt.version-cache.max-entries:10000}") int maxEntries,
+        @Value("${jwt.version-cache.ttl-ms:60000}") long ttlMs
+    ) {
+        this.usuarioRepository = usuarioRepository;
+        this.doctorRepository = doctorRepository;
+        this.administradorRepository = administradorRepository;
+        this.versiones = new LruCache<>(maxEntries, ttlMs);
+    }
+
+    public boolean esVigente(TipoCuenta tipo, Long id, long versionToken) {
+        if (tipo == null || id == null) {
+            return false;
+        }
+        Clave clave = new Clave(tipo, id);
+        Long version = versiones.get(clave);
+        if (version == null) {
+            long generacion = invalidaciones.generacion();
+            version = cargar(tipo, id).orElse(REVOCADA);
+            if (invalidaciones.sinCambiosDesde(generacion)) {
+                versiones.put(clave, version);
+            }
+        }
+        return version != REVOCADA && version == versionToken;
+    }
+
+    /** Descarta la versión guardada de la cuenta. */
+    public void invalidar(TipoCuenta tipo, Long id) {
+        Clave clave = new Clave(tipo, id);
+        invalidaciones.invalidar(() -> versiones.remove(clave));
+    }
+
+    /** Versión siguiente a la actual, tratando null (filas anteriores a la columna) como 0. */
+    public static long siguiente(Long versionActual) {
+        return (versionActual != null ? versionActual : 0L) + 1;
+    }
+
+    private Optional<Long> cargar(TipoCuenta tipo, Long id) {
+        return switch (tipo) {
+            case USUARIO -> usuarioRepository.findTokenVersionById(id);
+            case DOCTOR -> doctorRepository.findTokenVersionByIdAndActivoTrue(id);
+            case ADMINISTRADOR -> administradorRepository.findTokenVersionByIdAndActivoTrue(id);
+        };
+    }
+}
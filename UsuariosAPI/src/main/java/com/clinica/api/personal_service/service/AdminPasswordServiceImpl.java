@@ -4,6 +4,8 @@ import com.clinica.api.personal_service.exception.InvalidNewPasswordException;
 import com.clinica.api.personal_service.exception.WrongCurrentPasswordException;
 import com.clinica.api.personal_service.model.Administrador;
 import com.clinica.api.personal_service.repository.AdministradorRepository;
+import com.clinica.api.personal_service.security.TipoCuenta;
+import com.clinica.api.personal_service.security.TokenVersionCache;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import java.util.Objects;
@@ -16,13 +18,16 @@ public class AdminPasswordServiceImpl implements AdminPasswordService {
 
     private final AdministradorRepository administradorRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenVersionCache tokenVersionCache;
 
     public AdminPasswordServiceImpl(
         AdministradorRepository administradorRepository,
-        PasswordEncoder passwordEncoder
+        PasswordEncoder passwordEncoder,
+        TokenVersionCache tokenVersionCache
     ) {
         this.administradorRepository = administradorRepository;
         this.passwordEncoder = passwordEncoder;
+        this.tokenVersionCache = tokenVersionCache;
     }
 
     @Override
@@ -38,7 +43,10 @@ public class AdminPasswordServiceImpl implements AdminPasswordService {
 
         validateNewPassword(newPassword);
         admin.setContrasena(passwordEncoder.encode(newPassword));
+        // Los tokens emitidos con la contraseña anterior dejan de ser válidos.
+        admin.setTokenVersion(TokenVersionCache.siguiente(admin.getTokenVersion()));
         administradorRepository.save(admin);
+        tokenVersionCache.invalidar(TipoCuenta.ADMINISTRADOR, adminId);
     }
 
     private void validateNewPassword(String password) {
@@ -4,14 +4,16 @@ import com.clinica.api.personal_service.dto.AdministradorDto;
 import com.clinica.api.personal_service.dto.AdministradorUpdateRequestDto;
 import com.clinica.api.personal_service.model.Administrador;
 import com.clinica.api.personal_service.repository.AdministradorRepository;
+import com.clinica.api.personal_service.security.TipoCuenta;
+import com.clinica.api.personal_service.security.TokenVersionCache;
+import com.clinica.api.personal_service.storage.FotoPerfil;
+import com.clinica.api.personal_service.storage.FotoPerfilStorage;
+import com.clinica.api.personal_service.storage.FotoPerfilVariantes;
+import com.clinica.api.personal_service.storage.TamanoFoto;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
-import java.io.IOException;
-import java.sql.Blob;
-import java.sql.SQLException;
 import java.util.Objects;
 import java.util.Optional;
-import javax.sql.rowset.serial.SerialBlob;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -20,39 +22,36 @@ import org.springframework.web.multipart.MultipartFile;
 public class AdministradorService {
 
     private final AdministradorRepository administradorRepository;
+    private final TokenVersionCache tokenVersionCache;
+    private final FotoPerfilStorage fotoPerfilStorage;
+    private final FotoPerfilVariantes fotoPerfilVariantes;
 
-    public AdministradorService(AdministradorRepository administradorRepository) {
+    public AdministradorService(
+        AdministradorRepository administradorRepository,
+        TokenVersionCache tokenVersionCache,
+        FotoPerfilStorage fotoPerfilStorage,
+        FotoPerfilVariantes fotoPerfilVariantes
+    ) {
         this.administradorRepository = administradorRepository;
+        this.tokenVersionCache = tokenVersionCache;
+        this.fotoPerfilStorage = fotoPerfilStorage;
+        this.fotoPerfilVariantes = fotoPerfilVariantes;
     }
 
     public void actualizarFotoPerfilAdmin(Long id, MultipartFile file) {
         Administrador administrador = findActiveAdministrador(id);
         validateImageFile(file);
-        try {
-            administrador.setFotoPerfil(new SerialBlob(file.getBytes()));
-        } catch (IOException ex) {
-            throw new IllegalStateException("Error al leer el archivo de imagen", ex);
-        } catch (SQLException ex) {
-            throw new IllegalStateException("Error al almacenar la foto de perfil", ex);
-        }
+        fotoPerfilVariantes.validarDimensiones(file);
+        String hash = fotoPerfilStorage.guardar(file);
+        administrador.setFotoPerfilHash(hash);
         administradorRepository.save(administrador);
+        fotoPerfilVariantes.generarEnSegundoPlano(hash);
     }
 
-    public byte[] obtenerFotoPerfilAdmin(Long id) {
+    public FotoPerfil obtenerFotoPerfilAdmin(Long id, TamanoFoto tamano) {
         Administrador administrador = findActiveAdministrador(id);
-        Blob foto = administrador.getFotoPerfil();
-        if (foto == null) {
-            throw new EntityNotFoundException("Foto de perfil del administrador no encontrada");
-        }
-        try {
-            long length = foto.length();
-            if (length == 0) {
-                throw new EntityNotFoundException("Foto de perfil del administrador no encontrada");
-            }
-            return foto.getBytes(1, Math.toIntExact(length));
-        } catch (SQLException | ArithmeticException ex) {
-            throw new IllegalStateException("Error al leer la foto de perfil almacenada", ex);
-        }
+        return fotoPerfilVariantes.obtener(administrador.getFotoPerfilHash(), tamano)
+            .orElseThrow(() -> new EntityNotFoundException("Foto de perfil del administrador no encontrada"));
     }
 
     public Optional<AdministradorDto> findByIdDto(Long id) {
@@ -62,7 +61,14 @@ public class AdministradorService {
     public AdministradorDto update(Long id, AdministradorUpdateRequestDto request) {
         Administrador administrador = findActiveAdministrador(id);
         Objects.requireNonNull(request, "Request de actualización no puede ser nulo");
+        String correoAnterior = administrador.getCorreo();
+        Boolean activoAnterior = administrador.getActivo();
         applyUpdates(administrador, request);
+        if (!Objects.equals(correoAnterior, administrador.getCorreo())
+            || !Objects.equals(activoAnterior, administrador.getActivo())) {
+            administrador.setTokenVersion(TokenVersionCache.siguiente(administrador.getTokenVersion()));
+            tokenVersionCache.invalidar(TipoCuenta.ADMINISTRADOR, administrador.getId());
+        }
         Administrador actualizado = administradorRepository.save(administrador);
         return mapToDto(actualizado);
     }
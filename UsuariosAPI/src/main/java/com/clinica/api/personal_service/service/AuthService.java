@@ -4,14 +4,14 @@ import com.clinica.api.personal_service.dto.LoginRequest;
 import com.clinica.api.personal_service.dto.LoginResponse;
 import com.clinica.api.personal_service.security.CustomUserDetails;
 import com.clinica.api.personal_service.security.JwtService;
-import jakarta.transaction.Transactional;
 import java.util.Objects;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.stereotype.Service;
 
+// Sin @Transactional: la espera por el pool de hashing (PooledPasswordEncoder) no debe retener una conexión;
+// el rehash abre la suya.
 @Service
-@Transactional
 public class AuthService {
 
     private final AuthenticationManager authenticationManager;
@@ -28,6 +28,8 @@ public class AuthService {
             safeRequest.getCorreo(),
             safeRequest.getContrasena()
         );
+        // La búsqueda de la cuenta corre en este hilo; solo la verificación y el rehash pasan por el pool acotado
+        // del PasswordEncoder, que saturado lanza PasswordHashingBusyException.
         CustomUserDetails principal = (CustomUserDetails) authenticationManager.authenticate(authRequest).getPrincipal();
         String token = jwtService.generateToken(principal);
 
@@ -0,0 +1,109 @@
+package com.clinica.api.personal_service.service;
+
+import com.clinica.api.personal_service.cache.Instantanea;
+import com.clinica.api.personal_service.model.Especialidad;
+import com.clinica.api.personal_service.repository.DoctorRepository;
+import com.clinica.api.personal_service.repository.EspecialidadDoctor;
+import com.clinica.api.personal_service.repository.EspecialidadRepository;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Catálogo de especialidades en memoria con los ids de los doctores activos de cada una.
+ * <p>
+ * Es una {@link Instantanea} que se arma con dos consultas y vence tras {@code especialidades.catalogo.ttl-ms};
+ * mientras está vigente las pantallas de especialidades no tocan la base. Las especialidades se entregan como
+ * copias, así que mutarlas no afecta al caché.
+ */
+@Component
+public class CatalogoEspecialidades {
+
+    private record Catalogo(
+        Map<Long, Especialidad> especialidades,
+        Map<Long, List<Long>> doctoresPorEspecialidad,
+        // Un doctor activo sin especialidad queda con valor null.
+        Map<Long, Long> especialidadPorDoctor
+    ) {
+    }
+
+    private final EspecialidadRepository especialidadRepository;
+    private final DoctorRepository doctorRepository;
+    private final Instantanea<Catalogo> catalogo;
+
+    public CatalogoEspecialidades(
+        EspecialidadRepository especialidadRepository,
+        DoctorRepository doctorRepository,
+        @Value("${especialidades.catalogo.ttl-ms:60000}") long ttlMs
+    ) {
+        this.especialidadRepository = especialidadRepository;
+        this.doctorRepository = doctorRepository;
+        this.catalogo = new Instantanea<>(this::cargar, ttlMs);
+    }
+
+    public List<Especialidad> especialidades() {
+        return catalogo.obtener().especialidades().values().stream()
+            .map(CatalogoEspecialidades::copia)
+            .toList();
+    }
+
+    public Optional<Especialidad> especialidad(Long id) {
+        return Optional.ofNullable(catalogo.obtener().especialidades().get(id)).map(CatalogoEspecialidades::copia);
+    }
+
+    /** Ids de los doctores activos de la especialidad, en orden de id; vacía si no hay o no existe. */
+    public List<Long> doctoresActivos(Long idEspecialidad) {
+        return catalogo.obtener().doctoresPorEspecialidad().getOrDefault(idEspecialidad, List.of());
+    }
+
+    public boolean doctorActivo(Long idDoctor) {
+        return catalogo.obtener().especialidadPorDoctor().containsKey(idDoctor);
+    }
+
+    public Optional<Especialidad> especialidadDeDoctor(Long idDoctor) {
+        Catalogo actual = catalogo.obtener();
+        Long idEspecialidad = actual.especialidadPorDoctor().get(idDoctor);
+        return Optional.ofNullable(idEspecialidad != null ? actual.especialidades().get(idEspecialidad) : null)
+            .map(CatalogoEspecialidades::copia);
+    }
+
+    /** Descarta el catálogo tras un cambio de especialidades o doctores. */
+    public void invalidar() {
+        catalogo.invalidar();
+    }
+
+    private Catalogo cargar() {
+        Map<Long, Especialidad> especialidades = new LinkedHashMap<>();
+        for (Especialidad especialidad : especialidadRepository.findAll()) {
+            especialidades.put(especialidad.getId(), copia(especialidad));
+        }
+        Map<Long, List<Long>> doctoresPorEspecialidad = new HashMap<>();
+        Map<Long, Long> especialidadPorDoctor = new HashMap<>();
+        for (EspecialidadDoctor fila : doctorRepository.findEspecialidadesDeDoctoresActivos()) {
+            especialidadPorDoctor.put(fila.getIdDoctor(), fila.getIdEspecialidad());
+            if (fila.getIdEspecialidad() != null) {
+                doctoresPorEspecialidad.computeIfAbsent(fila.getIdEspecialidad(), id -> new ArrayList<>())
+                    .add(fila.getIdDoctor());
+            }
+        }
+        doctoresPorEspecialidad.replaceAll((id, doctores) -> List.copyOf(doctores));
+        return new Catalogo(
+            Collections.unmodifiableMap(especialidades),
+            Map.copyOf(doctoresPorEspecialidad),
+            Collections.unmodifiableMap(especialidadPorDoctor)
+        );
+    }
+
+    private static Especialidad copia(Especialidad especialidad) {
+        Especialidad copia = new Especialidad();
+        copia.setId(especialidad.getId());
+        copia.setNombre(especialidad.getNombre());
+        return copia;
+    }
+}
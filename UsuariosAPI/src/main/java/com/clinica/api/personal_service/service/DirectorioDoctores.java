@@ -0,0 +1,177 @@
+package com.clinica.api.personal_service.service;
+
+import com.clinica.api.personal_service.cache.Instantanea;
+import com.clinica.api.personal_service.dto.DoctorDirectorioItem;
+import com.clinica.api.personal_service.dto.DoctorDirectorioPage;
+import com.clinica.api.personal_service.model.Doctor;
+import com.clinica.api.personal_service.repository.DoctorRepository;
+import com.clinica.api.personal_service.storage.FotoPerfilPorDefecto;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Directorio de doctores activos con búsqueda por prefijo de nombre/apellido y filtro por especialidad.
+ * <p>
+ * Se atiende desde un índice en memoria: las palabras normalizadas (sin tildes, en minúsculas) de nombre y
+ * apellido van ordenadas en un arreglo, así que un prefijo es una búsqueda binaria más un recorrido contiguo.
+ * El índice es una {@link Instantanea} que se arma con una sola consulta y vence tras
+ * {@code doctores.directorio.ttl-ms}.
+ */
+@Component
+public class DirectorioDoctores {
+
+    static final int MAX_SIZE = 100;
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final DoctorRepository doctorRepository;
+    private final FotoPerfilPorDefecto fotoPerfilPorDefecto;
+    private final Instantanea<Indice> indice;
+
+    public DirectorioDoctores(
+        DoctorRepository doctorRepository,
+        FotoPerfilPorDefecto fotoPerfilPorDefecto,
+        @Value("${doctores.directorio.ttl-ms:60000}") long ttlMs
+    ) {
+        this.doctorRepository = doctorRepository;
+        this.fotoPerfilPorDefecto = fotoPerfilPorDefecto;
+        this.indice = new Instantanea<>(this::construirIndice, ttlMs);
+    }
+
+    public DoctorDirectorioPage buscar(String q, Long idEspecialidad, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Parámetros de paginación inválidos");
+        }
+        return indice.obtener().buscar(q, idEspecialidad, page, size);
+    }
+
+    /** Descarta el índice tras un cambio de doctores o especialidades. */
+    public void invalidar() {
+        indice.invalidar();
+    }
+
+    private Indice construirIndice() {
+        return Indice.construir(doctorRepository.findByActivoTrue().stream()
+            .map(this::toItem)
+            .toList());
+    }
+
+    private DoctorDirectorioItem toItem(Doctor doctor) {
+        String version = doctor.getFotoPerfilHash() != null
+            ? doctor.getFotoPerfilHash()
+            : fotoPerfilPorDefecto.getHash();
+        Long idEspecialidad = doctor.getEspecialidad() != null ? doctor.getEspecialidad().getId() : null;
+        String especialidad = doctor.getEspecialidad() != null ? doctor.getEspecialidad().getNombre() : null;
+        return new DoctorDirectorioItem(doctor.getId(), doctor.getNombre(), doctor.getApellido(),
+            idEspecialidad, especialidad, doctor.getTarifaConsulta(), version);
+    }
+
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String sinMarcas = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return sinMarcas.toLowerCase(Locale.ROOT);
+    }
+
+    static List<String> palabras(String texto) {
+        List<String> palabras = new ArrayList<>();
+        for (String palabra : SEPARADORES.split(normalizar(texto))) {
+            if (!palabra.isEmpty()) {
+                palabras.add(palabra);
+            }
+        }
+        return palabras;
+    }
+
+    /** Foto inmutable del directorio; se reemplaza completa en cada reconstrucción. */
+    static final class Indice {
+
+        private final DoctorDirectorioItem[] doctores;
+        // Palabras ordenadas y, en paralelo, la posición en doctores del dueño de cada una.
+        private final String[] claves;
+        private final int[] posiciones;
+
+        private Indice(DoctorDirectorioItem[] doctores, String[] claves, int[] posiciones) {
+            this.doctores = doctores;
+            this.claves = claves;
+            this.posiciones = posiciones;
+        }
+
+        static Indice construir(List<DoctorDirectorioItem> items) {
+            // Apellido y nombre se normalizan una vez por doctor y no en cada comparación del orden.
+            record Orden(String apellido, String nombre, DoctorDirectorioItem doctor) {
+            }
+            record Clave(String palabra, int posicion) {
+            }
+            DoctorDirectorioItem[] doctores = items.stream()
+                .map(d -> new Orden(normalizar(d.getApellido()), normalizar(d.getNombre()), d))
+                .sorted(Comparator.comparing(Orden::apellido)
+                    .thenComparing(Orden::nombre)
+                    .thenComparing(o -> o.doctor().getIdDoctor(), Comparator.nullsLast(Comparator.naturalOrder())))
+                .map(Orden::doctor)
+                .toArray(DoctorDirectorioItem[]::new);
+            List<Clave> claves = new ArrayList<>();
+            for (int i = 0; i < doctores.length; i++) {
+                for (String palabra : palabras(doctores[i].getNombre())) {
+                    claves.add(new Clave(palabra, i));
+                }
+                for (String palabra : palabras(doctores[i].getApellido())) {
+                    claves.add(new Clave(palabra, i));
+                }
+            }
+            claves.sort(Comparator.comparing(Clave::palabra).thenComparingInt(Clave::posicion));
+            String[] palabrasOrdenadas = new String[claves.size()];
+            int[] posiciones = new int[claves.size()];
+            for (int i = 0; i < claves.size(); i++) {
+                palabrasOrdenadas[i] = claves.get(i).palabra();
+                posiciones[i] = claves.get(i).posicion();
+            }
+            return new Indice(doctores, palabrasOrdenadas, posiciones);
+        }
+
+        // Cada palabra de la consulta debe ser prefijo de alguna palabra del doctor.
+        DoctorDirectorioPage buscar(String q, Long idEspecialidad, int page, int size) {
+            BitSet candidatos = new BitSet(doctores.length);
+            candidatos.set(0, doctores.length);
+            for (String prefijo : palabras(q)) {
+                BitSet coincidencias = new BitSet(doctores.length);
+                int desde = Arrays.binarySearch(claves, prefijo);
+                if (desde < 0) {
+                    desde = -desde - 1;
+                }
+                for (int i = desde; i < claves.length && claves[i].startsWith(prefijo); i++) {
+                    coincidencias.set(posiciones[i]);
+                }
+                candidatos.and(coincidencias);
+                if (candidatos.isEmpty()) {
+                    break;
+                }
+            }
+            long inicio = (long) page * size;
+            List<DoctorDirectorioItem> pagina = new ArrayList<>(size);
+            int total = 0;
+            for (int i = candidatos.nextSetBit(0); i >= 0; i = candidatos.nextSetBit(i + 1)) {
+                DoctorDirectorioItem doctor = doctores[i];
+                if (idEspecialidad != null && !Objects.equals(idEspecialidad, doctor.getIdEspecialidad())) {
+                    continue;
+                }
+                if (total >= inicio && pagina.size() < size) {
+                    pagina.add(doctor);
+                }
+                total++;
+            }
+            return new DoctorDirectorioPage(page, size, total, pagina);
+        }
+    }
+}
@@ -16,19 +16,28 @@ public class EspecialidadService {
 
     private final EspecialidadRepository especialidadRepository;
     private final DoctorRepository doctorRepository;
+    private final DirectorioDoctores directorioDoctores;
+    private final CatalogoEspecialidades catalogoEspecialidades;
 
     public EspecialidadService(
         EspecialidadRepository especialidadRepository,
-        DoctorRepository doctorRepository
+        DoctorRepository doctorRepository,
+        DirectorioDoctores directorioDoctores,
+        CatalogoEspecialidades catalogoEspecialidades
     ) {
         this.especialidadRepository = especialidadRepository;
         this.doctorRepository = doctorRepository;
+        this.directorioDoctores = directorioDoctores;
+        this.catalogoEspecialidades = catalogoEspecialidades;
     }
 
+    // Las lecturas salen del catálogo en memoria; SUPPORTS evita abrir una transacción (y tomar conexión) por ellas.
+    @Transactional(Transactional.TxType.SUPPORTS)
     public List<Especialidad> findByDoctorId(Long doctorId) {
-        Doctor doctor = findDoctor(doctorId);
-        Especialidad especialidad = doctor.getEspecialidad();
-        return especialidad != null ? List.of(especialidad) : List.of();
+        if (!catalogoEspecialidades.doctorActivo(doctorId)) {
+            throw new EntityNotFoundException("Doctor no encontrado");
+        }
+        return catalogoEspecialidades.especialidadDeDoctor(doctorId).map(List::of).orElse(List.of());
     }
 
     public Especialidad createForDoctor(Long doctorId, String nombreEspecialidad) {
@@ -43,20 +52,24 @@ public class EspecialidadService {
             });
         doctor.setEspecialidad(especialidad);
         doctorRepository.save(doctor);
+        directorioDoctores.invalidar();
+        catalogoEspecialidades.invalidar();
         return especialidad;
     }
 
+    @Transactional(Transactional.TxType.SUPPORTS)
     public List<Especialidad> findAll() {
-        return especialidadRepository.findAll();
+        return catalogoEspecialidades.especialidades();
     }
 
+    @Transactional(Transactional.TxType.SUPPORTS)
     public Especialidad findById(Long id) {
-        return especialidadRepository.findById(id)
+        return catalogoEspecialidades.especialidad(id)
             .orElseThrow(() -> new EntityNotFoundException("Especialidad no encontrada"));
     }
 
     public Especialidad update(Long id, String nombre, Long doctorId) {
-        Especialidad especialidad = findById(id);
+        Especialidad especialidad = findEntidad(id);
         if (nombre != null && !nombre.isBlank()) {
             especialidad.setNombre(nombre.trim());
         }
@@ -65,16 +78,26 @@ public class EspecialidadService {
             doctor.setEspecialidad(especialidad);
             doctorRepository.save(doctor);
         }
+        // El directorio muestra el nombre de la especialidad, así que también cambia con un renombre.
+        directorioDoctores.invalidar();
+        catalogoEspecialidades.invalidar();
         return especialidadRepository.save(especialidad);
     }
 
     public void delete(Long id) {
-        Especialidad especialidad = findById(id);
+        Especialidad especialidad = findEntidad(id);
         List<Doctor> asignados = doctorRepository.findByEspecialidadAndActivoTrue(especialidad);
         if (!asignados.isEmpty()) {
             throw new IllegalStateException("La especialidad tiene doctores asociados");
         }
         especialidadRepository.delete(especialidad);
+        catalogoEspecialidades.invalidar();
+    }
+
+    // Las escrituras trabajan sobre la entidad administrada, no sobre la copia del catálogo.
+    private Especialidad findEntidad(Long id) {
+        return especialidadRepository.findById(id)
+            .orElseThrow(() -> new EntityNotFoundException("Especialidad no encontrada"));
     }
 
     private Doctor findDoctor(Long doctorId) {
@@ -82,8 +105,9 @@ public class EspecialidadService {
             .orElseThrow(() -> new EntityNotFoundException("Doctor no encontrado"));
     }
 
-    public List<Doctor> findDoctoresPorEspecialidad(Long especialidadId) {
-        Especialidad especialidad = findById(especialidadId);
-        return doctorRepository.findByEspecialidadAndActivoTrue(especialidad);
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public List<Long> findDoctorIdsPorEspecialidad(Long especialidadId) {
+        findById(especialidadId);
+        return catalogoEspecialidades.doctoresActivos(especialidadId);
     }
 }
@@ -8,17 +8,19 @@ import com.clinica.api.personal_service.model.Rol;
 import com.clinica.api.personal_service.repository.DoctorRepository;
 import com.clinica.api.personal_service.repository.EspecialidadRepository;
 import com.clinica.api.personal_service.repository.RolRepository;
+import com.clinica.api.personal_service.security.TipoCuenta;
+import com.clinica.api.personal_service.security.TokenVersionCache;
+import com.clinica.api.personal_service.storage.FotoPerfil;
+import com.clinica.api.personal_service.storage.FotoPerfilPorDefecto;
+import com.clinica.api.personal_service.storage.FotoPerfilStorage;
+import com.clinica.api.personal_service.storage.FotoPerfilVariantes;
+import com.clinica.api.personal_service.storage.TamanoFoto;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
-import java.io.IOException;
-import java.io.InputStream;
-import java.sql.Blob;
-import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Objects;
-import javax.sql.rowset.serial.SerialBlob;
-import org.springframework.core.io.ClassPathResource;
+import java.util.Optional;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -31,18 +33,35 @@ public class PersonalService {
     private final RolRepository rolRepository;
     private final EspecialidadRepository especialidadRepository;
     private final PasswordEncoder passwordEncoder;
-    private byte[] defaultDoctorAvatar;
+    private final TokenVersionCache tokenVersionCache;
+    private final FotoPerfilStorage fotoPerfilStorage;
+    private final FotoPerfilVariantes fotoPerfilVariantes;
+    private final FotoPerfilPorDefecto fotoPerfilPorDefecto;
+    private final DirectorioDoctores directorioDoctores;
+    private final CatalogoEspecialidades catalogoEspecialidades;
 
     public PersonalService(
         DoctorRepository doctorRepository,
         RolRepository rolRepository,
         EspecialidadRepository especialidadRepository,
-        PasswordEncoder passwordEncoder
+        PasswordEncoder passwordEncoder,
+        TokenVersionCache tokenVersionCache,
+        FotoPerfilStorage fotoPerfilStorage,
+        FotoPerfilVariantes fotoPerfilVariantes,
+        FotoPerfilPorDefecto fotoPerfilPorDefecto,
+        DirectorioDoctores directorioDoctores,
+        CatalogoEspecialidades catalogoEspecialidades
     ) {
         this.doctorRepository = doctorRepository;
         this.rolRepository = rolRepository;
         this.especialidadRepository = especialidadRepository;
         this.passwordEncoder = passwordEncoder;
+        this.tokenVersionCache = tokenVersionCache;
+        this.fotoPerfilStorage = fotoPerfilStorage;
+        this.fotoPerfilVariantes = fotoPerfilVariantes;
+        this.fotoPerfilPorDefecto = fotoPerfilPorDefecto;
+        this.directorioDoctores = directorioDoctores;
+        this.catalogoEspecialidades = catalogoEspecialidades;
     }
 
     // Mapea el DTO con los campos de la tabla Doctores y aplica la lógica de negocio adicional.
@@ -71,7 +90,6 @@ public class PersonalService {
         doctor.setSueldo(request.getSueldo());
         doctor.setBono(request.getBono() != null ? request.getBono() : 0L);
         doctor.setActivo(request.getActivo() != null ? request.getActivo() : true);
-        assignDefaultAvatar(doctor);
         return saveDoctor(doctor);
     }
 
@@ -93,6 +111,9 @@ public class PersonalService {
         Especialidad especialidad = especialidadRepository.findById(request.getIdEspecialidad())
             .orElseThrow(() -> new IllegalArgumentException("Especialidad no encontrada"));
 
+        if (!correo.equals(doctor.getCorreo()) || !Objects.equals(doctor.getActivo(), request.getActivo())) {
+            revocarTokens(doctor);
+        }
         doctor.setNombre(trimValue(request.getNombre()));
         doctor.setApellido(trimValue(request.getApellido()));
         doctor.setFechaNacimiento(requireFechaNacimiento(request.getFechaNacimiento()));
@@ -104,6 +125,8 @@ public class PersonalService {
         doctor.setActivo(request.getActivo());
         doctor.setEspecialidad(especialidad);
         // no cambiamos contraseña ni rol para evitar nulidad
+        directorioDoctores.invalidar();
+        catalogoEspecialidades.invalidar();
         return doctorRepository.save(doctor);
     }
 
@@ -130,43 +153,48 @@ public class PersonalService {
         if (shouldEncode(safeDoctor.getContrasena())) {
             safeDoctor.setContrasena(passwordEncoder.encode(safeDoctor.getContrasena()));
         }
+        directorioDoctores.invalidar();
+        catalogoEspecialidades.invalidar();
         return doctorRepository.save(safeDoctor);
     }
 
     public void deleteDoctorById(Long id) {
         Doctor doctor = findDoctorById(id);
         doctor.setActivo(false);
+        revocarTokens(doctor);
+        directorioDoctores.invalidar();
+        catalogoEspecialidades.invalidar();
         doctorRepository.save(doctor);
     }
 
     public void actualizarFotoPerfilDoctor(Long id, MultipartFile file) {
         Doctor doctor = findDoctorById(id);
         validateImageFile(file);
-        try {
-            doctor.setFotoPerfil(new SerialBlob(file.getBytes()));
-        } catch (IOException ex) {
-            throw new IllegalStateException("Error al leer el archivo de imagen", ex);
-        } catch (SQLException ex) {
-            throw new IllegalStateException("Error al almacenar la foto de perfil", ex);
-        }
+        fotoPerfilVariantes.validarDimensiones(file);
+        String hash = fotoPerfilStorage.guardar(file);
+        doctor.setFotoPerfilHash(hash);
+        directorioDoctores.invalidar();
         doctorRepository.save(doctor);
+        fotoPerfilVariantes.generarEnSegundoPlano(hash);
     }
 
-    public byte[] obtenerFotoPerfilDoctor(Long id) {
+    public FotoPerfil obtenerFotoPerfilDoctor(Long id, TamanoFoto tamano) {
         Doctor doctor = findDoctorById(id);
-        Blob foto = doctor.getFotoPerfil();
-        if (foto == null) {
-            throw new EntityNotFoundException("Foto de perfil del doctor no encontrada");
-        }
-        try {
-            long length = foto.length();
-            if (length == 0) {
-                throw new EntityNotFoundException("Foto de perfil del doctor no encontrada");
-            }
-            return foto.getBytes(1, Math.toIntExact(length));
-        } catch (SQLException | ArithmeticException ex) {
-            throw new IllegalStateException("Error al leer la foto de perfil almacenada", ex);
-        }
+        // Sin foto propia se sirve el avatar compartido desde memoria.
+        Optional<FotoPerfil> foto = doctor.getFotoPerfilHash() == null
+            ? fotoPerfilPorDefecto.obtener(tamano)
+            : fotoPerfilVariantes.obtener(doctor.getFotoPerfilHash(), tamano);
+        return foto.orElseThrow(() -> new EntityNotFoundException("Foto de perfil del doctor no encontrada"));
+    }
+
+    // Valor para ?v= en foto-perfil: el hash de la foto propia o el del avatar compartido.
+    public String versionFotoPerfil(Doctor doctor) {
+        return doctor.getFotoPerfilHash() != null ? doctor.getFotoPerfilHash() : fotoPerfilPorDefecto.getHash();
+    }
+
+    private void revocarTokens(Doctor doctor) {
+        doctor.setTokenVersion(TokenVersionCache.siguiente(doctor.getTokenVersion()));
+        tokenVersionCache.invalidar(TipoCuenta.DOCTOR, doctor.getId());
     }
 
     private LocalDate requireFechaNacimiento(LocalDate fecha) {
@@ -187,50 +215,12 @@ public class PersonalService {
                 .orElseThrow(() -> new IllegalArgumentException("Rol Doctor no configurado")));
     }
 
-    // Carga la imagen static/default_doctor_avatar.png cuando el doctor no tiene foto.
-    private void assignDefaultAvatar(Doctor doctor) {
-        if (doctor.getFotoPerfil() != null) {
-            return;
-        }
-        byte[] avatar = getDefaultDoctorAvatar();
-        if (avatar == null || avatar.length == 0) {
-            return;
-        }
-        try {
-            doctor.setFotoPerfil(new SerialBlob(avatar));
-        } catch (SQLException ex) {
-            throw new IllegalStateException("Error al asignar la foto por defecto", ex);
-        }
-    }
-
-    private byte[] getDefaultDoctorAvatar() {
-        if (defaultDoctorAvatar == null) {
-            synchronized (this) {
-                if (defaultDoctorAvatar == null) {
-                    defaultDoctorAvatar = loadDefaultDoctorAvatar();
-                }
-            }
-        }
-        return defaultDoctorAvatar;
-    }
-
-    private byte[] loadDefaultDoctorAvatar() {
-        ClassPathResource resource = new ClassPathResource("static/default_doctor_avatar.png");
-        if (!resource.exists()) {
-            return null;
-        }
-        try (InputStream is = resource.getInputStream()) {
-            return is.readAllBytes();
-        } catch (IOException ex) {
-            return null;
-        }
-    }
-
     private boolean shouldEncode(String contrasena) {
         if (contrasena == null || contrasena.isBlank()) {
             return false;
         }
-        return !contrasena.matches("^[0-9a-fA-F]{64}$");
+        // Ya viene hasheada: SHA-256 legado (64 hex) o un hash con prefijo del DelegatingPasswordEncoder.
+        return !contrasena.matches("^[0-9a-fA-F]{64}$") && !contrasena.matches("^\\{bcrypt\\}\\$2[aby]?\\$\\d{2}\\$.{53}$");
     }
 
     private void validateImageFile(MultipartFile file) {
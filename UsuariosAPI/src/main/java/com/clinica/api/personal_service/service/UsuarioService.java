@@ -1,18 +1,21 @@
 package com.clinica.api.personal_service.service;
 
 import com.clinica.api.personal_service.dto.UsuarioResponse;
+import com.clinica.api.personal_service.model.Rol;
 import com.clinica.api.personal_service.model.Usuario;
 import com.clinica.api.personal_service.repository.RolRepository;
 import com.clinica.api.personal_service.repository.UsuarioRepository;
+import com.clinica.api.personal_service.security.TipoCuenta;
+import com.clinica.api.personal_service.security.TokenVersionCache;
+import com.clinica.api.personal_service.storage.FotoPerfil;
+import com.clinica.api.personal_service.storage.FotoPerfilStorage;
+import com.clinica.api.personal_service.storage.FotoPerfilVariantes;
+import com.clinica.api.personal_service.storage.TamanoFoto;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
-import java.io.IOException;
-import java.sql.Blob;
-import java.sql.SQLException;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
-import javax.sql.rowset.serial.SerialBlob;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -26,15 +29,24 @@ public class UsuarioService {
     private final UsuarioRepository usuarioRepository;
     private final PasswordEncoder passwordEncoder;
     private final RolRepository rolRepository;
+    private final TokenVersionCache tokenVersionCache;
+    private final FotoPerfilStorage fotoPerfilStorage;
+    private final FotoPerfilVariantes fotoPerfilVariantes;
 
     public UsuarioService(
         UsuarioRepository usuarioRepository,
         PasswordEncoder passwordEncoder,
-        RolRepository rolRepository
+        RolRepository rolRepository,
+        TokenVersionCache tokenVersionCache,
+        FotoPerfilStorage fotoPerfilStorage,
+        FotoPerfilVariantes fotoPerfilVariantes
     ) {
         this.usuarioRepository = usuarioRepository;
         this.passwordEncoder = passwordEncoder;
         this.rolRepository = rolRepository;
+        this.tokenVersionCache = tokenVersionCache;
+        this.fotoPerfilStorage = fotoPerfilStorage;
+        this.fotoPerfilVariantes = fotoPerfilVariantes;
     }
 
     public List<UsuarioResponse> findAllUsuarios() {
@@ -73,6 +85,9 @@ public class UsuarioService {
         ensureNotAdmin(existente);
         Usuario safeChanges = Objects.requireNonNull(changes, "Usuario updates must not be null");
         ensurePayloadNotAdmin(safeChanges);
+        String correoAnterior = existente.getCorreo();
+        String contrasenaAnterior = existente.getContrasena();
+        Rol rolAnterior = existente.getRol();
 
         if (safeChanges.getNombre() != null) existente.setNombre(safeChanges.getNombre());
         if (safeChanges.getApellido() != null) existente.setApellido(safeChanges.getApellido());
@@ -83,6 +98,11 @@ public class UsuarioService {
             existente.setContrasena(passwordEncoder.encode(safeChanges.getContrasena()));
         }
         if (safeChanges.getRol() != null) existente.setRol(safeChanges.getRol());
+        if (!Objects.equals(correoAnterior, existente.getCorreo())
+            || !Objects.equals(contrasenaAnterior, existente.getContrasena())
+            || !mismoRol(rolAnterior, existente.getRol())) {
+            revocarTokens(existente);
+        }
 
         return usuarioRepository.save(existente);
     }
@@ -92,6 +112,7 @@ public class UsuarioService {
             .orElseThrow(() -> new EntityNotFoundException("Usuario no encontrado para eliminar"));
         ensureNotAdmin(usuario);
         usuarioRepository.delete(usuario);
+        tokenVersionCache.invalidar(TipoCuenta.USUARIO, id);
     }
 
     public void actualizarFotoPerfilUsuario(Long id, MultipartFile file) {
@@ -99,33 +120,19 @@ public class UsuarioService {
             .orElseThrow(() -> new EntityNotFoundException("Usuario no encontrado"));
         ensureNotAdmin(usuario);
         validateImageFile(file);
-        try {
-            usuario.setFotoPerfil(new SerialBlob(file.getBytes()));
-        } catch (IOException ex) {
-            throw new IllegalStateException("Error al leer el archivo de imagen", ex);
-        } catch (SQLException ex) {
-            throw new IllegalStateException("Error al almacenar la foto de perfil", ex);
-        }
+        fotoPerfilVariantes.validarDimensiones(file);
+        String hash = fotoPerfilStorage.guardar(file);
+        usuario.setFotoPerfilHash(hash);
         usuarioRepository.save(usuario);
+        fotoPerfilVariantes.generarEnSegundoPlano(hash);
     }
 
-    public byte[] obtenerFotoPerfilUsuario(Long id) {
+    public FotoPerfil obtenerFotoPerfilUsuario(Long id, TamanoFoto tamano) {
         Usuario usuario = usuarioRepository.findById(id)
             .orElseThrow(() -> new EntityNotFoundException("Usuario no encontrado"));
         ensureNotAdmin(usuario);
-        Blob foto = usuario.getFotoPerfil();
-        if (foto == null) {
-            throw new EntityNotFoundException("Foto de perfil no encontrada");
-        }
-        try {
-            long length = foto.length();
-            if (length == 0) {
-                throw new EntityNotFoundException("Foto de perfil no encontrada");
-            }
-            return foto.getBytes(1, Math.toIntExact(length));
-        } catch (SQLException | ArithmeticException ex) {
-            throw new IllegalStateException("Error al leer la foto de perfil almacenada", ex);
-        }
+        return fotoPerfilVariantes.obtener(usuario.getFotoPerfilHash(), tamano)
+            .orElseThrow(() -> new EntityNotFoundException("Foto de perfil no encontrada"));
     }
 
     private UsuarioResponse mapToResponse(Usuario usuarioInput) {
@@ -141,6 +148,18 @@ public class UsuarioService {
         return r;
     }
 
+    private void revocarTokens(Usuario usuario) {
+        usuario.setTokenVersion(TokenVersionCache.siguiente(usuario.getTokenVersion()));
+        tokenVersionCache.invalidar(TipoCuenta.USUARIO, usuario.getId());
+    }
+
+    private static boolean mismoRol(Rol anterior, Rol actual) {
+        if (anterior == null || actual == null) {
+            return anterior == actual;
+        }
+        return Objects.equals(anterior.getId(), actual.getId());
+    }
+
     private void ensureNotAdmin(Usuario usuario) {
         if (isAdmin(usuario)) {
             throw new EntityNotFoundException("Usuario no encontrado");
@@ -0,0 +1,14 @@
+package com.clinica.api.personal_service.storage;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * Foto lista para responder. {@code definitiva} es falso cuando se pidió una variante que aún no existe y se entrega
+ * el original en su lugar; en ese caso la respuesta no debe quedar en caché de larga duración.
+ */
+public record FotoPerfil(Resource contenido, String hash, TamanoFoto tamano, boolean definitiva) {
+
+    public String etag() {
+        return "\"" + hash + "-" + tamano.getNombre() + "\"";
+    }
+}
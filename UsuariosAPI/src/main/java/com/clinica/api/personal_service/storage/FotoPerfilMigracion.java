@@ -0,0 +1,109 @@
+package com.clinica.api.personal_service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.ResultSetMetaData;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mueve al {@link FotoPerfilStorage} las fotos que quedaron en la antigua columna {@code foto_perfil} (LOB) y deja
+ * solo el hash en la fila. Se ejecuta al arrancar y no hace nada si la columna no existe o ya está vacía.
+ * <p>
+ * Cada foto se lee por separado como stream, así que nunca hay más de una imagen en vuelo; una vez migradas todas
+ * las filas, la columna se puede eliminar a mano.
+ * <p>
+ * Después deja en nulo el hash de los doctores que apuntan a una copia del avatar por defecto, para que usen el
+ * compartido de {@link FotoPerfilPorDefecto}.
+ */
+@Component
+public class FotoPerfilMigracion implements ApplicationRunner {
+
+    private static final String COLUMNA_LEGADA = "foto_perfil";
+    // Tabla -> columna de id.
+    private static final Map<String, String> TABLAS = Map.of(
+        "usuarios", "id_usuario",
+        "doctores", "id_doctor",
+        "administradores", "id_admin"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FotoPerfilStorage fotoPerfilStorage;
+    private final FotoPerfilPorDefecto fotoPerfilPorDefecto;
+
+    public FotoPerfilMigracion(
+        JdbcTemplate jdbcTemplate,
+        FotoPerfilStorage fotoPerfilStorage,
+        FotoPerfilPorDefecto fotoPerfilPorDefecto
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fotoPerfilStorage = fotoPerfilStorage;
+        this.fotoPerfilPorDefecto = fotoPerfilPorDefecto;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (String tabla : TABLAS.keySet()) {
+            if (tieneColumnaLegada(tabla)) {
+                migrar(tabla);
+            }
+        }
+        deduplicarAvatarPorDefecto();
+    }
+
+    int deduplicarAvatarPorDefecto() {
+        String hash = fotoPerfilPorDefecto.getHash();
+        if (hash == null) {
+            return 0;
+        }
+        return jdbcTemplate.update("update doctores set foto_perfil_hash = null where foto_perfil_hash = ?", hash);
+    }
+
+    int migrar(String tabla) {
+        String columnaId = TABLAS.get(tabla);
+        List<Long> ids = jdbcTemplate.queryForList(
+            "select " + columnaId + " from " + tabla + " where " + COLUMNA_LEGADA + " is not null",
+            Long.class
+        );
+        for (Long id : ids) {
+            String hash = jdbcTemplate.query(
+                "select " + COLUMNA_LEGADA + " from " + tabla + " where " + columnaId + " = ?",
+                rs -> {
+                    if (!rs.next()) {
+                        return null;
+                    }
+                    try (InputStream contenido = rs.getBinaryStream(1)) {
+                        return contenido != null ? fotoPerfilStorage.guardar(contenido) : null;
+                    } catch (IOException ex) {
+                        throw new IllegalStateException("Error al leer la foto de perfil almacenada", ex);
+                    }
+                },
+                id
+            );
+            jdbcTemplate.update(
+                // Si ya se subió una foto nueva con el almacén, esa manda.
+                "update " + tabla + " set foto_perfil_hash = coalesce(foto_perfil_hash, ?), " + COLUMNA_LEGADA + " = null where " + columnaId + " = ?",
+                hash,
+                id
+            );
+        }
+        return ids.size();
+    }
+
+    private boolean tieneColumnaLegada(String tabla) {
+        Boolean existe = jdbcTemplate.query("select * from " + tabla + " where 1 = 0", rs -> {
+            ResultSetMetaData meta = rs.getMetaData();
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                if (COLUMNA_LEGADA.equalsIgnoreCase(meta.getColumnLabel(i))) {
+                    return true;
+                }
+            }
+            return false;
+        });
+        return Boolean.TRUE.equals(existe);
+    }
+}
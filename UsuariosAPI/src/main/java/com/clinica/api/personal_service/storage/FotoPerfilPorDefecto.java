@@ -0,0 +1,91 @@
+package com.clinica.api.personal_service.storage;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import javax.imageio.ImageIO;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Avatar compartido de los doctores sin foto propia ({@code foto_perfil_hash} nulo): se lee de
+ * {@code static/default_doctor_avatar.png} una sola vez y sus variantes quedan en memoria, así que servirlo no toca
+ * la base ni el disco.
+ * <p>
+ * {@link #getHash()} es el SHA-256 del PNG, el mismo que le daría {@link FotoPerfilStorage}; con él
+ * {@link FotoPerfilMigracion} reconoce las filas que guardaban una copia del avatar.
+ */
+@Component
+public class FotoPerfilPorDefecto {
+
+    private static final String RECURSO = "static/default_doctor_avatar.png";
+
+    private final String hash;
+    private final Map<TamanoFoto, byte[]> variantes = new EnumMap<>(TamanoFoto.class);
+
+    public FotoPerfilPorDefecto() {
+        byte[] png = leerRecurso();
+        BufferedImage imagen = decodificar(png);
+        if (imagen == null) {
+            this.hash = null;
+            return;
+        }
+        this.hash = sha256(png);
+        for (TamanoFoto tamano : TamanoFoto.values()) {
+            // El original también se reencoda a JPEG para responder siempre image/jpeg.
+            int lado = tamano == TamanoFoto.ORIGINAL ? Math.max(imagen.getWidth(), imagen.getHeight()) : tamano.getLado();
+            variantes.put(tamano, FotoPerfilVariantes.comoJpeg(FotoPerfilVariantes.reducir(imagen, lado)));
+        }
+    }
+
+    public Optional<FotoPerfil> obtener(TamanoFoto tamano) {
+        byte[] contenido = variantes.get(tamano);
+        if (contenido == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new FotoPerfil(new ByteArrayResource(contenido), hash, tamano, true));
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    private static byte[] leerRecurso() {
+        ClassPathResource resource = new ClassPathResource(RECURSO);
+        if (!resource.exists()) {
+            return null;
+        }
+        try (InputStream is = resource.getInputStream()) {
+            return is.readAllBytes();
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private static BufferedImage decodificar(byte[] png) {
+        if (png == null || png.length == 0) {
+            return null;
+        }
+        try {
+            return ImageIO.read(new ByteArrayInputStream(png));
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private static String sha256(byte[] contenido) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(contenido));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 no disponible", ex);
+        }
+    }
+}
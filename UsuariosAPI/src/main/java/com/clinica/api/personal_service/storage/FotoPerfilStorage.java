@@ -0,0 +1,156 @@
+package com.clinica.api.personal_service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Almacén de fotos de perfil en disco, direccionado por contenido: cada archivo se guarda bajo el SHA-256 de sus
+ * bytes ({@code <dir>/ab/abcdef...}) y la fila solo guarda ese hash. La misma imagen subida dos veces ocupa un
+ * archivo.
+ * <p>
+ * La subida se copia en streaming a un temporal mientras se calcula el hash y luego se mueve a su ruta final;
+ * la descarga entrega un {@link Resource} que Spring copia por bloques (o por rangos con {@code Range}),
+ * sin cargar la imagen completa en el heap. Las variantes de {@link FotoPerfilVariantes} se guardan junto al
+ * original.
+ */
+@Component
+public class FotoPerfilStorage {
+
+    private static final Pattern HASH = Pattern.compile("^[0-9a-f]{64}$");
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final Path directorio;
+
+    public FotoPerfilStorage(@Value("${fotos.storage.dir:${java.io.tmpdir}/usuarios-api-fotos}") String directorio) {
+        this.directorio = Paths.get(directorio).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(this.directorio);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo crear el directorio de fotos " + this.directorio, ex);
+        }
+    }
+
+    public String guardar(MultipartFile archivo) {
+        try (InputStream contenido = archivo.getInputStream()) {
+            return guardar(contenido);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Error al leer el archivo de imagen", ex);
+        }
+    }
+
+    /**
+     * Guarda el contenido del stream (sin cerrarlo) y devuelve su hash SHA-256 en hexadecimal.
+     */
+    public String guardar(InputStream contenido) {
+        Path temporal = null;
+        try {
+            temporal = Files.createTempFile(directorio, "subida-", ".tmp");
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            Files.copy(new DigestInputStream(contenido, sha256), temporal, StandardCopyOption.REPLACE_EXISTING);
+            String hash = HEX.formatHex(sha256.digest());
+            Path destino = ruta(hash);
+            if (!Files.exists(destino)) {
+                Files.createDirectories(destino.getParent());
+                try {
+                    Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException ex) {
+                    // Otra subida con el mismo contenido ganó la carrera; el archivo ya es el correcto.
+                }
+            }
+            return hash;
+        } catch (IOException ex) {
+            throw new IllegalStateException("Error al almacenar la foto de perfil", ex);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 no disponible", ex);
+        } finally {
+            borrarTemporal(temporal);
+        }
+    }
+
+    /**
+     * Devuelve la foto con ese hash, o vacío si el hash es nulo o el archivo no existe.
+     */
+    public Optional<Resource> obtener(String hash) {
+        if (hash == null) {
+            return Optional.empty();
+        }
+        Path archivo = ruta(hash);
+        if (!Files.isRegularFile(archivo)) {
+            return Optional.empty();
+        }
+        return Optional.of(new FileSystemResource(archivo));
+    }
+
+    /**
+     * Devuelve la variante redimensionada de la foto, o vacío si todavía no se generó.
+     */
+    public Optional<Resource> obtenerVariante(String hash, TamanoFoto tamano) {
+        if (hash == null) {
+            return Optional.empty();
+        }
+        Path archivo = rutaVariante(hash, tamano);
+        if (!Files.isRegularFile(archivo)) {
+            return Optional.empty();
+        }
+        return Optional.of(new FileSystemResource(archivo));
+    }
+
+    /**
+     * Guarda la variante junto al original ({@code <hash>-<tamaño>.jpg}); se escribe a un temporal y se mueve para
+     * que un lector concurrente nunca vea un archivo a medias.
+     */
+    public void guardarVariante(String hash, TamanoFoto tamano, byte[] jpeg) {
+        Path destino = rutaVariante(hash, tamano);
+        Path temporal = null;
+        try {
+            Files.createDirectories(destino.getParent());
+            temporal = Files.createTempFile(directorio, "variante-", ".tmp");
+            Files.write(temporal, jpeg);
+            Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Error al almacenar la variante de la foto", ex);
+        } finally {
+            borrarTemporal(temporal);
+        }
+    }
+
+    private Path rutaVariante(String hash, TamanoFoto tamano) {
+        Path original = ruta(hash);
+        return original.resolveSibling(hash + "-" + tamano.getNombre() + ".jpg");
+    }
+
+    private Path ruta(String hash) {
+        if (!HASH.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Hash de foto inválido");
+        }
+        return directorio.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static void borrarTemporal(Path temporal) {
+        if (temporal == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temporal);
+        } catch (IOException ignored) {
+            // Un temporal huérfano no afecta a las fotos guardadas.
+        }
+    }
+}
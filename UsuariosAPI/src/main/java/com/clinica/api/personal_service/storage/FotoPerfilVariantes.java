@@ -0,0 +1,244 @@
+package com.clinica.api.personal_service.storage;
+
+import jakarta.annotation.PreDestroy;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Genera y entrega las variantes redimensionadas ({@link TamanoFoto#THUMB}, {@link TamanoFoto#MEDIUM}) de cada foto.
+ * <p>
+ * Se generan una vez por hash, en un pool acotado fuera del request de subida. Si la cola está llena o la variante
+ * aún no existe (fotos migradas, subida reciente), {@link #obtener} entrega el original marcado como no definitivo y
+ * vuelve a encolar la generación.
+ * <p>
+ * Antes de decodificar se leen ancho y alto del encabezado: una imagen de más de {@code fotos.variantes.max-pixeles}
+ * se rechaza al subirla y no se decodifica nunca, porque unos pocos KB comprimidos pueden ocupar GB en memoria.
+ * Los hashes que no se pudieron decodificar se recuerdan para no volver a encolarlos en cada lectura.
+ */
+@Component
+public class FotoPerfilVariantes {
+
+    private final FotoPerfilStorage fotoPerfilStorage;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> enCurso = ConcurrentHashMap.newKeySet();
+    private final Set<String> noDecodificables = ConcurrentHashMap.newKeySet();
+    private final long maxPixeles;
+
+    public FotoPerfilVariantes(
+        FotoPerfilStorage fotoPerfilStorage,
+        @Value("${fotos.variantes.threads:2}") int hilos,
+        @Value("${fotos.variantes.queue-capacity:64}") int capacidadCola,
+        @Value("${fotos.variantes.max-pixeles:25000000}") long maxPixeles
+    ) {
+        this.fotoPerfilStorage = fotoPerfilStorage;
+        this.maxPixeles = maxPixeles;
+        AtomicInteger secuencia = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            hilos,
+            hilos,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(capacidadCola),
+            tarea -> {
+                Thread hilo = new Thread(tarea, "foto-variantes-" + secuencia.incrementAndGet());
+                hilo.setDaemon(true);
+                return hilo;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * Rechaza con {@link IllegalArgumentException} una subida cuyo encabezado declara más de
+     * {@code fotos.variantes.max-pixeles} píxeles. Los formatos que ImageIO no reconoce se aceptan y se sirven
+     * siempre como original.
+     */
+    public void validarDimensiones(MultipartFile archivo) {
+        try (InputStream contenido = archivo.getInputStream()) {
+            long pixeles = pixeles(contenido);
+            if (pixeles > maxPixeles) {
+                throw new IllegalArgumentException("La imagen supera el máximo de " + maxPixeles + " píxeles");
+            }
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("No se pudo leer el encabezado de la imagen", ex);
+        }
+    }
+
+    /**
+     * Encola la generación de las variantes del hash si no existen ni están en curso. No bloquea.
+     */
+    public void generarEnSegundoPlano(String hash) {
+        if (hash == null || noDecodificables.contains(hash) || variantesCompletas(hash) || !enCurso.add(hash)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generar(hash);
+                } finally {
+                    enCurso.remove(hash);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            // Cola llena: se reintenta la próxima vez que alguien pida la variante.
+            enCurso.remove(hash);
+        }
+    }
+
+    public Optional<FotoPerfil> obtener(String hash, TamanoFoto tamano) {
+        if (tamano != TamanoFoto.ORIGINAL) {
+            Optional<Resource> variante = fotoPerfilStorage.obtenerVariante(hash, tamano);
+            if (variante.isPresent()) {
+                return Optional.of(new FotoPerfil(variante.get(), hash, tamano, true));
+            }
+        }
+        Optional<FotoPerfil> original = fotoPerfilStorage.obtener(hash)
+            .map(recurso -> new FotoPerfil(recurso, hash, TamanoFoto.ORIGINAL, tamano == TamanoFoto.ORIGINAL));
+        if (original.isPresent() && tamano != TamanoFoto.ORIGINAL) {
+            generarEnSegundoPlano(hash);
+        }
+        return original;
+    }
+
+    void generar(String hash) {
+        Optional<Resource> original = fotoPerfilStorage.obtener(hash);
+        if (original.isEmpty()) {
+            return;
+        }
+        BufferedImage imagen;
+        try (InputStream contenido = original.get().getInputStream()) {
+            imagen = decodificar(contenido);
+        } catch (IOException ex) {
+            imagen = null;
+        }
+        if (imagen == null) {
+            // Formato desconocido, archivo dañado o demasiados píxeles: se seguirá sirviendo el original.
+            noDecodificables.add(hash);
+            return;
+        }
+        for (TamanoFoto tamano : TamanoFoto.values()) {
+            if (tamano != TamanoFoto.ORIGINAL) {
+                fotoPerfilStorage.guardarVariante(hash, tamano, comoJpeg(reducir(imagen, tamano.getLado())));
+            }
+        }
+    }
+
+    // Ancho × alto según el encabezado, sin decodificar; 0 si ImageIO no reconoce el formato.
+    private static long pixeles(InputStream contenido) throws IOException {
+        try (ImageInputStream entrada = ImageIO.createImageInputStream(contenido)) {
+            ImageReader lector = lector(entrada);
+            if (lector == null) {
+                return 0;
+            }
+            try {
+                return (long) lector.getWidth(0) * lector.getHeight(0);
+            } finally {
+                lector.dispose();
+            }
+        }
+    }
+
+    // Decodifica la primera imagen solo si su encabezado está dentro del límite; null si no se puede.
+    private BufferedImage decodificar(InputStream contenido) throws IOException {
+        try (ImageInputStream entrada = ImageIO.createImageInputStream(contenido)) {
+            ImageReader lector = lector(entrada);
+            if (lector == null) {
+                return null;
+            }
+            try {
+                if ((long) lector.getWidth(0) * lector.getHeight(0) > maxPixeles) {
+                    return null;
+                }
+                return lector.read(0);
+            } finally {
+                lector.dispose();
+            }
+        }
+    }
+
+    private static ImageReader lector(ImageInputStream entrada) {
+        if (entrada == null) {
+            return null;
+        }
+        Iterator<ImageReader> lectores = ImageIO.getImageReaders(entrada);
+        if (!lectores.hasNext()) {
+            return null;
+        }
+        ImageReader lector = lectores.next();
+        lector.setInput(entrada, true, true);
+        return lector;
+    }
+
+    boolean esNoDecodificable(String hash) {
+        return noDecodificables.contains(hash);
+    }
+
+    int enCola() {
+        return executor.getQueue().size();
+    }
+
+    private boolean variantesCompletas(String hash) {
+        return fotoPerfilStorage.obtenerVariante(hash, TamanoFoto.THUMB).isPresent()
+            && fotoPerfilStorage.obtenerVariante(hash, TamanoFoto.MEDIUM).isPresent();
+    }
+
+    // Reduce a la mitad en cada paso hasta llegar al tamaño final: un solo paso bilineal pierde detalle al bajar mucho.
+    static BufferedImage reducir(BufferedImage original, int lado) {
+        double escala = Math.min(1.0, (double) lado / Math.max(original.getWidth(), original.getHeight()));
+        int anchoFinal = Math.max(1, (int) Math.round(original.getWidth() * escala));
+        int altoFinal = Math.max(1, (int) Math.round(original.getHeight() * escala));
+        BufferedImage actual = original;
+        int ancho = original.getWidth();
+        int alto = original.getHeight();
+        do {
+            ancho = Math.max(anchoFinal, ancho / 2);
+            alto = Math.max(altoFinal, alto / 2);
+            BufferedImage paso = new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = paso.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            // JPEG no tiene transparencia: los PNG con alfa quedan sobre blanco.
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, ancho, alto);
+            g.drawImage(actual, 0, 0, ancho, alto, null);
+            g.dispose();
+            actual = paso;
+        } while (ancho != anchoFinal || alto != altoFinal);
+        return actual;
+    }
+
+    static byte[] comoJpeg(BufferedImage imagen) {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(imagen, "jpg", salida);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Error al generar la variante de la foto", ex);
+        }
+        return salida.toByteArray();
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,41 @@
+package com.clinica.api.personal_service.storage;
+
+import java.util.Locale;
+
+/**
+ * Variantes de foto de perfil que se pueden pedir con {@code ?size=}. {@code lado} es el máximo en píxeles del lado
+ * mayor (el doble del tamaño en pantalla, para densidad 2x).
+ */
+public enum TamanoFoto {
+    THUMB("thumb", 96),
+    MEDIUM("medium", 512),
+    ORIGINAL("original", 0);
+
+    private final String nombre;
+    private final int lado;
+
+    TamanoFoto(String nombre, int lado) {
+        this.nombre = nombre;
+        this.lado = lado;
+    }
+
+    public static TamanoFoto desde(String valor) {
+        if (valor != null) {
+            String normalizado = valor.trim().toLowerCase(Locale.ROOT);
+            for (TamanoFoto tamano : values()) {
+                if (tamano.nombre.equals(normalizado)) {
+                    return tamano;
+                }
+            }
+        }
+        throw new IllegalArgumentException("size debe ser thumb, medium u original");
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public int getLado() {
+        return lado;
+    }
+}
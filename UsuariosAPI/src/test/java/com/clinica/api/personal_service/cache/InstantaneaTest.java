@@ -0,0 +1,77 @@
+package com.clinica.api.personal_service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class InstantaneaTest {
+
+    private final AtomicInteger cargas = new AtomicInteger();
+
+    @AfterEach
+    void limpiar() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("obtener carga una vez mientras la foto está vigente y relee tras invalidar")
+    void obtener_cargaUnaVezHastaInvalidar() {
+        Instantanea<Integer> instantanea = new Instantanea<>(cargas::incrementAndGet, 60_000);
+
+        assertThat(instantanea.obtener()).isEqualTo(1);
+        assertThat(instantanea.obtener()).isEqualTo(1);
+        instantanea.invalidar();
+
+        assertThat(instantanea.obtener()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("con ttl vencido cada lectura relee")
+    void obtener_ttlVencido() {
+        Instantanea<Integer> instantanea = new Instantanea<>(cargas::incrementAndGet, 0);
+
+        instantanea.obtener();
+        instantanea.obtener();
+
+        assertThat(cargas.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("una carga que se cruza con una invalidación se entrega pero no se publica")
+    void obtener_cargaCruzadaNoSePublica() {
+        AtomicReference<Instantanea<Integer>> instantanea = new AtomicReference<>();
+        instantanea.set(new Instantanea<>(() -> {
+            int carga = cargas.incrementAndGet();
+            if (carga == 1) {
+                instantanea.get().invalidar();
+            }
+            return carga;
+        }, 60_000));
+
+        assertThat(instantanea.get().obtener()).isEqualTo(1);
+        assertThat(instantanea.get().obtener()).isEqualTo(2);
+        assertThat(instantanea.get().obtener()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("dentro de una transacción se invalida de nuevo tras el commit")
+    void invalidar_repiteTrasCommit() {
+        Instantanea<Integer> instantanea = new Instantanea<>(cargas::incrementAndGet, 60_000);
+        TransactionSynchronizationManager.initSynchronization();
+
+        instantanea.invalidar();
+        // Lectura concurrente que aún ve los datos anteriores al commit.
+        assertThat(instantanea.obtener()).isEqualTo(1);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(instantanea.obtener()).isEqualTo(2);
+    }
+}
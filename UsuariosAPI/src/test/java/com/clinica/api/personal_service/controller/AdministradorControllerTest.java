@@ -8,6 +8,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -17,6 +18,8 @@ import com.clinica.api.personal_service.dto.AdministradorUpdateRequestDto;
 import com.clinica.api.personal_service.exception.PersonalServiceExceptionHandler;
 import com.clinica.api.personal_service.service.AdminPasswordService;
 import com.clinica.api.personal_service.service.AdministradorService;
+import com.clinica.api.personal_service.storage.FotoPerfil;
+import com.clinica.api.personal_service.storage.TamanoFoto;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -26,6 +29,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
@@ -34,6 +38,8 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 @ExtendWith(MockitoExtension.class)
 class AdministradorControllerTest {
 
+    private static final String HASH = "c".repeat(64);
+
     private MockMvc mockMvc;
 
     private final ObjectMapper objectMapper = new ObjectMapper();
@@ -124,12 +130,63 @@ class AdministradorControllerTest {
     @Test
     @DisplayName("GET /api/v1/administradores/{id}/foto-perfil responde 200 con imagen")
     void obtenerFotoPerfilAdmin_returnsOk() throws Exception {
-        when(administradorService.obtenerFotoPerfilAdmin(1L)).thenReturn(new byte[] {9, 8, 7});
+        when(administradorService.obtenerFotoPerfilAdmin(1L, TamanoFoto.ORIGINAL)).thenReturn(foto(TamanoFoto.ORIGINAL, true, 9, 8, 7));
 
         mockMvc.perform(get("/api/v1/administradores/{id}/foto-perfil", 1L))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.IMAGE_JPEG))
-            .andExpect(content().bytes(new byte[] {9, 8, 7}));
+            .andExpect(content().bytes(new byte[] {9, 8, 7}))
+            .andExpect(header().string("ETag", "\"" + HASH + "-original\""))
+            .andExpect(header().string("Cache-Control", "no-cache"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/administradores/{id}/foto-perfil?size=thumb con la versión vigente se cachea un año")
+    void obtenerFotoPerfilAdmin_thumbWithVersionIsImmutable() throws Exception {
+        when(administradorService.obtenerFotoPerfilAdmin(1L, TamanoFoto.THUMB)).thenReturn(foto(TamanoFoto.THUMB, true, 1));
+
+        mockMvc.perform(get("/api/v1/administradores/{id}/foto-perfil", 1L).param("size", "thumb").param("v", HASH))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"" + HASH + "-thumb\""))
+            .andExpect(header().string("Cache-Control", "max-age=31536000, private, immutable"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/administradores/{id}/foto-perfil no cachea el original entregado mientras falta la variante")
+    void obtenerFotoPerfilAdmin_fallbackIsNotCached() throws Exception {
+        when(administradorService.obtenerFotoPerfilAdmin(1L, TamanoFoto.THUMB)).thenReturn(foto(TamanoFoto.ORIGINAL, false, 1));
+
+        mockMvc.perform(get("/api/v1/administradores/{id}/foto-perfil", 1L).param("size", "thumb").param("v", HASH))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Cache-Control", "no-cache"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/administradores/{id}/foto-perfil responde 304 si el ETag coincide")
+    void obtenerFotoPerfilAdmin_returnsNotModified() throws Exception {
+        when(administradorService.obtenerFotoPerfilAdmin(1L, TamanoFoto.MEDIUM)).thenReturn(foto(TamanoFoto.MEDIUM, true, 1));
+
+        mockMvc.perform(get("/api/v1/administradores/{id}/foto-perfil", 1L)
+                .param("size", "medium")
+                .header("If-None-Match", "\"" + HASH + "-medium\""))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/administradores/{id}/foto-perfil responde 400 con un size desconocido")
+    void obtenerFotoPerfilAdmin_rejectsUnknownSize() throws Exception {
+        mockMvc.perform(get("/api/v1/administradores/{id}/foto-perfil", 1L).param("size", "gigante"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/administradores/{id}/foto-perfil con Range responde 206 con el tramo pedido")
+    void obtenerFotoPerfilAdmin_returnsPartialContent() throws Exception {
+        when(administradorService.obtenerFotoPerfilAdmin(1L, TamanoFoto.ORIGINAL)).thenReturn(foto(TamanoFoto.ORIGINAL, true, 9, 8, 7, 6));
+
+        mockMvc.perform(get("/api/v1/administradores/{id}/foto-perfil", 1L).header("Range", "bytes=1-2"))
+            .andExpect(status().isPartialContent())
+            .andExpect(content().bytes(new byte[] {8, 7}));
     }
 
     @Test
@@ -169,4 +226,12 @@ class AdministradorControllerTest {
         request.setApellido("Gomez");
         return request;
     }
+
+    private static FotoPerfil foto(TamanoFoto tamano, boolean definitiva, int... bytes) {
+        byte[] contenido = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            contenido[i] = (byte) bytes[i];
+        }
+        return new FotoPerfil(new ByteArrayResource(contenido), HASH, tamano, definitiva);
+    }
 }
@@ -3,11 +3,13 @@ package com.clinica.api.personal_service.controller;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.clinica.api.personal_service.dto.LoginRequest;
 import com.clinica.api.personal_service.dto.LoginResponse;
+import com.clinica.api.personal_service.exception.PasswordHashingBusyException;
 import com.clinica.api.personal_service.exception.PersonalServiceExceptionHandler;
 import com.clinica.api.personal_service.service.AuthService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -68,6 +70,18 @@ class AuthControllerTest {
             .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    @DisplayName("POST /api/v1/auth/login responde 429 cuando el pool de hashing está saturado")
+    void login_returnsTooManyRequestsWhenHashingBusy() throws Exception {
+        when(authService.login(any(LoginRequest.class))).thenThrow(new PasswordHashingBusyException());
+
+        mockMvc.perform(post("/api/v1/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest())))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().string("Retry-After", "1"));
+    }
+
     private LoginRequest loginRequest() {
         LoginRequest request = new LoginRequest();
         request.setCorreo("user@demo.com");
@@ -13,11 +13,14 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.clinica.api.personal_service.dto.DoctorCreateRequest;
+import com.clinica.api.personal_service.dto.DoctorDirectorioItem;
+import com.clinica.api.personal_service.dto.DoctorDirectorioPage;
 import com.clinica.api.personal_service.dto.DoctorUpdateRequest;
 import com.clinica.api.personal_service.exception.PersonalServiceExceptionHandler;
 import com.clinica.api.personal_service.model.Doctor;
 import com.clinica.api.personal_service.model.Especialidad;
 import com.clinica.api.personal_service.model.Rol;
+import com.clinica.api.personal_service.service.DirectorioDoctores;
 import com.clinica.api.personal_service.service.PersonalService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityNotFoundException;
@@ -48,6 +51,9 @@ class DoctorControllerTest {
     @Mock
     private PersonalService personalService;
 
+    @Mock
+    private DirectorioDoctores directorioDoctores;
+
     @InjectMocks
     private DoctorController doctorController;
 
@@ -81,6 +87,34 @@ class DoctorControllerTest {
             .andExpect(status().isNoContent());
     }
 
+    @Test
+    @DisplayName("GET /api/v1/doctores/directorio responde 200 con la página del índice")
+    void buscarDirectorio_returnsPage() throws Exception {
+        DoctorDirectorioItem item = new DoctorDirectorioItem(1L, "Ana", "Gomez", 5L, "Cardiologia", 50000, "abc");
+        when(directorioDoctores.buscar("go", 5L, 1, 10))
+            .thenReturn(new DoctorDirectorioPage(1, 10, 11, List.of(item)));
+
+        mockMvc.perform(get("/api/v1/doctores/directorio")
+                .param("q", "go")
+                .param("idEspecialidad", "5")
+                .param("page", "1")
+                .param("size", "10"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(11))
+            .andExpect(jsonPath("$.doctores[0].idDoctor").value(1L))
+            .andExpect(jsonPath("$.doctores[0].especialidad").value("Cardiologia"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/doctores/directorio responde 400 con paginación inválida")
+    void buscarDirectorio_returnsBadRequest() throws Exception {
+        when(directorioDoctores.buscar(null, null, 0, 500))
+            .thenThrow(new IllegalArgumentException("Parámetros de paginación inválidos"));
+
+        mockMvc.perform(get("/api/v1/doctores/directorio").param("size", "500"))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("GET /api/v1/doctores/{id} responde 200 cuando el doctor existe")
     void getDoctorById_returnsOk() throws Exception {
@@ -12,7 +12,6 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.clinica.api.personal_service.controller.EspecialidadController.EspecialidadRequest;
 import com.clinica.api.personal_service.exception.PersonalServiceExceptionHandler;
-import com.clinica.api.personal_service.model.Doctor;
 import com.clinica.api.personal_service.model.Especialidad;
 import com.clinica.api.personal_service.service.EspecialidadService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -56,8 +55,8 @@ class EspecialidadControllerTest {
     void getEspecialidadesByDoctor_returnsOk() throws Exception {
         Especialidad especialidad = especialidad();
         when(especialidadService.findByDoctorId(2L)).thenReturn(List.of(especialidad));
-        when(especialidadService.findDoctoresPorEspecialidad(especialidad.getId()))
-            .thenReturn(List.of(doctor()));
+        when(especialidadService.findDoctorIdsPorEspecialidad(especialidad.getId()))
+            .thenReturn(List.of(5L));
 
         mockMvc.perform(get("/api/v1/doctores/{doctorId}/especialidades", 2L))
             .andExpect(status().isOk())
@@ -229,13 +228,6 @@ class EspecialidadControllerTest {
         return especialidad;
     }
 
-    private Doctor doctor() {
-        Doctor doctor = new Doctor();
-        doctor.setId(5L);
-        doctor.setNombre("Doctor");
-        return doctor;
-    }
-
     private EspecialidadRequest request(String nombre, Long doctorId) {
         EspecialidadRequest request = new EspecialidadRequest();
         request.setNombre(nombre);
@@ -7,10 +7,12 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.clinica.api.personal_service.dto.UsuarioResponse;
+import com.clinica.api.personal_service.exception.PasswordHashingBusyException;
 import com.clinica.api.personal_service.exception.PersonalServiceExceptionHandler;
 import com.clinica.api.personal_service.model.Rol;
 import com.clinica.api.personal_service.model.Usuario;
@@ -105,6 +107,19 @@ class UsuarioControllerTest {
             .andExpect(jsonPath("$.id").value(1L));
     }
 
+    @Test
+    @DisplayName("POST /api/v1/usuarios responde 429 con Retry-After si el pool de hashing está saturado")
+    void createUsuario_returnsTooManyRequestsWhenHashingBusy() throws Exception {
+        when(usuarioService.saveUsuario(any(Usuario.class))).thenThrow(new PasswordHashingBusyException());
+
+        mockMvc.perform(post("/api/v1/usuarios")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(usuarioPayload())))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().string("Retry-After", "1"))
+            .andExpect(jsonPath("$.codigo").value("PASSWORD_HASHING_BUSY"));
+    }
+
     @Test
     @DisplayName("PUT /api/v1/usuarios/{id} responde 200 con el usuario actualizado")
     void updateUsuario_returnsOk() throws Exception {
@@ -0,0 +1,138 @@
+package com.clinica.api.personal_service.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.clinica.api.personal_service.model.Doctor;
+import com.clinica.api.personal_service.model.Especialidad;
+import com.clinica.api.personal_service.model.Rol;
+import com.clinica.api.personal_service.service.CatalogoEspecialidades;
+import com.clinica.api.personal_service.service.EspecialidadService;
+import com.clinica.api.personal_service.service.PersonalService;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+// Sin @Transactional: las lecturas en caché no deben abrir transacción y las escrituras deben confirmar de verdad.
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.clinica.api.personal_service.repository.SqlCapturado"
+})
+class EspecialidadesEnCacheTest {
+
+    @Autowired
+    private EspecialidadService especialidadService;
+
+    @Autowired
+    private CatalogoEspecialidades catalogoEspecialidades;
+
+    @Autowired
+    private EspecialidadRepository especialidadRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private RolRepository rolRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Rol rol;
+    private Especialidad especialidad;
+    private final List<Doctor> doctores = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Rol nuevoRol = new Rol();
+        nuevoRol.setNombre("Doctor-cache-" + System.nanoTime());
+        rol = rolRepository.save(nuevoRol);
+        Especialidad nueva = new Especialidad();
+        nueva.setNombre("Cache-" + System.nanoTime());
+        especialidad = especialidadRepository.save(nueva);
+        for (int d = 0; d < 3; d++) {
+            doctores.add(doctorRepository.save(doctor("cache." + d + "." + System.nanoTime() + "@clinica.cl")));
+        }
+        // Los datos se escribieron directo en los repositorios, sin pasar por los servicios que invalidan.
+        catalogoEspecialidades.invalidar();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void limpiar() {
+        doctorRepository.deleteAll(doctores);
+        especialidadRepository.delete(especialidad);
+        rolRepository.delete(rol);
+        catalogoEspecialidades.invalidar();
+    }
+
+    @Test
+    @DisplayName("con el catálogo cargado, navegar especialidades no ejecuta SQL ni abre transacciones")
+    void lecturasEnCaliente_noTocanLaBase() {
+        leerPantallaDeEspecialidades();
+        statistics.clear();
+        SqlCapturado.SENTENCIAS.clear();
+
+        leerPantallaDeEspecialidades();
+
+        assertThat(SqlCapturado.SENTENCIAS).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getTransactionCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("renombrar la especialidad se ve en la lectura siguiente")
+    void update_invalidaElCatalogo() {
+        leerPantallaDeEspecialidades();
+
+        especialidadService.update(especialidad.getId(), especialidad.getNombre() + " adultos", null);
+
+        assertThat(especialidadService.findById(especialidad.getId()).getNombre()).endsWith(" adultos");
+    }
+
+    @Test
+    @DisplayName("dar de baja un doctor lo saca de la lista de su especialidad")
+    void bajaDeDoctor_invalidaElCatalogo(@Autowired PersonalService personalService) {
+        leerPantallaDeEspecialidades();
+
+        personalService.deleteDoctorById(doctores.get(0).getId());
+
+        assertThat(especialidadService.findDoctorIdsPorEspecialidad(especialidad.getId()))
+            .containsExactly(doctores.get(1).getId(), doctores.get(2).getId());
+    }
+
+    private void leerPantallaDeEspecialidades() {
+        assertThat(especialidadService.findAll()).extracting(Especialidad::getId).contains(especialidad.getId());
+        assertThat(especialidadService.findById(especialidad.getId()).getNombre()).isEqualTo(especialidad.getNombre());
+        assertThat(especialidadService.findDoctorIdsPorEspecialidad(especialidad.getId()))
+            .containsExactlyElementsOf(doctores.stream().map(Doctor::getId).toList());
+        assertThat(especialidadService.findByDoctorId(doctores.get(0).getId()))
+            .extracting(Especialidad::getId)
+            .containsExactly(especialidad.getId());
+    }
+
+    private Doctor doctor(String correo) {
+        Doctor doctor = new Doctor();
+        doctor.setNombre("Camila");
+        doctor.setApellido("Fuentes");
+        doctor.setFechaNacimiento(LocalDate.of(1985, 2, 14));
+        doctor.setCorreo(correo);
+        doctor.setContrasena("hash-doctor");
+        doctor.setRol(rol);
+        doctor.setEspecialidad(especialidad);
+        doctor.setTarifaConsulta(35000);
+        doctor.setSueldo(1_800_000L);
+        doctor.setActivo(true);
+        return doctor;
+    }
+}
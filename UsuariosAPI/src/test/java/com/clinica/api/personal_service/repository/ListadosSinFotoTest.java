@@ -0,0 +1,145 @@
+package com.clinica.api.personal_service.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.clinica.api.personal_service.dto.UsuarioResponse;
+import com.clinica.api.personal_service.model.Doctor;
+import com.clinica.api.personal_service.model.Especialidad;
+import com.clinica.api.personal_service.model.Rol;
+import com.clinica.api.personal_service.model.Usuario;
+import com.clinica.api.personal_service.security.CustomUserDetailsService;
+import com.clinica.api.personal_service.service.PersonalService;
+import com.clinica.api.personal_service.service.UsuarioService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.clinica.api.personal_service.repository.SqlCapturado"
+})
+@Transactional
+class ListadosSinFotoTest {
+
+    // Cualquier columna de foto que no sea el hash (p. ej. el antiguo LOB foto_perfil).
+    private static final Pattern COLUMNA_FOTO = Pattern.compile("foto_perfil(?!_hash)");
+
+    @Autowired
+    private PersonalService personalService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Rol rolDoctor;
+    private Rol rolPaciente;
+
+    @BeforeEach
+    void setUp() {
+        rolDoctor = rol("Doctor");
+        rolPaciente = rol("Paciente");
+        for (int e = 0; e < 3; e++) {
+            Especialidad especialidad = new Especialidad();
+            especialidad.setNombre("Listado-" + e + "-" + System.nanoTime());
+            entityManager.persist(especialidad);
+            for (int d = 0; d < 4; d++) {
+                doctor("listado." + e + "." + d + "@clinica.cl", especialidad);
+            }
+        }
+        for (int u = 0; u < 5; u++) {
+            usuario("listado.usuario." + u + "@clinica.cl");
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        SqlCapturado.SENTENCIAS.clear();
+    }
+
+    @Test
+    @DisplayName("findAllDoctores carga doctores, rol y especialidad en un select sin columnas de foto")
+    void findAllDoctores_singleStatementWithoutPhotoData() {
+        List<Doctor> doctores = personalService.findAllDoctores();
+
+        assertThat(doctores).hasSizeGreaterThanOrEqualTo(12);
+        assertThat(doctores).allSatisfy(doctor -> assertThat(doctor.getEspecialidad().getNombre()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertSinColumnasDeFoto();
+    }
+
+    @Test
+    @DisplayName("findAllUsuarios carga usuarios y rol en un select sin columnas de foto")
+    void findAllUsuarios_singleStatementWithoutPhotoData() {
+        List<UsuarioResponse> usuarios = usuarioService.findAllUsuarios();
+
+        assertThat(usuarios).hasSizeGreaterThanOrEqualTo(5);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertSinColumnasDeFoto();
+    }
+
+    @Test
+    @DisplayName("el login no lee ninguna columna de foto")
+    void loadUserByUsername_readsNoPhotoColumn() {
+        userDetailsService.loadUserByUsername("listado.0.0@clinica.cl");
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(SqlCapturado.SENTENCIAS).noneMatch(sql -> sql.contains("foto_perfil"));
+    }
+
+    private void assertSinColumnasDeFoto() {
+        assertThat(SqlCapturado.SENTENCIAS).isNotEmpty().noneMatch(sql -> COLUMNA_FOTO.matcher(sql).find());
+    }
+
+    private Rol rol(String nombre) {
+        Rol rol = new Rol();
+        rol.setNombre(nombre);
+        entityManager.persist(rol);
+        return rol;
+    }
+
+    private void doctor(String correo, Especialidad especialidad) {
+        Doctor doctor = new Doctor();
+        doctor.setNombre("Diego");
+        doctor.setApellido("Muñoz");
+        doctor.setFechaNacimiento(LocalDate.of(1978, 9, 12));
+        doctor.setCorreo(correo);
+        doctor.setContrasena("hash-doctor");
+        doctor.setRol(rolDoctor);
+        doctor.setEspecialidad(especialidad);
+        doctor.setTarifaConsulta(30000);
+        doctor.setSueldo(2_000_000L);
+        doctor.setActivo(true);
+        entityManager.persist(doctor);
+    }
+
+    private void usuario(String correo) {
+        Usuario usuario = new Usuario();
+        usuario.setNombre("Paula");
+        usuario.setApellido("Rojas");
+        usuario.setFechaNacimiento(LocalDate.of(1992, 4, 3));
+        usuario.setCorreo(correo);
+        usuario.setContrasena("hash-usuario");
+        usuario.setRol(rolPaciente);
+        entityManager.persist(usuario);
+    }
+}
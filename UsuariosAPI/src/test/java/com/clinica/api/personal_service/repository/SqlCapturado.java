@@ -0,0 +1,19 @@
+package com.clinica.api.personal_service.repository;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Registrado con hibernate.session_factory.statement_inspector para ver el SQL que genera cada consulta.
+public class SqlCapturado implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    static final List<String> SENTENCIAS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        SENTENCIAS.add(sql);
+        return sql;
+    }
+}
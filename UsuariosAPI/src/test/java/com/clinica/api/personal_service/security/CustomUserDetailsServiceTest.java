@@ -0,0 +1,204 @@
+package com.clinica.api.personal_service.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.clinica.api.personal_service.model.Administrador;
+import com.clinica.api.personal_service.model.Doctor;
+import com.clinica.api.personal_service.model.Especialidad;
+import com.clinica.api.personal_service.model.Rol;
+import com.clinica.api.personal_service.model.Usuario;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class CustomUserDetailsServiceTest {
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Rol rolDoctor;
+    private Rol rolAdmin;
+    private Rol rolPaciente;
+    private Especialidad especialidad;
+
+    @BeforeEach
+    void setUp() {
+        rolPaciente = rol("Paciente");
+        rolDoctor = rol("Doctor");
+        rolAdmin = rol("Administrador");
+        especialidad = new Especialidad();
+        especialidad.setNombre("Cardiología-" + System.nanoTime());
+        entityManager.persist(especialidad);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("loadUserByUsername resuelve un doctor con una sola consulta")
+    void loadUserByUsername_findsDoctorInOneQuery() {
+        Doctor doctor = doctor("login.doctor@clinica.cl", true);
+        limpiarContexto();
+
+        CustomUserDetails principal = (CustomUserDetails) userDetailsService.loadUserByUsername("login.doctor@clinica.cl");
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(principal.getTipoCuenta()).isEqualTo(TipoCuenta.DOCTOR);
+        assertThat(principal.getUserId()).isEqualTo(doctor.getId());
+        assertThat(principal.getDoctorId()).isEqualTo(doctor.getId());
+        assertThat(principal.getPassword()).isEqualTo("hash-doctor");
+        assertThat(principal.getAuthorities()).extracting("authority").containsExactly("ROLE_DOCTOR");
+    }
+
+    @Test
+    @DisplayName("loadUserByUsername resuelve un administrador con una sola consulta")
+    void loadUserByUsername_findsAdministradorInOneQuery() {
+        Administrador admin = administrador("login.admin@clinica.cl");
+        limpiarContexto();
+
+        CustomUserDetails principal = (CustomUserDetails) userDetailsService.loadUserByUsername("login.admin@clinica.cl");
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(principal.getTipoCuenta()).isEqualTo(TipoCuenta.ADMINISTRADOR);
+        assertThat(principal.getUserId()).isEqualTo(admin.getId());
+        assertThat(principal.getDoctorId()).isNull();
+        assertThat(principal.getRoleName()).isEqualTo("Administrador");
+    }
+
+    @Test
+    @DisplayName("loadUserByUsername prioriza Usuarios si el correo también es de un doctor")
+    void loadUserByUsername_prefersUsuario() {
+        Usuario usuario = usuario("compartido@clinica.cl");
+        doctor("compartido@clinica.cl", true);
+        limpiarContexto();
+
+        CustomUserDetails principal = (CustomUserDetails) userDetailsService.loadUserByUsername("compartido@clinica.cl");
+
+        assertThat(principal.getTipoCuenta()).isEqualTo(TipoCuenta.USUARIO);
+        assertThat(principal.getUserId()).isEqualTo(usuario.getId());
+        assertThat(principal.getNombre()).isEqualTo("Paula");
+    }
+
+    @Test
+    @DisplayName("loadUserByUsername ignora doctores inactivos")
+    void loadUserByUsername_ignoresInactiveDoctor() {
+        doctor("inactivo@clinica.cl", false);
+        limpiarContexto();
+
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername("inactivo@clinica.cl"))
+            .isInstanceOf(UsernameNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Un login con hash SHA-256 legado reescribe la contraseña como bcrypt")
+    void authenticate_rehashesLegacySha256() {
+        Usuario usuario = usuario("legado@clinica.cl");
+        usuario.setContrasena(new Sha256PasswordEncoder().encode("clave-legada"));
+        limpiarContexto();
+
+        authenticationManager.authenticate(
+            new UsernamePasswordAuthenticationToken("legado@clinica.cl", "clave-legada")
+        );
+        entityManager.clear();
+
+        String guardada = entityManager.find(Usuario.class, usuario.getId()).getContrasena();
+        assertThat(guardada).startsWith("{bcrypt}$2");
+        authenticationManager.authenticate(
+            new UsernamePasswordAuthenticationToken("legado@clinica.cl", "clave-legada")
+        );
+        entityManager.clear();
+        assertThat(entityManager.find(Usuario.class, usuario.getId()).getContrasena()).isEqualTo(guardada);
+    }
+
+    @Test
+    @DisplayName("updatePassword actualiza el hash del doctor y lo devuelve en el principal")
+    void updatePassword_updatesDoctorHash() {
+        Doctor doctor = doctor("rehash.doctor@clinica.cl", true);
+        limpiarContexto();
+        CustomUserDetails principal = (CustomUserDetails) userDetailsService.loadUserByUsername("rehash.doctor@clinica.cl");
+
+        CustomUserDetails actualizado = (CustomUserDetails) userDetailsService.updatePassword(principal, "{bcrypt}nuevo");
+        entityManager.clear();
+
+        assertThat(actualizado.getPassword()).isEqualTo("{bcrypt}nuevo");
+        assertThat(actualizado.getTokenVersion()).isEqualTo(principal.getTokenVersion());
+        assertThat(entityManager.find(Doctor.class, doctor.getId()).getContrasena()).isEqualTo("{bcrypt}nuevo");
+    }
+
+    private void limpiarContexto() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    private Rol rol(String nombre) {
+        Rol rol = new Rol();
+        rol.setNombre(nombre);
+        entityManager.persist(rol);
+        return rol;
+    }
+
+    private Usuario usuario(String correo) {
+        Usuario usuario = new Usuario();
+        usuario.setNombre("Paula");
+        usuario.setApellido("Rojas");
+        usuario.setFechaNacimiento(LocalDate.of(1992, 4, 3));
+        usuario.setCorreo(correo);
+        usuario.setContrasena("hash-usuario");
+        usuario.setRol(rolPaciente);
+        entityManager.persist(usuario);
+        return usuario;
+    }
+
+    private Doctor doctor(String correo, boolean activo) {
+        Doctor doctor = new Doctor();
+        doctor.setNombre("Diego");
+        doctor.setApellido("Muñoz");
+        doctor.setFechaNacimiento(LocalDate.of(1978, 9, 12));
+        doctor.setCorreo(correo);
+        doctor.setContrasena("hash-doctor");
+        doctor.setRol(rolDoctor);
+        doctor.setEspecialidad(especialidad);
+        doctor.setTarifaConsulta(30000);
+        doctor.setSueldo(2_000_000L);
+        doctor.setActivo(activo);
+        entityManager.persist(doctor);
+        return doctor;
+    }
+
+    private Administrador administrador(String correo) {
+        Administrador admin = new Administrador();
+        admin.setNombre("Carla");
+        admin.setApellido("Vidal");
+        admin.setFechaNacimiento(LocalDate.of(1985, 2, 20));
+        admin.setCorreo(correo);
+        admin.setContrasena("hash-admin");
+        admin.setSueldo(1_500_000L);
+        admin.setActivo(true);
+        admin.setRol(rolAdmin);
+        entityManager.persist(admin);
+        return admin;
+    }
+}
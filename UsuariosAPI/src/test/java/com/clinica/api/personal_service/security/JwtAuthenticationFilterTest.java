@@ -0,0 +1,109 @@
+package com.clinica.api.personal_service.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.clinica.api.personal_service.model.Doctor;
+import com.clinica.api.personal_service.model.Rol;
+import java.time.LocalDate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "C6t8E1o9K5jQy2WvRx8GzF0pHk9sV1nM";
+
+    @Mock
+    private TokenVersionCache tokenVersionCache;
+
+    private JwtService jwtService;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(SECRET, 3_600_000L, 100);
+        filter = new JwtAuthenticationFilter(jwtService, tokenVersionCache);
+    }
+
+    @AfterEach
+    void limpiarContexto() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("doFilter autentica con los claims del token sin cargar la cuenta")
+    void doFilter_buildsPrincipalFromClaims() throws Exception {
+        String token = jwtService.generateToken(CustomUserDetails.fromDoctor(doctor(4L)));
+        when(tokenVersionCache.esVigente(TipoCuenta.DOCTOR, 7L, 4L)).thenReturn(true);
+
+        filter.doFilter(request("Bearer " + token), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(auth).isNotNull();
+        CustomUserDetails principal = (CustomUserDetails) auth.getPrincipal();
+        assertThat(principal.getUsername()).isEqualTo("doc@clinica.cl");
+        assertThat(principal.getUserId()).isEqualTo(7L);
+        assertThat(principal.getDoctorId()).isEqualTo(7L);
+        assertThat(principal.getPassword()).isNull();
+        assertThat(auth.getAuthorities()).extracting("authority").containsExactly("ROLE_DOCTOR");
+    }
+
+    @Test
+    @DisplayName("doFilter no autentica un token cuya versión fue revocada")
+    void doFilter_rejectsRevokedVersion() throws Exception {
+        String token = jwtService.generateToken(CustomUserDetails.fromDoctor(doctor(0L)));
+        when(tokenVersionCache.esVigente(TipoCuenta.DOCTOR, 7L, 0L)).thenReturn(false);
+
+        filter.doFilter(request("Bearer " + token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    @DisplayName("doFilter ignora tokens con firma inválida sin consultar la versión")
+    void doFilter_ignoresTamperedToken() throws Exception {
+        String token = jwtService.generateToken(CustomUserDetails.fromDoctor(doctor(0L)));
+        String alterado = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        filter.doFilter(request("Bearer " + alterado), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(tokenVersionCache, never()).esVigente(any(), any(), anyLong());
+    }
+
+    private static MockHttpServletRequest request(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/doctores");
+        request.addHeader("Authorization", authorization);
+        return request;
+    }
+
+    private static Doctor doctor(Long tokenVersion) {
+        Rol rol = new Rol();
+        rol.setNombre("Doctor");
+        Doctor doctor = new Doctor();
+        doctor.setId(7L);
+        doctor.setCorreo("doc@clinica.cl");
+        doctor.setContrasena("hash");
+        doctor.setNombre("Ana");
+        doctor.setApellido("Pérez");
+        doctor.setFechaNacimiento(LocalDate.of(1980, 1, 1));
+        doctor.setRol(rol);
+        doctor.setTokenVersion(tokenVersion);
+        return doctor;
+    }
+}
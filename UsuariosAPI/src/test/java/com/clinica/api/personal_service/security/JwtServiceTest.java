@@ -0,0 +1,69 @@
+package com.clinica.api.personal_service.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.clinica.api.personal_service.model.Rol;
+import com.clinica.api.personal_service.model.Usuario;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import java.time.LocalDate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "C6t8E1o9K5jQy2WvRx8GzF0pHk9sV1nM";
+
+    @Test
+    @DisplayName("parsePrincipal reutiliza la verificación de un token ya visto")
+    void parsePrincipal_cachesVerifiedToken() {
+        JwtService jwtService = new JwtService(SECRET, 3_600_000L, 100);
+        String token = jwtService.generateToken(CustomUserDetails.fromUsuario(usuario()));
+
+        CustomUserDetails primero = jwtService.parsePrincipal(token);
+        CustomUserDetails segundo = jwtService.parsePrincipal(token);
+
+        assertThat(segundo).isSameAs(primero);
+        assertThat(primero.getUserId()).isEqualTo(3L);
+        assertThat(primero.getTipoCuenta()).isEqualTo(TipoCuenta.USUARIO);
+    }
+
+    @Test
+    @DisplayName("parsePrincipal rechaza un token alterado aunque el original esté en caché")
+    void parsePrincipal_rejectsTamperedTokenAfterCachingOriginal() {
+        JwtService jwtService = new JwtService(SECRET, 3_600_000L, 100);
+        String token = jwtService.generateToken(CustomUserDetails.fromUsuario(usuario()));
+        jwtService.parsePrincipal(token);
+        String[] partes = token.split("\\.");
+        String alterado = partes[0] + "." + partes[1] + "x." + partes[2];
+
+        assertThatThrownBy(() -> jwtService.parsePrincipal(alterado)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    @DisplayName("parsePrincipal deja de aceptar un token en caché cuando expira")
+    void parsePrincipal_expiresCachedToken() throws Exception {
+        JwtService jwtService = new JwtService(SECRET, 1_000L, 100);
+        String token = jwtService.generateToken(CustomUserDetails.fromUsuario(usuario()));
+        jwtService.parsePrincipal(token);
+
+        Thread.sleep(1_100L);
+
+        assertThatThrownBy(() -> jwtService.parsePrincipal(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    private static Usuario usuario() {
+        Rol rol = new Rol();
+        rol.setNombre("Paciente");
+        Usuario usuario = new Usuario();
+        usuario.setId(3L);
+        usuario.setCorreo("paciente@clinica.cl");
+        usuario.setContrasena("hash");
+        usuario.setNombre("Luis");
+        usuario.setApellido("Soto");
+        usuario.setFechaNacimiento(LocalDate.of(1995, 6, 1));
+        usuario.setRol(rol);
+        return usuario;
+    }
+}
@@ -0,0 +1,69 @@
+package com.clinica.api.personal_service.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.clinica.api.personal_service.exception.PasswordHashingBusyException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+
+class PasswordHashingExecutorTest {
+
+    private final PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1);
+
+    @AfterEach
+    void tearDown() {
+        executor.cerrar();
+    }
+
+    @Test
+    @DisplayName("ejecutar devuelve el resultado de la tarea")
+    void ejecutar_returnsResult() {
+        assertThat(executor.ejecutar(() -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    @DisplayName("ejecutar propaga la excepción original de la tarea")
+    void ejecutar_propagatesTaskException() {
+        assertThatThrownBy(() -> executor.ejecutar(() -> {
+            throw new BadCredentialsException("credenciales");
+        })).isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    @DisplayName("ejecutar rechaza con PasswordHashingBusyException si el hilo y la cola están ocupados")
+    void ejecutar_rejectsWhenSaturated() throws Exception {
+        CountDownLatch ocupado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<String> enHilo = CompletableFuture.supplyAsync(() -> executor.ejecutar(() -> {
+            ocupado.countDown();
+            liberar.await();
+            return "primero";
+        }));
+        assertThat(ocupado.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> enCola = CompletableFuture.supplyAsync(() -> executor.ejecutar(() -> "segundo"));
+        esperarCola();
+
+        try {
+            assertThatThrownBy(() -> executor.ejecutar(() -> "tercero"))
+                .isInstanceOf(PasswordHashingBusyException.class);
+        } finally {
+            liberar.countDown();
+        }
+        assertThat(enHilo.get(5, TimeUnit.SECONDS)).isEqualTo("primero");
+        assertThat(enCola.get(5, TimeUnit.SECONDS)).isEqualTo("segundo");
+    }
+
+    private void esperarCola() throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.enCola() == 0 && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+        assertThat(executor.enCola()).isEqualTo(1);
+    }
+}
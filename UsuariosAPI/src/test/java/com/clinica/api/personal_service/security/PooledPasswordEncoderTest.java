@@ -0,0 +1,80 @@
+package com.clinica.api.personal_service.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.clinica.api.personal_service.exception.PasswordHashingBusyException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class PooledPasswordEncoderTest {
+
+    private final PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1);
+
+    @AfterEach
+    void tearDown() {
+        executor.cerrar();
+    }
+
+    @Test
+    @DisplayName("encode y matches corren en un hilo del pool de hashing")
+    void encodeAndMatches_runInHashingPool() {
+        RegistroHilos delegado = new RegistroHilos();
+        PooledPasswordEncoder encoder = new PooledPasswordEncoder(delegado, executor);
+
+        String hash = encoder.encode("Clave123");
+
+        assertThat(encoder.matches("Clave123", hash)).isTrue();
+        assertThat(encoder.matches("otra", hash)).isFalse();
+        assertThat(delegado.hilo).startsWith("password-hashing-");
+    }
+
+    @Test
+    @DisplayName("encode lanza PasswordHashingBusyException si el hilo y la cola están ocupados")
+    void encode_rejectsWhenPoolBusy() throws Exception {
+        PooledPasswordEncoder encoder = new PooledPasswordEncoder(new RegistroHilos(), executor);
+        CountDownLatch ocupado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<String> enHilo = CompletableFuture.supplyAsync(() -> executor.ejecutar(() -> {
+            ocupado.countDown();
+            liberar.await();
+            return "primero";
+        }));
+        assertThat(ocupado.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> enCola = CompletableFuture.supplyAsync(() -> executor.ejecutar(() -> "segundo"));
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.enCola() == 0 && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+
+        try {
+            assertThatThrownBy(() -> encoder.encode("Clave123")).isInstanceOf(PasswordHashingBusyException.class);
+        } finally {
+            liberar.countDown();
+        }
+        assertThat(enHilo.get(5, TimeUnit.SECONDS)).isEqualTo("primero");
+        assertThat(enCola.get(5, TimeUnit.SECONDS)).isEqualTo("segundo");
+    }
+
+    private static final class RegistroHilos implements PasswordEncoder {
+
+        private volatile String hilo;
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            hilo = Thread.currentThread().getName();
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            hilo = Thread.currentThread().getName();
+            return encodedPassword.equals("hash:" + rawPassword);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.clinica.api.personal_service.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.clinica.api.personal_service.repository.AdministradorRepository;
+import com.clinica.api.personal_service.repository.DoctorRepository;
+import com.clinica.api.personal_service.repository.UsuarioRepository;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVersionCacheTest {
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @Mock
+    private AdministradorRepository administradorRepository;
+
+    private TokenVersionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TokenVersionCache(usuarioRepository, doctorRepository, administradorRepository, 2, 60_000);
+    }
+
+    @Test
+    @DisplayName("esVigente consulta la base una sola vez por cuenta mientras la entrada está en caché")
+    void esVigente_cachesVersion() {
+        when(usuarioRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0L));
+
+        assertThat(cache.esVigente(TipoCuenta.USUARIO, 1L, 0L)).isTrue();
+        assertThat(cache.esVigente(TipoCuenta.USUARIO, 1L, 0L)).isTrue();
+        assertThat(cache.esVigente(TipoCuenta.USUARIO, 1L, 3L)).isFalse();
+
+        verify(usuarioRepository, times(1)).findTokenVersionById(1L);
+    }
+
+    @Test
+    @DisplayName("invalidar obliga a releer la versión y rechaza los tokens anteriores")
+    void invalidar_rejectsOlderTokens() {
+        when(doctorRepository.findTokenVersionByIdAndActivoTrue(5L)).thenReturn(Optional.of(0L)).thenReturn(Optional.of(1L));
+
+        assertThat(cache.esVigente(TipoCuenta.DOCTOR, 5L, 0L)).isTrue();
+        cache.invalidar(TipoCuenta.DOCTOR, 5L);
+
+        assertThat(cache.esVigente(TipoCuenta.DOCTOR, 5L, 0L)).isFalse();
+        assertThat(cache.esVigente(TipoCuenta.DOCTOR, 5L, 1L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("esVigente rechaza cuentas eliminadas o inactivas")
+    void esVigente_rejectsMissingAccount() {
+        when(administradorRepository.findTokenVersionByIdAndActivoTrue(9L)).thenReturn(Optional.empty());
+
+        assertThat(cache.esVigente(TipoCuenta.ADMINISTRADOR, 9L, 0L)).isFalse();
+        assertThat(cache.esVigente(TipoCuenta.ADMINISTRADOR, 9L, TokenVersionCache.REVOCADA)).isFalse();
+    }
+
+    @Test
+    @DisplayName("la caché descarta la cuenta usada hace más tiempo al superar el máximo")
+    void esVigente_evictsLeastRecentlyUsed() {
+        when(usuarioRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0L));
+        when(usuarioRepository.findTokenVersionById(2L)).thenReturn(Optional.of(0L));
+        when(usuarioRepository.findTokenVersionById(3L)).thenReturn(Optional.of(0L));
+
+        cache.esVigente(TipoCuenta.USUARIO, 1L, 0L);
+        cache.esVigente(TipoCuenta.USUARIO, 2L, 0L);
+        cache.esVigente(TipoCuenta.USUARIO, 1L, 0L);
+        cache.esVigente(TipoCuenta.USUARIO, 3L, 0L);
+        cache.esVigente(TipoCuenta.USUARIO, 1L, 0L);
+        cache.esVigente(TipoCuenta.USUARIO, 2L, 0L);
+
+        verify(usuarioRepository, times(1)).findTokenVersionById(1L);
+        verify(usuarioRepository, times(2)).findTokenVersionById(2L);
+    }
+}
@@ -9,6 +9,8 @@ import com.clinica.api.personal_service.exception.InvalidNewPasswordException;
 import com.clinica.api.personal_service.exception.WrongCurrentPasswordException;
 import com.clinica.api.personal_service.model.Administrador;
 import com.clinica.api.personal_service.repository.AdministradorRepository;
+import com.clinica.api.personal_service.security.TipoCuenta;
+import com.clinica.api.personal_service.security.TokenVersionCache;
 import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -27,6 +29,9 @@ class AdminPasswordServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private TokenVersionCache tokenVersionCache;
+
     @InjectMocks
     private AdminPasswordServiceImpl adminPasswordService;
 
@@ -41,7 +46,9 @@ class AdminPasswordServiceImplTest {
         adminPasswordService.changePassword(1L, "oldPass1", "NewPass12");
 
         assertThat(admin.getContrasena()).isEqualTo("newHash");
+        assertThat(admin.getTokenVersion()).isEqualTo(1L);
         verify(administradorRepository).save(admin);
+        verify(tokenVersionCache).invalidar(TipoCuenta.ADMINISTRADOR, 1L);
     }
 
     @Test
@@ -0,0 +1,107 @@
+package com.clinica.api.personal_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.clinica.api.personal_service.model.Especialidad;
+import com.clinica.api.personal_service.repository.DoctorRepository;
+import com.clinica.api.personal_service.repository.EspecialidadDoctor;
+import com.clinica.api.personal_service.repository.EspecialidadRepository;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogoEspecialidadesTest {
+
+    @Mock
+    private EspecialidadRepository especialidadRepository;
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    private CatalogoEspecialidades catalogo;
+
+    @BeforeEach
+    void setUp() {
+        catalogo = new CatalogoEspecialidades(especialidadRepository, doctorRepository, 60_000);
+        when(especialidadRepository.findAll()).thenReturn(List.of(
+            especialidad(1L, "Cardiología"),
+            especialidad(2L, "Pediatría"),
+            especialidad(3L, "Geriatría")
+        ));
+        when(doctorRepository.findEspecialidadesDeDoctoresActivos()).thenReturn(List.of(
+            fila(10L, 1L),
+            fila(11L, 2L),
+            fila(12L, 1L),
+            fila(13L, null)
+        ));
+    }
+
+    @Test
+    @DisplayName("el catálogo se lee una vez y responde especialidades y doctores desde memoria")
+    void lecturas_consultanLaBaseUnaVez() {
+        assertThat(catalogo.especialidades()).extracting(Especialidad::getNombre)
+            .containsExactly("Cardiología", "Pediatría", "Geriatría");
+        assertThat(catalogo.doctoresActivos(1L)).containsExactly(10L, 12L);
+        assertThat(catalogo.doctoresActivos(3L)).isEmpty();
+        assertThat(catalogo.especialidadDeDoctor(11L)).map(Especialidad::getId).contains(2L);
+        assertThat(catalogo.doctorActivo(13L)).isTrue();
+        assertThat(catalogo.especialidadDeDoctor(13L)).isEmpty();
+        assertThat(catalogo.doctorActivo(99L)).isFalse();
+        assertThat(catalogo.especialidad(99L)).isEmpty();
+
+        verify(especialidadRepository, times(1)).findAll();
+        verify(doctorRepository, times(1)).findEspecialidadesDeDoctoresActivos();
+    }
+
+    @Test
+    @DisplayName("las especialidades entregadas son copias y no alteran el catálogo")
+    void especialidades_entregaCopias() {
+        catalogo.especialidad(1L).orElseThrow().setNombre("Modificada");
+        catalogo.especialidades().get(1).setNombre("Modificada");
+
+        assertThat(catalogo.especialidad(1L)).map(Especialidad::getNombre).contains("Cardiología");
+        assertThat(catalogo.especialidad(2L)).map(Especialidad::getNombre).contains("Pediatría");
+    }
+
+    @Test
+    @DisplayName("invalidar obliga a releer el catálogo en la siguiente lectura")
+    void invalidar_releeCatalogo() {
+        catalogo.especialidades();
+        when(especialidadRepository.findAll()).thenReturn(List.of(especialidad(1L, "Cardiología adultos")));
+
+        catalogo.invalidar();
+
+        assertThat(catalogo.especialidades()).extracting(Especialidad::getNombre)
+            .containsExactly("Cardiología adultos");
+        verify(especialidadRepository, times(2)).findAll();
+    }
+
+    private static EspecialidadDoctor fila(Long idDoctor, Long idEspecialidad) {
+        return new EspecialidadDoctor() {
+            @Override
+            public Long getIdDoctor() {
+                return idDoctor;
+            }
+
+            @Override
+            public Long getIdEspecialidad() {
+                return idEspecialidad;
+            }
+        };
+    }
+
+    private static Especialidad especialidad(Long id, String nombre) {
+        Especialidad especialidad = new Especialidad();
+        especialidad.setId(id);
+        especialidad.setNombre(nombre);
+        return especialidad;
+    }
+}
@@ -0,0 +1,148 @@
+package com.clinica.api.personal_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.clinica.api.personal_service.dto.DoctorDirectorioItem;
+import com.clinica.api.personal_service.dto.DoctorDirectorioPage;
+import com.clinica.api.personal_service.model.Doctor;
+import com.clinica.api.personal_service.model.Especialidad;
+import com.clinica.api.personal_service.repository.DoctorRepository;
+import com.clinica.api.personal_service.storage.FotoPerfilPorDefecto;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DirectorioDoctoresTest {
+
+    private static final String HASH_DEFECTO = "d".repeat(64);
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @Mock
+    private FotoPerfilPorDefecto fotoPerfilPorDefecto;
+
+    private DirectorioDoctores directorio;
+
+    private final Especialidad cardiologia = especialidad(1L, "Cardiología");
+    private final Especialidad pediatria = especialidad(2L, "Pediatría");
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(fotoPerfilPorDefecto.getHash()).thenReturn(HASH_DEFECTO);
+        directorio = new DirectorioDoctores(doctorRepository, fotoPerfilPorDefecto, 60_000);
+        lenient().when(doctorRepository.findByActivoTrue()).thenReturn(List.of(
+            doctor(1L, "Ana María", "Gómez", cardiologia),
+            doctor(2L, "Andrés", "Muñoz", pediatria),
+            doctor(3L, "Beatriz", "Gonzalez", pediatria),
+            doctor(4L, "Carlos", "Álvarez", cardiologia)
+        ));
+    }
+
+    @Test
+    @DisplayName("buscar sin filtros entrega todos los doctores ordenados por apellido y nombre")
+    void buscar_sinFiltros_ordenaPorApellido() {
+        DoctorDirectorioPage pagina = directorio.buscar(null, null, 0, 20);
+
+        assertThat(pagina.getTotal()).isEqualTo(4);
+        assertThat(ids(pagina)).containsExactly(4L, 1L, 3L, 2L);
+        assertThat(pagina.getDoctores().get(0).getEspecialidad()).isEqualTo("Cardiología");
+        assertThat(pagina.getDoctores().get(0).getFotoPerfilVersion()).isEqualTo(HASH_DEFECTO);
+    }
+
+    @Test
+    @DisplayName("buscar compara por prefijo de palabra sin distinguir tildes ni mayúsculas")
+    void buscar_prefijoSinTildes() {
+        assertThat(ids(directorio.buscar("GO", null, 0, 20))).containsExactly(1L, 3L);
+        assertThat(ids(directorio.buscar("alva", null, 0, 20))).containsExactly(4L);
+        assertThat(ids(directorio.buscar("maría", null, 0, 20))).containsExactly(1L);
+        assertThat(ids(directorio.buscar("an", null, 0, 20))).containsExactly(1L, 2L);
+        assertThat(directorio.buscar("zz", null, 0, 20).getTotal()).isZero();
+    }
+
+    @Test
+    @DisplayName("buscar exige que cada palabra de la consulta calce con alguna palabra del doctor")
+    void buscar_variasPalabras() {
+        assertThat(ids(directorio.buscar("an mu", null, 0, 20))).containsExactly(2L);
+        assertThat(ids(directorio.buscar("gomez ana", null, 0, 20))).containsExactly(1L);
+        assertThat(directorio.buscar("ana gonzalez", null, 0, 20).getTotal()).isZero();
+    }
+
+    @Test
+    @DisplayName("buscar filtra por especialidad y pagina informando el total")
+    void buscar_filtraYPagina() {
+        DoctorDirectorioPage pagina = directorio.buscar(null, 2L, 1, 1);
+
+        assertThat(pagina.getTotal()).isEqualTo(2);
+        assertThat(ids(pagina)).containsExactly(2L);
+        assertThat(directorio.buscar("go", 2L, 0, 20).getDoctores())
+            .extracting(DoctorDirectorioItem::getIdDoctor)
+            .containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("buscar rechaza paginación inválida")
+    void buscar_rechazaPaginacionInvalida() {
+        assertThatThrownBy(() -> directorio.buscar(null, null, -1, 20))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> directorio.buscar(null, null, 0, DirectorioDoctores.MAX_SIZE + 1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("el índice se construye una vez y se reconstruye tras invalidar")
+    void invalidar_reconstruyeIndice() {
+        directorio.buscar("go", null, 0, 20);
+        directorio.buscar("an", null, 0, 20);
+        verify(doctorRepository, times(1)).findByActivoTrue();
+
+        when(doctorRepository.findByActivoTrue()).thenReturn(List.of(doctor(5L, "Gonzalo", "Rojas", cardiologia)));
+        directorio.invalidar();
+
+        assertThat(ids(directorio.buscar("go", null, 0, 20))).containsExactly(5L);
+        verify(doctorRepository, times(2)).findByActivoTrue();
+    }
+
+    @Test
+    @DisplayName("con ttl vencido el índice se relee de la base")
+    void ttlVencido_reconstruyeIndice() {
+        DirectorioDoctores sinTtl = new DirectorioDoctores(doctorRepository, fotoPerfilPorDefecto, 0);
+
+        sinTtl.buscar(null, null, 0, 20);
+        sinTtl.buscar(null, null, 0, 20);
+
+        verify(doctorRepository, times(2)).findByActivoTrue();
+    }
+
+    private List<Long> ids(DoctorDirectorioPage pagina) {
+        return pagina.getDoctores().stream().map(DoctorDirectorioItem::getIdDoctor).toList();
+    }
+
+    private Doctor doctor(Long id, String nombre, String apellido, Especialidad especialidad) {
+        Doctor doctor = new Doctor();
+        doctor.setId(id);
+        doctor.setNombre(nombre);
+        doctor.setApellido(apellido);
+        doctor.setEspecialidad(especialidad);
+        doctor.setTarifaConsulta(40000);
+        doctor.setActivo(true);
+        return doctor;
+    }
+
+    private static Especialidad especialidad(Long id, String nombre) {
+        Especialidad especialidad = new Especialidad();
+        especialidad.setId(id);
+        especialidad.setNombre(nombre);
+        return especialidad;
+    }
+}
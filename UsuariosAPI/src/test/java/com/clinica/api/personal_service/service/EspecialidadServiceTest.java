@@ -4,12 +4,14 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.clinica.api.personal_service.model.Doctor;
 import com.clinica.api.personal_service.model.Especialidad;
 import com.clinica.api.personal_service.repository.DoctorRepository;
 import com.clinica.api.personal_service.repository.EspecialidadRepository;
+import jakarta.persistence.EntityNotFoundException;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
@@ -28,6 +30,12 @@ class EspecialidadServiceTest {
     @Mock
     private DoctorRepository doctorRepository;
 
+    @Mock
+    private DirectorioDoctores directorioDoctores;
+
+    @Mock
+    private CatalogoEspecialidades catalogoEspecialidades;
+
     @InjectMocks
     private EspecialidadService especialidadService;
 
@@ -45,6 +53,7 @@ class EspecialidadServiceTest {
         assertThat(result).isSameAs(persistida);
         assertThat(doctor.getEspecialidad()).isSameAs(persistida);
         verify(doctorRepository).save(doctor);
+        verify(catalogoEspecialidades).invalidar();
     }
 
     @Test
@@ -61,6 +70,8 @@ class EspecialidadServiceTest {
         assertThat(result.getNombre()).isEqualTo("Nueva");
         assertThat(doctor.getEspecialidad()).isSameAs(especialidad);
         verify(doctorRepository).save(doctor);
+        verify(directorioDoctores).invalidar();
+        verify(catalogoEspecialidades).invalidar();
     }
 
     @Test
@@ -75,16 +86,48 @@ class EspecialidadServiceTest {
     }
 
     @Test
-    @DisplayName("findByDoctorId retorna la especialidad del doctor activo")
+    @DisplayName("findByDoctorId retorna la especialidad del doctor activo desde el catálogo")
     void findByDoctorId_returnsEspecialidad() {
         Especialidad especialidad = especialidad(4L, "Dermatología");
-        Doctor doctor = doctor(10L);
-        doctor.setEspecialidad(especialidad);
-        when(doctorRepository.findByIdAndActivoTrue(10L)).thenReturn(Optional.of(doctor));
+        when(catalogoEspecialidades.doctorActivo(10L)).thenReturn(true);
+        when(catalogoEspecialidades.especialidadDeDoctor(10L)).thenReturn(Optional.of(especialidad));
 
         List<Especialidad> result = especialidadService.findByDoctorId(10L);
 
         assertThat(result).containsExactly(especialidad);
+        verifyNoInteractions(doctorRepository, especialidadRepository);
+    }
+
+    @Test
+    @DisplayName("findByDoctorId lanza EntityNotFoundException si el doctor no está activo")
+    void findByDoctorId_throwsWhenDoctorInactive() {
+        when(catalogoEspecialidades.doctorActivo(11L)).thenReturn(false);
+
+        assertThatThrownBy(() -> especialidadService.findByDoctorId(11L))
+            .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("delete invalida el catálogo tras borrar una especialidad sin doctores")
+    void delete_invalidatesCatalog() {
+        Especialidad especialidad = especialidad(6L, "Geriatría");
+        when(especialidadRepository.findById(6L)).thenReturn(Optional.of(especialidad));
+        when(doctorRepository.findByEspecialidadAndActivoTrue(especialidad)).thenReturn(List.of());
+
+        especialidadService.delete(6L);
+
+        verify(especialidadRepository).delete(especialidad);
+        verify(catalogoEspecialidades).invalidar();
+    }
+
+    @Test
+    @DisplayName("findDoctorIdsPorEspecialidad entrega los ids del catálogo sin consultar la base")
+    void findDoctorIdsPorEspecialidad_usesCatalog() {
+        when(catalogoEspecialidades.especialidad(4L)).thenReturn(Optional.of(especialidad(4L, "Dermatología")));
+        when(catalogoEspecialidades.doctoresActivos(4L)).thenReturn(List.of(10L, 12L));
+
+        assertThat(especialidadService.findDoctorIdsPorEspecialidad(4L)).containsExactly(10L, 12L);
+        verifyNoInteractions(doctorRepository, especialidadRepository);
     }
 
     private Doctor doctor(Long id) {
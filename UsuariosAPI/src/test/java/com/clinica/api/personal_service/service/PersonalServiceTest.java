@@ -4,12 +4,19 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.clinica.api.personal_service.model.Doctor;
 import com.clinica.api.personal_service.model.Rol;
 import com.clinica.api.personal_service.repository.DoctorRepository;
 import com.clinica.api.personal_service.repository.RolRepository;
+import com.clinica.api.personal_service.security.TokenVersionCache;
+import com.clinica.api.personal_service.storage.FotoPerfil;
+import com.clinica.api.personal_service.storage.FotoPerfilPorDefecto;
+import com.clinica.api.personal_service.storage.FotoPerfilStorage;
+import com.clinica.api.personal_service.storage.FotoPerfilVariantes;
+import com.clinica.api.personal_service.storage.TamanoFoto;
 import jakarta.persistence.EntityNotFoundException;
 import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
@@ -18,6 +25,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +40,24 @@ class PersonalServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private TokenVersionCache tokenVersionCache;
+
+    @Mock
+    private FotoPerfilStorage fotoPerfilStorage;
+
+    @Mock
+    private FotoPerfilVariantes fotoPerfilVariantes;
+
+    @Mock
+    private FotoPerfilPorDefecto fotoPerfilPorDefecto;
+
+    @Mock
+    private DirectorioDoctores directorioDoctores;
+
+    @Mock
+    private CatalogoEspecialidades catalogoEspecialidades;
+
     @InjectMocks
     private PersonalService personalService;
 
@@ -78,6 +104,34 @@ class PersonalServiceTest {
 
         assertThat(doctor.getActivo()).isFalse();
         verify(empleadoRepository).save(doctor);
+        verify(directorioDoctores).invalidar();
+        verify(catalogoEspecialidades).invalidar();
+    }
+
+    @Test
+    @DisplayName("obtenerFotoPerfilDoctor sin foto propia sirve el avatar compartido sin tocar el almacén")
+    void obtenerFotoPerfilDoctor_usesSharedDefault() {
+        Doctor doctor = doctor(true);
+        when(empleadoRepository.findByIdAndActivoTrue(1L)).thenReturn(Optional.of(doctor));
+        FotoPerfil avatar = new FotoPerfil(new ByteArrayResource(new byte[] {1}), "e".repeat(64), TamanoFoto.THUMB, true);
+        when(fotoPerfilPorDefecto.obtener(TamanoFoto.THUMB)).thenReturn(Optional.of(avatar));
+
+        FotoPerfil foto = personalService.obtenerFotoPerfilDoctor(1L, TamanoFoto.THUMB);
+
+        assertThat(foto).isSameAs(avatar);
+        verifyNoInteractions(fotoPerfilVariantes, fotoPerfilStorage);
+    }
+
+    @Test
+    @DisplayName("versionFotoPerfil usa el hash propio o, sin foto, el del avatar compartido")
+    void versionFotoPerfil_fallsBackToDefaultHash() {
+        Doctor sinFoto = doctor(true);
+        Doctor conFoto = doctor(true);
+        conFoto.setFotoPerfilHash("f".repeat(64));
+        when(fotoPerfilPorDefecto.getHash()).thenReturn("e".repeat(64));
+
+        assertThat(personalService.versionFotoPerfil(sinFoto)).isEqualTo("e".repeat(64));
+        assertThat(personalService.versionFotoPerfil(conFoto)).isEqualTo("f".repeat(64));
     }
 
     private Doctor doctor(Boolean activo) {
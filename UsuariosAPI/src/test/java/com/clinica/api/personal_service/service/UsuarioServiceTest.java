@@ -2,6 +2,8 @@ package com.clinica.api.personal_service.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -9,17 +11,22 @@ import com.clinica.api.personal_service.dto.UsuarioResponse;
 import com.clinica.api.personal_service.model.Rol;
 import com.clinica.api.personal_service.model.Usuario;
 import com.clinica.api.personal_service.repository.UsuarioRepository;
+import com.clinica.api.personal_service.security.TokenVersionCache;
+import com.clinica.api.personal_service.storage.FotoPerfil;
+import com.clinica.api.personal_service.storage.FotoPerfilStorage;
+import com.clinica.api.personal_service.storage.FotoPerfilVariantes;
+import com.clinica.api.personal_service.storage.TamanoFoto;
 import jakarta.persistence.EntityNotFoundException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
-import javax.sql.rowset.serial.SerialBlob;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.multipart.MultipartFile;
@@ -33,6 +40,15 @@ class UsuarioServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private TokenVersionCache tokenVersionCache;
+
+    @Mock
+    private FotoPerfilStorage fotoPerfilStorage;
+
+    @Mock
+    private FotoPerfilVariantes fotoPerfilVariantes;
+
     @InjectMocks
     private UsuarioService usuarioService;
 
@@ -94,17 +110,18 @@ class UsuarioServiceTest {
     }
 
     @Test
-    @DisplayName("actualizarFotoPerfilUsuario guarda el BLOB cuando el archivo es válido")
-    void actualizarFotoPerfilUsuario_storesBlob() throws Exception {
+    @DisplayName("actualizarFotoPerfilUsuario guarda el archivo y el hash cuando es válido")
+    void actualizarFotoPerfilUsuario_storesHash() {
         Usuario usuario = usuario(4L, "paciente");
         when(usuarioRepository.findById(4L)).thenReturn(Optional.of(usuario));
         MultipartFile file = new MockMultipartFile("file", "foto.jpg", "image/jpeg", new byte[] {1, 2, 3});
+        when(fotoPerfilStorage.guardar(file)).thenReturn("a".repeat(64));
 
         usuarioService.actualizarFotoPerfilUsuario(4L, file);
 
-        assertThat(usuario.getFotoPerfil()).isNotNull();
-        assertThat(usuario.getFotoPerfil().length()).isEqualTo(3);
+        assertThat(usuario.getFotoPerfilHash()).isEqualTo("a".repeat(64));
         verify(usuarioRepository).save(usuario);
+        verify(fotoPerfilVariantes).generarEnSegundoPlano("a".repeat(64));
     }
 
     @Test
@@ -116,28 +133,31 @@ class UsuarioServiceTest {
 
         assertThatThrownBy(() -> usuarioService.actualizarFotoPerfilUsuario(5L, file))
             .isInstanceOf(IllegalArgumentException.class);
+        verify(fotoPerfilStorage, never()).guardar(any(MultipartFile.class));
     }
 
     @Test
-    @DisplayName("obtenerFotoPerfilUsuario retorna los bytes cuando existe la foto")
-    void obtenerFotoPerfilUsuario_returnsBytes() throws Exception {
+    @DisplayName("obtenerFotoPerfilUsuario retorna la variante pedida cuando existe la foto")
+    void obtenerFotoPerfilUsuario_returnsVariant() throws Exception {
         Usuario usuario = usuario(6L, "paciente");
-        usuario.setFotoPerfil(new SerialBlob(new byte[] {9, 8}));
+        usuario.setFotoPerfilHash("b".repeat(64));
         when(usuarioRepository.findById(6L)).thenReturn(Optional.of(usuario));
+        FotoPerfil thumb = new FotoPerfil(new ByteArrayResource(new byte[] {9, 8}), "b".repeat(64), TamanoFoto.THUMB, true);
+        when(fotoPerfilVariantes.obtener("b".repeat(64), TamanoFoto.THUMB)).thenReturn(Optional.of(thumb));
 
-        byte[] bytes = usuarioService.obtenerFotoPerfilUsuario(6L);
+        FotoPerfil foto = usuarioService.obtenerFotoPerfilUsuario(6L, TamanoFoto.THUMB);
 
-        assertThat(bytes).containsExactly(9, 8);
+        assertThat(foto.contenido().getContentAsByteArray()).containsExactly(9, 8);
     }
 
     @Test
     @DisplayName("obtenerFotoPerfilUsuario lanza EntityNotFoundException cuando no hay foto")
     void obtenerFotoPerfilUsuario_throwsWhenMissingPhoto() {
         Usuario usuario = usuario(7L, "paciente");
-        usuario.setFotoPerfil(null);
+        usuario.setFotoPerfilHash(null);
         when(usuarioRepository.findById(7L)).thenReturn(Optional.of(usuario));
 
-        assertThatThrownBy(() -> usuarioService.obtenerFotoPerfilUsuario(7L))
+        assertThatThrownBy(() -> usuarioService.obtenerFotoPerfilUsuario(7L, TamanoFoto.ORIGINAL))
             .isInstanceOf(EntityNotFoundException.class);
     }
 
@@ -0,0 +1,98 @@
+package com.clinica.api.personal_service.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// Sin @Transactional: la migración usa JdbcTemplate directamente, igual que al arrancar.
+@SpringBootTest
+class FotoPerfilMigracionTest {
+
+    @Autowired
+    private FotoPerfilMigracion migracion;
+
+    @Autowired
+    private FotoPerfilStorage storage;
+
+    @Autowired
+    private FotoPerfilPorDefecto fotoPerfilPorDefecto;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long rolId;
+    private Long usuarioId;
+    private Long especialidadId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("alter table usuarios add column foto_perfil blob");
+        jdbcTemplate.update("insert into rol (nombre) values (?)", "Paciente-migracion");
+        rolId = jdbcTemplate.queryForObject("select id_rol from rol where nombre = ?", Long.class, "Paciente-migracion");
+        jdbcTemplate.update(
+            "insert into usuarios (nombre, apellido, fecha_nacimiento, correo, contrasena, id_rol, foto_perfil) "
+                + "values (?, ?, ?, ?, ?, ?, ?)",
+            "Lucía", "Soto", LocalDate.of(1990, 1, 1), "migracion@clinica.cl", "hash", rolId, new byte[] {7, 7, 7}
+        );
+        usuarioId = jdbcTemplate.queryForObject(
+            "select id_usuario from usuarios where correo = ?", Long.class, "migracion@clinica.cl"
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from doctores where correo like 'dedup-%'");
+        if (especialidadId != null) {
+            jdbcTemplate.update("delete from especialidad where id_especialidad = ?", especialidadId);
+        }
+        jdbcTemplate.update("delete from usuarios where id_usuario = ?", usuarioId);
+        jdbcTemplate.update("delete from rol where id_rol = ?", rolId);
+        jdbcTemplate.execute("alter table usuarios drop column foto_perfil");
+    }
+
+    @Test
+    @DisplayName("migrar mueve la foto LOB al almacén, guarda el hash y vacía la columna")
+    void migrar_movesLegacyBlobToStorage() throws Exception {
+        int migradas = migracion.migrar("usuarios");
+
+        assertThat(migradas).isEqualTo(1);
+        String hash = jdbcTemplate.queryForObject(
+            "select foto_perfil_hash from usuarios where id_usuario = ?", String.class, usuarioId
+        );
+        assertThat(storage.obtener(hash).orElseThrow().getContentAsByteArray()).containsExactly(7, 7, 7);
+        assertThat(jdbcTemplate.queryForObject(
+            "select count(*) from usuarios where foto_perfil is not null", Integer.class
+        )).isZero();
+        assertThat(migracion.migrar("usuarios")).isZero();
+    }
+
+    @Test
+    @DisplayName("deduplicarAvatarPorDefecto deja sin hash a los doctores con copia del avatar y respeta las fotos propias")
+    void deduplicarAvatarPorDefecto_clearsDefaultCopies() {
+        jdbcTemplate.update("insert into especialidad (nombre) values (?)", "Dedup-" + System.nanoTime());
+        especialidadId = jdbcTemplate.queryForObject("select max(id_especialidad) from especialidad", Long.class);
+        doctor("dedup-1@clinica.cl", fotoPerfilPorDefecto.getHash());
+        doctor("dedup-2@clinica.cl", fotoPerfilPorDefecto.getHash());
+        doctor("dedup-3@clinica.cl", "9".repeat(64));
+
+        assertThat(migracion.deduplicarAvatarPorDefecto()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList(
+            "select foto_perfil_hash from doctores where correo like 'dedup-%' order by correo", String.class
+        )).containsExactly(null, null, "9".repeat(64));
+    }
+
+    private void doctor(String correo, String hash) {
+        jdbcTemplate.update(
+            "insert into doctores (nombre, apellido, fecha_nacimiento, correo, contrasena, id_rol, id_especialidad, "
+                + "tarifa_consulta, sueldo, activo, foto_perfil_hash) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+            "Diego", "Muñoz", LocalDate.of(1978, 9, 12), correo, "hash", rolId, especialidadId, 30000, 2_000_000L, true, hash
+        );
+    }
+}
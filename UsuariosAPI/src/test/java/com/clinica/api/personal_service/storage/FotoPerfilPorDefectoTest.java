@@ -0,0 +1,38 @@
+package com.clinica.api.personal_service.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+
+class FotoPerfilPorDefectoTest {
+
+    private final FotoPerfilPorDefecto porDefecto = new FotoPerfilPorDefecto();
+
+    @Test
+    @DisplayName("el hash del avatar compartido coincide con el que le da el almacén al mismo PNG")
+    void hash_matchesStorageHash(@TempDir Path directorio) throws Exception {
+        FotoPerfilStorage storage = new FotoPerfilStorage(directorio.toString());
+        try (InputStream png = new ClassPathResource("static/default_doctor_avatar.png").getInputStream()) {
+            assertThat(porDefecto.getHash()).isEqualTo(storage.guardar(png));
+        }
+    }
+
+    @Test
+    @DisplayName("obtener entrega cada tamaño como JPEG definitivo desde memoria")
+    void obtener_returnsJpegForEverySize() throws Exception {
+        for (TamanoFoto tamano : TamanoFoto.values()) {
+            FotoPerfil foto = porDefecto.obtener(tamano).orElseThrow();
+            assertThat(foto.definitiva()).isTrue();
+            assertThat(foto.etag()).isEqualTo("\"" + porDefecto.getHash() + "-" + tamano.getNombre() + "\"");
+            try (InputStream contenido = foto.contenido().getInputStream()) {
+                assertThat(ImageIO.read(contenido)).isNotNull();
+            }
+        }
+    }
+}
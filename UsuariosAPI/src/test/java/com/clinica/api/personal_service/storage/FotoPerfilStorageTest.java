@@ -0,0 +1,66 @@
+package com.clinica.api.personal_service.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+class FotoPerfilStorageTest {
+
+    @TempDir
+    Path directorio;
+
+    private FotoPerfilStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new FotoPerfilStorage(directorio.toString());
+    }
+
+    @Test
+    @DisplayName("guardar devuelve el SHA-256 del contenido y obtener entrega los mismos bytes")
+    void guardar_returnsSha256AndObtenerReadsFile() throws Exception {
+        String hash = storage.guardar(new ByteArrayInputStream("abc".getBytes()));
+
+        assertThat(hash).isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+        Resource foto = storage.obtener(hash).orElseThrow();
+        assertThat(foto.getContentAsByteArray()).isEqualTo("abc".getBytes());
+        assertThat(foto.contentLength()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("guardar el mismo contenido dos veces deja un solo archivo y ningún temporal")
+    void guardar_deduplicatesContent() throws Exception {
+        String primero = storage.guardar(new ByteArrayInputStream(new byte[] {1, 2, 3}));
+        String segundo = storage.guardar(new ByteArrayInputStream(new byte[] {1, 2, 3}));
+
+        assertThat(segundo).isEqualTo(primero);
+        try (Stream<Path> archivos = Files.walk(directorio)) {
+            assertThat(archivos.filter(Files::isRegularFile)).containsExactly(
+                directorio.resolve(primero.substring(0, 2)).resolve(primero)
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("obtener devuelve vacío si no hay hash o el archivo no existe")
+    void obtener_returnsEmptyWhenMissing() {
+        assertThat(storage.obtener(null)).isEmpty();
+        assertThat(storage.obtener("0".repeat(64))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("obtener rechaza hashes que podrían salir del directorio")
+    void obtener_rejectsInvalidHash() {
+        assertThatThrownBy(() -> storage.obtener("../../etc/passwd"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,142 @@
+package com.clinica.api.personal_service.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+class FotoPerfilVariantesTest {
+
+    @TempDir
+    Path directorio;
+
+    private FotoPerfilStorage storage;
+    private FotoPerfilVariantes variantes;
+
+    @BeforeEach
+    void setUp() {
+        storage = new FotoPerfilStorage(directorio.toString());
+        variantes = new FotoPerfilVariantes(storage, 1, 4, 1_000_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        variantes.cerrar();
+    }
+
+    @Test
+    @DisplayName("generar crea thumb y medium en JPEG respetando la proporción")
+    void generar_createsScaledJpegVariants() throws Exception {
+        String hash = storage.guardar(new ByteArrayInputStream(png(1200, 800)));
+
+        variantes.generar(hash);
+
+        BufferedImage thumb = leer(variantes.obtener(hash, TamanoFoto.THUMB).orElseThrow());
+        BufferedImage medium = leer(variantes.obtener(hash, TamanoFoto.MEDIUM).orElseThrow());
+        assertThat(thumb.getWidth()).isEqualTo(96);
+        assertThat(thumb.getHeight()).isEqualTo(64);
+        assertThat(medium.getWidth()).isEqualTo(512);
+        assertThat(medium.getHeight()).isEqualTo(341);
+    }
+
+    @Test
+    @DisplayName("generar no agranda imágenes más chicas que la variante")
+    void generar_doesNotUpscale() throws Exception {
+        String hash = storage.guardar(new ByteArrayInputStream(png(40, 30)));
+
+        variantes.generar(hash);
+
+        BufferedImage medium = leer(variantes.obtener(hash, TamanoFoto.MEDIUM).orElseThrow());
+        assertThat(medium.getWidth()).isEqualTo(40);
+        assertThat(medium.getHeight()).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("obtener entrega el original no definitivo y genera la variante en segundo plano")
+    void obtener_fallsBackToOriginalAndSchedulesGeneration() throws Exception {
+        String hash = storage.guardar(new ByteArrayInputStream(png(300, 300)));
+
+        FotoPerfil primera = variantes.obtener(hash, TamanoFoto.THUMB).orElseThrow();
+
+        assertThat(primera.tamano()).isEqualTo(TamanoFoto.ORIGINAL);
+        assertThat(primera.definitiva()).isFalse();
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (storage.obtenerVariante(hash, TamanoFoto.THUMB).isEmpty() && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        FotoPerfil segunda = variantes.obtener(hash, TamanoFoto.THUMB).orElseThrow();
+        assertThat(segunda.tamano()).isEqualTo(TamanoFoto.THUMB);
+        assertThat(segunda.definitiva()).isTrue();
+    }
+
+    @Test
+    @DisplayName("obtener del original es definitivo y un hash desconocido no devuelve foto")
+    void obtener_originalAndMissing() {
+        String hash = storage.guardar(new ByteArrayInputStream(new byte[] {1, 2, 3}));
+
+        assertThat(variantes.obtener(hash, TamanoFoto.ORIGINAL).orElseThrow().definitiva()).isTrue();
+        assertThat(variantes.obtener("d".repeat(64), TamanoFoto.THUMB)).isEmpty();
+        assertThat(variantes.obtener(null, TamanoFoto.THUMB)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("validarDimensiones rechaza imágenes sobre el límite de píxeles leyendo solo el encabezado")
+    void validarDimensiones_rejectsOversizedImages() throws Exception {
+        MockMultipartFile grande = new MockMultipartFile("file", "g.png", "image/png", png(2000, 600));
+        MockMultipartFile permitida = new MockMultipartFile("file", "p.png", "image/png", png(1000, 1000));
+        MockMultipartFile desconocida = new MockMultipartFile("file", "x.heic", "image/heic", new byte[] {1, 2, 3});
+
+        assertThatThrownBy(() -> variantes.validarDimensiones(grande)).isInstanceOf(IllegalArgumentException.class);
+        assertThatCode(() -> variantes.validarDimensiones(permitida)).doesNotThrowAnyException();
+        assertThatCode(() -> variantes.validarDimensiones(desconocida)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("generar no decodifica imágenes sobre el límite ni vuelve a encolar las que no puede leer")
+    void generar_remembersUndecodableHashes() throws Exception {
+        String grande = storage.guardar(new ByteArrayInputStream(png(2000, 600)));
+        String ilegible = storage.guardar(new ByteArrayInputStream(new byte[] {1, 2, 3}));
+
+        variantes.generar(grande);
+        variantes.generar(ilegible);
+        FotoPerfil foto = variantes.obtener(ilegible, TamanoFoto.THUMB).orElseThrow();
+
+        assertThat(storage.obtenerVariante(grande, TamanoFoto.THUMB)).isEmpty();
+        assertThat(variantes.esNoDecodificable(grande)).isTrue();
+        assertThat(variantes.esNoDecodificable(ilegible)).isTrue();
+        assertThat(foto.tamano()).isEqualTo(TamanoFoto.ORIGINAL);
+        assertThat(variantes.enCola()).isZero();
+    }
+
+    private static byte[] png(int ancho, int alto) throws Exception {
+        BufferedImage imagen = new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = imagen.createGraphics();
+        g.setColor(Color.BLUE);
+        g.fillOval(0, 0, ancho, alto);
+        g.dispose();
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        ImageIO.write(imagen, "png", salida);
+        return salida.toByteArray();
+    }
+
+    private static BufferedImage leer(FotoPerfil foto) throws Exception {
+        try (InputStream contenido = foto.contenido().getInputStream()) {
+            return ImageIO.read(contenido);
+        }
+    }
+}